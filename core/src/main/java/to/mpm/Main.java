@@ -1,24 +1,27 @@
 package to.mpm;
 
 import com.badlogic.gdx.Game;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import to.mpm.minigames.AssetCache;
+import to.mpm.minigames.rendering.CountingSpriteBatch;
 import to.mpm.network.NetworkManager;
 import to.mpm.screens.MainMenuScreen;
 import to.mpm.ui.SettingsOverlayManager;
 import to.mpm.ui.UISkinProvider;
 import to.mpm.utils.DebugKeybinds;
+import to.mpm.utils.FrameProfiler;
 
 /**
  * Clase principal del juego.
  */
 public class Main extends Game {
-    public SpriteBatch batch;
+    /** Batch compartido, que cuenta sus pasadas y llamadas de dibujo por frame. */
+    public CountingSpriteBatch batch;
     public DebugKeybinds debugKeybinds;
     private SettingsOverlayManager settingsOverlayManager;
 
     @Override
     public void create() {
-        batch = new SpriteBatch();
+        batch = new CountingSpriteBatch();
         debugKeybinds = new DebugKeybinds(this);
         settingsOverlayManager = new SettingsOverlayManager(this);
         
@@ -54,14 +57,22 @@ public class Main extends Game {
 
     /**
      * Renderiza el juego y la superposición de ajustes si está activa.
+     * <p>
+     * Antes avanza la precarga de recursos de {@link AssetCache}; al final
+     * dibuja la superposición de {@link FrameProfiler} y cierra el frame.
      */
     @Override
     public void render() {
         debugKeybinds.update();
+        AssetCache.getInstance().update();
         
         super.render();
         
         settingsOverlayManager.renderOverlay(com.badlogic.gdx.Gdx.graphics.getDeltaTime());
+        FrameProfiler profiler = FrameProfiler.getInstance();
+        profiler.renderOverlay(batch);
+        batch.endFrame();
+        profiler.endFrame(batch.getFrameFlushes());
     }
 
     /**
@@ -95,10 +106,13 @@ public class Main extends Game {
     @Override
     public void dispose() {
         NetworkManager.getInstance().disconnect();
+        NetworkManager.getInstance().stopCapture();
         
         batch.dispose();
         settingsOverlayManager.dispose();
         UISkinProvider.dispose();
         super.dispose();
+        AssetCache.getInstance().dispose();
+        FrameProfiler.getInstance().dispose();
     }
 }
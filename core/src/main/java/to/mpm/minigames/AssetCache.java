@@ -0,0 +1,214 @@
+package to.mpm.minigames;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * Caché de atlas de minijuegos con conteo de referencias, respaldada por un
+ * {@link AssetManager}.
+ * <p>
+ * Mientras se muestran el marcador y la introducción, {@link #preload} encola
+ * el atlas del siguiente minijuego y {@link #update()}, llamado cada frame
+ * desde {@code Main.render}, lo decodifica en segundo plano y sube sus páginas
+ * a la GPU de a poco; al empezar la ronda {@link #acquire} lo encuentra ya
+ * cargado. Los atlas que nadie usa no se liberan enseguida: quedan en una
+ * lista LRU y solo se descargan, del menos reciente al más reciente, cuando
+ * la memoria de textura estimada supera
+ * {@link GameConstants.Assets#CACHE_BUDGET_BYTES}. Así, repetir un minijuego
+ * no vuelve a leer nada del disco.
+ * <p>
+ * Todos los métodos deben llamarse desde el hilo de renderizado.
+ */
+public class AssetCache {
+    /** Carpeta de los atlas generados. */
+    private static final String ATLAS_DIR = "atlases/";
+
+    private static AssetCache instance;
+
+    /** Gestor que carga y guarda los atlas. */
+    private final AssetManager manager = new AssetManager();
+    /** Referencias activas por ruta de atlas. */
+    private final ObjectIntMap<String> references = new ObjectIntMap<>();
+    /** Atlas sin referencias, del menos al más recientemente usado. */
+    private final LinkedHashSet<String> idle = new LinkedHashSet<>();
+    /** Indica si hay que revisar el presupuesto al terminar la carga en curso. */
+    private boolean evictWhenLoaded;
+
+    private AssetCache() {
+    }
+
+    /**
+     * Obtiene la instancia única de la caché.
+     *
+     * @return la instancia de AssetCache
+     */
+    public static AssetCache getInstance() {
+        if (instance == null) {
+            instance = new AssetCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Empieza a cargar en segundo plano el atlas de un minijuego.
+     * <p>
+     * No hace nada si el atlas ya está cargado o en cola, salvo marcarlo como
+     * el más recientemente usado.
+     *
+     * @param type minijuego que se va a jugar
+     */
+    public void preload(MinigameType type) {
+        String path = pathOf(type.getAtlasName());
+        if (!Gdx.files.internal(path).exists()) {
+            return;
+        }
+        if (!manager.contains(path)) {
+            manager.load(path, TextureAtlas.class);
+            evictWhenLoaded = true;
+            Gdx.app.log("AssetCache", "Preloading " + path);
+        }
+        if (references.get(path, 0) == 0) {
+            touch(path);
+        }
+    }
+
+    /**
+     * Avanza la carga en segundo plano.
+     * <p>
+     * Se debe llamar una vez por frame; dedica como mucho
+     * {@link GameConstants.Assets#UPDATE_BUDGET_MS} a subir texturas.
+     */
+    public void update() {
+        if (manager.update(GameConstants.Assets.UPDATE_BUDGET_MS) && evictWhenLoaded) {
+            evictWhenLoaded = false;
+            evict();
+        }
+    }
+
+    /**
+     * Obtiene el atlas de un minijuego y suma una referencia.
+     * <p>
+     * Si la precarga no terminó, completa la carga de ese atlas en el acto.
+     *
+     * @param atlasName nombre de la carpeta del minijuego
+     * @return el atlas, o null si no existe el archivo del atlas
+     */
+    public TextureAtlas acquire(String atlasName) {
+        String path = pathOf(atlasName);
+        if (!Gdx.files.internal(path).exists()) {
+            return null;
+        }
+        if (!manager.contains(path)) {
+            manager.load(path, TextureAtlas.class);
+        }
+        if (!manager.isLoaded(path)) {
+            Gdx.app.log("AssetCache", "Preload of " + path + " not finished, blocking");
+            manager.finishLoadingAsset(path);
+        }
+        references.getAndIncrement(path, 0, 1);
+        idle.remove(path);
+        return manager.get(path, TextureAtlas.class);
+    }
+
+    /**
+     * Suelta una referencia obtenida con {@link #acquire}.
+     * <p>
+     * Al llegar a cero el atlas queda en caché hasta que el presupuesto de
+     * memoria obligue a descargarlo.
+     *
+     * @param atlasName nombre de la carpeta del minijuego
+     */
+    public void release(String atlasName) {
+        String path = pathOf(atlasName);
+        int count = references.get(path, 0);
+        if (count <= 0) {
+            throw new GdxRuntimeException("Atlas " + path + " released more times than acquired");
+        }
+        if (count == 1) {
+            references.remove(path, 0);
+            touch(path);
+            evict();
+        } else {
+            references.put(path, count - 1);
+        }
+    }
+
+    /**
+     * Obtiene la memoria de textura estimada de los atlas cargados.
+     *
+     * @return bytes estimados, a cuatro bytes por píxel
+     */
+    public long getLoadedBytes() {
+        long total = 0;
+        for (String path : manager.getAssetNames()) {
+            total += bytesOf(path);
+        }
+        return total;
+    }
+
+    /**
+     * Descarga todos los atlas.
+     */
+    public void dispose() {
+        manager.dispose();
+        references.clear();
+        idle.clear();
+        instance = null;
+    }
+
+    /**
+     * Marca un atlas sin referencias como el más recientemente usado.
+     *
+     * @param path ruta del atlas
+     */
+    private void touch(String path) {
+        idle.remove(path);
+        idle.add(path);
+    }
+
+    /**
+     * Descarga atlas sin referencias, del menos reciente al más reciente,
+     * mientras se supere el presupuesto. El más reciente nunca se descarga,
+     * para no perder una precarga recién pedida.
+     */
+    private void evict() {
+        long total = getLoadedBytes();
+        Iterator<String> it = idle.iterator();
+        while (total > GameConstants.Assets.CACHE_BUDGET_BYTES && idle.size() > 1 && it.hasNext()) {
+            String path = it.next();
+            long bytes = bytesOf(path);
+            it.remove();
+            manager.unload(path);
+            total -= bytes;
+            Gdx.app.log("AssetCache", "Evicted " + path + " (" + (bytes >> 10) + " KiB)");
+        }
+    }
+
+    /**
+     * Estima la memoria de textura de un atlas.
+     *
+     * @param path ruta del atlas
+     * @return bytes estimados, o 0 si no está cargado
+     */
+    private long bytesOf(String path) {
+        if (!manager.isLoaded(path, TextureAtlas.class)) {
+            return 0;
+        }
+        long bytes = 0;
+        for (Texture texture : manager.get(path, TextureAtlas.class).getTextures()) {
+            bytes += (long) texture.getWidth() * texture.getHeight() * 4;
+        }
+        return bytes;
+    }
+
+    private static String pathOf(String atlasName) {
+        return ATLAS_DIR + atlasName + ".atlas";
+    }
+}
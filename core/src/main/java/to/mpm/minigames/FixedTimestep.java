@@ -0,0 +1,71 @@
+package to.mpm.minigames;
+
+/**
+ * Acumulador de tiempo para simular los minijuegos en pasos fijos.
+ * <p>
+ * Cada frame se suma el tiempo real y se obtiene cuántos pasos de
+ * {@link #getStep()} segundos hay que simular; lo que sobra queda para el
+ * frame siguiente y se expone como {@link #getAlpha()} para interpolar el
+ * dibujo. Tras un parón solo se recuperan {@code maxSteps} pasos y el resto
+ * se descarta, para no encadenar frames cada vez más lentos.
+ */
+public class FixedTimestep {
+    /** Duración de cada paso en segundos. */
+    private final float step;
+    /** Pasos máximos por frame. */
+    private final int maxSteps;
+    /** Tiempo acumulado aún no simulado. */
+    private float accumulator;
+
+    /**
+     * Crea un acumulador con el paso y el límite de {@link GameConstants.Timing}.
+     */
+    public FixedTimestep() {
+        this(GameConstants.Timing.SIMULATION_STEP, GameConstants.Timing.MAX_SIMULATION_STEPS);
+    }
+
+    /**
+     * Crea un acumulador.
+     *
+     * @param step     duración de cada paso en segundos
+     * @param maxSteps pasos máximos por frame
+     */
+    public FixedTimestep(float step, int maxSteps) {
+        this.step = step;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Suma el tiempo de un frame.
+     *
+     * @param delta tiempo real transcurrido en segundos
+     * @return pasos que hay que simular en este frame
+     */
+    public int advance(float delta) {
+        accumulator = Math.min(accumulator + delta, step * maxSteps);
+        int steps = 0;
+        while (accumulator >= step) {
+            accumulator -= step;
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Obtiene la duración de cada paso.
+     *
+     * @return segundos por paso
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * Obtiene la fracción del siguiente paso ya transcurrida.
+     *
+     * @return valor entre 0 y 1
+     */
+    public float getAlpha() {
+        return accumulator / step;
+    }
+}
@@ -77,8 +77,19 @@ public final class GameConstants {
         public static final float EXTENDED_GAME_DURATION = 180f;
         /** Duración de la pantalla de introducción antes de cada minijuego. */
         public static final float INTRO_SCREEN_DURATION = 5f;
+        /** Duración del marcador entre rondas antes de que el host avance. */
+        public static final float SCOREBOARD_DURATION = 5f;
+        /**
+         * Tiempo que un servidor de salas deja la pantalla de resultados antes de
+         * volver al lobby; cubre la animación completa de los resultados.
+         */
+        public static final float RESULTS_DURATION = 10f;
         /** Tiempo de espera predeterminado entre disparos en segundos. */
         public static final float DEFAULT_SHOOT_COOLDOWN = 0.5f;
+        /** Duración de un paso fijo de simulación en segundos. */
+        public static final float SIMULATION_STEP = 1f / 60f;
+        /** Pasos de simulación máximos por frame para recuperar retrasos. */
+        public static final int MAX_SIMULATION_STEPS = 5;
     }
 
     /**
@@ -155,6 +166,10 @@ public final class GameConstants {
     public static final class TheFinale {
         /** Duración del juego en segundos. */
         public static final float GAME_DURATION = 180f;
+        /** Velocidad de los quacks en píxeles por segundo. */
+        public static final float QUACK_SPEED = 300f;
+        /** Radio de los quacks. */
+        public static final float QUACK_RADIUS = 8f;
     }
 
     /**
@@ -169,6 +184,19 @@ public final class GameConstants {
         public static final int SUMO_KILL_POINTS = 50000;
     }
 
+    /**
+     * Configuración de la caché de recursos.
+     * <p>
+     * Define el presupuesto de memoria y el tiempo de carga por frame de
+     * {@link to.mpm.minigames.AssetCache}.
+     */
+    public static final class Assets {
+        /** Memoria de textura estimada a partir de la cual se descargan atlas sin uso. */
+        public static final long CACHE_BUDGET_BYTES = 64L * 1024 * 1024;
+        /** Milisegundos por frame dedicados a la carga en segundo plano. */
+        public static final int UPDATE_BUDGET_MS = 4;
+    }
+
     /** Identificador para jugadores en modo espectador. */
     public static final int SPECTATOR_ID = -1;
 }
@@ -3,8 +3,6 @@ package to.mpm.minigames;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 
-import java.util.Map;
-
 /**
  * Interfaz base para todos los minijuegos.
  * <p>
@@ -34,9 +32,32 @@ public interface Minigame {
     void render(SpriteBatch batch, ShapeRenderer shapeRenderer);
 
     /**
-     * Procesa el input del jugador local.
+     * Renderiza el minijuego entre dos pasos fijos de simulación.
+     * <p>
+     * Los cuerpos que se mueven en los pasos se dibujan interpolando entre su
+     * estado del paso anterior y el actual. Los minijuegos que no interpolan
+     * ignoran {@code alpha}.
      *
-     * @param delta tiempo transcurrido desde el último frame
+     * @param batch         SpriteBatch para dibujar sprites
+     * @param shapeRenderer ShapeRenderer para formas geométricas
+     * @param alpha         fracción del siguiente paso ya transcurrida, de 0 a 1
+     */
+    default void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
+        render(batch, shapeRenderer);
+    }
+
+    /**
+     * Lee el input del jugador local.
+     * <p>
+     * Se llama una vez por frame, antes de los pasos fijos de
+     * {@link #update(float)}. Solo guarda lo pedido (teclas mantenidas,
+     * pulsaciones, punto de mira): el movimiento se aplica en
+     * {@link #update(float)} con el paso fijo, para que no dependa de la tasa
+     * de frames. Una pulsación queda pendiente hasta el siguiente paso aunque
+     * el frame no simule ninguno.
+     *
+     * @param delta tiempo transcurrido desde el último frame; no se usa para
+     *              mover nada
      */
     void handleInput(float delta);
 
@@ -49,10 +70,13 @@ public interface Minigame {
 
     /**
      * Obtiene las puntuaciones de todos los jugadores.
+     * <p>
+     * Se consulta en cada frame, así que debe devolver la tabla viva del
+     * minijuego y no una copia.
      *
-     * @return mapa de playerId -> score
+     * @return tabla de puntuaciones por playerId
      */
-    Map<Integer, Integer> getScores();
+    ScoreTable getScores();
 
     /**
      * Obtiene el ID del ganador.
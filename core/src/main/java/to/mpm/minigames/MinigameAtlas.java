@@ -0,0 +1,99 @@
+package to.mpm.minigames;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Sprites de un minijuego servidos como regiones de un único atlas.
+ * <p>
+ * La tarea de Gradle {@code packTextures} empaqueta cada carpeta
+ * {@code sprites/<minijuego>} en {@code atlases/<minijuego>.atlas}, así que
+ * todos los sprites del minijuego comparten textura y el {@code SpriteBatch}
+ * no tiene que vaciarse al pasar de uno a otro. Las regiones se nombran por su
+ * ruta dentro de la carpeta, sin extensión (p. ej. {@code obstacle/drop-stone}).
+ * <p>
+ * El atlas se obtiene de {@link AssetCache}, que lo comparte entre instancias
+ * y lo conserva tras {@link #dispose()} para la próxima ronda.
+ * <p>
+ * Si el atlas no existe, por ejemplo al ejecutar desde un IDE sin pasar por
+ * Gradle, cada región se carga de su PNG suelto.
+ * <p>
+ * Todos los atlas incluyen además la región blanca {@value #WHITE_PIXEL} de
+ * 1×1, para dibujar formas con el mismo batch y la misma textura que los
+ * sprites.
+ */
+public class MinigameAtlas implements Disposable {
+    /** Carpeta de los sprites sueltos. */
+    private static final String SPRITE_DIR = "sprites/";
+    /** Nombre de la región blanca de 1×1 común a todos los atlas. */
+    public static final String WHITE_PIXEL = "white";
+
+    /** Nombre de la carpeta del minijuego. */
+    private final String minigame;
+    /** Atlas empaquetado, o null si se usan los PNG sueltos. */
+    private final TextureAtlas atlas;
+    /** Regiones cargadas de PNG sueltos, por nombre. */
+    private final ObjectMap<String, TextureRegion> looseRegions = new ObjectMap<>();
+    /** Texturas de los PNG sueltos, para liberarlas. */
+    private final Array<Texture> looseTextures = new Array<>();
+
+    /**
+     * Obtiene el atlas de un minijuego de la caché.
+     *
+     * @param minigame nombre de la carpeta del minijuego dentro de {@code sprites/}
+     */
+    public MinigameAtlas(String minigame) {
+        this.minigame = minigame;
+        atlas = AssetCache.getInstance().acquire(minigame);
+        if (atlas == null) {
+            Gdx.app.log("MinigameAtlas", "No atlas for " + minigame + ", loading loose sprites");
+        }
+    }
+
+    /**
+     * Obtiene una región del atlas.
+     *
+     * @param name ruta del sprite dentro de la carpeta del minijuego, sin extensión
+     * @return la región
+     * @throws GdxRuntimeException si el sprite no existe
+     */
+    public TextureRegion findRegion(String name) {
+        if (atlas != null) {
+            TextureRegion region = atlas.findRegion(name);
+            if (region == null) {
+                throw new GdxRuntimeException("Region " + name + " not found in atlas " + minigame);
+            }
+            return region;
+        }
+        TextureRegion region = looseRegions.get(name);
+        if (region == null) {
+            String folder = name.equals(WHITE_PIXEL) ? SPRITE_DIR : SPRITE_DIR + minigame + "/";
+            Texture texture = new Texture(Gdx.files.internal(folder + name + ".png"));
+            looseTextures.add(texture);
+            region = new TextureRegion(texture);
+            looseRegions.put(name, region);
+        }
+        return region;
+    }
+
+    /**
+     * Devuelve el atlas a la caché y libera los sprites sueltos.
+     */
+    @Override
+    public void dispose() {
+        if (atlas != null) {
+            AssetCache.getInstance().release(minigame);
+        }
+        for (Texture texture : looseTextures) {
+            texture.dispose();
+        }
+        looseTextures.clear();
+        looseRegions.clear();
+    }
+}
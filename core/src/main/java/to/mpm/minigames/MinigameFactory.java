@@ -6,6 +6,7 @@ import to.mpm.minigames.catchThemAll.CatchThemAllMinigame;
 import to.mpm.minigames.dodgeRain.DodgeRainMinigame;
 import to.mpm.minigames.sumo.SumoMinigame;
 import to.mpm.minigames.theFinale.TheFinaleMinigame;
+import to.mpm.network.lockstep.LockstepSimulation;
 
 /**
  * Factory para crear instancias de minijuegos.
@@ -33,4 +34,37 @@ public class MinigameFactory {
                 return null;
         }
     }
+
+    /**
+     * Obtiene la clase que implementa un minijuego.
+     *
+     * @param type tipo de minijuego
+     * @return clase del minijuego, o null si el tipo es desconocido
+     */
+    public static Class<? extends Minigame> getMinigameClass(MinigameType type) {
+        switch (type) {
+            case CATCH_THEM_ALL:
+                return CatchThemAllMinigame.class;
+            case SUMO:
+                return SumoMinigame.class;
+            case DODGE_RAIN:
+                return DodgeRainMinigame.class;
+            case THE_FINALE:
+                return TheFinaleMinigame.class;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Indica si un minijuego puede avanzar en lockstep, es decir, si
+     * implementa {@link LockstepSimulation}.
+     *
+     * @param type tipo de minijuego
+     * @return true si admite lockstep
+     */
+    public static boolean supportsLockstep(MinigameType type) {
+        Class<? extends Minigame> minigameClass = getMinigameClass(type);
+        return minigameClass != null && LockstepSimulation.class.isAssignableFrom(minigameClass);
+    }
 }
\ No newline at end of file
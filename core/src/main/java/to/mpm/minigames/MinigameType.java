@@ -13,27 +13,27 @@ public enum MinigameType {
                         "¡Atrapa los patos que caen con tu cesta! Los patos buenos te dan puntos, " +
                                         "pero cuidado con los patos malos.",
                         "A/D o Flechas Izquierda/Derecha para moverse",
-                        2, 6),
+                        2, 6, "catchThemAll"),
         /** Minijuego de empujar patos fuera de la plataforma. */
         SUMO(
                         "Pond Push",
                         "¡Empuja a los otros jugadores fuera de la plataforma! " +
                                         "Choca con otros jugadores para tirarlos al agua.",
                         "WASD o Flechas para moverse",
-                        2, 6),
+                        2, 6, "sumo"),
         /** Minijuego de esquivar lluvia de objetos. */
         DODGE_RAIN(
                         "Dodge Rain",
                         "¡Esquiva la lluvia de objetos! Sobrevive el mayor tiempo posible.",
                         "A/D o Flechas Izquierda/Derecha para moverse",
-                        2, 6),
+                        2, 6, "dodgeRain"),
         /** Minijuego final del torneo. */
         THE_FINALE(
                         "The Finale",
                         "¡El enfrentamiento final! " +
                                         "Dispara a otros patos para eliminarlos. ¡El último pato en pie es el campeón!",
                         "WASD para moverse, Ratón para apuntar, ESPACIO para disparar",
-                        2, 99);
+                        2, 99, "finale");
 
         /** Nombre del minijuego para mostrar. */
         private final String displayName;
@@ -45,6 +45,8 @@ public enum MinigameType {
         private final int minPlayers;
         /** Número máximo de jugadores permitidos. */
         private final int maxPlayers;
+        /** Nombre del atlas de sprites del minijuego. */
+        private final String atlasName;
 
         /**
          * Constructor parametrizado para crear un tipo de minijuego.
@@ -54,13 +56,16 @@ public enum MinigameType {
          * @param controls    descripción de los controles del minijuego
          * @param minPlayers  número mínimo de jugadores requeridos
          * @param maxPlayers  número máximo de jugadores permitidos
+         * @param atlasName   nombre del atlas de sprites del minijuego
          */
-        MinigameType(String displayName, String description, String controls, int minPlayers, int maxPlayers) {
+        MinigameType(String displayName, String description, String controls, int minPlayers, int maxPlayers,
+                        String atlasName) {
                 this.displayName = displayName;
                 this.description = description;
                 this.controls = controls;
                 this.minPlayers = minPlayers;
                 this.maxPlayers = maxPlayers;
+                this.atlasName = atlasName;
         }
 
         /**
@@ -107,4 +112,14 @@ public enum MinigameType {
         public String getControls() {
                 return controls;
         }
+
+        /**
+         * Obtiene el nombre del atlas de sprites, que coincide con su carpeta
+         * dentro de {@code sprites/}.
+         * 
+         * @return nombre del atlas
+         */
+        public String getAtlasName() {
+                return atlasName;
+        }
 }
\ No newline at end of file
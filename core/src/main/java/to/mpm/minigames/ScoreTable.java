@@ -0,0 +1,313 @@
+package to.mpm.minigames;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/**
+ * Tabla de puntuaciones por ID de jugador, sin boxing.
+ * <p>
+ * Mantiene el ranking de forma incremental: cada cambio de puntuación solo
+ * desplaza al jugador afectado hasta su nueva posición, así que recorrer la
+ * tabla de mayor a menor puntuación no requiere ordenar. Los empates se
+ * ordenan por ID ascendente.
+ * <p>
+ * Cada cambio incrementa un contador de versión y queda marcado con él, lo que
+ * permite enviar solo lo que cambió desde una versión conocida
+ * ({@link #writeChanges}) y detectar sin comparar si la tabla cambió. Para la
+ * red, {@link #toArray()} y {@link #setAll(int[])} usan un arreglo plano de
+ * pares ID-puntuación.
+ */
+public final class ScoreTable {
+    /** Puntuación por jugador. */
+    private final IntIntMap scores = new IntIntMap();
+    /** Versión del último cambio de cada jugador. */
+    private final IntIntMap changedAt = new IntIntMap();
+    /** IDs ordenados de mayor a menor puntuación. */
+    private final IntArray ranking = new IntArray();
+    /** Versión actual de la tabla. */
+    private int version;
+
+    /**
+     * Construye una tabla vacía.
+     */
+    public ScoreTable() {
+    }
+
+    /**
+     * Construye una tabla a partir de pares ID-puntuación.
+     *
+     * @param packed arreglo de pares, como el de {@link #toArray()}
+     */
+    public ScoreTable(int[] packed) {
+        setAll(packed);
+    }
+
+    /**
+     * Obtiene la puntuación de un jugador.
+     *
+     * @param playerId ID del jugador
+     * @return puntuación, o 0 si no está en la tabla
+     */
+    public int get(int playerId) {
+        return scores.get(playerId, 0);
+    }
+
+    /**
+     * Indica si un jugador está en la tabla.
+     *
+     * @param playerId ID del jugador
+     * @return true si tiene puntuación
+     */
+    public boolean containsKey(int playerId) {
+        return scores.containsKey(playerId);
+    }
+
+    /**
+     * Establece la puntuación de un jugador. No cambia la versión si la
+     * puntuación ya era esa.
+     *
+     * @param playerId ID del jugador
+     * @param score    nueva puntuación
+     */
+    public void put(int playerId, int score) {
+        int index;
+        if (scores.containsKey(playerId)) {
+            if (scores.get(playerId, 0) == score) {
+                return;
+            }
+            index = ranking.indexOf(playerId);
+        } else {
+            index = ranking.size;
+            ranking.add(playerId);
+        }
+        scores.put(playerId, score);
+        changedAt.put(playerId, ++version);
+        rerank(index);
+    }
+
+    /**
+     * Suma puntos a un jugador, que empieza en 0 si no estaba en la tabla.
+     *
+     * @param playerId ID del jugador
+     * @param points   puntos a sumar
+     */
+    public void add(int playerId, int points) {
+        put(playerId, get(playerId) + points);
+    }
+
+    /**
+     * Agrega un jugador con 0 puntos si no estaba en la tabla.
+     *
+     * @param playerId ID del jugador
+     */
+    public void ensure(int playerId) {
+        if (!scores.containsKey(playerId)) {
+            put(playerId, 0);
+        }
+    }
+
+    /**
+     * Quita a un jugador de la tabla.
+     *
+     * @param playerId ID del jugador
+     */
+    public void remove(int playerId) {
+        if (!scores.containsKey(playerId)) {
+            return;
+        }
+        scores.remove(playerId, 0);
+        changedAt.remove(playerId, 0);
+        ranking.removeValue(playerId);
+        version++;
+    }
+
+    /**
+     * Vacía la tabla.
+     */
+    public void clear() {
+        if (scores.size == 0) {
+            return;
+        }
+        scores.clear();
+        changedAt.clear();
+        ranking.clear();
+        version++;
+    }
+
+    /**
+     * Reemplaza el contenido por el de otra tabla.
+     *
+     * @param other tabla de origen
+     */
+    public void set(ScoreTable other) {
+        clear();
+        for (int i = 0; i < other.ranking.size; i++) {
+            int playerId = other.ranking.get(i);
+            put(playerId, other.get(playerId));
+        }
+    }
+
+    /**
+     * Suma a esta tabla las puntuaciones de otra.
+     *
+     * @param other tabla con los puntos a sumar
+     */
+    public void addAll(ScoreTable other) {
+        for (int i = 0; i < other.ranking.size; i++) {
+            int playerId = other.ranking.get(i);
+            add(playerId, other.get(playerId));
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de jugadores en la tabla.
+     *
+     * @return jugadores con puntuación
+     */
+    public int size() {
+        return ranking.size;
+    }
+
+    /**
+     * Obtiene la versión actual, que aumenta con cada cambio.
+     *
+     * @return versión de la tabla
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene el jugador en una posición del ranking.
+     *
+     * @param rank posición, 0 para el primero
+     * @return ID del jugador
+     */
+    public int getPlayerId(int rank) {
+        return ranking.get(rank);
+    }
+
+    /**
+     * Obtiene la puntuación del jugador en una posición del ranking.
+     *
+     * @param rank posición, 0 para el primero
+     * @return puntuación
+     */
+    public int getScore(int rank) {
+        return scores.get(ranking.get(rank), 0);
+    }
+
+    /**
+     * Obtiene la posición de un jugador en el ranking.
+     *
+     * @param playerId ID del jugador
+     * @return posición, 0 para el primero, o -1 si no está en la tabla
+     */
+    public int rankOf(int playerId) {
+        return ranking.indexOf(playerId);
+    }
+
+    /**
+     * Obtiene el jugador con mayor puntuación.
+     *
+     * @return ID del líder, o -1 si la tabla está vacía
+     */
+    public int getLeaderId() {
+        return ranking.size > 0 ? ranking.first() : -1;
+    }
+
+    /**
+     * Codifica la tabla como pares ID-puntuación en orden de ranking.
+     *
+     * @return arreglo {@code [id0, score0, id1, score1, ...]}
+     */
+    public int[] toArray() {
+        int[] packed = new int[ranking.size * 2];
+        for (int i = 0; i < ranking.size; i++) {
+            int playerId = ranking.get(i);
+            packed[i * 2] = playerId;
+            packed[i * 2 + 1] = scores.get(playerId, 0);
+        }
+        return packed;
+    }
+
+    /**
+     * Reemplaza el contenido por pares ID-puntuación.
+     *
+     * @param packed arreglo de pares, como el de {@link #toArray()}; null vacía
+     *               la tabla
+     */
+    public void setAll(int[] packed) {
+        clear();
+        applyChanges(packed);
+    }
+
+    /**
+     * Aplica pares ID-puntuación sobre la tabla, sin quitar a nadie.
+     *
+     * @param packed arreglo de pares, como el de {@link #writeChanges}; puede
+     *               ser null
+     */
+    public void applyChanges(int[] packed) {
+        if (packed == null) {
+            return;
+        }
+        for (int i = 0; i + 1 < packed.length; i += 2) {
+            put(packed[i], packed[i + 1]);
+        }
+    }
+
+    /**
+     * Escribe los pares ID-puntuación que cambiaron después de una versión.
+     * Las bajas no se incluyen.
+     *
+     * @param sinceVersion última versión ya enviada
+     * @param out          destino de los pares; no se vacía antes de escribir
+     * @return cantidad de jugadores escritos
+     */
+    public int writeChanges(int sinceVersion, IntArray out) {
+        int count = 0;
+        for (int i = 0; i < ranking.size; i++) {
+            int playerId = ranking.get(i);
+            if (changedAt.get(playerId, 0) > sinceVersion) {
+                out.add(playerId);
+                out.add(scores.get(playerId, 0));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Desplaza al jugador de una posición hasta que el ranking vuelva a estar
+     * ordenado.
+     *
+     * @param index posición actual del jugador que cambió
+     */
+    private void rerank(int index) {
+        int[] ids = ranking.items;
+        int playerId = ids[index];
+        while (index > 0 && before(playerId, ids[index - 1])) {
+            ids[index] = ids[index - 1];
+            index--;
+        }
+        while (index < ranking.size - 1 && before(ids[index + 1], playerId)) {
+            ids[index] = ids[index + 1];
+            index++;
+        }
+        ids[index] = playerId;
+    }
+
+    /**
+     * Indica si un jugador va antes que otro en el ranking.
+     *
+     * @param a ID del primer jugador
+     * @param b ID del segundo jugador
+     * @return true si {@code a} tiene más puntos, o los mismos y menor ID
+     */
+    private boolean before(int a, int b) {
+        int scoreA = scores.get(a, 0);
+        int scoreB = scores.get(b, 0);
+        return scoreA != scoreB ? scoreA > scoreB : a < b;
+    }
+}
@@ -6,6 +6,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.IntMap;
 import to.mpm.minigames.Minigame;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.Packets;
@@ -16,9 +17,6 @@ import to.mpm.network.handlers.ServerPacketHandler;
 import to.mpm.network.sync.SyncedObject;
 import to.mpm.network.sync.Synchronized;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Minijuego simple de movimiento de bolas.
  * Cada jugador controla una bola de color que puede moverse libremente.
@@ -37,8 +35,12 @@ public class BallMovementMinigame implements Minigame {
 
     private final int localPlayerId;
     private Player localPlayer;
+    private final Packets.PlayerPosition positionPacket = new Packets.PlayerPosition();
     private final IntMap<Player> players = new IntMap<>();
+    private final ScoreTable scores = new ScoreTable();
     private boolean finished = false;
+    /** Dirección pedida en el último frame, de -1 a 1 en cada eje. */
+    private float moveX, moveY;
     private BallMovementClientHandler clientHandler;
     private BallMovementServerRelay serverRelay;
 
@@ -103,7 +105,13 @@ public class BallMovementMinigame implements Minigame {
 
     @Override
     public void update(float delta) {
+        for (IntMap.Entry<Player> entry : players) {
+            Player p = entry.value;
+            p.previousX = p.x;
+            p.previousY = p.y;
+        }
         if (localPlayer != null) {
+            movePlayer(delta);
             localPlayer.update();
             sendPlayerPosition();
         }
@@ -111,12 +119,21 @@ public class BallMovementMinigame implements Minigame {
 
     @Override
     public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
+        render(batch, shapeRenderer, 1f);
+    }
+
+    /**
+     * Dibuja las bolas entre su posición del paso anterior y la actual.
+     */
+    @Override
+    public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
         shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
 
         for (IntMap.Entry<Player> entry : players) {
             Player p = entry.value;
             shapeRenderer.setColor(p.r, p.g, p.b, 1f);
-            shapeRenderer.circle(p.x, p.y, PLAYER_RADIUS);
+            shapeRenderer.circle(p.previousX + (p.x - p.previousX) * alpha,
+                    p.previousY + (p.y - p.previousY) * alpha, PLAYER_RADIUS);
         }
 
         shapeRenderer.end();
@@ -124,33 +141,40 @@ public class BallMovementMinigame implements Minigame {
 
     @Override
     public void handleInput(float delta) {
+        moveX = 0;
+        moveY = 0;
         if (localPlayer == null)
             return;
 
-        float dx = 0, dy = 0;
-
         if (Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.UP)) {
-            dy += MOVE_SPEED * delta;
+            moveY += 1;
         }
         if (Gdx.input.isKeyPressed(Input.Keys.S) || Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
-            dy -= MOVE_SPEED * delta;
+            moveY -= 1;
         }
         if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            dx -= MOVE_SPEED * delta;
+            moveX -= 1;
         }
         if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            dx += MOVE_SPEED * delta;
+            moveX += 1;
         }
+    }
 
-        localPlayer.x += dx;
-        localPlayer.y += dy;
+    /**
+     * Mueve la bola local un paso según la dirección pedida.
+     *
+     * @param delta duración del paso en segundos
+     */
+    private void movePlayer(float delta) {
+        localPlayer.x += moveX * MOVE_SPEED * delta;
+        localPlayer.y += moveY * MOVE_SPEED * delta;
 
         localPlayer.x = Math.max(PLAYER_RADIUS, Math.min(640 - PLAYER_RADIUS, localPlayer.x));
         localPlayer.y = Math.max(PLAYER_RADIUS, Math.min(480 - PLAYER_RADIUS, localPlayer.y));
     }
 
     private void sendPlayerPosition() {
-        Packets.PlayerPosition packet = new Packets.PlayerPosition();
+        Packets.PlayerPosition packet = positionPacket;
         packet.playerId = localPlayerId;
         packet.x = localPlayer.x;
         packet.y = localPlayer.y;
@@ -163,8 +187,8 @@ public class BallMovementMinigame implements Minigame {
     }
 
     @Override
-    public Map<Integer, Integer> getScores() {
-        return new HashMap<>();
+    public ScoreTable getScores() {
+        return scores;
     }
 
     @Override
@@ -199,11 +223,15 @@ public class BallMovementMinigame implements Minigame {
         @Synchronized
         public float y;
         public float r, g, b;
+        /** Posición antes del último paso, para interpolar el dibujo. */
+        public float previousX, previousY;
 
         public Player(boolean isLocallyOwned, float x, float y, float r, float g, float b) {
             super(isLocallyOwned);
             this.x = x;
             this.y = y;
+            this.previousX = x;
+            this.previousY = y;
             this.r = r;
             this.g = g;
             this.b = b;
@@ -7,6 +7,7 @@ import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.Minigame;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.game.GameLoop;
 import to.mpm.minigames.catchThemAll.game.GameState;
@@ -14,8 +15,9 @@ import to.mpm.minigames.catchThemAll.game.PacketHandlers;
 import to.mpm.minigames.catchThemAll.input.InputHandler;
 import to.mpm.minigames.catchThemAll.rendering.GameRenderer;
 import to.mpm.network.NetworkManager;
-
-import java.util.Map;
+import to.mpm.network.spectator.SnapshotFrame;
+import to.mpm.network.spectator.SnapshotInterpolator;
+import to.mpm.network.spectator.SpectatorSnapshotSource;
 
 /**
  * Minijuego principal de Atrapa a Todos.
@@ -27,7 +29,7 @@ import java.util.Map;
  * <li>PacketHandlers: procesa paquetes de red</li>
  * </ul>
  */
-public class CatchThemAllMinigame implements Minigame {
+public class CatchThemAllMinigame implements Minigame, SpectatorSnapshotSource {
     /** Ancho virtual de la pantalla de juego */
     private static final float VIRTUAL_WIDTH = GameConstants.Screen.WIDTH;
     /** Alto virtual de la pantalla de juego */
@@ -35,6 +37,8 @@ public class CatchThemAllMinigame implements Minigame {
 
     /** Estado del juego que contiene jugadores, patos y puntuaciones */
     private final GameState state;
+    /** Renderizador del minijuego */
+    private final GameRenderer renderer = new GameRenderer();
     /** Cámara ortográfica para el renderizado 2D */
     private OrthographicCamera camera;
     /** Viewport para escalar la vista del juego */
@@ -67,7 +71,7 @@ public class CatchThemAllMinigame implements Minigame {
         camera.position.set(VIRTUAL_WIDTH / 2, VIRTUAL_HEIGHT / 2, 0);
         camera.update();
 
-        GameRenderer.initialize();
+        renderer.initialize();
         state.createLocalPlayer();
 
         nm.registerAdditionalClasses(
@@ -91,12 +95,17 @@ public class CatchThemAllMinigame implements Minigame {
     }
 
     /**
-     * Actualiza la lógica del juego según el rol (host o cliente).
+     * Actualiza la lógica del juego según el rol (host o cliente), moviendo
+     * antes al jugador local con la última entrada leída.
      *
-     * @param delta tiempo transcurrido desde la última actualización en segundos
+     * @param delta duración del paso de simulación en segundos
      */
     @Override
     public void update(float delta) {
+        renderer.update(delta);
+        if (state.getLocalPlayer() != null) {
+            InputHandler.applyInput(state.getLocalPlayer(), delta);
+        }
         if (NetworkManager.getInstance().isHost()) {
             GameLoop.updateHost(delta, state);
         } else if (state.getLocalPlayer() != null) {
@@ -104,6 +113,28 @@ public class CatchThemAllMinigame implements Minigame {
         }
     }
 
+    /**
+     * Escribe el estado del host para los espectadores.
+     *
+     * @param frame instantánea a rellenar
+     */
+    @Override
+    public void writeSpectatorSnapshot(SnapshotFrame frame) {
+        GameLoop.writeSnapshot(frame, state);
+    }
+
+    /**
+     * Aplica las instantáneas del host en lugar de la simulación local.
+     *
+     * @param view vista interpolada de las instantáneas
+     * @param delta tiempo transcurrido desde la última actualización en segundos
+     */
+    @Override
+    public void applySpectatorSnapshot(SnapshotInterpolator view, float delta) {
+        renderer.update(delta);
+        GameLoop.updateSpectator(delta, view, state);
+    }
+
     /**
      * Renderiza los elementos del juego aplicando el viewport y la cámara.
      *
@@ -113,23 +144,22 @@ public class CatchThemAllMinigame implements Minigame {
     @Override
     public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
         viewport.apply();
-        shapeRenderer.setProjectionMatrix(camera.combined);
         batch.setProjectionMatrix(camera.combined);
 
-        GameRenderer.render(batch, shapeRenderer, state.getPlayers(), state.getDucks(),
+        renderer.render(batch, state.getPlayers(), state.getDucks(),
                 state.getScores(), GameState.PLAYER_COLORS, state.getLocalPlayerId());
     }
 
     /**
-     * Maneja la entrada del jugador local.
+     * Guarda la entrada del jugador local para el siguiente paso.
      * Los espectadores no procesan entrada.
      *
-     * @param delta tiempo transcurrido desde la última actualización en segundos
+     * @param delta tiempo transcurrido desde el último frame en segundos
      */
     @Override
     public void handleInput(float delta) {
         if (state.getLocalPlayer() != null) {
-            InputHandler.handleInput(state.getLocalPlayer(), delta);
+            InputHandler.handleInput(state.getLocalPlayer());
         }
     }
 
@@ -146,10 +176,10 @@ public class CatchThemAllMinigame implements Minigame {
     /**
      * Obtiene las puntuaciones actuales de todos los jugadores.
      *
-     * @return mapa con identificador de jugador como clave y puntuación como valor
+     * @return tabla de puntuaciones por identificador de jugador
      */
     @Override
-    public Map<Integer, Integer> getScores() {
+    public ScoreTable getScores() {
         return state.getScores();
     }
 
@@ -180,7 +210,7 @@ public class CatchThemAllMinigame implements Minigame {
         }
 
         state.reset();
-        GameRenderer.dispose();
+        renderer.dispose();
     }
 
     /**
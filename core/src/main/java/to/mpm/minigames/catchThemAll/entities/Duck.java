@@ -1,17 +1,20 @@
 package to.mpm.minigames.catchThemAll.entities;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
 import to.mpm.minigames.catchThemAll.rendering.AnimatedSprite;
 import to.mpm.minigames.catchThemAll.rendering.SpriteManager;
+import to.mpm.minigames.pool.EntityPool;
 
 /**
  * Duck entity that falls from the sky.
  * Can be NEUTRAL, GOLDEN, or BAD.
  * Note: Ducks are NOT synced objects - only the host spawns and controls them.
  * Clients will receive duck information through dedicated network packets.
+ * Instances come from {@link #POOL} via {@link #obtain} and go back to it
+ * when removed from the game state.
  */
-public class Duck {
+public class Duck implements Pool.Poolable {
     public enum DuckType {
         NEUTRAL(10000, 0.7f, 0.5f, 0.2f),    // Brown - 10k points
         GOLDEN(50000, 1.0f, 0.84f, 0.0f),    // Gold - 50k points
@@ -40,30 +43,54 @@ public class Duck {
     
     /** Duración de cada frame de animación en segundos. */
     private static final float DUCK_ANIMATION_FRAME_DURATION = 0.2f;
+
+    /** Reserva de patos que caen. */
+    public static final EntityPool<Duck> POOL = new EntityPool<>("CatchThemAll.Duck", 128, Duck::new);
     
     public int id;
     public float x;
     public float y;
     public DuckType type;
     public boolean caught;
-    public int caughtByPlayerId;
+    public int caughtByPlayerId = -1;
     
-    private final Rectangle bounds;
+    private final Rectangle bounds = new Rectangle(0, 0, DUCK_WIDTH, DUCK_HEIGHT);
     private boolean reachedGround;
     private AnimatedSprite animation;
+    /** Type the current animation was built for. */
+    private DuckType animationType;
 
-    public Duck(int id, float x, float y, DuckType type) {
-        this.id = id;
-        this.x = x;
-        this.y = y;
-        this.type = type;
-        this.caught = false;
-        this.caughtByPlayerId = -1;
-        this.reachedGround = false;
-        
-        this.bounds = new Rectangle(x, y, DUCK_WIDTH, DUCK_HEIGHT);
-        
-        initializeAnimation();
+    private Duck() {
+    }
+
+    /**
+     * Take a duck from the pool.
+     *
+     * @param id   duck ID
+     * @param x    spawn X
+     * @param y    spawn Y
+     * @param type duck type
+     * @return initialized duck
+     */
+    public static Duck obtain(int id, float x, float y, DuckType type) {
+        Duck duck = POOL.obtain();
+        duck.id = id;
+        duck.type = type;
+        duck.setPosition(x, y);
+        if (duck.animation != null && duck.animationType == type) {
+            duck.animation.reset();
+        } else {
+            duck.animation = null;
+            duck.initializeAnimation();
+        }
+        return duck;
+    }
+
+    @Override
+    public void reset() {
+        caught = false;
+        caughtByPlayerId = -1;
+        reachedGround = false;
     }
     
     /**
@@ -72,8 +99,9 @@ public class Duck {
     private void initializeAnimation() {
         SpriteManager spriteManager = SpriteManager.getInstance();
         if (spriteManager.isLoaded()) {
+            animationType = type;
             animation = new AnimatedSprite(
-                new com.badlogic.gdx.graphics.Texture[] {
+                new com.badlogic.gdx.graphics.g2d.TextureRegion[] {
                     spriteManager.getDuckFrame(type, 0),
                     spriteManager.getDuckFrame(type, 1)
                 },
@@ -82,9 +110,7 @@ public class Duck {
         }
     }
 
-    public void update() {
-        float deltaTime = Gdx.graphics.getDeltaTime();
-        
+    public void update(float deltaTime) {
         if (animation != null) {
             animation.update(deltaTime);
         } else {
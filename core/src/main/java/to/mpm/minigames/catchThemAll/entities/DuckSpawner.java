@@ -1,10 +1,10 @@
 package to.mpm.minigames.catchThemAll.entities;
 
-import com.badlogic.gdx.math.MathUtils;
 import to.mpm.minigames.catchThemAll.entities.Duck.DuckType;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Manages spawning of ducks during the game.
@@ -27,8 +27,18 @@ public class DuckSpawner {
     private float timeSinceLastSpawn;
     private float nextSpawnInterval;
     private int nextDuckId;
+    /** Ducks spawned by the last {@link #update(float)} call, reused. */
+    private final List<Duck> spawned = new ArrayList<>();
+    /** Round generator, so every peer draws the same ducks. */
+    private final Random random;
     
-    public DuckSpawner() {
+    /**
+     * Creates a spawner.
+     *
+     * @param random round generator used for positions, types and intervals
+     */
+    public DuckSpawner(Random random) {
+        this.random = random;
         this.timeSinceLastSpawn = 0;
         this.nextSpawnInterval = getRandomSpawnInterval();
         this.nextDuckId = 0;
@@ -39,10 +49,11 @@ public class DuckSpawner {
      * Should only be called by the host.
      * 
      * @param delta time since last frame
-     * @return list of newly spawned ducks (empty if no spawn)
+     * @return list of newly spawned ducks (empty if no spawn), valid until the next call
      */
     public List<Duck> update(float delta) {
-        List<Duck> newDucks = new ArrayList<>();
+        List<Duck> newDucks = spawned;
+        newDucks.clear();
         
         timeSinceLastSpawn += delta;
         
@@ -62,21 +73,19 @@ public class DuckSpawner {
      */
     private Duck spawnDuck() {
         float margin = 30f;
-        float x = MathUtils.random(margin, SCREEN_WIDTH - margin - Duck.DUCK_WIDTH);
+        float x = margin + random.nextFloat() * (SCREEN_WIDTH - 2 * margin - Duck.DUCK_WIDTH);
         
         DuckType type = getRandomDuckType();
         
         int id = nextDuckId++;
-        Duck duck = new Duck(id, x, SPAWN_Y, type);
-        
-        return duck;
+        return Duck.obtain(id, x, SPAWN_Y, type);
     }
     
     /**
      * Get random duck type based on probabilities.
      */
     private DuckType getRandomDuckType() {
-        int roll = MathUtils.random(1, 100);
+        int roll = random.nextInt(100) + 1;
         
         if (roll <= GOLDEN_PROBABILITY) {
             return DuckType.GOLDEN;  // 10% - Most rare
@@ -91,7 +100,7 @@ public class DuckSpawner {
      * Get a random spawn interval.
      */
     private float getRandomSpawnInterval() {
-        return MathUtils.random(MIN_SPAWN_INTERVAL, MAX_SPAWN_INTERVAL);
+        return MIN_SPAWN_INTERVAL + random.nextFloat() * (MAX_SPAWN_INTERVAL - MIN_SPAWN_INTERVAL);
     }
     
     /**
@@ -108,7 +117,6 @@ public class DuckSpawner {
      */
     public Duck forceSpawn(DuckType type, float x) {
         int id = nextDuckId++;
-        Duck duck = new Duck(id, x, SPAWN_Y, type);
-        return duck;
+        return Duck.obtain(id, x, SPAWN_Y, type);
     }
 }
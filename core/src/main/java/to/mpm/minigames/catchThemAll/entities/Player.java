@@ -1,6 +1,5 @@
 package to.mpm.minigames.catchThemAll.entities;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
 import to.mpm.minigames.catchThemAll.rendering.AnimatedSprite;
 import to.mpm.minigames.catchThemAll.rendering.SpriteManager;
@@ -41,6 +40,10 @@ public class Player {
     public float lastVelocityX;
     /** Tiempo de bloqueo de input. */
     public float blockedTimer = 0f;
+    /** Dirección horizontal pedida en el último frame, de -1 a 1. */
+    public float moveDirection;
+    /** Indica si hay un salto pedido pendiente del siguiente paso. */
+    public boolean jumpRequested;
     
     /** Componente rojo del color. */
     public final float r;
@@ -86,7 +89,7 @@ public class Player {
         SpriteManager spriteManager = SpriteManager.getInstance();
         if (spriteManager.isLoaded()) {
             runAnimation = new AnimatedSprite(
-                new com.badlogic.gdx.graphics.Texture[] {
+                new com.badlogic.gdx.graphics.g2d.TextureRegion[] {
                     spriteManager.getPlayerFrame1(),
                     spriteManager.getPlayerFrame2()
                 },
@@ -95,9 +98,7 @@ public class Player {
         }
     }
 
-    public void update() {
-        float deltaTime = Gdx.graphics.getDeltaTime();
-        
+    public void update(float deltaTime) {
         if (isLocallyOwned) {
             if (blockedTimer > 0) {
                 blockedTimer -= deltaTime;
@@ -1,17 +1,15 @@
 package to.mpm.minigames.catchThemAll.game;
 
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.network.NetworkHandler;
-import to.mpm.minigames.catchThemAll.physics.CatchDetector;
-import to.mpm.minigames.catchThemAll.physics.CollisionHandler;
 import to.mpm.minigames.catchThemAll.entities.Player;
-import to.mpm.minigames.catchThemAll.rendering.GameRenderer;
+import to.mpm.network.spectator.SnapshotFrame;
+import to.mpm.network.spectator.SnapshotInterpolator;
+import com.badlogic.gdx.utils.IntIntMap;
 import com.badlogic.gdx.utils.IntMap;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Maneja la lógica del bucle de juego para el host y el cliente.
@@ -20,6 +18,10 @@ import java.util.Map;
  * Cliente: física local, envío de posiciones.
  */
 public class GameLoop {
+    /** Tipo de entidad de los jugadores en las instantáneas de espectador. */
+    static final int SNAPSHOT_PLAYER = 0;
+    /** Tipo de entidad de los patos en las instantáneas de espectador. */
+    static final int SNAPSHOT_DUCK = 1;
     
     /**
      * Actualiza la lógica del juego en el host.
@@ -31,81 +33,166 @@ public class GameLoop {
      * @param state estado del juego que contiene jugadores, patos y puntuaciones
      */
     public static void updateHost(float delta, GameState state) {
-        GameRenderer.update(delta);
-        
         for (IntMap.Entry<Player> entry : state.getPlayers()) {
-            entry.value.update();
+            entry.value.update(delta);
         }
         
-        for (Duck duck : state.getDucks()) {
-            duck.update();
+        List<Duck> ducks = state.getDucks();
+        for (int i = 0; i < ducks.size(); i++) {
+            ducks.get(i).update(delta);
         }
         
         if (state.getDuckSpawner() != null) {
             List<Duck> newDucks = state.getDuckSpawner().update(delta);
-            for (Duck duck : newDucks) {
+            for (int i = 0; i < newDucks.size(); i++) {
+                Duck duck = newDucks.get(i);
                 state.addDuck(duck);
                 NetworkHandler.sendDuckSpawned(duck);
             }
         }
         
-        CollisionHandler.handlePlayerCollisions(state.getPlayers());
-        
-        Map<Integer, Player> playersMap = new HashMap<>();
-        for (IntMap.Entry<Player> entry : state.getPlayers()) {
-            playersMap.put(entry.key, entry.value);
-        }
-        
-        List<Duck> ducksBeforeCatch = new ArrayList<>(state.getDucks());
+        state.getCollisionHandler().handlePlayerCollisions(state.getPlayers(), delta);
         
-        Map<Integer, Integer> pointsEarned = CatchDetector.detectCatches(state.getDucks(), playersMap);
+        IntIntMap pointsEarned = state.getPointsEarned();
+        state.getCatchDetector().detectCatches(ducks, state.getPlayers(), pointsEarned);
         
-        for (Duck duck : ducksBeforeCatch) {
-            if (!state.getDucks().contains(duck)) {
-                NetworkHandler.sendDuckRemoved(duck);
-            }
+        for (IntIntMap.Entry entry : pointsEarned) {
+            state.addScore(entry.key, entry.value);
         }
         
-        for (Map.Entry<Integer, Integer> entry : pointsEarned.entrySet()) {
-            int playerId = entry.getKey();
-            int points = entry.getValue();
-            state.addScore(playerId, points);
-            NetworkHandler.sendScoreUpdate(playerId, state.getScores().get(playerId));
+        // One packet per tick with every score that changed since the last one
+        if (state.getScores().getVersion() != state.getSentScoreVersion()) {
+            NetworkHandler.sendScoreChanges(state.getScores(), state.getSentScoreVersion());
+            state.setSentScoreVersion(state.getScores().getVersion());
         }
         
-        List<Duck> groundedDucks = new ArrayList<>();
-        for (Duck duck : state.getDucks()) {
+        for (int i = 0; i < ducks.size(); i++) {
+            Duck duck = ducks.get(i);
             if (duck.shouldRemove()) {
-                groundedDucks.add(duck);
+                NetworkHandler.sendDuckRemoved(duck);
+                state.removeDuckAt(i--);
             }
         }
         
-        CatchDetector.removeGroundedDucks(state.getDucks());
-        
-        for (Duck duck : groundedDucks) {
-            NetworkHandler.sendDuckRemoved(duck);
-        }
-        
-        NetworkHandler.sendDuckUpdates(state.getDucks());
+        NetworkHandler.sendDuckUpdates(ducks);
         NetworkHandler.sendAllPlayerPositions(state.getPlayers());
     }
     
     /**
      * Actualiza la lógica del juego en el cliente.
      * <p>
-     * Actualiza el renderizador, las entidades locales y envía la posición
-     * del jugador local al servidor.
+     * Actualiza las entidades locales y envía la posición del jugador local
+     * al servidor.
      * 
      * @param delta tiempo transcurrido desde la última actualización en segundos
      * @param state estado del juego que contiene el jugador local
      */
     public static void updateClient(float delta, GameState state) {
-        GameRenderer.update(delta);
-        
         for (IntMap.Entry<Player> entry : state.getPlayers()) {
-            entry.value.update();
+            entry.value.update(delta);
         }
         
         NetworkHandler.sendPlayerPosition(state.getLocalPlayerId(), state.getLocalPlayer());
     }
+    
+    /**
+     * Escribe el estado del host en una instantánea para espectadores.
+     * <p>
+     * La rotación de los jugadores transporta la última velocidad horizontal
+     * para animarlos, y el estado de los patos su tipo.
+     * 
+     * @param frame instantánea a rellenar
+     * @param state estado del juego
+     */
+    public static void writeSnapshot(SnapshotFrame frame, GameState state) {
+        for (IntMap.Entry<Player> entry : state.getPlayers()) {
+            Player player = entry.value;
+            frame.addEntity(SNAPSHOT_PLAYER, entry.key, player.x, player.y, player.lastVelocityX, 0);
+        }
+        for (Duck duck : state.getDucks()) {
+            frame.addEntity(SNAPSHOT_DUCK, duck.id, duck.x, duck.y, 0f, duck.type.ordinal());
+        }
+        ScoreTable scores = state.getScores();
+        for (int rank = 0; rank < scores.size(); rank++) {
+            frame.putScore(scores.getPlayerId(rank), scores.getScore(rank));
+        }
+    }
+    
+    /**
+     * Actualiza el juego de un espectador a partir de las instantáneas del host.
+     * 
+     * @param delta tiempo transcurrido desde la última actualización en segundos
+     * @param view  vista interpolada de las instantáneas
+     * @param state estado del juego
+     */
+    public static void updateSpectator(float delta, SnapshotInterpolator view, GameState state) {
+        SnapshotFrame latest = view.getLatest();
+        if (view.consumeNewFrame()) {
+            syncDucks(latest, state);
+            for (int i = 0; i < latest.getScoreCount(); i++) {
+                state.updateScore(latest.getScorePlayerId(i), latest.getScoreValue(i));
+            }
+        }
+        
+        for (int i = 0; i < latest.getEntityCount(); i++) {
+            if (latest.getKind(i) != SNAPSHOT_PLAYER) {
+                continue;
+            }
+            int playerId = latest.getId(i);
+            state.createRemotePlayer(playerId);
+            Player player = state.getPlayers().get(playerId);
+            player.x = view.getX(i);
+            player.y = view.getY(i);
+            player.lastVelocityX = latest.getRotation(i);
+            player.update(delta);
+        }
+        
+        for (Duck duck : state.getDucks()) {
+            int i = latest.indexOf(SNAPSHOT_DUCK, duck.id);
+            if (i >= 0) {
+                duck.setPosition(view.getX(i), view.getY(i));
+            }
+            if (duck.getAnimation() != null) {
+                duck.getAnimation().update(delta);
+            }
+        }
+    }
+    
+    /**
+     * Crea y elimina patos para que coincidan con una instantánea.
+     * 
+     * @param frame instantánea recibida
+     * @param state estado del juego
+     */
+    private static void syncDucks(SnapshotFrame frame, GameState state) {
+        List<Duck> ducks = state.getDucks();
+        for (int i = 0; i < ducks.size(); i++) {
+            if (frame.indexOf(SNAPSHOT_DUCK, ducks.get(i).id) < 0) {
+                state.removeDuckAt(i--);
+            }
+        }
+        Duck.DuckType[] types = Duck.DuckType.values();
+        for (int i = 0; i < frame.getEntityCount(); i++) {
+            if (frame.getKind(i) != SNAPSHOT_DUCK || containsDuck(state, frame.getId(i))) {
+                continue;
+            }
+            state.addDuck(Duck.obtain(frame.getId(i), frame.getX(i), frame.getY(i), types[frame.getState(i)]));
+        }
+    }
+    
+    /**
+     * Verifica si un pato ya existe en el estado.
+     * 
+     * @param state  estado del juego
+     * @param duckId ID del pato
+     * @return true si existe
+     */
+    private static boolean containsDuck(GameState state, int duckId) {
+        for (Duck duck : state.getDucks()) {
+            if (duck.id == duckId) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
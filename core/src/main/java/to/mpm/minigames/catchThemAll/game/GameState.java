@@ -1,14 +1,17 @@
 package to.mpm.minigames.catchThemAll.game;
 
+import com.badlogic.gdx.utils.IntIntMap;
 import com.badlogic.gdx.utils.IntMap;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.entities.DuckSpawner;
 import to.mpm.minigames.catchThemAll.entities.Player;
+import to.mpm.minigames.catchThemAll.physics.CatchDetector;
+import to.mpm.minigames.catchThemAll.physics.CollisionHandler;
+import to.mpm.minigames.manager.GameFlowManager;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Manages game state for Catch Them All minigame.
@@ -28,9 +31,17 @@ public class GameState {
     private Player localPlayer;
     private final IntMap<Player> players = new IntMap<>();
     private final List<Duck> ducks = new ArrayList<>();
-    private final Map<Integer, Integer> scores = new HashMap<>();
+    private final ScoreTable scores = new ScoreTable();
+    /** Score table version last broadcast to clients. */
+    private int sentScoreVersion;
     private DuckSpawner duckSpawner;
     private boolean finished = false;
+    /** Host-side player collisions of this game. */
+    private final CollisionHandler collisionHandler = new CollisionHandler();
+    /** Host-side catch detection of this game. */
+    private final CatchDetector catchDetector = new CatchDetector();
+    /** Points earned by each player in the current tick. */
+    private final IntIntMap pointsEarned = new IntIntMap();
 
     public GameState(int localPlayerId) {
         this.localPlayerId = localPlayerId;
@@ -53,7 +64,7 @@ public class GameState {
         float startX = 100 + (playerId * 80);
         Player remote = new Player(false, startX, Player.GROUND_Y, color[0], color[1], color[2]);
         players.put(playerId, remote);
-        scores.put(playerId, 0);
+        scores.ensure(playerId);
     }
 
     public void removePlayer(int playerId) {
@@ -66,7 +77,21 @@ public class GameState {
     }
 
     public void removeDuck(int duckId) {
-        ducks.removeIf(duck -> duck.id == duckId);
+        for (int i = 0; i < ducks.size(); i++) {
+            if (ducks.get(i).id == duckId) {
+                removeDuckAt(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove a duck from the list and return it to its pool.
+     *
+     * @param index position of the duck in {@link #getDucks()}
+     */
+    public void removeDuckAt(int index) {
+        Duck.POOL.free(ducks.remove(index));
     }
 
     public void updateScore(int playerId, int score) {
@@ -74,18 +99,18 @@ public class GameState {
     }
 
     public void addScore(int playerId, int points) {
-        int newScore = scores.getOrDefault(playerId, 0) + points;
-        scores.put(playerId, newScore);
+        scores.add(playerId, points);
     }
 
     public void initializeDuckSpawner() {
-        duckSpawner = new DuckSpawner();
+        duckSpawner = new DuckSpawner(GameFlowManager.getInstance().createRoundRandom());
     }
 
     public void reset() {
         players.clear();
-        ducks.clear();
+        Duck.POOL.freeAll(ducks);
         scores.clear();
+        sentScoreVersion = scores.getVersion();
         localPlayer = null;
         if (duckSpawner != null) {
             duckSpawner.reset();
@@ -96,22 +121,17 @@ public class GameState {
     public Player getLocalPlayer() { return localPlayer; }
     public IntMap<Player> getPlayers() { return players; }
     public List<Duck> getDucks() { return ducks; }
-    public Map<Integer, Integer> getScores() { return scores; }
+    public ScoreTable getScores() { return scores; }
+    public int getSentScoreVersion() { return sentScoreVersion; }
+    public void setSentScoreVersion(int version) { this.sentScoreVersion = version; }
     public DuckSpawner getDuckSpawner() { return duckSpawner; }
+    public CollisionHandler getCollisionHandler() { return collisionHandler; }
+    public CatchDetector getCatchDetector() { return catchDetector; }
+    public IntIntMap getPointsEarned() { return pointsEarned; }
     public boolean isFinished() { return finished; }
     public void setFinished(boolean finished) { this.finished = finished; }
 
     public int getWinnerId() {
-        int winnerId = -1;
-        int maxScore = Integer.MIN_VALUE;
-        
-        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
-            if (entry.getValue() > maxScore) {
-                maxScore = entry.getValue();
-                winnerId = entry.getKey();
-            }
-        }
-        
-        return winnerId;
+        return scores.getLeaderId();
     }
 }
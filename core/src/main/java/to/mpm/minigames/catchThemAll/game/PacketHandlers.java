@@ -4,6 +4,7 @@ import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.entities.Player;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.Packets;
+import to.mpm.network.SendScheduler;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.network.handlers.ServerPacketContext;
@@ -51,7 +52,7 @@ public class PacketHandlers {
                 state.removePlayer(left.playerId);
             } else if (packet instanceof to.mpm.minigames.catchThemAll.network.CatchThemAllPackets.DuckSpawned spawned) {
                 Duck.DuckType type = Duck.DuckType.valueOf(spawned.duckType);
-                Duck duck = new Duck(spawned.duckId, spawned.x, spawned.y, type);
+                Duck duck = Duck.obtain(spawned.duckId, spawned.x, spawned.y, type);
                 state.addDuck(duck);
             } else if (packet instanceof to.mpm.minigames.catchThemAll.network.CatchThemAllPackets.DuckUpdate update) {
                 for (Duck duck : state.getDucks()) {
@@ -63,7 +64,7 @@ public class PacketHandlers {
             } else if (packet instanceof to.mpm.minigames.catchThemAll.network.CatchThemAllPackets.DuckRemoved removed) {
                 state.removeDuck(removed.duckId);
             } else if (packet instanceof to.mpm.minigames.catchThemAll.network.CatchThemAllPackets.ScoreUpdate scoreUpdate) {
-                state.updateScore(scoreUpdate.playerId, scoreUpdate.score);
+                state.getScores().applyChanges(scoreUpdate.changes);
             }
         }
 
@@ -92,7 +93,9 @@ public class PacketHandlers {
 
     /**
      * Server-side packet relay.
-     * Broadcasts packets to all clients except sender.
+     * Player and duck positions go through the send scheduler so each client
+     * only receives the latest state within its budget; events are broadcast
+     * to all clients except sender.
      */
     public static class ServerRelay implements ServerPacketHandler {
         @Override
@@ -108,7 +111,18 @@ public class PacketHandlers {
 
         @Override
         public void handle(ServerPacketContext context, NetworkPacket packet) {
-            context.broadcastExceptSender(packet);
+            if (packet instanceof Packets.PlayerPosition position) {
+                context.replicateExceptSender(SendScheduler.key(GameLoop.SNAPSHOT_PLAYER, position.playerId),
+                        position.playerId, position.x, position.y, packet);
+            } else if (packet instanceof to.mpm.minigames.catchThemAll.network.CatchThemAllPackets.DuckUpdate update) {
+                context.replicateExceptSender(SendScheduler.key(GameLoop.SNAPSHOT_DUCK, update.duckId),
+                        -1, update.x, update.y, packet);
+            } else {
+                if (packet instanceof to.mpm.minigames.catchThemAll.network.CatchThemAllPackets.DuckRemoved removed) {
+                    context.getServer().forgetReplicated(SendScheduler.key(GameLoop.SNAPSHOT_DUCK, removed.duckId));
+                }
+                context.broadcastExceptSender(packet);
+            }
         }
     }
 }
@@ -6,6 +6,9 @@ import to.mpm.minigames.catchThemAll.entities.Player;
 
 /**
  * Handles player input for movement and jumping.
+ * <p>
+ * Input is read once per frame with {@link #handleInput(Player)} and applied
+ * in every fixed simulation step with {@link #applyInput(Player, float)}.
  */
 public class InputHandler {
     private static final float MOVE_SPEED = 250f;
@@ -13,34 +16,48 @@ public class InputHandler {
     private static final float SCREEN_WIDTH = 640f;
     
     /**
-     * Process input and update local player.
+     * Read the keyboard and store the requested movement and jump on the player.
      * 
      * @param localPlayer the local player to control
-     * @param delta time since last frame
      */
-    public static void handleInput(Player localPlayer, float delta) {
+    public static void handleInput(Player localPlayer) {
+        float direction = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            direction -= 1;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            direction += 1;
+        }
+        localPlayer.moveDirection = direction;
+
+        if (Gdx.input.isKeyJustPressed(Input.Keys.W) || 
+            Gdx.input.isKeyJustPressed(Input.Keys.UP) || 
+            Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            localPlayer.jumpRequested = true;
+        }
+    }
+    
+    /**
+     * Move the local player one simulation step using the stored input.
+     * 
+     * @param localPlayer the local player to control
+     * @param delta duration of the step in seconds
+     */
+    public static void applyInput(Player localPlayer, float delta) {
         float inputVelocity = 0;
         
         if (localPlayer.blockedTimer <= 0) {
-            if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-                inputVelocity -= MOVE_SPEED * delta;
-            }
-            if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-                inputVelocity += MOVE_SPEED * delta;
-            }
-
+            inputVelocity = localPlayer.moveDirection * MOVE_SPEED * delta;
             localPlayer.x += inputVelocity;
         }
         
         localPlayer.lastVelocityX = inputVelocity;
 
-        if ((Gdx.input.isKeyJustPressed(Input.Keys.W) || 
-             Gdx.input.isKeyJustPressed(Input.Keys.UP) || 
-             Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) && 
-            localPlayer.isGrounded) {
+        if (localPlayer.jumpRequested && localPlayer.isGrounded) {
             localPlayer.velocityY = JUMP_FORCE;
             localPlayer.isGrounded = false;
         }
+        localPlayer.jumpRequested = false;
 
         localPlayer.x = Math.max(0, Math.min(SCREEN_WIDTH - Player.PLAYER_WIDTH, localPlayer.x));
     }
@@ -60,13 +60,11 @@ public class CatchThemAllPackets {
     }
     
     /**
-     * Paquete para actualizar la puntuación de un jugador.
-     * Solo enviado por el host cuando cambian las puntuaciones.
+     * Paquete con las puntuaciones que cambiaron desde el último envío.
+     * Solo enviado por el host, como máximo uno por tick.
      */
     public static class ScoreUpdate extends NetworkPacket {
-        /** ID del jugador. */
-        public int playerId;
-        /** Puntuación actual del jugador. */
-        public int score;
+        /** Pares ID de jugador - puntuación actual: {@code [id0, score0, ...]}. */
+        public int[] changes;
     }
 }
@@ -1,6 +1,8 @@
 package to.mpm.minigames.catchThemAll.network;
 
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntMap;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.entities.Player;
 import to.mpm.network.NetworkManager;
@@ -13,9 +15,16 @@ import java.util.List;
  * Static methods for sending game state packets.
  */
 public class NetworkHandler {
+    // Per-tick packets are reused: sending serializes them immediately. Rooms
+    // on a room server send from their own threads, so the methods that fill
+    // them are synchronized.
+    private static final Packets.PlayerPosition playerPosition = new Packets.PlayerPosition();
+    private static final CatchThemAllPackets.DuckUpdate duckUpdate = new CatchThemAllPackets.DuckUpdate();
+    private static final CatchThemAllPackets.ScoreUpdate scoreUpdate = new CatchThemAllPackets.ScoreUpdate();
+    private static final IntArray scoreChanges = new IntArray();
     
-    public static void sendPlayerPosition(int playerId, Player player) {
-        Packets.PlayerPosition packet = new Packets.PlayerPosition();
+    public static synchronized void sendPlayerPosition(int playerId, Player player) {
+        Packets.PlayerPosition packet = playerPosition;
         packet.playerId = playerId;
         packet.x = player.x;
         packet.y = player.y;
@@ -40,10 +49,11 @@ public class NetworkHandler {
         NetworkManager.getInstance().sendPacket(packet);
     }
     
-    public static void sendDuckUpdates(List<Duck> ducks) {
-        for (Duck duck : ducks) {
+    public static synchronized void sendDuckUpdates(List<Duck> ducks) {
+        for (int i = 0; i < ducks.size(); i++) {
+            Duck duck = ducks.get(i);
             if (!duck.isCaught()) {
-                CatchThemAllPackets.DuckUpdate packet = new CatchThemAllPackets.DuckUpdate();
+                CatchThemAllPackets.DuckUpdate packet = duckUpdate;
                 packet.duckId = duck.id;
                 packet.x = duck.x;
                 packet.y = duck.y;
@@ -59,10 +69,19 @@ public class NetworkHandler {
         NetworkManager.getInstance().sendPacket(packet);
     }
     
-    public static void sendScoreUpdate(int playerId, int score) {
-        CatchThemAllPackets.ScoreUpdate packet = new CatchThemAllPackets.ScoreUpdate();
-        packet.playerId = playerId;
-        packet.score = score;
+    /**
+     * Send the scores that changed after a table version in a single packet.
+     *
+     * @param scores       host score table
+     * @param sinceVersion last version already sent
+     */
+    public static synchronized void sendScoreChanges(ScoreTable scores, int sinceVersion) {
+        scoreChanges.clear();
+        if (scores.writeChanges(sinceVersion, scoreChanges) == 0) {
+            return;
+        }
+        CatchThemAllPackets.ScoreUpdate packet = scoreUpdate;
+        packet.changes = scoreChanges.toArray();
         NetworkManager.getInstance().sendPacket(packet);
     }
 }
@@ -1,79 +1,78 @@
 package to.mpm.minigames.catchThemAll.physics;
 
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
 import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.entities.Player;
+import to.mpm.minigames.physics.UniformGrid;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handles detection and resolution of duck catches by players.
  * Only the host should call these methods to avoid conflicts.
+ * <p>
+ * Each game owns its own detector, so the broadphase and scratch arrays are
+ * never shared between simulations.
  */
 public class CatchDetector {
+    /** Broadphase of player baskets, rebuilt on every call. */
+    private final UniformGrid baskets = new UniformGrid();
+    /** Player IDs in grid order. */
+    private final IntArray basketOwners = new IntArray();
+    /** Players in grid order. */
+    private final Array<Player> basketPlayers = new Array<>();
+    /** Reused query result. */
+    private final IntArray candidates = new IntArray();
     
     /**
-     * Check all ducks against all player baskets and handle catches.
-     * Returns a map of player IDs to points earned this frame.
+     * Check all ducks against the player baskets near them and mark the caught
+     * ones. Caught ducks stay in the list so the caller can announce and
+     * recycle them.
      * 
-     * @param ducks list of active ducks
-     * @param players map of player ID to player
-     * @return map of player ID to points earned (can be negative for bad ducks)
+     * @param ducks        list of active ducks
+     * @param players      map of player ID to player
+     * @param pointsEarned cleared and filled with the points each player earned
+     *                     this frame (can be negative for bad ducks)
      */
-    public static Map<Integer, Integer> detectCatches(List<Duck> ducks, Map<Integer, Player> players) {
-        Map<Integer, Integer> pointsEarned = new HashMap<>();
-        List<Duck> ducksToRemove = new ArrayList<>();
+    public void detectCatches(List<Duck> ducks, IntMap<Player> players, IntIntMap pointsEarned) {
+        pointsEarned.clear();
         
-        for (Duck duck : ducks) {
+        baskets.clear();
+        basketOwners.clear();
+        basketPlayers.clear();
+        for (IntMap.Entry<Player> entry : players) {
+            baskets.addRectangle(entry.value.getBasketBounds());
+            basketOwners.add(entry.key);
+            basketPlayers.add(entry.value);
+        }
+        
+        for (int d = 0; d < ducks.size(); d++) {
+            Duck duck = ducks.get(d);
             if (duck.isCaught()) {
                 continue;
             }
             
             Rectangle duckBounds = duck.getBounds();
             
-            for (Map.Entry<Integer, Player> entry : players.entrySet()) {
-                int playerId = entry.getKey();
-                Player player = entry.getValue();
-                Rectangle basketBounds = player.getBasketBounds();
+            baskets.query(duckBounds, candidates);
+            for (int i = 0; i < candidates.size; i++) {
+                int index = candidates.get(i);
+                int playerId = basketOwners.get(index);
+                Rectangle basketBounds = basketPlayers.get(index).getBasketBounds();
                 
                 if (duckBounds.overlaps(basketBounds)) {
                     duck.setCaught(playerId);
-                    ducksToRemove.add(duck);
                     
                     int points = duck.type.points;
-                    pointsEarned.put(playerId, pointsEarned.getOrDefault(playerId, 0) + points);
+                    pointsEarned.getAndIncrement(playerId, 0, points);
                     
                     break;
                 }
             }
         }
-        
-        ducks.removeAll(ducksToRemove);
-        
-        return pointsEarned;
-    }
-    
-    /**
-     * Remove ducks that have reached the ground without being caught.
-     * 
-     * @param ducks list of active ducks
-     * @return number of ducks removed
-     */
-    public static int removeGroundedDucks(List<Duck> ducks) {
-        int removed = 0;
-        List<Duck> toRemove = new ArrayList<>();
-        
-        for (Duck duck : ducks) {
-            if (duck.shouldRemove()) {
-                toRemove.add(duck);
-                removed++;
-            }
-        }
-        
-        ducks.removeAll(toRemove);
-        return removed;
     }
 }
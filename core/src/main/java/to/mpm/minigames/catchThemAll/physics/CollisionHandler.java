@@ -1,7 +1,7 @@
 package to.mpm.minigames.catchThemAll.physics;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntMap;
 import to.mpm.minigames.catchThemAll.entities.Player;
 
@@ -14,29 +14,31 @@ import to.mpm.minigames.catchThemAll.entities.Player;
  */
 public class CollisionHandler {
     private static final float SCREEN_WIDTH = 640f;
+    /** Player IDs of the current call, reused. */
+    private final IntArray playerIds = new IntArray();
     
     /**
      * Handle collisions between all players (only run by host).
      * 
      * @param players map of all active players
+     * @param delta   simulation step in seconds
      */
-    public static void handlePlayerCollisions(IntMap<Player> players) {
+    public void handlePlayerCollisions(IntMap<Player> players, float delta) {
         IntMap.Keys keys = players.keys();
-        int[] playerIds = new int[players.size];
-        int index = 0;
+        playerIds.clear();
         while (keys.hasNext) {
-            playerIds[index++] = keys.next();
+            playerIds.add(keys.next());
         }
         
-        for (int i = 0; i < playerIds.length; i++) {
-            Player p1 = players.get(playerIds[i]);
+        for (int i = 0; i < playerIds.size; i++) {
+            Player p1 = players.get(playerIds.get(i));
             if (p1 == null) continue;
             
-            for (int j = i + 1; j < playerIds.length; j++) {
-                Player p2 = players.get(playerIds[j]);
+            for (int j = i + 1; j < playerIds.size; j++) {
+                Player p2 = players.get(playerIds.get(j));
                 if (p2 == null) continue;
                 
-                resolveCollision(p1, p2);
+                resolveCollision(p1, p2, delta);
             }
         }
     }
@@ -44,7 +46,7 @@ public class CollisionHandler {
     /**
      * Resolve collision between two players.
      */
-    private static void resolveCollision(Player p1, Player p2) {
+    private static void resolveCollision(Player p1, Player p2, float delta) {
         Rectangle b1 = p1.getBounds();
         Rectangle b2 = p2.getBounds();
         
@@ -59,7 +61,7 @@ public class CollisionHandler {
         if (overlapX < overlapY) {
             resolveHorizontalCollision(p1, p2, overlapX, p1Moving, p2Moving, b1, b2);
         } else {
-            resolveVerticalCollision(p1, p2, b1, b2);
+            resolveVerticalCollision(p1, p2, b1, b2, delta);
         }
         
         p1.x = Math.max(0, Math.min(SCREEN_WIDTH - Player.PLAYER_WIDTH, p1.x));
@@ -108,16 +110,17 @@ public class CollisionHandler {
     
     /**
      * Resolve vertical collision between two players.
-     * Player on top of another = the one below acts as floor.
+     * Player on top of another = the one below acts as floor, carrying the
+     * top one along for this step.
      */
-    private static void resolveVerticalCollision(Player p1, Player p2, Rectangle b1, Rectangle b2) {
+    private static void resolveVerticalCollision(Player p1, Player p2, Rectangle b1, Rectangle b2, float delta) {
         if (b1.y > b2.y) {
             p1.y = b2.y + b2.height;
             p1.velocityY = 0;
             p1.isGrounded = true;
             
             if (Math.abs(p2.lastVelocityX) > 0.1f) {
-                p1.x += p2.lastVelocityX * Gdx.graphics.getDeltaTime();
+                p1.x += p2.lastVelocityX * delta;
             }
         } else {
             p2.y = b1.y + b1.height;
@@ -125,7 +128,7 @@ public class CollisionHandler {
             p2.isGrounded = true;
             
             if (Math.abs(p1.lastVelocityX) > 0.1f) {
-                p2.x += p1.lastVelocityX * Gdx.graphics.getDeltaTime();
+                p2.x += p1.lastVelocityX * delta;
             }
         }
     }
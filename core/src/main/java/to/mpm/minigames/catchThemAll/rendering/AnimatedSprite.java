@@ -1,13 +1,13 @@
 package to.mpm.minigames.catchThemAll.rendering;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
  * Handles sprite animation with multiple frames.
  * Cycles through frames based on elapsed time.
  */
 public class AnimatedSprite {
-    private final Texture[] frames;
+    private final TextureRegion[] frames;
     private final float frameDuration; // Duration per frame in seconds
     private float stateTime;
     private int currentFrameIndex;
@@ -15,10 +15,10 @@ public class AnimatedSprite {
     
     /**
      * Create an animated sprite.
-     * @param frames Array of textures for each frame
+     * @param frames Array of regions for each frame
      * @param frameDuration Duration each frame is displayed (in seconds)
      */
-    public AnimatedSprite(Texture[] frames, float frameDuration) {
+    public AnimatedSprite(TextureRegion[] frames, float frameDuration) {
         if (frames == null || frames.length == 0) {
             throw new IllegalArgumentException("Frames array cannot be null or empty");
         }
@@ -45,19 +45,19 @@ public class AnimatedSprite {
     }
     
     /**
-     * Get the current frame texture.
-     * @return Current frame texture
+     * Get the current frame region.
+     * @return Current frame region
      */
-    public Texture getCurrentFrame() {
+    public TextureRegion getCurrentFrame() {
         return frames[currentFrameIndex];
     }
     
     /**
      * Get a specific frame by index.
      * @param index Frame index
-     * @return Texture at the specified index
+     * @return Region at the specified index
      */
-    public Texture getFrame(int index) {
+    public TextureRegion getFrame(int index) {
         if (index < 0 || index >= frames.length) {
             return frames[0];
         }
@@ -1,7 +1,7 @@
 package to.mpm.minigames.catchThemAll.rendering;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,9 +50,9 @@ public class CloudsLayer {
      * Actualiza las posiciones de las nubes.
      * 
      * @param delta tiempo transcurrido desde el último frame en segundos
-     * @param cloudsTexture textura de las nubes para verificar dimensiones
+     * @param cloudsTexture región de las nubes para verificar dimensiones
      */
-    public void update(float delta, Texture cloudsTexture) {
+    public void update(float delta, TextureRegion cloudsTexture) {
         if (cloudsTexture == null) {
             return;
         }
@@ -66,14 +66,14 @@ public class CloudsLayer {
      * Renderiza todas las instancias de nubes.
      * 
      * @param batch el SpriteBatch para renderizar
-     * @param cloudsTexture textura de las nubes a renderizar
+     * @param cloudsTexture región de las nubes a renderizar
      */
-    public void render(SpriteBatch batch, Texture cloudsTexture) {
+    public void render(SpriteBatch batch, TextureRegion cloudsTexture) {
         if (cloudsTexture == null) {
             return;
         }
         
-        float aspectRatio = (float) cloudsTexture.getWidth() / cloudsTexture.getHeight();
+        float aspectRatio = (float) cloudsTexture.getRegionWidth() / cloudsTexture.getRegionHeight();
         float cloudsWidth = cloudsHeight * aspectRatio;
         
         for (CloudInstance cloud : clouds) {
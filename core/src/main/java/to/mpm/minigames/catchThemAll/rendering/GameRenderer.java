@@ -1,35 +1,41 @@
 package to.mpm.minigames.catchThemAll.rendering;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.IntMap;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.catchThemAll.entities.Duck;
 import to.mpm.minigames.catchThemAll.entities.Player;
+import to.mpm.minigames.rendering.BatchShapes;
 
 import java.util.List;
 
 /**
  * Maneja todo el renderizado para el minijuego Atrapa a Todos.
+ * <p>
+ * Cada minijuego tiene su propio renderizador, así que varias partidas del
+ * mismo proceso no comparten las nubes ni el gestor de sprites.
  */
 public class GameRenderer {
     private static final float SCREEN_WIDTH = 640f;
     private static final float SCREEN_HEIGHT = 480f;
     private static final float GROUND_Y = 60f;
     
-    private static BitmapFont font;
-    private static SpriteManager spriteManager;
-    private static CloudsLayer cloudsLayer;
+    private BitmapFont font;
+    private SpriteManager spriteManager;
+    private CloudsLayer cloudsLayer;
+    /** Formas dibujadas con el batch y la región blanca del atlas. */
+    private BatchShapes shapes;
     
     /**
      * Inicializa el renderizador.
      * <p>
      * Debe llamarse una sola vez al inicio del minijuego.
      */
-    public static void initialize() {
+    public void initialize() {
         if (font == null) {
             try {
                 Skin skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
@@ -44,6 +50,7 @@ public class GameRenderer {
         
         spriteManager = SpriteManager.getInstance();
         spriteManager.loadSprites();
+        shapes = spriteManager.isLoaded() ? new BatchShapes(spriteManager.getWhitePixel()) : new BatchShapes();
         
         cloudsLayer = new CloudsLayer(SCREEN_WIDTH, SCREEN_HEIGHT);
     }
@@ -53,13 +60,17 @@ public class GameRenderer {
      * <p>
      * Debe llamarse al finalizar el minijuego.
      */
-    public static void dispose() {
+    public void dispose() {
         if (font != null) {
             font = null;
         }
         if (spriteManager != null) {
             spriteManager.dispose();
         }
+        if (shapes != null) {
+            shapes.dispose();
+            shapes = null;
+        }
     }
     
     /**
@@ -69,9 +80,9 @@ public class GameRenderer {
      * 
      * @param delta tiempo transcurrido desde el último frame en segundos
      */
-    public static void update(float delta) {
+    public void update(float delta) {
         if (cloudsLayer != null && spriteManager != null && spriteManager.isLoaded()) {
-            Texture clouds = spriteManager.getClouds();
+            TextureRegion clouds = spriteManager.getClouds();
             cloudsLayer.update(delta, clouds);
         }
     }
@@ -79,44 +90,36 @@ public class GameRenderer {
     /**
      * Renderiza el juego completo.
      * <p>
-     * Incluye fondo, nubes, jugadores, patos y puntuaciones.
+     * Incluye fondo, nubes, jugadores, patos y puntuaciones, todo en una sola
+     * pasada del batch.
      * 
      * @param batch el SpriteBatch para renderizar sprites
-     * @param shapeRenderer el ShapeRenderer para formas geométricas
      * @param players mapa de todos los jugadores activos
      * @param ducks lista de todos los patos activos
-     * @param scores mapa de identificadores de jugador a puntuaciones
+     * @param scores tabla de puntuaciones por jugador
      * @param playerColors arreglo de colores de jugadores
      * @param localPlayerId identificador del jugador local
      */
-    public static void render(SpriteBatch batch, ShapeRenderer shapeRenderer, IntMap<Player> players, List<Duck> ducks, 
-                             java.util.Map<Integer, Integer> scores, float[][] playerColors, int localPlayerId) {
+    public void render(SpriteBatch batch, IntMap<Player> players, List<Duck> ducks, 
+                             ScoreTable scores, float[][] playerColors, int localPlayerId) {
         
         batch.begin();
         
         if (spriteManager != null && spriteManager.isLoaded()) {
-            Texture bg = spriteManager.getBackground();
+            TextureRegion bg = spriteManager.getBackground();
             if (bg != null) {
                 batch.draw(bg, 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
             }
             
             if (cloudsLayer != null) {
-                Texture clouds = spriteManager.getClouds();
+                TextureRegion clouds = spriteManager.getClouds();
                 cloudsLayer.render(batch, clouds);
             }
+        } else if (shapes != null) {
+            shapes.setColor(0.3f, 0.3f, 0.3f, 1f);
+            shapes.rect(batch, 0, 0, SCREEN_WIDTH, GROUND_Y);
         }
         
-        batch.end();
-        
-        if (spriteManager == null || !spriteManager.isLoaded()) {
-            shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-            shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 1f);
-            shapeRenderer.rect(0, 0, SCREEN_WIDTH, GROUND_Y);
-            shapeRenderer.end();
-        }
-        
-        batch.begin();
-        
         for (Duck duck : ducks) {
             renderDuck(batch, duck);
         }
@@ -135,14 +138,14 @@ public class GameRenderer {
      * @param batch el SpriteBatch para renderizar
      * @param duck el pato a renderizar
      */
-    private static void renderDuck(SpriteBatch batch, Duck duck) {
+    private void renderDuck(SpriteBatch batch, Duck duck) {
         if (duck.isCaught()) {
             return;
         }
         
         AnimatedSprite animation = duck.getAnimation();
         if (animation != null && spriteManager != null && spriteManager.isLoaded()) {
-            Texture currentFrame = animation.getCurrentFrame();
+            TextureRegion currentFrame = animation.getCurrentFrame();
             if (currentFrame != null) {
                 batch.draw(currentFrame, duck.x, duck.y, Duck.DUCK_WIDTH, Duck.DUCK_HEIGHT);
             }
@@ -155,10 +158,10 @@ public class GameRenderer {
      * @param batch el SpriteBatch para renderizar
      * @param p el jugador a renderizar
      */
-    private static void renderPlayer(SpriteBatch batch, Player p) {
+    private void renderPlayer(SpriteBatch batch, Player p) {
         AnimatedSprite animation = p.getRunAnimation();
         if (animation != null && spriteManager != null && spriteManager.isLoaded()) {
-            Texture currentFrame = animation.getCurrentFrame();
+            TextureRegion currentFrame = animation.getCurrentFrame();
             if (currentFrame != null) {
                 batch.setColor(p.r, p.g, p.b, 1f);
                 
@@ -172,10 +175,7 @@ public class GameRenderer {
                         Player.PLAYER_WIDTH / 2, Player.PLAYER_HEIGHT / 2,
                         Player.PLAYER_WIDTH, Player.PLAYER_HEIGHT,
                         -1f, 1f,
-                        0f,
-                        0, 0,
-                        currentFrame.getWidth(), currentFrame.getHeight(),
-                        false, false);
+                        0f);
                 }
                 
                 batch.setColor(1f, 1f, 1f, 1f);
@@ -1,8 +1,11 @@
 package to.mpm.minigames.catchThemAll.rendering;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import to.mpm.minigames.MinigameAtlas;
+import to.mpm.minigames.MinigameType;
 import to.mpm.minigames.catchThemAll.entities.Duck;
+import to.mpm.network.room.RoomContext;
 
 /**
  * Gestiona todos los sprites para el minijuego Atrapa a Todos.
@@ -11,30 +14,36 @@ import to.mpm.minigames.catchThemAll.entities.Duck;
  */
 public class SpriteManager {
     private static SpriteManager instance;
+
+    /** Atlas con todos los sprites del minijuego. */
+    private MinigameAtlas atlas;
+
+    /** Región blanca de 1×1 para dibujar formas. */
+    private TextureRegion whitePixel;
     
     /** Textura del fondo. */
-    private Texture background;
+    private TextureRegion background;
     
     /** Textura de las nubes. */
-    private Texture clouds;
+    private TextureRegion clouds;
     
     /** Frame 1 del jugador. */
-    private Texture playerFrame1;
+    private TextureRegion playerFrame1;
     /** Frame 2 del jugador. */
-    private Texture playerFrame2;
+    private TextureRegion playerFrame2;
     
     /** Frame 1 del pato neutral. */
-    private Texture duckNeutral1;
+    private TextureRegion duckNeutral1;
     /** Frame 2 del pato neutral. */
-    private Texture duckNeutral2;
+    private TextureRegion duckNeutral2;
     /** Frame 1 del pato dorado. */
-    private Texture duckGold1;
+    private TextureRegion duckGold1;
     /** Frame 2 del pato dorado. */
-    private Texture duckGold2;
+    private TextureRegion duckGold2;
     /** Frame 1 del pato malo. */
-    private Texture duckBad1;
+    private TextureRegion duckBad1;
     /** Frame 2 del pato malo. */
-    private Texture duckBad2;
+    private TextureRegion duckBad2;
     
     private boolean loaded = false;
     
@@ -42,11 +51,16 @@ public class SpriteManager {
     }
     
     /**
-     * Obtiene la instancia única del gestor de sprites.
+     * Obtiene la instancia única del gestor de sprites, o la de la sala si
+     * se llama desde el hilo de una sala.
      * 
      * @return la instancia del SpriteManager
      */
     public static SpriteManager getInstance() {
+        SpriteManager scoped = RoomContext.scoped(SpriteManager.class, SpriteManager::new);
+        if (scoped != null) {
+            return scoped;
+        }
         if (instance == null) {
             instance = new SpriteManager();
         }
@@ -62,19 +76,22 @@ public class SpriteManager {
         }
         
         try {
-            background = new Texture(Gdx.files.internal("sprites/catchThemAll/background.png"));
-            clouds = new Texture(Gdx.files.internal("sprites/catchThemAll/clouds.png"));
+            atlas = new MinigameAtlas(MinigameType.CATCH_THEM_ALL.getAtlasName());
+            background = atlas.findRegion("background");
+            clouds = atlas.findRegion("clouds");
             
-            playerFrame1 = new Texture(Gdx.files.internal("sprites/catchThemAll/player-frame1.png"));
-            playerFrame2 = new Texture(Gdx.files.internal("sprites/catchThemAll/player-frame2.png"));
+            playerFrame1 = atlas.findRegion("player-frame1");
+            playerFrame2 = atlas.findRegion("player-frame2");
             
-            duckNeutral1 = new Texture(Gdx.files.internal("sprites/catchThemAll/duck-neutral1.png"));
-            duckNeutral2 = new Texture(Gdx.files.internal("sprites/catchThemAll/duck-neutral2.png"));
-            duckGold1 = new Texture(Gdx.files.internal("sprites/catchThemAll/duck-gold1.png"));
-            duckGold2 = new Texture(Gdx.files.internal("sprites/catchThemAll/duck-gold2.png"));
-            duckBad1 = new Texture(Gdx.files.internal("sprites/catchThemAll/duck-bad1.png"));
-            duckBad2 = new Texture(Gdx.files.internal("sprites/catchThemAll/duck-bad2.png"));
+            duckNeutral1 = atlas.findRegion("duck-neutral1");
+            duckNeutral2 = atlas.findRegion("duck-neutral2");
+            duckGold1 = atlas.findRegion("duck-gold1");
+            duckGold2 = atlas.findRegion("duck-gold2");
+            duckBad1 = atlas.findRegion("duck-bad1");
+            duckBad2 = atlas.findRegion("duck-bad2");
             
+            whitePixel = atlas.findRegion(MinigameAtlas.WHITE_PIXEL);
+
             loaded = true;
             Gdx.app.log("SpriteManager", "All sprites loaded successfully");
         } catch (Exception e) {
@@ -83,47 +100,42 @@ public class SpriteManager {
     }
     
     /**
-     * Libera todas las texturas cargadas.
+     * Devuelve el atlas a {@link to.mpm.minigames.AssetCache}, que lo conserva
+     * para la próxima vez que se juegue el minijuego.
      */
     public void dispose() {
         if (!loaded) {
             return;
         }
         
-        if (background != null) background.dispose();
-        if (clouds != null) clouds.dispose();
-        if (playerFrame1 != null) playerFrame1.dispose();
-        if (playerFrame2 != null) playerFrame2.dispose();
-        if (duckNeutral1 != null) duckNeutral1.dispose();
-        if (duckNeutral2 != null) duckNeutral2.dispose();
-        if (duckGold1 != null) duckGold1.dispose();
-        if (duckGold2 != null) duckGold2.dispose();
-        if (duckBad1 != null) duckBad1.dispose();
-        if (duckBad2 != null) duckBad2.dispose();
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
         
         loaded = false;
         Gdx.app.log("SpriteManager", "All sprites disposed");
     }
     
     /** Obtiene el fondo. */
-    public Texture getBackground() { return background; }
+    public TextureRegion getBackground() { return background; }
     
     /** Obtiene las nubes. */
-    public Texture getClouds() { return clouds; }
+    public TextureRegion getClouds() { return clouds; }
     
     /** Obtiene el frame 1 del jugador. */
-    public Texture getPlayerFrame1() { return playerFrame1; }
+    public TextureRegion getPlayerFrame1() { return playerFrame1; }
     /** Obtiene el frame 2 del jugador. */
-    public Texture getPlayerFrame2() { return playerFrame2; }
+    public TextureRegion getPlayerFrame2() { return playerFrame2; }
     
     /**
      * Obtiene un frame de pato según su tipo y número de frame.
      * 
      * @param type tipo de pato
      * @param frameIndex índice del frame (0 o 1)
-     * @return textura del frame solicitado
+     * @return región del frame solicitado
      */
-    public Texture getDuckFrame(Duck.DuckType type, int frameIndex) {
+    public TextureRegion getDuckFrame(Duck.DuckType type, int frameIndex) {
         switch (type) {
             case NEUTRAL:
                 return frameIndex == 0 ? duckNeutral1 : duckNeutral2;
@@ -136,6 +148,15 @@ public class SpriteManager {
         }
     }
     
+    /**
+     * Obtiene la región blanca de 1×1 del atlas, para {@link to.mpm.minigames.rendering.BatchShapes}.
+     *
+     * @return región blanca
+     */
+    public TextureRegion getWhitePixel() {
+        return whitePixel;
+    }
+
     /**
      * Verifica si los sprites han sido cargados.
      * 
@@ -1,11 +1,12 @@
 package to.mpm.minigames.dodgeRain;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import to.mpm.minigames.MinigameAtlas;
+import to.mpm.minigames.MinigameType;
 
 /**
  * Gestiona los recursos del minijuego DodgeRain.
@@ -14,29 +15,32 @@ import com.badlogic.gdx.utils.Disposable;
  * necesarios para el juego.
  */
 public class DodgeRainAssets implements Disposable {
-  /** Textura de fondo del juego. */
-  public Texture bgImage;
+  /** Atlas con todos los sprites del minijuego. */
+  private MinigameAtlas atlas;
 
-  /** Textura del pato mirando a la derecha. */
-  public Texture duckRight;
-  /** Textura del pato caminando mirando a la derecha. */
-  public Texture duckRightStep;
-  /** Textura del pato enfadado mirando a la derecha. */
-  public Texture duckRightUpset;
-  /** Textura del pato ralentizado mirando a la derecha. */
-  public Texture duckRightRalent;
+  /** Región del fondo del juego. */
+  public TextureRegion bgImage;
 
-  /** Textura del pato mirando a la izquierda. */
-  public Texture duckLeft;
-  /** Textura del pato caminando mirando a la izquierda. */
-  public Texture duckLeftStep;
-  /** Textura del pato enfadado mirando a la izquierda. */
-  public Texture duckLeftUpset;
-  /** Textura del pato ralentizado mirando a la izquierda. */
-  public Texture duckLeftRalent;
+  /** Región del pato mirando a la derecha. */
+  public TextureRegion duckRight;
+  /** Región del pato caminando mirando a la derecha. */
+  public TextureRegion duckRightStep;
+  /** Región del pato enfadado mirando a la derecha. */
+  public TextureRegion duckRightUpset;
+  /** Región del pato ralentizado mirando a la derecha. */
+  public TextureRegion duckRightRalent;
 
-  /** Lista de texturas de obstáculos. */
-  public Array<Texture> obstacleTextures;
+  /** Región del pato mirando a la izquierda. */
+  public TextureRegion duckLeft;
+  /** Región del pato caminando mirando a la izquierda. */
+  public TextureRegion duckLeftStep;
+  /** Región del pato enfadado mirando a la izquierda. */
+  public TextureRegion duckLeftUpset;
+  /** Región del pato ralentizado mirando a la izquierda. */
+  public TextureRegion duckLeftRalent;
+
+  /** Lista de regiones de obstáculos. */
+  public Array<TextureRegion> obstacleTextures;
   /** Fuente para renderizar texto. */
   public BitmapFont font;
 
@@ -44,22 +48,23 @@ public class DodgeRainAssets implements Disposable {
    * Carga todos los recursos del juego desde el sistema de archivos.
    */
   public void load() {
-    bgImage = new Texture(Gdx.files.internal("sprites/dodgeRain/bg.png"));
+    atlas = new MinigameAtlas(MinigameType.DODGE_RAIN.getAtlasName());
+    bgImage = atlas.findRegion("bg");
 
-    duckRight = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-right.png"));
-    duckRightStep = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-right-step.png"));
-    duckRightUpset = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-right-upset.png"));
-    duckRightRalent = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-right-ralent.png"));
+    duckRight = atlas.findRegion("duck-right");
+    duckRightStep = atlas.findRegion("duck-right-step");
+    duckRightUpset = atlas.findRegion("duck-right-upset");
+    duckRightRalent = atlas.findRegion("duck-right-ralent");
 
-    duckLeft = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-left.png"));
-    duckLeftStep = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-left-step.png"));
-    duckLeftUpset = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-left-upset.png"));
-    duckLeftRalent = new Texture(Gdx.files.internal("sprites/dodgeRain/duck-left-ralent.png"));
+    duckLeft = atlas.findRegion("duck-left");
+    duckLeftStep = atlas.findRegion("duck-left-step");
+    duckLeftUpset = atlas.findRegion("duck-left-upset");
+    duckLeftRalent = atlas.findRegion("duck-left-ralent");
 
     obstacleTextures = new Array<>();
-    obstacleTextures.add(new Texture(Gdx.files.internal("sprites/dodgeRain/obstacle/drop-stone.png")));
-    obstacleTextures.add(new Texture(Gdx.files.internal("sprites/dodgeRain/obstacle/drop-branch.png")));
-    obstacleTextures.add(new Texture(Gdx.files.internal("sprites/dodgeRain/obstacle/drop-egg.png")));
+    obstacleTextures.add(atlas.findRegion("obstacle/drop-stone"));
+    obstacleTextures.add(atlas.findRegion("obstacle/drop-branch"));
+    obstacleTextures.add(atlas.findRegion("obstacle/drop-egg"));
 
     font = new BitmapFont();
     font.setColor(Color.WHITE);
@@ -71,32 +76,8 @@ public class DodgeRainAssets implements Disposable {
    */
   @Override
   public void dispose() {
-    if (bgImage != null)
-      bgImage.dispose();
-
-    if (duckRight != null)
-      duckRight.dispose();
-    if (duckRightStep != null)
-      duckRightStep.dispose();
-    if (duckRightUpset != null)
-      duckRightUpset.dispose();
-    if (duckRightRalent != null)
-      duckRightRalent.dispose();
-
-    if (duckLeft != null)
-      duckLeft.dispose();
-    if (duckLeftStep != null)
-      duckLeftStep.dispose();
-    if (duckLeftUpset != null)
-      duckLeftUpset.dispose();
-    if (duckLeftRalent != null)
-      duckLeftRalent.dispose();
-
-    if (obstacleTextures != null) {
-      for (Texture t : obstacleTextures) {
-        t.dispose();
-      }
-    }
+    if (atlas != null)
+      atlas.dispose();
     if (font != null)
       font.dispose();
   }
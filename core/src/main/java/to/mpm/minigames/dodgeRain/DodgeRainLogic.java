@@ -1,13 +1,14 @@
 package to.mpm.minigames.dodgeRain;
 
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.IntMap;
-import com.badlogic.gdx.utils.TimeUtils;
 import to.mpm.minigames.GameConstants;
+import to.mpm.minigames.manager.GameFlowManager;
+import to.mpm.minigames.physics.MovingBodies;
 import to.mpm.network.NetworkManager;
 
+import java.util.Random;
+
 /**
  * Gestiona la lógica del minijuego DodgeRain.
  * <p>
@@ -19,13 +20,11 @@ public class DodgeRainLogic {
   public IntMap<DodgeRainPlayer> players;
   /** Referencia al jugador local, puede ser {@code null} si es espectador. */
   public DodgeRainPlayer localPlayer;
-  /** Lista de obstáculos que caen. */
-  public Array<Rectangle> raindrops;
-  /** Tipos de obstáculos correspondientes a cada elemento en raindrops. */
-  public Array<Integer> raindropTypes;
+  /** Obstáculos que caen; el tipo de cada uno indexa las texturas de obstáculo. */
+  public final MovingBodies raindrops = new MovingBodies(64);
 
-  /** Timestamp de la última gota generada. */
-  private long lastDropTime;
+  /** Tiempo simulado desde la última gota generada. */
+  private float dropTimer;
   /** Puntuación actual del jugador local. */
   public int score;
   /** Tiempo que el jugador ha sobrevivido. */
@@ -37,6 +36,12 @@ public class DodgeRainLogic {
 
   /** Velocidad de caída de los obstáculos. */
   private static final float RAIN_SPEED = 300f;
+  /** Mitad del lado de un obstáculo. */
+  private static final float RAINDROP_RADIUS = 24f;
+  /** Centro Y bajo el cual un obstáculo ya salió de la pantalla. */
+  private static final float RAINDROP_MIN_Y = -40f;
+  /** Segundos entre gotas generadas. */
+  private static final float DROP_INTERVAL = 0.3f;
   /** Duración total del juego en segundos. */
   private static final float GAME_DURATION = 10f;
   /** Duración del estado "upset" después de ser golpeado. */
@@ -44,6 +49,9 @@ public class DodgeRainLogic {
   /** Duración del estado "slowed" después del estado "upset". */
   private static final float SLOW_DURATION = 1.0f;
 
+  /** Generador de la ronda, así todos los jugadores reciben la misma lluvia. */
+  private final Random random = GameFlowManager.getInstance().createRoundRandom();
+
   /**
    * Construye una nueva instancia de la lógica del juego.
    *
@@ -67,8 +75,6 @@ public class DodgeRainLogic {
       }
     }
 
-    raindrops = new Array<>();
-    raindropTypes = new Array<>();
     spawnRaindrop(3);
 
     score = 0;
@@ -83,14 +89,10 @@ public class DodgeRainLogic {
    * @param maxTypes número máximo de tipos de obstáculos disponibles
    */
   private void spawnRaindrop(int maxTypes) {
-    Rectangle raindrop = new Rectangle();
-    raindrop.x = MathUtils.random(0, GameConstants.Screen.WIDTH - 64);
-    raindrop.y = GameConstants.Screen.HEIGHT;
-    raindrop.width = 48;
-    raindrop.height = 48;
-    raindrops.add(raindrop);
-    raindropTypes.add(MathUtils.random(0, maxTypes - 1));
-    lastDropTime = TimeUtils.nanoTime();
+    float left = random.nextFloat() * (GameConstants.Screen.WIDTH - 64);
+    raindrops.add(left + RAINDROP_RADIUS, GameConstants.Screen.HEIGHT + RAINDROP_RADIUS,
+        0f, -RAIN_SPEED, RAINDROP_RADIUS, random.nextInt(maxTypes), -1);
+    dropTimer = 0;
   }
 
   /**
@@ -119,47 +121,54 @@ public class DodgeRainLogic {
       }
     }
 
-    if (TimeUtils.nanoTime() - lastDropTime > 300000000) {
+    dropTimer += delta;
+    if (dropTimer > DROP_INTERVAL) {
       spawnRaindrop(maxObstacleTypes);
     }
 
-    for (int i = 0; i < raindrops.size; i++) {
-      Rectangle raindrop = raindrops.get(i);
-      raindrop.y -= RAIN_SPEED * delta;
-
-      if (localPlayer != null && raindrop.overlaps(localPlayer.bounds)) {
-        // Hit logic based on type
-        int type = raindropTypes.get(i);
-        switch (type) {
-          case 0: // Stone
-            score -= 30000;
-            break;
-          case 1: // Branch
-            score -= 20000;
-            break;
-          case 2: // Egg
-            score -= 10000;
-            break;
-          default:
-            score -= 10000;
-            break;
-        }
-        if (score < 0)
-          score = 0; // Prevent negative score
-
-        localPlayer.isUpset = true;
-        localPlayer.isSlowed = false;
-        localPlayer.hitTimer = UPSET_DURATION;
-
-        raindrops.removeIndex(i);
-        raindropTypes.removeIndex(i);
-        i--;
-      } else if (raindrop.y + 64 < 0) {
-        raindrops.removeIndex(i);
-        raindropTypes.removeIndex(i);
-        i--;
+    raindrops.integrate(delta);
+
+    if (localPlayer != null) {
+      Rectangle bounds = localPlayer.bounds;
+      float right = bounds.x + bounds.width;
+      float top = bounds.y + bounds.height;
+      int hit = raindrops.findOverlap(0, bounds.x, bounds.y, right, top);
+      while (hit >= 0) {
+        hitBy(raindrops.getType(hit));
+        raindrops.removeAt(hit);
+        hit = raindrops.findOverlap(hit, bounds.x, bounds.y, right, top);
       }
     }
+
+    raindrops.removeOutside(-Float.MAX_VALUE, RAINDROP_MIN_Y, Float.MAX_VALUE, Float.MAX_VALUE);
+  }
+
+  /**
+   * Aplica al jugador local el golpe de un obstáculo.
+   *
+   * @param type tipo del obstáculo
+   */
+  private void hitBy(int type) {
+    switch (type) {
+      case 0: // Stone
+        score -= 30000;
+        break;
+      case 1: // Branch
+        score -= 20000;
+        break;
+      case 2: // Egg
+        score -= 10000;
+        break;
+      default:
+        score -= 10000;
+        break;
+    }
+    if (score < 0)
+      score = 0; // Prevent negative score
+
+    localPlayer.isUpset = true;
+    localPlayer.isSlowed = false;
+    localPlayer.hitTimer = UPSET_DURATION;
   }
 
   /**
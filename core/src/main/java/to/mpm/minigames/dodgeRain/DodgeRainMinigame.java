@@ -6,9 +6,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.Minigame;
-
-import java.util.HashMap;
-import java.util.Map;
+import to.mpm.minigames.ScoreTable;
 
 /**
  * Minijuego de esquivar objetos que caen del cielo.
@@ -29,12 +27,19 @@ public class DodgeRainMinigame implements Minigame {
   private DodgeRainLogic logic;
   /** Renderizador del juego. */
   private DodgeRainRenderer renderer;
+  /** Puntuación del jugador local, sincronizada con la lógica al consultarla. */
+  private final ScoreTable scores = new ScoreTable();
 
   /** Velocidad de movimiento del jugador. */
   private static final float PLAYER_SPEED = 300f;
   /** Multiplicador de velocidad cuando el jugador está ralentizado. */
   private static final float SLOW_SPEED_MULTIPLIER = 0.5f;
 
+  /** Indica si el jugador pidió moverse a la izquierda en el último frame. */
+  private boolean movingLeft;
+  /** Indica si el jugador pidió moverse a la derecha en el último frame. */
+  private boolean movingRight;
+
   /**
    * Construye una nueva instancia del minijuego DodgeRain.
    *
@@ -64,17 +69,19 @@ public class DodgeRainMinigame implements Minigame {
   }
 
   /**
-   * Actualiza la lógica del juego.
+   * Actualiza la lógica del juego, moviendo antes al jugador local según la
+   * última entrada leída.
    *
-   * @param delta tiempo transcurrido desde el último frame en segundos
+   * @param delta duración del paso de simulación en segundos
    */
   @Override
   public void update(float delta) {
+    movePlayer(delta);
     logic.update(delta, assets.obstacleTextures.size);
   }
 
   /**
-   * Maneja la entrada del jugador local.
+   * Guarda la entrada del jugador local para el siguiente paso.
    * Los espectadores no procesan entrada.
    *
    * @param delta tiempo transcurrido desde el último frame en segundos
@@ -84,13 +91,24 @@ public class DodgeRainMinigame implements Minigame {
     if (isSpectator)
       return;
 
-    if (logic.finished)
-      return;
+    movingLeft = Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A);
+    movingRight = Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D);
+  }
 
+  /**
+   * Mueve al jugador local un paso según la entrada guardada.
+   *
+   * @param delta duración del paso de simulación en segundos
+   */
+  private void movePlayer(float delta) {
     DodgeRainPlayer localPlayer = logic.localPlayer;
     if (localPlayer == null)
       return;
 
+    localPlayer.previousX = localPlayer.bounds.x;
+    if (logic.finished)
+      return;
+
     float currentSpeed = PLAYER_SPEED;
     if (localPlayer.isSlowed) {
       currentSpeed *= SLOW_SPEED_MULTIPLIER;
@@ -98,12 +116,12 @@ public class DodgeRainMinigame implements Minigame {
 
     localPlayer.isMoving = false;
 
-    if (Gdx.input.isKeyPressed(Input.Keys.LEFT) || Gdx.input.isKeyPressed(Input.Keys.A)) {
+    if (movingLeft) {
       localPlayer.bounds.x -= currentSpeed * delta;
       localPlayer.facingRight = false;
       localPlayer.isMoving = true;
     }
-    if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) || Gdx.input.isKeyPressed(Input.Keys.D)) {
+    if (movingRight) {
       localPlayer.bounds.x += currentSpeed * delta;
       localPlayer.facingRight = true;
       localPlayer.isMoving = true;
@@ -123,7 +141,19 @@ public class DodgeRainMinigame implements Minigame {
    */
   @Override
   public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
-    renderer.render(batch, shapeRenderer);
+    render(batch, shapeRenderer, 1f);
+  }
+
+  /**
+   * Renderiza el juego interpolando al jugador y la caída de los obstáculos.
+   *
+   * @param batch renderizador de sprites para dibujar texturas
+   * @param shapeRenderer renderizador de formas geométricas
+   * @param alpha fracción del siguiente paso de simulación ya transcurrida
+   */
+  @Override
+  public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
+    renderer.render(batch, shapeRenderer, alpha);
   }
 
   /**
@@ -139,11 +169,10 @@ public class DodgeRainMinigame implements Minigame {
   /**
    * Obtiene las puntuaciones de todos los jugadores.
    *
-   * @return mapa con los identificadores de jugadores y sus puntuaciones
+   * @return tabla con la puntuación del jugador local
    */
   @Override
-  public Map<Integer, Integer> getScores() {
-    Map<Integer, Integer> scores = new HashMap<>();
+  public ScoreTable getScores() {
     if (!isSpectator) {
       scores.put(localPlayerId, logic.score);
     }
@@ -13,6 +13,8 @@ public class DodgeRainPlayer {
   public int id;
   /** Rectángulo de colisión del jugador. */
   public Rectangle bounds;
+  /** Posición X de {@link #bounds} antes del último paso, para interpolar el dibujo. */
+  public float previousX;
   /** Indica la dirección en la que mira el jugador. */
   public boolean facingRight = true;
   /** Indica si el jugador está en estado "upset" después de ser golpeado. */
@@ -36,5 +38,6 @@ public class DodgeRainPlayer {
   public DodgeRainPlayer(int id, float x, float y) {
     this.id = id;
     this.bounds = new Rectangle(x, y, 64, 64);
+    this.previousX = x;
   }
 }
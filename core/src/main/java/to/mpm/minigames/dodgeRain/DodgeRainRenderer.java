@@ -1,12 +1,12 @@
 package to.mpm.minigames.dodgeRain;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.IntMap;
 import to.mpm.minigames.GameConstants;
+import to.mpm.minigames.physics.MovingBodies;
 
 /**
  * Renderizador para el minijuego DodgeRain.
@@ -46,8 +46,13 @@ public class DodgeRainRenderer {
    *
    * @param batch renderizador de sprites
    * @param shapeRenderer renderizador de formas geométricas (no utilizado)
+   * @param alpha fracción del siguiente paso de simulación ya transcurrida; se
+   *              ignora al terminar el juego, que ya no avanza
    */
-  public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
+  public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
+    if (logic.finished) {
+      alpha = 1f;
+    }
     boolean batchWasDrawing = batch.isDrawing();
     if (!batchWasDrawing) {
       batch.begin();
@@ -60,7 +65,7 @@ public class DodgeRainRenderer {
     for (IntMap.Entry<DodgeRainPlayer> entry : logic.players) {
       DodgeRainPlayer p = entry.value;
 
-      Texture currentDuckTexture;
+      TextureRegion currentDuckTexture;
       if (p.isUpset) {
         currentDuckTexture = p.facingRight ? assets.duckRightUpset : assets.duckLeftUpset;
       } else if (p.isSlowed) {
@@ -77,16 +82,20 @@ public class DodgeRainRenderer {
       if (currentDuckTexture != null) {
         float[] color = PLAYER_COLORS[p.id % PLAYER_COLORS.length];
         batch.setColor(color[0], color[1], color[2], 1f);
-        batch.draw(currentDuckTexture, p.bounds.x, p.bounds.y, p.bounds.width, p.bounds.height);
+        float x = p.previousX + (p.bounds.x - p.previousX) * alpha;
+        batch.draw(currentDuckTexture, x, p.bounds.y, p.bounds.width, p.bounds.height);
         batch.setColor(Color.WHITE);
       }
     }
 
-    for (int i = 0; i < logic.raindrops.size; i++) {
-      Rectangle raindrop = logic.raindrops.get(i);
-      int type = logic.raindropTypes.get(i);
+    MovingBodies raindrops = logic.raindrops;
+    for (int i = 0; i < raindrops.size(); i++) {
+      int type = raindrops.getType(i);
       if (type >= 0 && type < assets.obstacleTextures.size) {
-        batch.draw(assets.obstacleTextures.get(type), raindrop.x, raindrop.y, raindrop.width, raindrop.height);
+        float radius = raindrops.getRadius(i);
+        batch.draw(assets.obstacleTextures.get(type),
+            raindrops.getInterpolatedX(i, alpha) - radius, raindrops.getInterpolatedY(i, alpha) - radius,
+            radius * 2, radius * 2);
       }
     }
 
@@ -5,13 +5,16 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.IntMap;
 import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.Minigame;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.duckshooter.entities.Duck;
 import to.mpm.minigames.duckshooter.entities.Quack;
 import to.mpm.minigames.duckshooter.network.DuckShooterPackets;
+import to.mpm.minigames.rendering.BatchShapes;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.handlers.ClientPacketContext;
@@ -35,10 +38,22 @@ public class DuckShooterMinigame implements Minigame {
     private final boolean isSpectator;
     private final IntMap<Duck> ducks = new IntMap<>();
     private final List<Quack> quacks = new ArrayList<>();
-    private final Map<Integer, Integer> scores = new HashMap<>();
+    private final ScoreTable scores = new ScoreTable();
+    /** Dirección de disparo reutilizada. */
+    private final Vector2 shotDirection = new Vector2();
+    /** Punto de mira leído en el último frame, en píxeles de pantalla. */
+    private final Vector2 aimTarget = new Vector2();
+    /** Paquete de estado del pato propio, reutilizado en cada envío. */
+    private final DuckShooterPackets.DuckState duckState = new DuckShooterPackets.DuckState();
+    /** Proyección en píxeles de pantalla, como la de un {@code ShapeRenderer} nuevo. */
+    private final Matrix4 projection = new Matrix4();
+    /** Formas dibujadas con el batch de sprites. */
+    private BatchShapes shapes;
 
     private Duck localDuck;
     private float shootCooldown;
+    /** Indica si hay un disparo pedido pendiente del siguiente paso. */
+    private boolean shootRequested;
     private float gameTimer;
     private boolean finished;
     private int winnerId = -1;
@@ -56,6 +71,7 @@ public class DuckShooterMinigame implements Minigame {
     @Override
     public void initialize() {
         NetworkManager nm = NetworkManager.getInstance();
+        shapes = new BatchShapes();
 
         if (!isSpectator) {
             Color color = GameConstants.Player.COLORS[localPlayerId % GameConstants.Player.COLORS.length];
@@ -100,13 +116,20 @@ public class DuckShooterMinigame implements Minigame {
             entry.value.update(delta);
         }
 
-        Iterator<Quack> it = quacks.iterator();
-        while (it.hasNext()) {
-            Quack quack = it.next();
+        if (shootRequested) {
+            shootRequested = false;
+            if (localDuck != null && localDuck.isAlive()) {
+                shoot();
+            }
+        }
+
+        for (int i = 0; i < quacks.size(); i++) {
+            Quack quack = quacks.get(i);
             quack.update(delta);
 
             if (!quack.isActive()) {
-                it.remove();
+                quacks.remove(i--);
+                Quack.POOL.free(quack);
                 continue;
             }
 
@@ -150,7 +173,7 @@ public class DuckShooterMinigame implements Minigame {
                             + " Remaining=" + duck.getHits());
 
                     if (!duck.isAlive()) {
-                        scores.merge(quack.shooterId, 1, Integer::sum);
+                        scores.add(quack.shooterId, 1);
                     }
 
                     DuckShooterPackets.QuackHit hitPacket = new DuckShooterPackets.QuackHit();
@@ -174,7 +197,18 @@ public class DuckShooterMinigame implements Minigame {
 
     @Override
     public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        render(batch, shapeRenderer, 1f);
+    }
+
+    /**
+     * Dibuja los patos y los quacks entre su posición del paso anterior y la
+     * actual.
+     */
+    @Override
+    public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
+        projection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(projection);
+        batch.begin();
 
         for (IntMap.Entry<Duck> entry : ducks) {
             Duck duck = entry.value;
@@ -185,35 +219,48 @@ public class DuckShooterMinigame implements Minigame {
                 continue;
             }
 
-            shapeRenderer.setColor(duck.color);
-            shapeRenderer.circle(duck.position.x, duck.position.y, duck.getRadius());
+            float duckX = duck.getInterpolatedX(alpha);
+            float duckY = duck.getInterpolatedY(alpha);
+            shapes.setColor(duck.color);
+            shapes.circle(batch, duckX, duckY, duck.getRadius());
 
             float barWidth = 40f;
             float barHeight = 5f;
-            float barX = duck.position.x - barWidth / 2;
-            float barY = duck.position.y + duck.getRadius() + 10;
+            float barX = duckX - barWidth / 2;
+            float barY = duckY + duck.getRadius() + 10;
 
-            shapeRenderer.setColor(Color.BLACK);
-            shapeRenderer.rect(barX, barY, barWidth, barHeight);
+            shapes.setColor(Color.BLACK);
+            shapes.rect(batch, barX, barY, barWidth, barHeight);
 
-            shapeRenderer.setColor(Color.GREEN);
-            shapeRenderer.rect(barX, barY, barWidth * (duck.getHits() / 3f), barHeight);
+            shapes.setColor(Color.GREEN);
+            shapes.rect(batch, barX, barY, barWidth * (duck.getHits() / 3f), barHeight);
         }
 
         for (Quack quack : quacks) {
             if (quack.isActive()) {
-                shapeRenderer.setColor(quack.color);
-                shapeRenderer.circle(quack.position.x, quack.position.y, quack.getRadius());
+                shapes.setColor(quack.color);
+                Vector2 previous = quack.previousPosition;
+                shapes.circle(batch, previous.x + (quack.position.x - previous.x) * alpha,
+                        previous.y + (quack.position.y - previous.y) * alpha, quack.getRadius());
             }
         }
 
-        shapeRenderer.end();
+        batch.end();
     }
 
+    /**
+     * Guarda la dirección, el punto de mira y el disparo pedidos; el pato se
+     * mueve y dispara en el siguiente paso.
+     */
     @Override
     public void handleInput(float delta) {
-        if (isSpectator || localDuck == null || !localDuck.isAlive())
+        if (isSpectator || localDuck == null)
             return;
+        if (!localDuck.isAlive()) {
+            localDuck.setMoveInput(0, 0);
+            shootRequested = false;
+            return;
+        }
 
         float dx = 0, dy = 0;
 
@@ -230,22 +277,16 @@ public class DuckShooterMinigame implements Minigame {
             dx = 1;
         }
 
-        if (dx != 0 || dy != 0) {
-            localDuck.move(dx, dy, delta);
-        }
+        localDuck.setMoveInput(dx, dy);
+        aimTarget.set(Gdx.input.getX(), 480 - Gdx.input.getY());
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && shootCooldown <= 0) {
-            shoot();
+            shootRequested = true;
         }
     }
 
     private void shoot() {
-        float mouseX = Gdx.input.getX();
-        float mouseY = 480 - Gdx.input.getY();
-
-        Vector2 direction = new Vector2(
-                mouseX - localDuck.position.x,
-                mouseY - localDuck.position.y);
+        Vector2 direction = shotDirection.set(aimTarget).sub(localDuck.position);
 
         if (direction.len() < 10f) {
             direction.set(0, 1);
@@ -255,7 +296,7 @@ public class DuckShooterMinigame implements Minigame {
 
         shootCooldown = SHOOT_COOLDOWN;
 
-        Quack quack = new Quack(
+        Quack quack = Quack.obtain(
                 localPlayerId,
                 localDuck.position.x,
                 localDuck.position.y,
@@ -276,7 +317,7 @@ public class DuckShooterMinigame implements Minigame {
     }
 
     private void sendDuckState() {
-        DuckShooterPackets.DuckState packet = new DuckShooterPackets.DuckState();
+        DuckShooterPackets.DuckState packet = duckState;
         packet.playerId = localPlayerId;
         packet.x = localDuck.position.x;
         packet.y = localDuck.position.y;
@@ -295,21 +336,22 @@ public class DuckShooterMinigame implements Minigame {
             int maxScore = -1;
             boolean foundAlive = false;
 
-            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
-                Duck duck = ducks.get(entry.getKey());
-                int score = entry.getValue();
+            for (int rank = 0; rank < scores.size(); rank++) {
+                int playerId = scores.getPlayerId(rank);
+                Duck duck = ducks.get(playerId);
+                int score = scores.getScore(rank);
                 boolean isAlive = duck != null && duck.isAlive();
 
                 if (isAlive) {
                     if (!foundAlive || score > maxScore) {
                         maxScore = score;
-                        winnerId = entry.getKey();
+                        winnerId = playerId;
                         foundAlive = true;
                     }
                 } else if (!foundAlive) {
                     if (score > maxScore) {
                         maxScore = score;
-                        winnerId = entry.getKey();
+                        winnerId = playerId;
                     }
                 }
             }
@@ -329,8 +371,8 @@ public class DuckShooterMinigame implements Minigame {
     }
 
     @Override
-    public Map<Integer, Integer> getScores() {
-        return new HashMap<>(scores);
+    public ScoreTable getScores() {
+        return scores;
     }
 
     @Override
@@ -353,8 +395,13 @@ public class DuckShooterMinigame implements Minigame {
         }
 
         ducks.clear();
-        quacks.clear();
+        Quack.POOL.freeAll(quacks);
         scores.clear();
+
+        if (shapes != null) {
+            shapes.dispose();
+            shapes = null;
+        }
     }
 
     @Override
@@ -411,7 +458,7 @@ public class DuckShooterMinigame implements Minigame {
             Color color = GameConstants.Player.COLORS[state.playerId % GameConstants.Player.COLORS.length];
             duck = new Duck(state.playerId, state.x, state.y, color);
             ducks.put(state.playerId, duck);
-            scores.putIfAbsent(state.playerId, 0);
+            scores.ensure(state.playerId);
             Gdx.app.log("DuckShooter", "Created remote duck for player " + state.playerId);
         }
 
@@ -433,7 +480,7 @@ public class DuckShooterMinigame implements Minigame {
             return;
         }
 
-        Quack quack = new Quack(
+        Quack quack = Quack.obtain(
                 shoot.shooterId,
                 shoot.x,
                 shoot.y,
@@ -456,7 +503,7 @@ public class DuckShooterMinigame implements Minigame {
         }
 
         if (hit.remainingHits <= 0) {
-            scores.merge(hit.shooterId, 1, Integer::sum);
+            scores.add(hit.shooterId, 1);
         }
     }
 
@@ -471,7 +518,7 @@ public class DuckShooterMinigame implements Minigame {
             }
         }
 
-        scores.merge(elim.killerId, 1, Integer::sum);
+        scores.add(elim.killerId, 1);
     }
 
     private void handleGameEnd(DuckShooterPackets.GameEnd gameEnd) {
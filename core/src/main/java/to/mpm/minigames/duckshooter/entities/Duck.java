@@ -13,16 +13,21 @@ public class Duck {
 
     public final int playerId;
     public final Vector2 position;
+    /** Posición antes del último paso, para interpolar el dibujo. */
+    public final Vector2 previousPosition;
     public final Color color;
 
     private int hits;
     private boolean alive;
     private float invulnerabilityTimer;
     private float rotation;
+    /** Dirección pedida por el jugador, de -1 a 1 en cada eje. */
+    private float moveX, moveY;
 
     public Duck(int playerId, float x, float y, Color color) {
         this.playerId = playerId;
         this.position = new Vector2(x, y);
+        this.previousPosition = new Vector2(x, y);
         this.color = color;
         this.hits = 3;
         this.alive = true;
@@ -30,12 +35,54 @@ public class Duck {
         this.rotation = 0f;
     }
 
+    /**
+     * Avanza un paso: guarda la posición anterior, aplica la dirección pedida
+     * y descuenta la invulnerabilidad.
+     *
+     * @param delta duración del paso en segundos
+     */
     public void update(float delta) {
+        previousPosition.set(position);
+        if (alive && (moveX != 0 || moveY != 0)) {
+            move(moveX, moveY, delta);
+        }
         if (invulnerabilityTimer > 0) {
             invulnerabilityTimer -= delta;
         }
     }
 
+    /**
+     * Guarda la dirección en la que el jugador quiere moverse; se aplica en
+     * cada {@link #update(float)} hasta que cambie.
+     *
+     * @param dx dirección X, de -1 a 1
+     * @param dy dirección Y, de -1 a 1
+     */
+    public void setMoveInput(float dx, float dy) {
+        moveX = dx;
+        moveY = dy;
+    }
+
+    /**
+     * Obtiene la posición X entre el paso anterior y el actual.
+     *
+     * @param alpha fracción del siguiente paso ya transcurrida, de 0 a 1
+     * @return posición X interpolada
+     */
+    public float getInterpolatedX(float alpha) {
+        return previousPosition.x + (position.x - previousPosition.x) * alpha;
+    }
+
+    /**
+     * Obtiene la posición Y entre el paso anterior y el actual.
+     *
+     * @param alpha fracción del siguiente paso ya transcurrida, de 0 a 1
+     * @return posición Y interpolada
+     */
+    public float getInterpolatedY(float alpha) {
+        return previousPosition.y + (position.y - previousPosition.y) * alpha;
+    }
+
     public void move(float dx, float dy, float delta) {
         position.x += dx * MOVE_SPEED * delta;
         position.y += dy * MOVE_SPEED * delta;
@@ -2,28 +2,56 @@ package to.mpm.minigames.duckshooter.entities;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
+import to.mpm.minigames.pool.EntityPool;
 
 /**
  * Representa un botiquín de curación que restaura 1 vida a un pato.
  * Aparece como un punto verde en el mapa.
+ * <p>
+ * Se obtienen de {@link #POOL} con {@link #obtain} y se devuelven al
+ * quitarlos del mapa.
  */
-public class HealthPack {
+public class HealthPack implements Pool.Poolable {
     private static final float HEALTH_PACK_RADIUS = 12f;
     private static final float PICKUP_RADIUS = 35f; // Radio de colisión para recoger
     private static final float LIFESPAN = 15f; // Duración en el mapa antes de desaparecer
+    private static final Color EXPIRING_COLOR = new Color(0, 0.5f, 0, 1); // Verde oscuro
 
-    public final int id;
-    public final Vector2 position;
+    /** Reserva de botiquines. */
+    public static final EntityPool<HealthPack> POOL = new EntityPool<>("HealthPack", 32, HealthPack::new);
+
+    public int id;
+    public final Vector2 position = new Vector2();
     public final Color color = Color.GREEN;
 
     private boolean active;
     private float lifespanTimer;
 
-    public HealthPack(int id, float x, float y) {
-        this.id = id;
-        this.position = new Vector2(x, y);
-        this.active = true;
-        this.lifespanTimer = LIFESPAN;
+    private HealthPack() {
+    }
+
+    /**
+     * Obtiene un botiquín de la reserva.
+     *
+     * @param id ID del botiquín
+     * @param x  posición X
+     * @param y  posición Y
+     * @return botiquín activo
+     */
+    public static HealthPack obtain(int id, float x, float y) {
+        HealthPack hp = POOL.obtain();
+        hp.id = id;
+        hp.position.set(x, y);
+        hp.active = true;
+        hp.lifespanTimer = LIFESPAN;
+        return hp;
+    }
+
+    @Override
+    public void reset() {
+        id = -1;
+        active = false;
     }
 
     public void update(float delta) {
@@ -59,6 +87,10 @@ public class HealthPack {
         return HEALTH_PACK_RADIUS;
     }
 
+    public float getPickupRadius() {
+        return PICKUP_RADIUS;
+    }
+
     public float getRemainingTime() {
         return lifespanTimer;
     }
@@ -68,7 +100,7 @@ public class HealthPack {
      */
     public Color getRenderColor() {
         if (lifespanTimer < 3f && (System.currentTimeMillis() / 200) % 2 == 0) {
-            return new Color(0, 0.5f, 0, 1); // Verde oscuro
+            return EXPIRING_COLOR;
         }
         return color;
     }
@@ -2,32 +2,66 @@ package to.mpm.minigames.duckshooter.entities;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
+import to.mpm.minigames.pool.EntityPool;
 
 /**
  * Representa un proyectil "quack" disparado por un pato.
+ * <p>
+ * Se obtienen de {@link #POOL} con {@link #obtain} y se devuelven al
+ * eliminarlos de la lista del minijuego.
  */
-public class Quack {
+public class Quack implements Pool.Poolable {
     private static final float QUACK_RADIUS = 8f;
     private static final float QUACK_SPEED = 300f;
+
+    /** Reserva compartida por los minijuegos de disparos. */
+    public static final EntityPool<Quack> POOL = new EntityPool<>("Quack", 512, Quack::new);
     
-    public final int shooterId;
-    public final Vector2 position;
-    public final Vector2 velocity;
-    public final Color color;
+    public int shooterId;
+    public final Vector2 position = new Vector2();
+    /** Posición antes del último paso, para interpolar el dibujo. */
+    public final Vector2 previousPosition = new Vector2();
+    public final Vector2 velocity = new Vector2();
+    public final Color color = new Color();
     
     private boolean active;
     
-    public Quack(int shooterId, float x, float y, float dirX, float dirY, Color color) {
-        this.shooterId = shooterId;
-        this.position = new Vector2(x, y);
-        this.velocity = new Vector2(dirX, dirY).nor().scl(QUACK_SPEED);
-        this.color = new Color(color);
-        this.active = true;
+    private Quack() {
+    }
+
+    /**
+     * Obtiene un quack de la reserva listo para volar.
+     *
+     * @param shooterId ID del pato que dispara
+     * @param x         posición X inicial
+     * @param y         posición Y inicial
+     * @param dirX      dirección X (no hace falta normalizarla)
+     * @param dirY      dirección Y
+     * @param color     color del pato que dispara
+     * @return quack activo
+     */
+    public static Quack obtain(int shooterId, float x, float y, float dirX, float dirY, Color color) {
+        Quack quack = POOL.obtain();
+        quack.shooterId = shooterId;
+        quack.position.set(x, y);
+        quack.previousPosition.set(x, y);
+        quack.velocity.set(dirX, dirY).nor().scl(QUACK_SPEED);
+        quack.color.set(color);
+        quack.active = true;
+        return quack;
+    }
+
+    @Override
+    public void reset() {
+        shooterId = -1;
+        active = false;
     }
     
     public void update(float delta) {
         if (!active) return;
         
+        previousPosition.set(position);
         position.add(velocity.x * delta, velocity.y * delta);
         
         if (position.x < 0 || position.x > 640 || position.y < 0 || position.y > 480) {
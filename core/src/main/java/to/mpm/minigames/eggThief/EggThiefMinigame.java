@@ -5,6 +5,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.IntMap;
 import to.mpm.minigames.Minigame;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.eggThief.entities.Duck;
 import to.mpm.minigames.eggThief.entities.Egg;
 import to.mpm.minigames.eggThief.entities.EggSpawner;
@@ -13,9 +14,11 @@ import to.mpm.minigames.eggThief.input.InputHandler;
 import to.mpm.minigames.eggThief.network.NetworkHandler;
 import to.mpm.minigames.eggThief.physics.CollisionDetector;
 import to.mpm.minigames.eggThief.rendering.GameRenderer;
+import to.mpm.minigames.manager.GameFlowManager;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.Packets;
+import to.mpm.network.SendScheduler;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.network.handlers.ServerPacketContext;
@@ -37,13 +40,18 @@ public class EggThiefMinigame implements Minigame {
             { 0.2f, 1f, 1f },
     };
 
+    private static final int REPLICATED_PLAYER = 0;
+    private static final int REPLICATED_DUCK = 1;
+    private static final int REPLICATED_EGG = 2;
+
     private final int localPlayerId;
     private Duck localPlayer;
     private final IntMap<Duck> players = new IntMap<>();
     private final List<Egg> eggs = new ArrayList<>();
     private EggSpawner eggSpawner;
     private final List<Nest> nests = new ArrayList<>();
-    private final Map<Integer, Integer> scores = new HashMap<>();
+    private final ScoreTable scores = new ScoreTable();
+    private final CollisionDetector collisions = new CollisionDetector();
     private float gameTimer = 180; // 3 minutes
     private boolean finished = false;
 
@@ -63,7 +71,7 @@ public class EggThiefMinigame implements Minigame {
         registerNetworkHandlers();
 
         if (nm.isHost()) {
-            eggSpawner = new EggSpawner();
+            eggSpawner = new EggSpawner(GameFlowManager.getInstance().createRoundRandom());
             // Spawn initial 10 eggs at game start
             List<Egg> initialEggs = eggSpawner.spawnInitialEggs();
             eggs.addAll(initialEggs);
@@ -119,9 +127,7 @@ public class EggThiefMinigame implements Minigame {
     private void onPlayerJoined(Packets.PlayerJoined packet) {
         if (packet.playerId == localPlayerId)
             return;
-        if (!scores.containsKey(packet.playerId)) {
-            scores.put(packet.playerId, 0);
-        }
+        scores.ensure(packet.playerId);
         createRemotePlayer(packet.playerId);
         recreateNests();
     }
@@ -173,17 +179,14 @@ public class EggThiefMinigame implements Minigame {
             duck.update(delta);
         }
 
-        eggs.forEach(e -> e.update(delta));
+        for (int i = 0; i < eggs.size(); i++) {
+            eggs.get(i).update(delta);
+        }
 
         if (NetworkManager.getInstance().isHost()) {
             // No more egg spawning - game starts with 10 eggs only
 
-            Map<Integer, Duck> playerMap = new HashMap<>();
-            for (IntMap.Entry<Duck> entry : players) {
-                playerMap.put(entry.key, entry.value);
-            }
-
-            CollisionDetector.handleCollisions(playerMap, eggs, nests, scores,
+            collisions.handleCollisions(players, eggs, nests, scores,
                     (thiefId, victimId, thiefEggs, victimEggs) -> {
                         NetworkHandler.sendEggStolen(thiefId, victimId);
                     });
@@ -251,16 +254,13 @@ public class EggThiefMinigame implements Minigame {
     }
 
     @Override
-    public Map<Integer, Integer> getScores() {
+    public ScoreTable getScores() {
         return scores;
     }
 
     @Override
     public int getWinnerId() {
-        return scores.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(-1);
+        return scores.getLeaderId();
     }
 
     // -------------------- Cleanup --------------------
@@ -338,8 +338,22 @@ public class EggThiefMinigame implements Minigame {
 
         @Override
         public void handle(ServerPacketContext context, NetworkPacket packet) {
-            // Broadcast all packets to other clients
-            context.broadcastExceptSender(packet);
+            // Positions go through the send scheduler, events are broadcast to other clients
+            if (packet instanceof Packets.PlayerPosition position) {
+                context.replicateExceptSender(SendScheduler.key(REPLICATED_PLAYER, position.playerId),
+                        position.playerId, position.x, position.y, packet);
+            } else if (packet instanceof to.mpm.minigames.eggThief.network.EggThiefPackets.DuckUpdate update) {
+                context.replicateExceptSender(SendScheduler.key(REPLICATED_DUCK, update.playerId),
+                        update.playerId, update.x, update.y, packet);
+            } else if (packet instanceof to.mpm.minigames.eggThief.network.EggThiefPackets.EggUpdate update) {
+                context.replicateExceptSender(SendScheduler.key(REPLICATED_EGG, update.eggId),
+                        -1, update.x, update.y, packet);
+            } else {
+                if (packet instanceof to.mpm.minigames.eggThief.network.EggThiefPackets.EggRemoved removed) {
+                    context.getServer().forgetReplicated(SendScheduler.key(REPLICATED_EGG, removed.eggId));
+                }
+                context.broadcastExceptSender(packet);
+            }
         }
     }
 }
@@ -85,16 +85,17 @@ public class Duck extends SyncedObject {
 
     /**
      * Updates the duck's position and physics.
-     * For locally owned ducks, applies velocity and movement.
+     * For locally owned ducks, applies velocity and movement, keeping the duck
+     * on screen.
      * For remote ducks, just updates the hitbox based on synced position.
      * 
-     * @param delta time since last frame in seconds
+     * @param delta duration of the simulation step in seconds
      */
     public void update(float delta) {
         super.update();
         if (isLocallyOwned()) {
-            x += velocity.x * delta;
-            y += velocity.y * delta;
+            x = Math.max(0, Math.min(SCREEN_WIDTH - DUCK_SIZE, x + velocity.x * delta));
+            y = Math.max(0, Math.min(SCREEN_HEIGHT - DUCK_SIZE, y + velocity.y * delta));
         }
         hitbox.setPosition(x, y);
     }
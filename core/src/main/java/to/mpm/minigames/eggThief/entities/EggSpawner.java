@@ -27,9 +27,11 @@ public class EggSpawner {
 
     /**
      * Creates a new EggSpawner.
+     *
+     * @param random round generator used for egg positions and types
      */
-    public EggSpawner() {
-        this.random = new Random();
+    public EggSpawner(Random random) {
+        this.random = random;
         this.nextEggId = 0;
         this.currentEggCount = 0;
     }
@@ -7,12 +7,18 @@ import to.mpm.minigames.eggThief.entities.Duck;
 // Handles player input for controlling the duck (Client)
 public class InputHandler {
     /**
-     * Processes input and updates the player's duck movement.
+     * Reads the keyboard once per frame and stores the direction as the duck's
+     * velocity. The duck only moves in {@link Duck#update(float)}, with the
+     * fixed simulation step.
      *
-     * @param player the local player's duck
+     * @param player the local player's duck, or null for spectators
      * @param delta  time since last frame in seconds
      */
     public static void handleInput(Duck player, float delta) {
+        if (player == null) {
+            return;
+        }
+
         float dx = 0;
         float dy = 0;
 
@@ -37,7 +43,7 @@ public class InputHandler {
             dy /= length;
         }
 
-        // Apply movement to player
-        // player.move(dx, dy);
+        // Store the direction; the next simulation step applies it
+        player.move(dx, dy);
     }
 }
@@ -12,6 +12,13 @@ import java.util.List;
 // NOTE: Methods marked "Only the host should call this" must be executed by the authoritative server/host instance.
 
 public class NetworkHandler {
+    // Per-tick packets are reused: sending serializes them immediately, and
+    // every caller runs on the render thread.
+    private static final EggThiefPackets.DuckUpdate duckUpdate = new EggThiefPackets.DuckUpdate();
+    private static final EggThiefPackets.EggUpdate eggUpdate = new EggThiefPackets.EggUpdate();
+    private static final EggThiefPackets.GameTimerUpdate timerUpdate = new EggThiefPackets.GameTimerUpdate();
+    private static final Packets.PlayerPosition playerPosition = new Packets.PlayerPosition();
+
     /**
      * Send a single duck update (position, velocity, eggs carrying).
      * Should be called by the host to broadcast authoritative state.
@@ -19,7 +26,7 @@ public class NetworkHandler {
      * @param duck the duck to send update for
      */
     public static void sendDuckUpdate(Duck duck) {
-        EggThiefPackets.DuckUpdate packet = new EggThiefPackets.DuckUpdate();
+        EggThiefPackets.DuckUpdate packet = duckUpdate;
         packet.playerId = duck.getPlayerId();
         packet.x = duck.getX();
         packet.y = duck.getY();
@@ -64,8 +71,9 @@ public class NetworkHandler {
      * @param eggs list of eggs to update
      */
     public static void sendEggUpdates(List<Egg> eggs) {
-        for (Egg egg : eggs) {
-            EggThiefPackets.EggUpdate packet = new EggThiefPackets.EggUpdate();
+        for (int i = 0; i < eggs.size(); i++) {
+            Egg egg = eggs.get(i);
+            EggThiefPackets.EggUpdate packet = eggUpdate;
             packet.eggId = egg.getId();
             packet.x = egg.getX();
             packet.y = egg.getY();
@@ -156,7 +164,7 @@ public class NetworkHandler {
      * @param timeRemaining time remaining in seconds
      */
     public static void sendGameTimerUpdate(float timeRemaining) {
-        EggThiefPackets.GameTimerUpdate packet = new EggThiefPackets.GameTimerUpdate();
+        EggThiefPackets.GameTimerUpdate packet = timerUpdate;
         packet.timeRemaining = timeRemaining;
         NetworkManager.getInstance().sendPacket(packet);
     }
@@ -173,7 +181,7 @@ public class NetworkHandler {
      * @param duck          local duck instance
      */
     public static void sendPlayerPosition(int localPlayerId, Duck duck) {
-        Packets.PlayerPosition packet = new Packets.PlayerPosition();
+        Packets.PlayerPosition packet = playerPosition;
         packet.playerId = localPlayerId;
         packet.x = duck.getX();
         packet.y = duck.getY();
@@ -1,18 +1,31 @@
 package to.mpm.minigames.eggThief.physics;
 
 import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.eggThief.entities.Duck;
 import to.mpm.minigames.eggThief.entities.Egg;
 import to.mpm.minigames.eggThief.entities.Nest;
 import to.mpm.minigames.eggThief.network.NetworkHandler;
+import to.mpm.minigames.physics.UniformGrid;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handles collision detection between game entities.
+ * <p>
+ * Each game owns its own detector, so the broadphase and scratch arrays are
+ * never shared between simulations.
  */
 public class CollisionDetector {
+    /** Broadphase of duck hitboxes, rebuilt once per {@link #handleCollisions} call. */
+    private final UniformGrid duckGrid = new UniformGrid();
+    /** Ducks in grid order. */
+    private final Array<Duck> gridDucks = new Array<>();
+    /** Reused query result. */
+    private final IntArray candidates = new IntArray();
 
     /**
      * Functional interface for handling steal events.
@@ -57,13 +70,23 @@ public class CollisionDetector {
      * @param players  map of all players
      * @param callback callback to handle steal events
      */
-    public static void checkPlayerCollisions(Map<Integer, Duck> players, StealCallback callback) {
-        // Check all pairs of players
-        for (Map.Entry<Integer, Duck> entry1 : players.entrySet()) {
-            Duck duck1 = entry1.getValue();
+    public void checkPlayerCollisions(IntMap<Duck> players, StealCallback callback) {
+        buildDuckGrid(players);
+        checkPlayerCollisions(callback);
+    }
+
+    /**
+     * Checks steals between ducks already in the grid, in grid order.
+     *
+     * @param callback callback to handle steal events
+     */
+    private void checkPlayerCollisions(StealCallback callback) {
+        for (int i = 0; i < gridDucks.size; i++) {
+            Duck duck1 = gridDucks.get(i);
 
-            for (Map.Entry<Integer, Duck> entry2 : players.entrySet()) {
-                Duck duck2 = entry2.getValue();
+            duckGrid.query(duck1.getHitbox(), candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                Duck duck2 = gridDucks.get(candidates.get(c));
 
                 // Don't check a duck against itself
                 if (duck1.getPlayerId() == duck2.getPlayerId()) {
@@ -137,14 +160,18 @@ public class CollisionDetector {
     // }
     // }
     // }
-    public static void handleCollisions(Map<Integer, Duck> players, List<Egg> eggs,
-            List<Nest> nests, Map<Integer, Integer> scores,
+    public void handleCollisions(IntMap<Duck> players, List<Egg> eggs,
+            List<Nest> nests, ScoreTable scores,
             StealCallback stealCallback) {
+        // Ducks don't move during this call, so one grid serves all three passes
+        buildDuckGrid(players);
 
         // Egg collection (1 egg per duck) - remove from ground when picked up
         for (int i = eggs.size() - 1; i >= 0; i--) {
             Egg egg = eggs.get(i);
-            for (Duck duck : players.values()) {
+            duckGrid.query(egg.getHitbox(), candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                Duck duck = gridDucks.get(candidates.get(c));
                 if (duck.getCarriedEgg() == null && checkEggCollection(duck, egg)) {
                     duck.collectEgg(egg);
                     eggs.remove(i); // Remove from ground eggs list
@@ -156,12 +183,15 @@ public class CollisionDetector {
         }
 
         // Deliver eggs to nest
-        for (Duck duck : players.values()) {
-            for (Nest nest : nests) {
+        for (int n = 0; n < nests.size(); n++) {
+            Nest nest = nests.get(n);
+            duckGrid.query(nest.getHitbox(), candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                Duck duck = gridDucks.get(candidates.get(c));
                 if (checkNestDelivery(duck, nest)) {
                     int points = duck.deliverEggs();
                     if (points > 0) {
-                        scores.put(duck.getPlayerId(), scores.getOrDefault(duck.getPlayerId(), 0) + points);
+                        scores.add(duck.getPlayerId(), points);
                         NetworkHandler.sendScoreUpdate(duck.getPlayerId(), scores.get(duck.getPlayerId()));
                     }
                 }
@@ -169,6 +199,20 @@ public class CollisionDetector {
         }
 
         // Player-player collisions for stealing
-        checkPlayerCollisions(players, stealCallback);
+        checkPlayerCollisions(stealCallback);
+    }
+
+    /**
+     * Refills the duck grid with the current hitboxes.
+     *
+     * @param players map of all players
+     */
+    private void buildDuckGrid(IntMap<Duck> players) {
+        duckGrid.clear();
+        gridDucks.clear();
+        for (IntMap.Entry<Duck> entry : players) {
+            duckGrid.addRectangle(entry.value.getHitbox());
+            gridDucks.add(entry.value);
+        }
     }
 }
@@ -7,13 +7,12 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.IntMap;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.eggThief.entities.Duck;
 import to.mpm.minigames.eggThief.entities.Egg;
 import to.mpm.minigames.eggThief.entities.Nest;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class GameRenderer {
     private static BitmapFont font;
@@ -42,7 +41,7 @@ public class GameRenderer {
 
     public static void render(SpriteBatch batch, ShapeRenderer shapeRenderer,
             IntMap<Duck> players, List<Egg> eggs, List<Nest> nests,
-            Map<Integer, Integer> scores, int localPlayerId,
+            ScoreTable scores, int localPlayerId,
             float gameTimer) {
 
         // DRAW FILLED SHAPES
@@ -125,9 +124,8 @@ public class GameRenderer {
         // Render puntaje del jugador local (derecha superior)
         batch.begin();
         if (font != null) {
-            Integer localPlayerScore = scores.get(localPlayerId);
-            if (localPlayerScore != null) {
-                String localScoreString = localPlayerScore + " pts";
+            if (scores.containsKey(localPlayerId)) {
+                String localScoreString = scores.get(localPlayerId) + " pts";
                 layout.setText(font, localScoreString);
                 font.draw(batch, localScoreString, 640 - layout.width - 10, 480 - 15);
             }
@@ -140,14 +138,10 @@ public class GameRenderer {
      * superior.
      */
     private static void renderPlayerRanking(SpriteBatch batch, ShapeRenderer shapeRenderer,
-            IntMap<Duck> players, Map<Integer, Integer> scores, int localPlayerId) {
+            IntMap<Duck> players, ScoreTable scores, int localPlayerId) {
         if (font == null)
             return;
 
-        // Ordenar jugadores por puntaje (mayor a menor)
-        List<Map.Entry<Integer, Integer>> sortedScores = new ArrayList<>(scores.entrySet());
-        sortedScores.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
-
         float startX = 10;
         float startY = 480 - 60;
         float boxSize = 20;
@@ -155,8 +149,9 @@ public class GameRenderer {
         float textOffsetX = 28;
 
         int yOffset = 0;
-        for (Map.Entry<Integer, Integer> scoreEntry : sortedScores) {
-            int playerId = scoreEntry.getKey();
+        // La tabla ya está ordenada por puntaje (mayor a menor)
+        for (int rank = 0; rank < scores.size(); rank++) {
+            int playerId = scores.getPlayerId(rank);
             Duck duck = players.get(playerId);
             if (duck == null)
                 continue;
@@ -177,7 +172,7 @@ public class GameRenderer {
 
             // Score text
             batch.begin();
-            String scoreString = ": " + scoreEntry.getValue();
+            String scoreString = ": " + scores.getScore(rank);
 
             // Highlight local player
             if (playerId == localPlayerId) {
@@ -1,10 +1,16 @@
 package to.mpm.minigames.manager;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.RandomXS128;
+import to.mpm.minigames.MinigameFactory;
+import to.mpm.minigames.MinigameType;
+import to.mpm.minigames.ScoreTable;
+import to.mpm.network.NetworkConfig;
 import to.mpm.network.NetworkManager;
+import to.mpm.network.lockstep.LockstepRelay;
+import to.mpm.network.room.RoomContext;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Maneja el flujo del juego, incluyendo rondas, puntuaciones acumuladas y
@@ -20,27 +26,41 @@ public class GameFlowManager {
     /** Total de rondas configuradas. */
     private int totalRounds;
     /** Puntuaciones acumuladas por jugador (playerId -> score). */
-    private final Map<Integer, Integer> accumulatedScores;
+    private final ScoreTable accumulatedScores;
     /** Jugadores marcados como espectadores. */
     private final Set<Integer> spectatorIds;
     /** Indica si se ha llamado a initialize(). */
     private boolean initialized;
+    /** Semilla de la simulación de la ronda en curso. */
+    private long roundSeed;
+    /** Jugadores que avanzan en lockstep en la ronda en curso, o null. */
+    private int[] lockstepPlayerIds;
+    /** Relevo de entradas del host para la ronda en lockstep, o null. */
+    private LockstepRelay lockstepRelay;
+    /** Generador de las semillas de cada ronda (solo host). */
+    private final Random seedSource = new Random();
 
     /**
      * Constructor privado para el singleton.
      */
     private GameFlowManager() {
-        this.accumulatedScores = new HashMap<>();
+        this.accumulatedScores = new ScoreTable();
         this.spectatorIds = new HashSet<>();
         this.initialized = false;
     }
 
     /**
      * Obtiene la instancia.
+     * <p>
+     * Desde el hilo de una sala devuelve el flujo de esa sala.
      * 
      * @return la instancia de GameFlowManager
      */
     public static GameFlowManager getInstance() {
+        GameFlowManager scoped = RoomContext.scoped(GameFlowManager.class, GameFlowManager::new);
+        if (scoped != null) {
+            return scoped;
+        }
         if (instance == null) {
             instance = new GameFlowManager();
         }
@@ -92,26 +112,116 @@ public class GameFlowManager {
         Gdx.app.log("GameFlowManager", "Starting round " + currentRound + "/" + totalRounds);
     }
 
+    /**
+     * Prepara la simulación de la ronda que va a empezar (solo host).
+     * <p>
+     * Sortea la semilla de la ronda y, si {@link NetworkConfig#LOCKSTEP_ENABLED}
+     * está activo y el minijuego admite lockstep, fija los jugadores que
+     * avanzan en lockstep y registra el relevo de entradas antes de anunciar
+     * la ronda, para que ninguna entrada llegue sin nadie que la recoja.
+     * <p>
+     * Los jugadores deben ser solo los que envían entradas: un espectador en
+     * la lista bloquearía todos los pasos.
+     *
+     * @param type      minijuego de la ronda
+     * @param playerIds jugadores que juegan la ronda, sin espectadores
+     */
+    public void prepareRoundSimulation(MinigameType type, Collection<Integer> playerIds) {
+        endLockstep();
+        roundSeed = seedSource.nextLong();
+        if (NetworkConfig.LOCKSTEP_ENABLED && MinigameFactory.supportsLockstep(type)
+                && playerIds != null && !playerIds.isEmpty()) {
+            lockstepPlayerIds = playerIds.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+            lockstepRelay = new LockstepRelay(lockstepPlayerIds);
+            NetworkManager.getInstance().registerServerHandler(lockstepRelay);
+        }
+    }
+
+    /**
+     * Aplica la simulación de la ronda anunciada por el host.
+     *
+     * @param seed              semilla de la ronda
+     * @param lockstepPlayerIds jugadores en lockstep, o null
+     */
+    public void setRoundSimulation(long seed, int[] lockstepPlayerIds) {
+        this.roundSeed = seed;
+        this.lockstepPlayerIds = lockstepPlayerIds;
+    }
+
+    /**
+     * Termina el lockstep de la ronda y retira el relevo del host.
+     */
+    public void endLockstep() {
+        if (lockstepRelay != null) {
+            NetworkManager.getInstance().unregisterServerHandler(lockstepRelay);
+            lockstepRelay = null;
+        }
+        lockstepPlayerIds = null;
+    }
+
+    /**
+     * Obtiene la semilla de la simulación de la ronda en curso.
+     *
+     * @return semilla de la ronda
+     */
+    public long getRoundSeed() {
+        return roundSeed;
+    }
+
+    /**
+     * Obtiene los jugadores que avanzan en lockstep en la ronda en curso.
+     *
+     * @return IDs ordenados, o null si la ronda no usa lockstep
+     */
+    public int[] getLockstepPlayerIds() {
+        return lockstepPlayerIds;
+    }
+
+    /**
+     * Crea un generador aleatorio para la simulación de la ronda.
+     * <p>
+     * Toda la aleatoriedad que afecta a la simulación debe salir de aquí para
+     * que todos los jugadores obtengan la misma secuencia.
+     *
+     * @return generador con la semilla de la ronda
+     */
+    public RandomXS128 createRoundRandom() {
+        return new RandomXS128(roundSeed);
+    }
+
+    /**
+     * Obtiene los jugadores conectados que no son espectadores.
+     *
+     * @return IDs de los jugadores activos
+     */
+    public List<Integer> getActivePlayerIds() {
+        List<Integer> active = new ArrayList<>();
+        for (Integer playerId : NetworkManager.getInstance().getConnectedPlayers().keySet()) {
+            if (!spectatorIds.contains(playerId)) {
+                active.add(playerId);
+            }
+        }
+        return active;
+    }
+
     /**
      * Termina la ronda actual y fusiona las puntuaciones.
      * <p>
      * Debe ser llamado por el host cuando un minijuego termina.
      * 
      * @param roundScores las puntuaciones del minijuego que acaba de terminar
-     *                    (playerId -> score)
      */
-    public void endRound(Map<Integer, Integer> roundScores) {
+    public void endRound(ScoreTable roundScores) {
         if (!initialized) {
             Gdx.app.error("GameFlowManager", "Cannot end round: not initialized!");
             return;
         }
 
         if (roundScores != null) {
-            for (Map.Entry<Integer, Integer> entry : roundScores.entrySet()) {
-                int playerId = entry.getKey();
-                int score = entry.getValue();
+            for (int rank = 0; rank < roundScores.size(); rank++) {
+                int playerId = roundScores.getPlayerId(rank);
                 if (!spectatorIds.contains(playerId)) {
-                    accumulatedScores.merge(playerId, score, Integer::sum);
+                    accumulatedScores.add(playerId, roundScores.getScore(rank));
                 }
             }
         }
@@ -128,6 +238,16 @@ public class GameFlowManager {
         return initialized && currentRound == totalRounds;
     }
 
+    /**
+     * Determina si la ronda que sigue a la actual es la final, antes de
+     * llamar a {@link #startRound()}.
+     *
+     * @return true si la siguiente ronda es la última
+     */
+    public boolean isFinaleNext() {
+        return initialized && currentRound + 1 == totalRounds;
+    }
+
     /**
      * Determina qué jugadores deben participar en la final.
      * <p>
@@ -139,26 +259,23 @@ public class GameFlowManager {
      *         puntuación descendente
      */
     public List<Integer> getFinalePlayerIds() {
-        if (accumulatedScores.isEmpty()) {
+        if (accumulatedScores.size() == 0) {
             Gdx.app.log("GameFlowManager", "No scores available for finale filtering");
             return new ArrayList<>();
         }
 
-        List<Map.Entry<Integer, Integer>> sortedPlayers = accumulatedScores.entrySet().stream()
-                .sorted((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue()))
-                .collect(Collectors.toList());
-
-        int totalPlayers = sortedPlayers.size();
+        // La tabla ya mantiene el ranking por puntuación descendente
+        int totalPlayers = accumulatedScores.size();
         int finaleCount = Math.max(2, (int) Math.ceil(totalPlayers * 0.3));
 
         if (totalPlayers == 1) {
             Gdx.app.log("GameFlowManager", "Only 1 player remaining, skipping finale");
-            return Arrays.asList(sortedPlayers.get(0).getKey());
+            return Arrays.asList(accumulatedScores.getLeaderId());
         }
 
         ArrayList<Integer> finalePlayerIds = new ArrayList<>();
         for (int i = 0; i < finaleCount; i++) {
-            finalePlayerIds.add(sortedPlayers.get(i).getKey());
+            finalePlayerIds.add(accumulatedScores.getPlayerId(i));
         }
         return finalePlayerIds;
     }
@@ -175,10 +292,10 @@ public class GameFlowManager {
     /**
      * Obtiene las puntuaciones acumuladas de todos los jugadores.
      * 
-     * @return mapa de playerId a puntuación total
+     * @return tabla viva de puntuaciones totales; no debe modificarse
      */
-    public Map<Integer, Integer> getTotalScores() {
-        return new HashMap<>(accumulatedScores);
+    public ScoreTable getTotalScores() {
+        return accumulatedScores;
     }
 
     /**
@@ -222,6 +339,7 @@ public class GameFlowManager {
         this.accumulatedScores.clear();
         this.spectatorIds.clear();
         this.initialized = false;
+        endLockstep();
         Gdx.app.log("GameFlowManager", "Game flow reset");
     }
 
@@ -1,11 +1,10 @@
 package to.mpm.minigames.manager;
 
+import to.mpm.minigames.ScoreTable;
 import to.mpm.network.NetworkPacket;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Paquetes de red manejados por el GameFlowManager.
@@ -59,11 +58,11 @@ public class ManagerPackets {
         public int currentRound;
         /** Total de rondas en el juego. */
         public int totalRounds;
-        /** Mapa de playerId -> puntuación acumulada. */
-        public Map<Integer, Integer> allPlayerScores;
+        /** Pares playerId - puntuación acumulada, como {@link ScoreTable#toArray()}. */
+        public int[] allPlayerScores;
 
         public ShowScoreboard() {
-            this.allPlayerScores = new HashMap<>();
+            this.allPlayerScores = new int[0];
         }
 
         /**
@@ -71,12 +70,21 @@ public class ManagerPackets {
          * 
          * @param currentRound    ronda que acaba de terminar
          * @param totalRounds     total de rondas en el juego
-         * @param allPlayerScores mapa de playerId -> puntuación acumulada
+         * @param allPlayerScores puntuaciones acumuladas
          */
-        public ShowScoreboard(int currentRound, int totalRounds, Map<Integer, Integer> allPlayerScores) {
+        public ShowScoreboard(int currentRound, int totalRounds, ScoreTable allPlayerScores) {
             this.currentRound = currentRound;
             this.totalRounds = totalRounds;
-            this.allPlayerScores = allPlayerScores != null ? new HashMap<>(allPlayerScores) : new HashMap<>();
+            this.allPlayerScores = allPlayerScores != null ? allPlayerScores.toArray() : new int[0];
+        }
+
+        /**
+         * Decodifica las puntuaciones acumuladas.
+         *
+         * @return nueva tabla con las puntuaciones
+         */
+        public ScoreTable getScores() {
+            return new ScoreTable(allPlayerScores);
         }
     }
 
@@ -92,6 +100,10 @@ public class ManagerPackets {
         public String minigameType;
         /** Jugadores permitidos para jugar (null = todos). */
         public List<Integer> participatingPlayerIds;
+        /** Semilla del generador aleatorio de la simulación de la ronda. */
+        public long seed;
+        /** Jugadores que avanzan en lockstep, ordenados, o null sin lockstep. */
+        public int[] lockstepPlayerIds;
 
         public StartNextRound() {
         }
@@ -116,20 +128,29 @@ public class ManagerPackets {
      * Contiene las puntuaciones finales acumuladas de todos los jugadores.
      */
     public static class ShowResults extends NetworkPacket {
-        /** Mapa de playerId -> puntuación final acumulada. */
-        public Map<Integer, Integer> finalScores;
+        /** Pares playerId - puntuación final, como {@link ScoreTable#toArray()}. */
+        public int[] finalScores;
 
         public ShowResults() {
-            this.finalScores = new HashMap<>();
+            this.finalScores = new int[0];
         }
 
         /**
          * Constructor con parámetros.
          * 
-         * @param finalScores mapa de playerId -> puntuación final acumulada
+         * @param finalScores puntuaciones finales acumuladas
+         */
+        public ShowResults(ScoreTable finalScores) {
+            this.finalScores = finalScores != null ? finalScores.toArray() : new int[0];
+        }
+
+        /**
+         * Decodifica las puntuaciones finales.
+         *
+         * @return nueva tabla con las puntuaciones
          */
-        public ShowResults(Map<Integer, Integer> finalScores) {
-            this.finalScores = finalScores != null ? new HashMap<>(finalScores) : new HashMap<>();
+        public ScoreTable getScores() {
+            return new ScoreTable(finalScores);
         }
     }
 
@@ -0,0 +1,289 @@
+package to.mpm.minigames.physics;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de cuerpos simples en movimiento rectilíneo (proyectiles,
+ * obstáculos que caen) guardado como estructura de arrays.
+ * <p>
+ * Cada cuerpo es un círculo con posición, velocidad, radio, un tipo y un
+ * dueño. Los datos viven en arrays primitivos paralelos, así que integrar o
+ * buscar solapes recorre memoria contigua sin objetos ni cajas. Al eliminar,
+ * el último cuerpo ocupa el hueco: los índices no son estables entre
+ * eliminaciones y los bucles que eliminan deben volver a revisar el mismo
+ * índice.
+ * <p>
+ * {@link #integrate(float)} guarda la posición anterior de cada cuerpo, así
+ * que el dibujo puede interpolar entre los dos últimos pasos con
+ * {@link #getInterpolatedX(int, float)} y {@link #getInterpolatedY(int, float)}.
+ */
+public class MovingBodies {
+    /** Posiciones X de los centros. */
+    private float[] x;
+    /** Posiciones Y de los centros. */
+    private float[] y;
+    /** Posiciones X antes del último paso. */
+    private float[] previousX;
+    /** Posiciones Y antes del último paso. */
+    private float[] previousY;
+    /** Velocidades X en unidades por segundo. */
+    private float[] vx;
+    /** Velocidades Y en unidades por segundo. */
+    private float[] vy;
+    /** Radios. */
+    private float[] radius;
+    /** Tipo de cada cuerpo, con significado propio de cada minijuego. */
+    private int[] type;
+    /** Dueño de cada cuerpo (p. ej. el jugador que disparó), o -1. */
+    private int[] owner;
+    /** Cuerpos vivos. */
+    private int size;
+
+    /**
+     * Crea un conjunto vacío.
+     *
+     * @param initialCapacity capacidad inicial
+     */
+    public MovingBodies(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        radius = new float[capacity];
+        type = new int[capacity];
+        owner = new int[capacity];
+    }
+
+    /**
+     * Agrega un cuerpo.
+     *
+     * @param x      centro X
+     * @param y      centro Y
+     * @param vx     velocidad X
+     * @param vy     velocidad Y
+     * @param radius radio
+     * @param type   tipo del cuerpo
+     * @param owner  dueño del cuerpo, o -1
+     * @return índice del cuerpo
+     */
+    public int add(float x, float y, float vx, float vy, float radius, int type, int owner) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int index = size++;
+        this.x[index] = x;
+        this.y[index] = y;
+        previousX[index] = x;
+        previousY[index] = y;
+        this.vx[index] = vx;
+        this.vy[index] = vy;
+        this.radius[index] = radius;
+        this.type[index] = type;
+        this.owner[index] = owner;
+        return index;
+    }
+
+    /**
+     * Elimina un cuerpo moviendo el último a su lugar.
+     *
+     * @param index índice del cuerpo
+     */
+    public void removeAt(int index) {
+        int last = --size;
+        x[index] = x[last];
+        y[index] = y[last];
+        previousX[index] = previousX[last];
+        previousY[index] = previousY[last];
+        vx[index] = vx[last];
+        vy[index] = vy[last];
+        radius[index] = radius[last];
+        type[index] = type[last];
+        owner[index] = owner[last];
+    }
+
+    /**
+     * Elimina varios cuerpos a la vez.
+     *
+     * @param indices índices de los cuerpos en orden ascendente y sin repetir
+     */
+    public void removeAll(IntArray indices) {
+        for (int i = indices.size - 1; i >= 0; i--) {
+            removeAt(indices.get(i));
+        }
+    }
+
+    /**
+     * Elimina todos los cuerpos.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Avanza todos los cuerpos según su velocidad, guardando antes su posición.
+     *
+     * @param delta tiempo en segundos
+     */
+    public void integrate(float delta) {
+        float[] x = this.x;
+        float[] y = this.y;
+        float[] previousX = this.previousX;
+        float[] previousY = this.previousY;
+        float[] vx = this.vx;
+        float[] vy = this.vy;
+        for (int i = 0, n = size; i < n; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+        }
+    }
+
+    /**
+     * Elimina los cuerpos cuyo centro está fuera de una caja, compactando en
+     * una sola pasada.
+     *
+     * @param minX borde izquierdo
+     * @param minY borde inferior
+     * @param maxX borde derecho
+     * @param maxY borde superior
+     * @return cuerpos eliminados
+     */
+    public int removeOutside(float minX, float minY, float maxX, float maxY) {
+        int kept = 0;
+        for (int i = 0, n = size; i < n; i++) {
+            float px = x[i];
+            float py = y[i];
+            if (px < minX || px > maxX || py < minY || py > maxY) {
+                continue;
+            }
+            if (kept != i) {
+                copy(i, kept);
+            }
+            kept++;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Busca el primer cuerpo, desde un índice, cuya caja se solapa con otra.
+     *
+     * @param from primer índice a revisar
+     * @param minX borde izquierdo
+     * @param minY borde inferior
+     * @param maxX borde derecho
+     * @param maxY borde superior
+     * @return índice del cuerpo, o -1 si ninguno se solapa
+     */
+    public int findOverlap(int from, float minX, float minY, float maxX, float maxY) {
+        for (int i = from, n = size; i < n; i++) {
+            float r = radius[i];
+            if (x[i] - r < maxX & x[i] + r > minX & y[i] - r < maxY & y[i] + r > minY) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indica si un cuerpo se solapa con un círculo.
+     *
+     * @param index   índice del cuerpo
+     * @param centerX centro X del círculo
+     * @param centerY centro Y del círculo
+     * @param r       radio del círculo
+     * @return true si se tocan
+     */
+    public boolean overlapsCircle(int index, float centerX, float centerY, float r) {
+        float dx = x[index] - centerX;
+        float dy = y[index] - centerY;
+        float reach = radius[index] + r;
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    /**
+     * Obtiene la posición X entre el paso anterior y el actual.
+     *
+     * @param index índice del cuerpo
+     * @param alpha fracción del siguiente paso ya transcurrida, de 0 a 1
+     * @return posición X interpolada
+     */
+    public float getInterpolatedX(int index, float alpha) {
+        return previousX[index] + (x[index] - previousX[index]) * alpha;
+    }
+
+    /**
+     * Obtiene la posición Y entre el paso anterior y el actual.
+     *
+     * @param index índice del cuerpo
+     * @param alpha fracción del siguiente paso ya transcurrida, de 0 a 1
+     * @return posición Y interpolada
+     */
+    public float getInterpolatedY(int index, float alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public float getVelocityX(int index) {
+        return vx[index];
+    }
+
+    public float getVelocityY(int index) {
+        return vy[index];
+    }
+
+    public float getRadius(int index) {
+        return radius[index];
+    }
+
+    public int getType(int index) {
+        return type[index];
+    }
+
+    public int getOwner(int index) {
+        return owner[index];
+    }
+
+    private void copy(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        radius[to] = radius[from];
+        type[to] = type[from];
+        owner[to] = owner[from];
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        type = Arrays.copyOf(type, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+    }
+}
@@ -0,0 +1,168 @@
+package to.mpm.minigames.physics;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fase estrecha de colisiones sobre las parejas candidatas de la fase amplia.
+ * <p>
+ * El llamador agrega las parejas en un orden determinista (por ejemplo, la
+ * salida de {@link UniformGrid}), ejecuta la prueba exacta con
+ * {@link #run(PairTest)} y después recorre los contactos en ese mismo orden
+ * para aplicar sus efectos. Desde {@link #PARALLEL_THRESHOLD} parejas la
+ * prueba se reparte en bloques sobre el {@link ForkJoinPool} común; como cada
+ * pareja escribe solo su propia posición del resultado, la lista de contactos
+ * es idéntica con uno o varios hilos.
+ */
+public class Narrowphase {
+    /** Parejas a partir de las cuales la prueba se reparte entre hilos. */
+    public static final int PARALLEL_THRESHOLD = 1024;
+    /** Parejas que prueba cada tarea sin volver a dividirse. */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * Prueba exacta de una pareja.
+     * <p>
+     * Puede ejecutarse a la vez en varios hilos, así que solo debe leer el
+     * estado del juego, nunca modificarlo.
+     */
+    @FunctionalInterface
+    public interface PairTest {
+        /**
+         * Indica si una pareja está en contacto.
+         *
+         * @param a primer cuerpo
+         * @param b segundo cuerpo
+         * @return true si se tocan
+         */
+        boolean test(int a, int b);
+    }
+
+    /**
+     * Bloque de parejas probado por una tarea del pool.
+     * <p>
+     * Recibe los arreglos de parejas y resultados en lugar de leerlos de la
+     * fase estrecha, así que no retiene a su instancia.
+     */
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient PairTest test;
+        private final int[] pairs;
+        private final boolean[] contacts;
+        private final int from;
+        private final int to;
+
+        Chunk(PairTest test, int[] pairs, boolean[] contacts, int from, int to) {
+            this.test = test;
+            this.pairs = pairs;
+            this.contacts = contacts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                testRange(test, pairs, contacts, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk(test, pairs, contacts, from, middle), new Chunk(test, pairs, contacts, middle, to));
+        }
+    }
+
+    /** Parejas como índices consecutivos {@code a0, b0, a1, b1, ...}. */
+    private final IntArray pairs = new IntArray();
+    /** Resultado de la prueba de cada pareja. */
+    private boolean[] contacts = new boolean[64];
+
+    /**
+     * Elimina todas las parejas.
+     */
+    public void clear() {
+        pairs.clear();
+    }
+
+    /**
+     * Agrega una pareja candidata.
+     *
+     * @param a primer cuerpo
+     * @param b segundo cuerpo
+     */
+    public void add(int a, int b) {
+        pairs.add(a, b);
+    }
+
+    /**
+     * Obtiene el número de parejas.
+     *
+     * @return parejas agregadas
+     */
+    public int size() {
+        return pairs.size / 2;
+    }
+
+    /**
+     * Prueba todas las parejas.
+     *
+     * @param test prueba exacta, de solo lectura
+     * @return parejas en contacto
+     */
+    public int run(PairTest test) {
+        int count = size();
+        if (contacts.length < count) {
+            contacts = new boolean[Math.max(count, contacts.length * 2)];
+        }
+        if (count >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new Chunk(test, pairs.items, contacts, 0, count));
+        } else {
+            testRange(test, pairs.items, contacts, 0, count);
+        }
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            if (contacts[i]) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Indica si una pareja quedó en contacto tras {@link #run(PairTest)}.
+     *
+     * @param pair índice de la pareja
+     * @return true si se tocan
+     */
+    public boolean isContact(int pair) {
+        return contacts[pair];
+    }
+
+    /**
+     * Obtiene el primer cuerpo de una pareja.
+     *
+     * @param pair índice de la pareja
+     * @return primer cuerpo
+     */
+    public int getA(int pair) {
+        return pairs.get(pair * 2);
+    }
+
+    /**
+     * Obtiene el segundo cuerpo de una pareja.
+     *
+     * @param pair índice de la pareja
+     * @return segundo cuerpo
+     */
+    public int getB(int pair) {
+        return pairs.get(pair * 2 + 1);
+    }
+
+    private static void testRange(PairTest test, int[] pairs, boolean[] contacts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            contacts[i] = test.test(pairs[i * 2], pairs[i * 2 + 1]);
+        }
+    }
+}
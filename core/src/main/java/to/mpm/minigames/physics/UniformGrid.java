@@ -0,0 +1,293 @@
+package to.mpm.minigames.physics;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import to.mpm.minigames.GameConstants;
+
+import java.util.Arrays;
+
+/**
+ * Fase amplia de colisiones sobre una rejilla uniforme.
+ * <p>
+ * Cada frame se vacía con {@link #clear()}, se agregan las cajas de los
+ * cuerpos (que reciben índices consecutivos desde 0, en el orden en que se
+ * agregan) y se consultan los candidatos a colisión. Las consultas escriben en
+ * un {@link IntArray} del llamador, así que tras el primer frame no reservan
+ * memoria. Los cuerpos fuera del área se guardan en las celdas del borde.
+ * <p>
+ * Solo descarta por cajas alineadas: el llamador hace la prueba exacta.
+ */
+public class UniformGrid {
+    /** Tamaño de celda por defecto, del orden del cuerpo más grande de los minijuegos. */
+    public static final float DEFAULT_CELL_SIZE = 64f;
+
+    /** Inverso del tamaño de celda. */
+    private final float inverseCellSize;
+    /** Número de columnas. */
+    private final int columns;
+    /** Número de filas. */
+    private final int rows;
+    /** Primer nodo de cada celda, o -1. */
+    private final int[] cellHead;
+
+    /** Cuerpo de cada nodo. */
+    private int[] nodeItem = new int[64];
+    /** Siguiente nodo de la misma celda, o -1. */
+    private int[] nodeNext = new int[64];
+    /** Nodos usados. */
+    private int nodeCount;
+
+    /** Caja de cada cuerpo: minX, minY, maxX, maxY. */
+    private float[] bounds = new float[16 * 4];
+    /** Celdas de cada cuerpo: columna y fila mínimas y máximas. */
+    private int[] cells = new int[16 * 4];
+    /** Marca de la última consulta que visitó cada cuerpo. */
+    private int[] stamps = new int[16];
+    /** Cuerpos agregados. */
+    private int count;
+    /** Marca de la consulta actual. */
+    private int stamp;
+    /** Parejas de la última consulta, empaquetadas para ordenarlas. */
+    private long[] pairKeys = new long[16];
+
+    /**
+     * Crea una rejilla del tamaño del área de juego con la celda por defecto.
+     */
+    public UniformGrid() {
+        this(GameConstants.Screen.WIDTH, GameConstants.Screen.HEIGHT, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Crea una rejilla.
+     *
+     * @param width    ancho del área cubierta
+     * @param height   alto del área cubierta
+     * @param cellSize lado de cada celda
+     */
+    public UniformGrid(float width, float height, float cellSize) {
+        inverseCellSize = 1f / cellSize;
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        cellHead = new int[columns * rows];
+        Arrays.fill(cellHead, -1);
+    }
+
+    /**
+     * Elimina todos los cuerpos.
+     */
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        nodeCount = 0;
+        count = 0;
+    }
+
+    /**
+     * Obtiene el número de cuerpos agregados.
+     *
+     * @return cuerpos en la rejilla
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Agrega un cuerpo circular.
+     *
+     * @param x      centro X
+     * @param y      centro Y
+     * @param radius radio
+     * @return índice del cuerpo
+     */
+    public int addCircle(float x, float y, float radius) {
+        return add(x - radius, y - radius, x + radius, y + radius);
+    }
+
+    /**
+     * Agrega un cuerpo rectangular.
+     *
+     * @param rectangle caja del cuerpo
+     * @return índice del cuerpo
+     */
+    public int addRectangle(Rectangle rectangle) {
+        return add(rectangle.x, rectangle.y, rectangle.x + rectangle.width, rectangle.y + rectangle.height);
+    }
+
+    /**
+     * Agrega un cuerpo por su caja.
+     *
+     * @param minX borde izquierdo
+     * @param minY borde inferior
+     * @param maxX borde derecho
+     * @param maxY borde superior
+     * @return índice del cuerpo
+     */
+    public int add(float minX, float minY, float maxX, float maxY) {
+        int item = count++;
+        if (item == stamps.length) {
+            int capacity = item * 2;
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            cells = Arrays.copyOf(cells, capacity * 4);
+            stamps = Arrays.copyOf(stamps, capacity);
+        }
+        int base = item * 4;
+        bounds[base] = minX;
+        bounds[base + 1] = minY;
+        bounds[base + 2] = maxX;
+        bounds[base + 3] = maxY;
+        int minColumn = column(minX);
+        int minRow = row(minY);
+        int maxColumn = column(maxX);
+        int maxRow = row(maxY);
+        cells[base] = minColumn;
+        cells[base + 1] = minRow;
+        cells[base + 2] = maxColumn;
+        cells[base + 3] = maxRow;
+        stamps[item] = stamp;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                if (nodeCount == nodeItem.length) {
+                    nodeItem = Arrays.copyOf(nodeItem, nodeCount * 2);
+                    nodeNext = Arrays.copyOf(nodeNext, nodeCount * 2);
+                }
+                int cell = row * columns + column;
+                nodeItem[nodeCount] = item;
+                nodeNext[nodeCount] = cellHead[cell];
+                cellHead[cell] = nodeCount++;
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Busca los cuerpos cuya caja se solapa con un rectángulo.
+     *
+     * @param rectangle rectángulo de búsqueda
+     * @param out       destino de los índices, que se vacía antes
+     * @return número de cuerpos encontrados
+     */
+    public int query(Rectangle rectangle, IntArray out) {
+        return query(rectangle.x, rectangle.y, rectangle.x + rectangle.width, rectangle.y + rectangle.height, out);
+    }
+
+    /**
+     * Busca los cuerpos cuya caja se solapa con la caja de un círculo.
+     *
+     * @param x      centro X
+     * @param y      centro Y
+     * @param radius radio
+     * @param out    destino de los índices, que se vacía antes
+     * @return número de cuerpos encontrados
+     */
+    public int queryCircle(float x, float y, float radius, IntArray out) {
+        return query(x - radius, y - radius, x + radius, y + radius, out);
+    }
+
+    /**
+     * Busca los cuerpos cuya caja se solapa con una caja, sin repetir y en el
+     * orden en que se agregaron.
+     *
+     * @param minX borde izquierdo
+     * @param minY borde inferior
+     * @param maxX borde derecho
+     * @param maxY borde superior
+     * @param out  destino de los índices, que se vacía antes
+     * @return número de cuerpos encontrados
+     */
+    public int query(float minX, float minY, float maxX, float maxY, IntArray out) {
+        out.clear();
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0, count, 0);
+            stamp = 1;
+        }
+        int maxColumn = column(maxX);
+        int maxRow = row(maxY);
+        for (int row = row(minY); row <= maxRow; row++) {
+            for (int column = column(minX); column <= maxColumn; column++) {
+                for (int node = cellHead[row * columns + column]; node >= 0; node = nodeNext[node]) {
+                    int item = nodeItem[node];
+                    if (stamps[item] == stamp) {
+                        continue;
+                    }
+                    stamps[item] = stamp;
+                    int base = item * 4;
+                    if (minX < bounds[base + 2] && maxX > bounds[base]
+                            && minY < bounds[base + 3] && maxY > bounds[base + 1]) {
+                        out.add(item);
+                    }
+                }
+            }
+        }
+        out.sort();
+        return out.size;
+    }
+
+    /**
+     * Busca todas las parejas de cuerpos cuyas cajas se solapan. Cada pareja
+     * aparece una sola vez, con el índice menor primero, y las parejas se
+     * ordenan por su primer índice y luego por el segundo, de modo que el
+     * orden depende solo del orden en que se agregaron los cuerpos y no de
+     * las celdas en que caen.
+     *
+     * @param out destino de las parejas como índices consecutivos
+     *            {@code a0, b0, a1, b1, ...}, que se vacía antes
+     * @return número de parejas encontradas
+     */
+    public int queryPairs(IntArray out) {
+        out.clear();
+        int pairs = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                for (int first = cellHead[row * columns + column]; first >= 0; first = nodeNext[first]) {
+                    int a = nodeItem[first];
+                    for (int second = nodeNext[first]; second >= 0; second = nodeNext[second]) {
+                        int b = nodeItem[second];
+                        if (isFirstSharedCell(a, b, column, row) && overlaps(a, b)) {
+                            addPair(Math.min(a, b), Math.max(a, b), pairs++);
+                        }
+                    }
+                }
+            }
+        }
+        Arrays.sort(pairKeys, 0, pairs);
+        out.ensureCapacity(pairs * 2);
+        for (int i = 0; i < pairs; i++) {
+            long key = pairKeys[i];
+            out.add((int) (key >>> 32), (int) key);
+        }
+        return pairs;
+    }
+
+    private void addPair(int a, int b, int index) {
+        if (index == pairKeys.length) {
+            pairKeys = Arrays.copyOf(pairKeys, index * 2);
+        }
+        pairKeys[index] = ((long) a << 32) | b;
+    }
+
+    /**
+     * Indica si una celda es la primera que comparten dos cuerpos, para
+     * informar cada pareja una sola vez aunque compartan varias celdas.
+     */
+    private boolean isFirstSharedCell(int a, int b, int column, int row) {
+        return column == Math.max(cells[a * 4], cells[b * 4])
+                && row == Math.max(cells[a * 4 + 1], cells[b * 4 + 1]);
+    }
+
+    private boolean overlaps(int a, int b) {
+        int baseA = a * 4;
+        int baseB = b * 4;
+        return bounds[baseA] < bounds[baseB + 2] && bounds[baseA + 2] > bounds[baseB]
+                && bounds[baseA + 1] < bounds[baseB + 3] && bounds[baseA + 3] > bounds[baseB + 1];
+    }
+
+    private int column(float x) {
+        int column = (int) Math.floor(x * inverseCellSize);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    private int row(float y) {
+        int row = (int) Math.floor(y * inverseCellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
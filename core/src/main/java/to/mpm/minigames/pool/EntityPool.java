@@ -0,0 +1,123 @@
+package to.mpm.minigames.pool;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Reserva de entidades de vida corta (proyectiles, objetos que caen,
+ * recogibles).
+ * <p>
+ * Ciclo de vida: {@link #obtain()} entrega una entidad limpia que el llamador
+ * inicializa, y {@link #free(Object)} la devuelve y llama a
+ * {@link Pool.Poolable#reset()} si la implementa. Una entidad liberada no debe
+ * seguir referenciándose. Las reservas son estáticas para que sobrevivan entre
+ * rondas y, una vez alcanzado el pico, el juego no cree más entidades.
+ * <p>
+ * Cada reserva lleva la cuenta de entidades en uso y se registra al crearse
+ * para consultar la ocupación de todas con {@link #getPools()}. En el juego
+ * solo se usan desde el hilo de render, pero las salas de un servidor de salas
+ * las comparten desde sus propios hilos, así que entregar y devolver
+ * entidades está sincronizado.
+ *
+ * @param <T> tipo de entidad
+ */
+public final class EntityPool<T> extends Pool<T> {
+    /** Reservas creadas. */
+    private static final Array<EntityPool<?>> pools = new Array<>();
+
+    /** Nombre para las métricas. */
+    private final String name;
+    /** Fábrica de entidades nuevas. */
+    private final Supplier<T> factory;
+    /** Entidades entregadas y aún no devueltas. */
+    private int inUse;
+    /** Entidades creadas en total. */
+    private int created;
+
+    /**
+     * Crea una reserva y la registra.
+     *
+     * @param name    nombre para las métricas
+     * @param max     número máximo de entidades libres retenidas
+     * @param factory fábrica de entidades nuevas
+     */
+    public EntityPool(String name, int max, Supplier<T> factory) {
+        super(16, max);
+        this.name = name;
+        this.factory = factory;
+        synchronized (pools) {
+            pools.add(this);
+        }
+    }
+
+    @Override
+    protected T newObject() {
+        created++;
+        return factory.get();
+    }
+
+    @Override
+    public synchronized T obtain() {
+        inUse++;
+        return super.obtain();
+    }
+
+    @Override
+    public synchronized void free(T object) {
+        super.free(object);
+        inUse--;
+    }
+
+    @Override
+    public synchronized void freeAll(Array<T> objects) {
+        super.freeAll(objects);
+        inUse -= objects.size;
+    }
+
+    /**
+     * Devuelve todas las entidades de una colección y la vacía.
+     *
+     * @param objects entidades a devolver
+     */
+    public synchronized void freeAll(Collection<T> objects) {
+        for (T object : objects) {
+            free(object);
+        }
+        objects.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * Obtiene todas las reservas creadas.
+     *
+     * @return reservas registradas
+     */
+    public static Array<EntityPool<?>> getPools() {
+        return pools;
+    }
+
+    /**
+     * Registra en el log la ocupación de todas las reservas.
+     */
+    public static void logOccupancy() {
+        for (EntityPool<?> pool : pools) {
+            Gdx.app.log("EntityPool", pool.name + ": " + pool.inUse + " in use, " + pool.getFree()
+                    + " free, peak " + pool.peak + ", created " + pool.created);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package to.mpm.minigames.rendering;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Primitivas rellenas dibujadas con el {@link Batch} de sprites.
+ * <p>
+ * Rectángulos, círculos y líneas se emiten como quads que muestrean una región
+ * blanca de 1×1; si esa región vive en el mismo atlas que los sprites del
+ * minijuego, mezclar formas y sprites no cambia de textura y todo el frame se
+ * dibuja en una sola pasada del batch, sin alternar con un
+ * {@code ShapeRenderer}. Los métodos deben llamarse entre {@code begin()} y
+ * {@code end()} del batch.
+ */
+public class BatchShapes implements Disposable {
+    /** Floats por vértice del {@code SpriteBatch}: x, y, color, u, v. */
+    private static final int VERTEX_SIZE = 5;
+    /** Floats por quad. */
+    private static final int QUAD_SIZE = VERTEX_SIZE * 4;
+
+    /** Textura propia, o null si la región es de un atlas ajeno. */
+    private final Texture ownedTexture;
+    /** Textura de la región blanca. */
+    private final Texture texture;
+    /** Coordenada U del centro de la región blanca. */
+    private final float u;
+    /** Coordenada V del centro de la región blanca. */
+    private final float v;
+    /** Vértices del quad en curso. */
+    private final float[] quad = new float[QUAD_SIZE];
+    /** Color actual empaquetado. */
+    private float color = Color.WHITE_FLOAT_BITS;
+
+    /**
+     * Crea las primitivas con una textura blanca propia de 1×1.
+     * <p>
+     * Cada pasada entre sprites y formas cambia de textura; es el respaldo
+     * para cuando no hay un atlas con región blanca.
+     */
+    public BatchShapes() {
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        ownedTexture = new Texture(pixmap);
+        pixmap.dispose();
+        texture = ownedTexture;
+        u = 0.5f;
+        v = 0.5f;
+    }
+
+    /**
+     * Crea las primitivas sobre una región blanca de un atlas.
+     *
+     * @param white región blanca, que no se libera con estas primitivas
+     */
+    public BatchShapes(TextureRegion white) {
+        ownedTexture = null;
+        texture = white.getTexture();
+        u = (white.getU() + white.getU2()) / 2f;
+        v = (white.getV() + white.getV2()) / 2f;
+    }
+
+    /**
+     * Establece el color de las siguientes primitivas.
+     *
+     * @param color color
+     */
+    public void setColor(Color color) {
+        this.color = color.toFloatBits();
+    }
+
+    /**
+     * Establece el color de las siguientes primitivas.
+     *
+     * @param r rojo
+     * @param g verde
+     * @param b azul
+     * @param a alfa
+     */
+    public void setColor(float r, float g, float b, float a) {
+        this.color = Color.toFloatBits(r, g, b, a);
+    }
+
+    /**
+     * Dibuja un rectángulo relleno.
+     *
+     * @param batch  batch en curso
+     * @param x      esquina inferior izquierda
+     * @param y      esquina inferior izquierda
+     * @param width  ancho
+     * @param height alto
+     */
+    public void rect(Batch batch, float x, float y, float width, float height) {
+        quad(batch, x, y, x, y + height, x + width, y + height, x + width, y);
+    }
+
+    /**
+     * Dibuja una línea con grosor.
+     *
+     * @param batch batch en curso
+     * @param x1    inicio
+     * @param y1    inicio
+     * @param x2    fin
+     * @param y2    fin
+     * @param width grosor
+     */
+    public void line(Batch batch, float x1, float y1, float x2, float y2, float width) {
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        if (length == 0f) {
+            return;
+        }
+        float nx = -dy / length * width / 2f;
+        float ny = dx / length * width / 2f;
+        quad(batch, x1 - nx, y1 - ny, x1 + nx, y1 + ny, x2 + nx, y2 + ny, x2 - nx, y2 - ny);
+    }
+
+    /**
+     * Dibuja un círculo relleno con tantos segmentos como usaría
+     * {@code ShapeRenderer} para el mismo radio.
+     *
+     * @param batch  batch en curso
+     * @param x      centro
+     * @param y      centro
+     * @param radius radio
+     */
+    public void circle(Batch batch, float x, float y, float radius) {
+        circle(batch, x, y, radius, Math.max(1, (int) (6 * (float) Math.cbrt(radius))));
+    }
+
+    /**
+     * Dibuja un círculo relleno.
+     * <p>
+     * Cada quad cubre dos triángulos del abanico, así que un número impar de
+     * segmentos se redondea hacia arriba.
+     *
+     * @param batch    batch en curso
+     * @param x        centro
+     * @param y        centro
+     * @param radius   radio
+     * @param segments segmentos del contorno
+     */
+    public void circle(Batch batch, float x, float y, float radius, int segments) {
+        segments += segments & 1;
+        float step = MathUtils.PI2 / segments;
+        float x0 = x + radius;
+        float y0 = y;
+        for (int i = 2; i <= segments; i += 2) {
+            float x1 = x + radius * MathUtils.cos(step * (i - 1));
+            float y1 = y + radius * MathUtils.sin(step * (i - 1));
+            float x2 = i == segments ? x + radius : x + radius * MathUtils.cos(step * i);
+            float y2 = i == segments ? y : y + radius * MathUtils.sin(step * i);
+            quad(batch, x, y, x0, y0, x1, y1, x2, y2);
+            x0 = x2;
+            y0 = y2;
+        }
+    }
+
+    /**
+     * Emite un quad con los vértices en el orden del {@code SpriteBatch}, que
+     * lo parte en los triángulos 0-1-2 y 2-3-0.
+     */
+    private void quad(Batch batch, float x1, float y1, float x2, float y2, float x3, float y3, float x4,
+            float y4) {
+        float[] q = quad;
+        float c = color;
+        q[0] = x1;
+        q[1] = y1;
+        q[5] = x2;
+        q[6] = y2;
+        q[10] = x3;
+        q[11] = y3;
+        q[15] = x4;
+        q[16] = y4;
+        for (int i = 0; i < QUAD_SIZE; i += VERTEX_SIZE) {
+            q[i + 2] = c;
+            q[i + 3] = u;
+            q[i + 4] = v;
+        }
+        batch.draw(texture, q, 0, QUAD_SIZE);
+    }
+
+    /**
+     * Libera la textura propia, si la hay.
+     */
+    @Override
+    public void dispose() {
+        if (ownedTexture != null) {
+            ownedTexture.dispose();
+        }
+    }
+}
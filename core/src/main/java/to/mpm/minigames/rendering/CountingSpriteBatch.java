@@ -0,0 +1,67 @@
+package to.mpm.minigames.rendering;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * {@link SpriteBatch} que cuenta, por frame, sus pasadas y sus vaciados.
+ * <p>
+ * Cada vaciado con vértices pendientes es una llamada de dibujo; ocurren al
+ * cambiar de textura, al llenarse el búfer y en cada {@code end()}. Comparar
+ * las pasadas ({@code begin()}) con los vaciados indica si un minijuego está
+ * fragmentando su frame en más lotes de los necesarios.
+ */
+public class CountingSpriteBatch extends SpriteBatch {
+    /** Pasadas del frame en curso. */
+    private int begins;
+    /** Vaciados con vértices del frame en curso. */
+    private int flushes;
+    /** Pasadas del último frame terminado. */
+    private int lastBegins;
+    /** Vaciados del último frame terminado. */
+    private int lastFlushes;
+
+    @Override
+    public void begin() {
+        begins++;
+        super.begin();
+    }
+
+    @Override
+    public void flush() {
+        int before = renderCalls;
+        super.flush();
+        if (renderCalls != before) {
+            flushes++;
+        }
+    }
+
+    /**
+     * Cierra el frame: guarda sus contadores y los reinicia.
+     * <p>
+     * Se llama una vez por frame desde {@code Main.render}.
+     */
+    public void endFrame() {
+        lastBegins = begins;
+        lastFlushes = flushes;
+        begins = 0;
+        flushes = 0;
+    }
+
+    /**
+     * Obtiene las pasadas {@code begin()}/{@code end()} del último frame.
+     *
+     * @return pasadas del batch
+     */
+    public int getFrameBegins() {
+        return lastBegins;
+    }
+
+    /**
+     * Obtiene las llamadas de dibujo emitidas por el batch en el último frame.
+     *
+     * @return vaciados con vértices
+     */
+    public int getFrameFlushes() {
+        return lastFlushes;
+    }
+}
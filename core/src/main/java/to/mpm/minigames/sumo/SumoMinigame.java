@@ -4,15 +4,22 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import to.mpm.minigames.GameConstants;
+import to.mpm.minigames.MinigameAtlas;
+import to.mpm.minigames.MinigameType;
 import to.mpm.minigames.Minigame;
+import to.mpm.minigames.ScoreTable;
+import to.mpm.minigames.manager.GameFlowManager;
+import to.mpm.minigames.physics.UniformGrid;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.Packets;
@@ -20,14 +27,17 @@ import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.network.handlers.ServerPacketContext;
 import to.mpm.network.handlers.ServerPacketHandler;
+import to.mpm.network.lockstep.LockstepSession;
+import to.mpm.network.lockstep.LockstepSimulation;
+import to.mpm.network.spectator.SnapshotFrame;
+import to.mpm.network.spectator.SnapshotInterpolator;
+import to.mpm.network.spectator.SpectatorSnapshotSource;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.ArrayList;
+import java.util.Random;
 
-public class SumoMinigame implements Minigame {
+public class SumoMinigame implements Minigame, SpectatorSnapshotSource, LockstepSimulation {
     private static final float MAP_CENTER_X = GameConstants.Sumo.MAP_CENTER_X;
     private static final float MAP_CENTER_Y = GameConstants.Sumo.MAP_CENTER_Y;
     private static final float MAP_RADIUS = GameConstants.Sumo.MAP_RADIUS;
@@ -36,19 +46,37 @@ public class SumoMinigame implements Minigame {
 
     private static final int POINTS_REWARD = GameConstants.Sumo.POINTS_PER_KILL;
 
+    /** Botones de la entrada en lockstep. */
+    private static final byte INPUT_UP = 1;
+    private static final byte INPUT_DOWN = 2;
+    private static final byte INPUT_LEFT = 4;
+    private static final byte INPUT_RIGHT = 8;
+
     private final int localPlayerId;
     private final boolean isSpectator;
     private final IntMap<SumoPlayer> players = new IntMap<>();
-    private final Map<Integer, Integer> scores = new HashMap<>();
+    private final ScoreTable scores = new ScoreTable();
+    private final UniformGrid grid = new UniformGrid();
+    private final Array<SumoPlayer> gridPlayers = new Array<>();
+    private final IntArray contacts = new IntArray();
+    private final Vector2 contactDirection = new Vector2();
+    /** Generador de la ronda, igual en todos los jugadores. */
+    private final Random random = GameFlowManager.getInstance().createRoundRandom();
+    /** Jugadores en lockstep, ordenados, o null si el host arbitra la partida. */
+    private int[] lockstepPlayerIds;
+    /** Botones pulsados en el último frame, fuera de lockstep. */
+    private byte heldInput;
 
     private OrthographicCamera camera;
     private Viewport viewport;
     private boolean finished = false;
     private int winnerId = -1;
 
-    private Texture backgroundTexture;
-    private Texture islandTexture;
-    private Texture playerTexture;
+    /** Atlas con todos los sprites del minijuego. */
+    private MinigameAtlas atlas;
+    private TextureRegion backgroundTexture;
+    private TextureRegion islandTexture;
+    private TextureRegion playerTexture;
 
     private float backgroundOffsetX = 0f;
     private float backgroundOffsetY = 0f;
@@ -73,9 +101,10 @@ public class SumoMinigame implements Minigame {
         camera.position.set(VIRTUAL_WIDTH / 2, VIRTUAL_HEIGHT / 2, 0);
         camera.update();
 
-        backgroundTexture = new Texture(Gdx.files.internal("sprites/sumo/pond-bg.png"));
-        islandTexture = new Texture(Gdx.files.internal("sprites/sumo/pond-island.png"));
-        playerTexture = new Texture(Gdx.files.internal("sprites/sumo/player.png"));
+        atlas = new MinigameAtlas(MinigameType.SUMO.getAtlasName());
+        backgroundTexture = atlas.findRegion("pond-bg");
+        islandTexture = atlas.findRegion("pond-island");
+        playerTexture = atlas.findRegion("player");
 
         nm.registerAdditionalClasses(
                 SumoPackets.PlayerKnockback.class,
@@ -84,6 +113,14 @@ public class SumoMinigame implements Minigame {
                 SumoPackets.ScoreUpdate.class,
                 SumoPackets.RoundReset.class);
 
+        if (lockstepPlayerIds != null) {
+            for (int id : lockstepPlayerIds) {
+                spawnPlayer(id);
+            }
+            Gdx.app.log("Sumo", "Game started in lockstep as player " + localPlayerId);
+            return;
+        }
+
         if (!isSpectator) {
             scores.put(localPlayerId, 0);
             spawnPlayer(localPlayerId);
@@ -102,13 +139,11 @@ public class SumoMinigame implements Minigame {
     }
 
     private void spawnPlayer(int id) {
-        float x = MAP_CENTER_X + (float) Math.cos(id) * 50;
-        float y = MAP_CENTER_Y + (float) Math.sin(id) * 50;
+        float x = MAP_CENTER_X + (float) StrictMath.cos(id) * 50;
+        float y = MAP_CENTER_Y + (float) StrictMath.sin(id) * 50;
         Color c = GameConstants.Player.COLORS[id % GameConstants.Player.COLORS.length];
         players.put(id, new SumoPlayer(id, x, y, c));
-        if (!scores.containsKey(id)) {
-            scores.put(id, 0);
-        }
+        scores.ensure(id);
     }
 
     @Override
@@ -116,6 +151,13 @@ public class SumoMinigame implements Minigame {
         backgroundOffsetX -= BACKGROUND_SCROLL_SPEED * delta;
         backgroundOffsetY -= BACKGROUND_SCROLL_SPEED * delta;
 
+        for (IntMap.Entry<SumoPlayer> entry : players) {
+            entry.value.storePrevious();
+        }
+        SumoPlayer local = players.get(localPlayerId);
+        if (local != null && local.isAlive) {
+            move(local, heldInput, GameConstants.Player.DEFAULT_MOVE_SPEED * delta);
+        }
         for (IntMap.Entry<SumoPlayer> entry : players) {
             entry.value.update(delta);
         }
@@ -138,38 +180,158 @@ public class SumoMinigame implements Minigame {
         }
     }
 
-    private void checkCollisions() {
-        List<SumoPlayer> playerList = new ArrayList<>();
-        for (IntMap.Entry<SumoPlayer> entry : players) {
-            playerList.add(entry.value);
+    @Override
+    public void startLockstep(int[] playerIds) {
+        lockstepPlayerIds = playerIds;
+    }
+
+    @Override
+    public byte sampleInput() {
+        byte buttons = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.W))
+            buttons |= INPUT_UP;
+        if (Gdx.input.isKeyPressed(Input.Keys.S))
+            buttons |= INPUT_DOWN;
+        if (Gdx.input.isKeyPressed(Input.Keys.A))
+            buttons |= INPUT_LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.D))
+            buttons |= INPUT_RIGHT;
+        return buttons;
+    }
+
+    /**
+     * Avanza un tick en lockstep: cada jugador simula a todos con las mismas
+     * entradas, así que los golpes, caídas y puntos no se envían.
+     */
+    @Override
+    public void step(LockstepSession inputs, float delta) {
+        backgroundOffsetX -= BACKGROUND_SCROLL_SPEED * delta;
+        backgroundOffsetY -= BACKGROUND_SCROLL_SPEED * delta;
+
+        float speed = GameConstants.Player.DEFAULT_MOVE_SPEED * delta;
+        for (int id : lockstepPlayerIds) {
+            SumoPlayer player = players.get(id);
+            player.storePrevious();
+            if (player.isAlive) {
+                move(player, inputs.getInput(id), speed);
+            }
+            player.update(delta);
         }
 
-        for (SumoPlayer p1 : playerList) {
-            for (SumoPlayer p2 : playerList) {
-                if (p1.id == p2.id || !p1.isAlive || !p2.isAlive)
-                    continue;
+        checkCollisions();
+        checkFallout();
+        checkRoundReset();
+    }
+
+    /**
+     * Mueve a un jugador según sus botones pulsados.
+     *
+     * @param player  jugador a mover
+     * @param buttons botones {@code INPUT_*} pulsados
+     * @param speed   distancia a recorrer en este paso
+     */
+    private static void move(SumoPlayer player, byte buttons, float speed) {
+        if ((buttons & INPUT_UP) != 0)
+            player.position.y += speed;
+        if ((buttons & INPUT_DOWN) != 0)
+            player.position.y -= speed;
+        if ((buttons & INPUT_LEFT) != 0)
+            player.position.x -= speed;
+        if ((buttons & INPUT_RIGHT) != 0)
+            player.position.x += speed;
+    }
+
+    @Override
+    public long checksum() {
+        long hash = LockstepSession.CHECKSUM_SEED;
+        for (int id : lockstepPlayerIds) {
+            SumoPlayer p = players.get(id);
+            hash = LockstepSession.mix(hash, p.position.x);
+            hash = LockstepSession.mix(hash, p.position.y);
+            hash = LockstepSession.mix(hash, p.velocity.x);
+            hash = LockstepSession.mix(hash, p.velocity.y);
+            hash = LockstepSession.mix(hash, p.angularVelocity);
+            hash = LockstepSession.mix(hash, p.isAlive ? 1 : 0);
+            hash = LockstepSession.mix(hash, p.lastHitterId);
+            hash = LockstepSession.mix(hash, scores.get(id));
+        }
+        return hash;
+    }
+
+    @Override
+    public void writeSpectatorSnapshot(SnapshotFrame frame) {
+        for (IntMap.Entry<SumoPlayer> entry : players) {
+            SumoPlayer p = entry.value;
+            frame.addEntity(0, p.id, p.position.x, p.position.y, p.rotation, p.isAlive ? 1 : 0);
+        }
+        for (int rank = 0; rank < scores.size(); rank++) {
+            frame.putScore(scores.getPlayerId(rank), scores.getScore(rank));
+        }
+    }
 
-                float dist = p1.position.dst(p2.position);
-                if (dist < SumoPlayer.RADIUS * 2) {
-                    Vector2 dir = new Vector2(p2.position).sub(p1.position).nor();
-                    float force = 300f;
-                    p2.velocity.add(dir.x * force, dir.y * force);
+    @Override
+    public void applySpectatorSnapshot(SnapshotInterpolator view, float delta) {
+        backgroundOffsetX -= BACKGROUND_SCROLL_SPEED * delta;
+        backgroundOffsetY -= BACKGROUND_SCROLL_SPEED * delta;
 
-                    p2.angularVelocity += (Math.random() > 0.5 ? 1 : -1) * (200f + (float) Math.random() * 300f);
+        SnapshotFrame latest = view.getLatest();
+        for (int i = 0; i < latest.getEntityCount(); i++) {
+            int id = latest.getId(i);
+            if (!players.containsKey(id))
+                spawnPlayer(id);
+            SumoPlayer p = players.get(id);
+            p.position.set(view.getX(i), view.getY(i));
+            p.rotation = view.getRotation(i);
+            p.isAlive = latest.getState(i) == 1;
+        }
+        if (view.consumeNewFrame()) {
+            for (int i = 0; i < latest.getScoreCount(); i++) {
+                scores.put(latest.getScorePlayerId(i), latest.getScoreValue(i));
+            }
+        }
+    }
 
-                    p2.lastHitterId = p1.id;
-                    p2.timeSinceLastHit = 0f;
+    private void checkCollisions() {
+        grid.clear();
+        gridPlayers.clear();
+        for (IntMap.Entry<SumoPlayer> entry : players) {
+            SumoPlayer player = entry.value;
+            if (player.isAlive) {
+                grid.addCircle(player.position.x, player.position.y, SumoPlayer.RADIUS);
+                gridPlayers.add(player);
+            }
+        }
 
-                    SumoPackets.PlayerKnockback pkt = new SumoPackets.PlayerKnockback();
-                    pkt.playerId = p2.id;
-                    pkt.velocityX = p2.velocity.x;
-                    pkt.velocityY = p2.velocity.y;
-                    NetworkManager.getInstance().broadcastFromHost(pkt);
-                }
+        grid.queryPairs(contacts);
+        for (int i = 0; i < contacts.size; i += 2) {
+            SumoPlayer p1 = gridPlayers.get(contacts.get(i));
+            SumoPlayer p2 = gridPlayers.get(contacts.get(i + 1));
+            if (p1.position.dst(p2.position) < SumoPlayer.RADIUS * 2) {
+                knockback(p1, p2);
+                knockback(p2, p1);
             }
         }
     }
 
+    private void knockback(SumoPlayer hitter, SumoPlayer target) {
+        Vector2 dir = contactDirection.set(target.position).sub(hitter.position).nor();
+        float force = 300f;
+        target.velocity.add(dir.x * force, dir.y * force);
+
+        target.angularVelocity += randomSpin();
+
+        target.lastHitterId = hitter.id;
+        target.timeSinceLastHit = 0f;
+
+        if (lockstepPlayerIds != null)
+            return;
+        SumoPackets.PlayerKnockback pkt = new SumoPackets.PlayerKnockback();
+        pkt.playerId = target.id;
+        pkt.velocityX = target.velocity.x;
+        pkt.velocityY = target.velocity.y;
+        NetworkManager.getInstance().broadcastFromHost(pkt);
+    }
+
     private void checkFallout() {
         for (IntMap.Entry<SumoPlayer> entry : players) {
             SumoPlayer victim = entry.value;
@@ -182,18 +344,22 @@ public class SumoMinigame implements Minigame {
 
                 if (victim.lastHitterId != -1 && victim.lastHitterId != victim.id) {
                     int killerId = victim.lastHitterId;
-                    int newScore = scores.getOrDefault(killerId, 0) + POINTS_REWARD;
+                    int newScore = scores.get(killerId) + POINTS_REWARD;
                     scores.put(killerId, newScore);
 
-                    SumoPackets.ScoreUpdate scorePkt = new SumoPackets.ScoreUpdate();
-                    scorePkt.playerId = killerId;
-                    scorePkt.newScore = newScore;
-                    NetworkManager.getInstance().broadcastFromHost(scorePkt);
+                    if (lockstepPlayerIds == null) {
+                        SumoPackets.ScoreUpdate scorePkt = new SumoPackets.ScoreUpdate();
+                        scorePkt.playerId = killerId;
+                        scorePkt.newScore = newScore;
+                        NetworkManager.getInstance().broadcastFromHost(scorePkt);
+                    }
                 }
 
-                SumoPackets.PlayerFell pkt = new SumoPackets.PlayerFell();
-                pkt.playerId = victim.id;
-                NetworkManager.getInstance().broadcastFromHost(pkt);
+                if (lockstepPlayerIds == null) {
+                    SumoPackets.PlayerFell pkt = new SumoPackets.PlayerFell();
+                    pkt.playerId = victim.id;
+                    NetworkManager.getInstance().broadcastFromHost(pkt);
+                }
             }
         }
     }
@@ -209,15 +375,23 @@ public class SumoMinigame implements Minigame {
 
         if (aliveCount <= 1 && players.size > 1) {
             resetRoundLocally();
-            NetworkManager.getInstance().broadcastFromHost(new SumoPackets.RoundReset());
+            if (lockstepPlayerIds == null)
+                NetworkManager.getInstance().broadcastFromHost(new SumoPackets.RoundReset());
         }
     }
 
+    /**
+     * Giro aleatorio que recibe un jugador golpeado.
+     */
+    private float randomSpin() {
+        return (random.nextBoolean() ? 1 : -1) * (200f + random.nextFloat() * 300f);
+    }
+
     private void resetRoundLocally() {
         for (IntMap.Entry<SumoPlayer> entry : players) {
             int id = entry.key;
-            float x = MAP_CENTER_X + (float) Math.cos(id) * 50;
-            float y = MAP_CENTER_Y + (float) Math.sin(id) * 50;
+            float x = MAP_CENTER_X + (float) StrictMath.cos(id) * 50;
+            float y = MAP_CENTER_Y + (float) StrictMath.sin(id) * 50;
             entry.value.reset(x, y);
         }
         Gdx.app.log("Sumo", "Ronda Reiniciada!");
@@ -225,6 +399,15 @@ public class SumoMinigame implements Minigame {
 
     @Override
     public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
+        render(batch, shapeRenderer, 1f);
+    }
+
+    /**
+     * Dibuja a los jugadores entre su posición y giro del paso anterior y los
+     * actuales.
+     */
+    @Override
+    public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
         viewport.apply();
         shapeRenderer.setProjectionMatrix(camera.combined);
         batch.setProjectionMatrix(camera.combined);
@@ -246,46 +429,31 @@ public class SumoMinigame implements Minigame {
                 float aspectRatio = 1.5f;
                 float width = SumoPlayer.RADIUS * 2 * aspectRatio;
                 float height = SumoPlayer.RADIUS * 2;
+                float x = p.previousPosition.x + (p.position.x - p.previousPosition.x) * alpha;
+                float y = p.previousPosition.y + (p.position.y - p.previousPosition.y) * alpha;
                 batch.draw(playerTexture,
-                        p.position.x - width / 2,
-                        p.position.y - height / 2,
+                        x - width / 2,
+                        y - height / 2,
                         width / 2,
                         height / 2,
                         width,
                         height,
                         1f,
                         1f,
-                        p.rotation,
-                        0,
-                        0,
-                        playerTexture.getWidth(),
-                        playerTexture.getHeight(),
-                        false,
-                        false);
+                        p.previousRotation + (p.rotation - p.previousRotation) * alpha);
             }
         }
         batch.setColor(Color.WHITE);
         batch.end();
     }
 
+    /**
+     * Guarda los botones pulsados para el siguiente paso. En lockstep la
+     * entrada se muestrea en cada paso con {@link #sampleInput()}.
+     */
     @Override
     public void handleInput(float delta) {
-        if (isSpectator)
-            return;
-
-        SumoPlayer me = players.get(localPlayerId);
-        if (me == null || !me.isAlive)
-            return;
-
-        float speed = GameConstants.Player.DEFAULT_MOVE_SPEED * delta;
-        if (Gdx.input.isKeyPressed(Input.Keys.W))
-            me.position.y += speed;
-        if (Gdx.input.isKeyPressed(Input.Keys.S))
-            me.position.y -= speed;
-        if (Gdx.input.isKeyPressed(Input.Keys.A))
-            me.position.x -= speed;
-        if (Gdx.input.isKeyPressed(Input.Keys.D))
-            me.position.x += speed;
+        heldInput = isSpectator || lockstepPlayerIds != null ? 0 : sampleInput();
     }
 
     @Override
@@ -294,7 +462,7 @@ public class SumoMinigame implements Minigame {
     }
 
     @Override
-    public Map<Integer, Integer> getScores() {
+    public ScoreTable getScores() {
         return scores;
     }
 
@@ -317,12 +485,8 @@ public class SumoMinigame implements Minigame {
             nm.unregisterClientHandler(clientHandler);
         if (serverHandler != null)
             nm.unregisterServerHandler(serverHandler);
-        if (backgroundTexture != null)
-            backgroundTexture.dispose();
-        if (islandTexture != null)
-            islandTexture.dispose();
-        if (playerTexture != null)
-            playerTexture.dispose();
+        if (atlas != null)
+            atlas.dispose();
     }
 
     private class SumoClientHandler implements ClientPacketHandler {
@@ -353,7 +517,7 @@ public class SumoMinigame implements Minigame {
                 SumoPlayer player = players.get(p.playerId);
                 if (player != null) {
                     player.velocity.set(p.velocityX, p.velocityY);
-                    player.angularVelocity += (Math.random() > 0.5 ? 1 : -1) * (200f + (float) Math.random() * 300f);
+                    player.angularVelocity += randomSpin();
                 }
             } else if (packet instanceof SumoPackets.PlayerFell p) {
                 SumoPlayer player = players.get(p.playerId);
@@ -6,6 +6,8 @@ import com.badlogic.gdx.math.Vector2;
 public class SumoPlayer {
     public int id;
     public Vector2 position;
+    /** Posición antes del último paso, para interpolar el dibujo. */
+    public final Vector2 previousPosition;
     public Vector2 velocity;
     public Color color;
     public boolean isAlive = true;
@@ -19,14 +21,25 @@ public class SumoPlayer {
     public float rotation = 0f;
     /** Velocidad angular de rotación en grados por segundo. */
     public float angularVelocity = 0f;
+    /** Rotación antes del último paso, para interpolar el dibujo. */
+    public float previousRotation = 0f;
 
     public SumoPlayer(int id, float x, float y, Color color) {
         this.id = id;
         this.position = new Vector2(x, y);
+        this.previousPosition = new Vector2(x, y);
         this.velocity = new Vector2(0, 0);
         this.color = color;
     }
 
+    /**
+     * Guarda la posición y la rotación actuales antes de avanzar un paso.
+     */
+    public void storePrevious() {
+        previousPosition.set(position);
+        previousRotation = rotation;
+    }
+
     public void update(float delta) {
         if (!isAlive)
             return;
@@ -51,5 +64,6 @@ public class SumoPlayer {
         this.timeSinceLastHit = 0;
         this.rotation = 0f;
         this.angularVelocity = 0f;
+        storePrevious();
     }
 }
\ No newline at end of file
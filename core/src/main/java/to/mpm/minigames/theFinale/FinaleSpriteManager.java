@@ -1,7 +1,10 @@
 package to.mpm.minigames.theFinale;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import to.mpm.minigames.MinigameAtlas;
+import to.mpm.minigames.MinigameType;
+import to.mpm.network.room.RoomContext;
 
 /**
  * Gestiona todos los sprites para el minijuego The Finale.
@@ -11,11 +14,17 @@ import com.badlogic.gdx.graphics.Texture;
 public class FinaleSpriteManager {
     private static FinaleSpriteManager instance;
 
-    private Texture background;
-    private Texture player;
-    private Texture heal;
-    private Texture crosshair;
-    private Texture particles;
+    /** Atlas con todos los sprites del minijuego. */
+    private MinigameAtlas atlas;
+
+    /** Región blanca de 1×1 para dibujar formas. */
+    private TextureRegion whitePixel;
+
+    private TextureRegion background;
+    private TextureRegion player;
+    private TextureRegion heal;
+    private TextureRegion crosshair;
+    private TextureRegion particles;
 
     private boolean loaded = false;
 
@@ -23,11 +32,16 @@ public class FinaleSpriteManager {
     }
 
     /**
-     * Obtiene la instancia única del gestor de sprites.
+     * Obtiene la instancia única del gestor de sprites, o la de la sala si
+     * se llama desde el hilo de una sala.
      *
      * @return la instancia del FinaleSpriteManager
      */
     public static FinaleSpriteManager getInstance() {
+        FinaleSpriteManager scoped = RoomContext.scoped(FinaleSpriteManager.class, FinaleSpriteManager::new);
+        if (scoped != null) {
+            return scoped;
+        }
         if (instance == null) {
             instance = new FinaleSpriteManager();
         }
@@ -43,11 +57,14 @@ public class FinaleSpriteManager {
         }
 
         try {
-            background = new Texture(Gdx.files.internal("sprites/finale/bg-final.png"));
-            player = new Texture(Gdx.files.internal("sprites/finale/player-final.png"));
-            heal = new Texture(Gdx.files.internal("sprites/finale/heal-final.png"));
-            crosshair = new Texture(Gdx.files.internal("sprites/finale/crosshair-final.png"));
-            particles = new Texture(Gdx.files.internal("sprites/finale/particles-final.png"));
+            atlas = new MinigameAtlas(MinigameType.THE_FINALE.getAtlasName());
+            background = atlas.findRegion("bg-final");
+            player = atlas.findRegion("player-final");
+            heal = atlas.findRegion("heal-final");
+            crosshair = atlas.findRegion("crosshair-final");
+            particles = atlas.findRegion("particles-final");
+
+            whitePixel = atlas.findRegion(MinigameAtlas.WHITE_PIXEL);
 
             loaded = true;
             Gdx.app.log("FinaleSpriteManager", "All sprites loaded successfully");
@@ -57,43 +74,52 @@ public class FinaleSpriteManager {
     }
 
     /**
-     * Libera todas las texturas cargadas.
+     * Devuelve el atlas a {@link to.mpm.minigames.AssetCache}, que lo conserva
+     * para la próxima vez que se juegue el minijuego.
      */
     public void dispose() {
         if (!loaded) {
             return;
         }
 
-        if (background != null) background.dispose();
-        if (player != null) player.dispose();
-        if (heal != null) heal.dispose();
-        if (crosshair != null) crosshair.dispose();
-        if (particles != null) particles.dispose();
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
 
         loaded = false;
         Gdx.app.log("FinaleSpriteManager", "All sprites disposed");
     }
 
-    public Texture getBackground() {
+    public TextureRegion getBackground() {
         return background;
     }
 
-    public Texture getPlayer() {
+    public TextureRegion getPlayer() {
         return player;
     }
 
-    public Texture getHeal() {
+    public TextureRegion getHeal() {
         return heal;
     }
 
-    public Texture getCrosshair() {
+    public TextureRegion getCrosshair() {
         return crosshair;
     }
 
-    public Texture getParticles() {
+    public TextureRegion getParticles() {
         return particles;
     }
 
+    /**
+     * Obtiene la región blanca de 1×1 del atlas, para {@link to.mpm.minigames.rendering.BatchShapes}.
+     *
+     * @return región blanca
+     */
+    public TextureRegion getWhitePixel() {
+        return whitePixel;
+    }
+
     public boolean isLoaded() {
         return loaded;
     }
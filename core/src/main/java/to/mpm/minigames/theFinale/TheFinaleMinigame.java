@@ -4,26 +4,37 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.IntMap;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.Minigame;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.minigames.duckshooter.entities.Duck;
 import to.mpm.minigames.duckshooter.entities.HealthPack;
-import to.mpm.minigames.duckshooter.entities.Quack;
 import to.mpm.minigames.duckshooter.network.DuckShooterPackets;
+import to.mpm.minigames.manager.GameFlowManager;
+import to.mpm.minigames.physics.MovingBodies;
+import to.mpm.minigames.physics.Narrowphase;
+import to.mpm.minigames.physics.UniformGrid;
+import to.mpm.minigames.rendering.BatchShapes;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.network.handlers.ServerPacketContext;
 import to.mpm.network.handlers.ServerPacketHandler;
+import to.mpm.network.spectator.SnapshotFrame;
+import to.mpm.network.spectator.SnapshotInterpolator;
+import to.mpm.network.spectator.SpectatorSnapshotSource;
 
 import java.util.*;
 
@@ -32,7 +43,7 @@ import java.util.*;
  * gana.
  * Es el evento final del torneo, usa la misma mecánica del Duck Shooter.
  */
-public class TheFinaleMinigame implements Minigame {
+public class TheFinaleMinigame implements Minigame, SpectatorSnapshotSource {
     private static final float SHOOT_COOLDOWN = GameConstants.DuckShooter.SHOOT_COOLDOWN;
     private static final float GAME_DURATION = GameConstants.TheFinale.GAME_DURATION;
     private static final float VIRTUAL_WIDTH = GameConstants.Screen.WIDTH;
@@ -40,19 +51,45 @@ public class TheFinaleMinigame implements Minigame {
     private static final float HEALTH_PACK_SPAWN_MIN = 10f;
     private static final float HEALTH_PACK_SPAWN_MAX = 15f;
     private static final float PARTICLES_SCROLL_SPEED = 20f;
+    private static final int SNAPSHOT_DUCK = 0;
+    private static final int SNAPSHOT_QUACK = 1;
+    private static final int SNAPSHOT_HEALTH_PACK = 2;
 
     private final int localPlayerId;
     private final boolean isSpectator;
     private final IntMap<Duck> ducks = new IntMap<>();
-    private final List<Quack> quacks = new ArrayList<>();
-    private final Map<Integer, Integer> scores = new HashMap<>();
+    /** Quacks en vuelo; el dueño de cada cuerpo es el jugador que disparó. */
+    private final MovingBodies quacks = new MovingBodies(64);
+    private final ScoreTable scores = new ScoreTable();
     private final IntMap<to.mpm.minigames.duckshooter.entities.HealthPack> healthPacks = new IntMap<>();
-    private final Random random = new Random();
+    /** Generador de la ronda, igual en todos los jugadores. */
+    private final Random random = GameFlowManager.getInstance().createRoundRandom();
+    /** Fase amplia de los patos vivos contra los quacks (solo host). */
+    private final UniformGrid duckGrid = new UniformGrid();
+    private final Array<Duck> gridDucks = new Array<>();
+    private final IntArray candidates = new IntArray();
+    /** Parejas quack-pato y botiquín-pato de cada frame (solo host). */
+    private final Narrowphase quackContacts = new Narrowphase();
+    private final Narrowphase packContacts = new Narrowphase();
+    private final Narrowphase.PairTest quackTest = this::quackTouchesDuck;
+    private final Narrowphase.PairTest packTest = this::packTouchesDuck;
+    private final Array<HealthPack> gridPacks = new Array<>();
+    /** Quacks que ya impactaron en el frame, en orden ascendente. */
+    private final IntArray spentQuacks = new IntArray();
+    /** Vectores temporales para el cursor y la dirección de disparo. */
+    private final Vector3 cursor = new Vector3();
+    private final Vector2 shotDirection = new Vector2();
+    /** Punto de mira leído en el último frame, en coordenadas del mundo. */
+    private final Vector2 aimTarget = new Vector2();
+    /** Paquete de estado del pato propio, reutilizado en cada envío. */
+    private final DuckShooterPackets.DuckState duckState = new DuckShooterPackets.DuckState();
 
     private OrthographicCamera camera;
     private Viewport viewport;
     private Duck localDuck;
     private float shootCooldown;
+    /** Indica si hay un disparo pedido pendiente del siguiente paso. */
+    private boolean shootRequested;
     private float gameTimer;
     private float healthPackSpawnTimer;
     private int nextHealthPackId;
@@ -61,6 +98,8 @@ public class TheFinaleMinigame implements Minigame {
     private float particlesOffsetY;
 
     private FinaleSpriteManager spriteManager;
+    /** Formas dibujadas con el batch y la región blanca del atlas. */
+    private BatchShapes shapes;
     private FinaleClientHandler clientHandler;
     private FinaleServerHandler serverHandler;
 
@@ -81,6 +120,7 @@ public class TheFinaleMinigame implements Minigame {
 
         spriteManager = FinaleSpriteManager.getInstance();
         spriteManager.loadSprites();
+        shapes = spriteManager.isLoaded() ? new BatchShapes(spriteManager.getWhitePixel()) : new BatchShapes();
 
         camera = new OrthographicCamera();
         viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
@@ -127,32 +167,27 @@ public class TheFinaleMinigame implements Minigame {
             shootCooldown -= delta;
         }
 
-        Texture particlesTexture = spriteManager.getParticles();
-        if (particlesTexture != null) {
-            float particlesHeight = (float) particlesTexture.getHeight() * (VIRTUAL_WIDTH / particlesTexture.getWidth());
-            particlesOffsetY += PARTICLES_SCROLL_SPEED * delta;
-            if (particlesOffsetY >= particlesHeight) {
-                particlesOffsetY = 0f;
-            }
-        }
+        scrollParticles(delta);
 
         for (IntMap.Entry<Duck> entry : ducks) {
             entry.value.update(delta);
         }
 
-        Iterator<Quack> it = quacks.iterator();
-        while (it.hasNext()) {
-            Quack quack = it.next();
-            quack.update(delta);
-
-            if (!quack.isActive()) {
-                it.remove();
-                continue;
+        if (shootRequested) {
+            shootRequested = false;
+            if (localDuck != null && localDuck.isAlive()) {
+                shoot();
             }
+        }
 
-            if (NetworkManager.getInstance().isHost()) {
-                checkQuackCollisions(quack);
-            }
+        if (NetworkManager.getInstance().isHost()) {
+            buildDuckGrid();
+        }
+
+        quacks.integrate(delta);
+        removeQuacksOffScreen();
+        if (NetworkManager.getInstance().isHost()) {
+            checkQuackCollisions();
         }
 
         Iterator<IntMap.Entry<HealthPack>> hpIt = healthPacks.iterator();
@@ -163,15 +198,12 @@ public class TheFinaleMinigame implements Minigame {
 
             if (!hp.isActive()) {
                 hpIt.remove();
-                continue;
-            }
-
-            if (NetworkManager.getInstance().isHost()) {
-                checkHealthPackCollisions(hp);
+                HealthPack.POOL.free(hp);
             }
         }
 
         if (NetworkManager.getInstance().isHost()) {
+            checkHealthPackCollisions();
             healthPackSpawnTimer -= delta;
             if (healthPackSpawnTimer <= 0) {
                 spawnHealthPack();
@@ -201,150 +233,303 @@ public class TheFinaleMinigame implements Minigame {
         }
     }
 
-    private void checkQuackCollisions(Quack quack) {
+    private void scrollParticles(float delta) {
+        TextureRegion particlesTexture = spriteManager.getParticles();
+        if (particlesTexture != null) {
+            float particlesHeight = (float) particlesTexture.getRegionHeight() * (VIRTUAL_WIDTH / particlesTexture.getRegionWidth());
+            particlesOffsetY += PARTICLES_SCROLL_SPEED * delta;
+            if (particlesOffsetY >= particlesHeight) {
+                particlesOffsetY = 0f;
+            }
+        }
+    }
+
+    @Override
+    public void writeSpectatorSnapshot(SnapshotFrame frame) {
         for (IntMap.Entry<Duck> entry : ducks) {
             Duck duck = entry.value;
+            frame.addEntity(SNAPSHOT_DUCK, duck.playerId, duck.position.x, duck.position.y,
+                    duck.getRotation(), duck.getHits());
+        }
+        for (int i = 0; i < quacks.size(); i++) {
+            frame.addEntity(SNAPSHOT_QUACK, i, quacks.getX(i), quacks.getY(i),
+                    MathUtils.atan2Deg360(quacks.getVelocityY(i), quacks.getVelocityX(i)), quacks.getOwner(i));
+        }
+        for (IntMap.Entry<HealthPack> entry : healthPacks) {
+            HealthPack hp = entry.value;
+            frame.addEntity(SNAPSHOT_HEALTH_PACK, hp.id, hp.position.x, hp.position.y, 0f, 0);
+        }
+        for (int rank = 0; rank < scores.size(); rank++) {
+            frame.putScore(scores.getPlayerId(rank), scores.getScore(rank));
+        }
+    }
 
-            if (quack.checkCollision(duck)) {
-                boolean damaged = duck.takeDamage();
+    /**
+     * Los patos se interpolan entre instantáneas; los quacks se reconstruyen en
+     * cada instantánea y se extrapolan con su velocidad, que es constante.
+     */
+    @Override
+    public void applySpectatorSnapshot(SnapshotInterpolator view, float delta) {
+        if (!finished) {
+            gameTimer -= delta;
+        }
+        scrollParticles(delta);
+
+        SnapshotFrame latest = view.getLatest();
+        boolean newFrame = view.consumeNewFrame();
+        if (newFrame) {
+            quacks.clear();
+            Iterator<IntMap.Entry<HealthPack>> hpIt = healthPacks.iterator();
+            while (hpIt.hasNext()) {
+                IntMap.Entry<HealthPack> entry = hpIt.next();
+                if (latest.indexOf(SNAPSHOT_HEALTH_PACK, entry.key) < 0) {
+                    hpIt.remove();
+                    HealthPack.POOL.free(entry.value);
+                }
+            }
+            for (int i = 0; i < latest.getScoreCount(); i++) {
+                scores.put(latest.getScorePlayerId(i), latest.getScoreValue(i));
+            }
+        }
 
-                if (damaged) {
-                    quack.deactivate();
+        for (int i = 0; i < latest.getEntityCount(); i++) {
+            int id = latest.getId(i);
+            switch (latest.getKind(i)) {
+                case SNAPSHOT_DUCK -> {
+                    Duck duck = ducks.get(id);
+                    if (duck == null) {
+                        Color color = GameConstants.Player.COLORS[id % GameConstants.Player.COLORS.length];
+                        duck = new Duck(id, latest.getX(i), latest.getY(i), color);
+                        ducks.put(id, duck);
+                    }
+                    duck.setPosition(view.getX(i), view.getY(i));
+                    duck.setRotation(view.getRotation(i));
+                    duck.setHits(latest.getState(i));
+                }
+                case SNAPSHOT_QUACK -> {
+                    if (newFrame) {
+                        float angle = latest.getRotation(i) * MathUtils.degreesToRadians;
+                        addQuack(latest.getState(i), latest.getX(i), latest.getY(i),
+                                MathUtils.cos(angle), MathUtils.sin(angle));
+                    }
+                }
+                case SNAPSHOT_HEALTH_PACK -> {
+                    if (!healthPacks.containsKey(id)) {
+                        healthPacks.put(id, HealthPack.obtain(id, latest.getX(i), latest.getY(i)));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
 
-                    Gdx.app.log("TheFinale", "HIT! Shooter=" + quack.shooterId + " Target=" + duck.playerId
-                            + " Remaining=" + duck.getHits());
+        if (!newFrame) {
+            quacks.integrate(delta);
+        }
+        removeQuacksOffScreen();
+        for (IntMap.Entry<HealthPack> entry : healthPacks) {
+            entry.value.update(delta);
+        }
+    }
 
-                    if (!duck.isAlive()) {
-                        scores.merge(quack.shooterId, 1, Integer::sum);
-                    }
+    /**
+     * Rellena la rejilla con los patos vivos. Los patos no se mueven mientras
+     * se recorren los quacks, así que basta una vez por frame.
+     */
+    private void buildDuckGrid() {
+        duckGrid.clear();
+        gridDucks.clear();
+        for (IntMap.Entry<Duck> entry : ducks) {
+            Duck duck = entry.value;
+            if (duck.isAlive()) {
+                duckGrid.addCircle(duck.position.x, duck.position.y, duck.getRadius());
+                gridDucks.add(duck);
+            }
+        }
+    }
 
-                    DuckShooterPackets.QuackHit hitPacket = new DuckShooterPackets.QuackHit();
-                    hitPacket.shooterId = quack.shooterId;
-                    hitPacket.targetId = duck.playerId;
-                    hitPacket.remainingHits = duck.getHits();
-                    NetworkManager.getInstance().broadcastFromHost(hitPacket);
-
-                    if (!duck.isAlive()) {
-                        DuckShooterPackets.DuckEliminated elimPacket = new DuckShooterPackets.DuckEliminated();
-                        elimPacket.playerId = duck.playerId;
-                        elimPacket.killerId = quack.shooterId;
-                        NetworkManager.getInstance().sendPacket(elimPacket);
-                    }
+    /**
+     * Revisa los quacks contra los patos vivos y elimina los que aciertan.
+     * <p>
+     * La prueba exacta de las parejas de la rejilla puede repartirse entre
+     * hilos; los impactos se aplican después en este hilo, en orden de quack y
+     * de pato, así que el resultado no depende del número de núcleos.
+     */
+    private void checkQuackCollisions() {
+        quackContacts.clear();
+        for (int q = 0, n = quacks.size(); q < n; q++) {
+            duckGrid.queryCircle(quacks.getX(q), quacks.getY(q), quacks.getRadius(q), candidates);
+            for (int i = 0; i < candidates.size; i++) {
+                quackContacts.add(q, candidates.get(i));
+            }
+        }
+        quackContacts.run(quackTest);
 
-                    break;
-                }
+        spentQuacks.clear();
+        for (int pair = 0, n = quackContacts.size(); pair < n; pair++) {
+            int q = quackContacts.getA(pair);
+            if (quackContacts.isContact(pair) && (spentQuacks.isEmpty() || spentQuacks.peek() != q)
+                    && hitDuck(q, gridDucks.get(quackContacts.getB(pair)))) {
+                spentQuacks.add(q);
             }
         }
+        quacks.removeAll(spentQuacks);
+    }
+
+    /**
+     * Prueba exacta de un quack contra un pato de la rejilla. Solo lee estado,
+     * así que puede ejecutarse en cualquier hilo.
+     */
+    private boolean quackTouchesDuck(int q, int gridDuck) {
+        Duck duck = gridDucks.get(gridDuck);
+        return duck.playerId != quacks.getOwner(q)
+                && quacks.overlapsCircle(q, duck.position.x, duck.position.y, duck.getRadius());
+    }
+
+    /**
+     * Aplica el impacto de un quack a un pato que toca.
+     *
+     * @param q    índice del quack
+     * @param duck pato alcanzado
+     * @return true si el quack hizo daño y debe desaparecer
+     */
+    private boolean hitDuck(int q, Duck duck) {
+        if (!duck.takeDamage()) {
+            return false;
+        }
+        int shooterId = quacks.getOwner(q);
+        Gdx.app.log("TheFinale", "HIT! Shooter=" + shooterId + " Target=" + duck.playerId
+                + " Remaining=" + duck.getHits());
+
+        if (!duck.isAlive()) {
+            scores.add(shooterId, 1);
+        }
+
+        DuckShooterPackets.QuackHit hitPacket = new DuckShooterPackets.QuackHit();
+        hitPacket.shooterId = shooterId;
+        hitPacket.targetId = duck.playerId;
+        hitPacket.remainingHits = duck.getHits();
+        NetworkManager.getInstance().broadcastFromHost(hitPacket);
+
+        if (!duck.isAlive()) {
+            DuckShooterPackets.DuckEliminated elimPacket = new DuckShooterPackets.DuckEliminated();
+            elimPacket.playerId = duck.playerId;
+            elimPacket.killerId = shooterId;
+            NetworkManager.getInstance().sendPacket(elimPacket);
+        }
+        return true;
+    }
+
+    /**
+     * Agrega un quack que sale de un punto en una dirección.
+     *
+     * @param shooterId ID del jugador que disparó
+     * @param x         posición X inicial
+     * @param y         posición Y inicial
+     * @param dirX      dirección X (no hace falta normalizarla)
+     * @param dirY      dirección Y
+     */
+    private void addQuack(int shooterId, float x, float y, float dirX, float dirY) {
+        shotDirection.set(dirX, dirY).nor().scl(GameConstants.TheFinale.QUACK_SPEED);
+        quacks.add(x, y, shotDirection.x, shotDirection.y, GameConstants.TheFinale.QUACK_RADIUS, 0, shooterId);
+    }
+
+    private void removeQuacksOffScreen() {
+        quacks.removeOutside(0, 0, GameConstants.Screen.WIDTH, GameConstants.Screen.HEIGHT);
     }
 
     @Override
     public void render(SpriteBatch batch, ShapeRenderer shapeRenderer) {
+        render(batch, shapeRenderer, 1f);
+    }
+
+    /**
+     * Los patos y los quacks se dibujan entre su posición del paso anterior y
+     * la actual.
+     * <p>
+     * Todo el frame, formas incluidas, sale en una sola pasada del batch con
+     * {@link BatchShapes}; el {@code ShapeRenderer} no se usa.
+     */
+    @Override
+    public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, float alpha) {
         viewport.apply();
-        shapeRenderer.setProjectionMatrix(camera.combined);
         batch.setProjectionMatrix(camera.combined);
 
         batch.begin();
 
-        Texture bg = spriteManager.getBackground();
+        TextureRegion bg = spriteManager.getBackground();
         if (bg != null) {
             batch.setColor(1f, 1f, 1f, 0.65f);
             batch.draw(bg, 0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT);
             batch.setColor(Color.WHITE);
         } else {
-            batch.end();
-            shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-            shapeRenderer.setColor(0.15f, 0.15f, 0.2f, 1f);
-            shapeRenderer.rect(0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT);
-            shapeRenderer.end();
-            batch.begin();
+            shapes.setColor(0.15f, 0.15f, 0.2f, 1f);
+            shapes.rect(batch, 0, 0, VIRTUAL_WIDTH, VIRTUAL_HEIGHT);
         }
 
-        Texture particles = spriteManager.getParticles();
+        TextureRegion particles = spriteManager.getParticles();
         if (particles != null) {
             float particlesWidth = VIRTUAL_WIDTH;
-            float particlesHeight = (float) particles.getHeight() * (particlesWidth / particles.getWidth());
+            float particlesHeight = (float) particles.getRegionHeight() * (particlesWidth / particles.getRegionWidth());
 
             batch.draw(particles, 0, -particlesOffsetY, particlesWidth, particlesHeight);
             batch.draw(particles, 0, particlesHeight - particlesOffsetY, particlesWidth, particlesHeight);
         }
 
-        Texture playerTexture = spriteManager.getPlayer();
-        boolean usePlayerSprite = playerTexture != null;
-
-        if (usePlayerSprite) {
-            for (IntMap.Entry<Duck> entry : ducks) {
-                Duck duck = entry.value;
-                if (!duck.isAlive())
-                    continue;
+        TextureRegion playerTexture = spriteManager.getPlayer();
+        for (IntMap.Entry<Duck> entry : ducks) {
+            Duck duck = entry.value;
+            if (!duck.isAlive())
+                continue;
 
-                if (duck.isInvulnerable() && (System.currentTimeMillis() / 100) % 2 == 0) {
-                    continue;
-                }
+            if (duck.isInvulnerable() && (System.currentTimeMillis() / 100) % 2 == 0) {
+                continue;
+            }
 
+            float duckX = duck.getInterpolatedX(alpha);
+            float duckY = duck.getInterpolatedY(alpha);
+            if (playerTexture != null) {
                 float baseSize = duck.getRadius() * 2;
-                float aspectRatio = (float) playerTexture.getWidth() / playerTexture.getHeight();
+                float aspectRatio = (float) playerTexture.getRegionWidth() / playerTexture.getRegionHeight();
                 float width = baseSize * aspectRatio;
                 float height = baseSize;
                 batch.setColor(duck.color);
                 batch.draw(playerTexture,
-                        duck.position.x - width / 2, duck.position.y - height / 2,
+                        duckX - width / 2, duckY - height / 2,
                         width / 2, height / 2,
                         width, height,
                         1f, 1f,
-                        duck.getRotation(),
-                        0, 0,
-                        playerTexture.getWidth(), playerTexture.getHeight(),
-                        false, false);
+                        duck.getRotation());
                 batch.setColor(Color.WHITE);
+            } else {
+                shapes.setColor(duck.color);
+                shapes.circle(batch, duckX, duckY, duck.getRadius());
             }
         }
 
-        Texture healTexture = spriteManager.getHeal();
-        boolean useHealSprite = healTexture != null;
-
-        if (useHealSprite) {
-            for (IntMap.Entry<HealthPack> entry : healthPacks) {
-                HealthPack hp = entry.value;
-                if (hp.isActive()) {
-                    float size = hp.getRadius() * 2;
-                    batch.setColor(hp.getRenderColor());
-                    batch.draw(healTexture,
-                            hp.position.x - size / 2, hp.position.y - size / 2,
-                            size, size);
-                    batch.setColor(Color.WHITE);
-                }
-            }
-        }
-
-        if (!isSpectator && localDuck != null && localDuck.isAlive()) {
-            Vector3 mousePos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(mousePos);
-
-            Texture crosshairTexture = spriteManager.getCrosshair();
-            if (crosshairTexture != null) {
-                float crosshairSize = 20f;
-                batch.draw(crosshairTexture,
-                        mousePos.x - crosshairSize / 2, mousePos.y - crosshairSize / 2,
-                        crosshairSize, crosshairSize);
-            }
-        }
-
-        batch.end();
-
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        if (!usePlayerSprite) {
-            for (IntMap.Entry<Duck> entry : ducks) {
-                Duck duck = entry.value;
-                if (!duck.isAlive())
-                    continue;
-
-                if (duck.isInvulnerable() && (System.currentTimeMillis() / 100) % 2 == 0) {
-                    continue;
-                }
+        TextureRegion healTexture = spriteManager.getHeal();
+        for (IntMap.Entry<HealthPack> entry : healthPacks) {
+            HealthPack hp = entry.value;
+            if (!hp.isActive())
+                continue;
 
-                shapeRenderer.setColor(duck.color);
-                shapeRenderer.circle(duck.position.x, duck.position.y, duck.getRadius());
+            if (healTexture != null) {
+                float size = hp.getRadius() * 2;
+                batch.setColor(hp.getRenderColor());
+                batch.draw(healTexture,
+                        hp.position.x - size / 2, hp.position.y - size / 2,
+                        size, size);
+                batch.setColor(Color.WHITE);
+            } else {
+                shapes.setColor(hp.getRenderColor());
+                shapes.circle(batch, hp.position.x, hp.position.y, hp.getRadius());
+
+                shapes.setColor(Color.WHITE);
+                float crossSize = hp.getRadius() * 0.6f;
+                shapes.line(batch, hp.position.x - crossSize, hp.position.y,
+                        hp.position.x + crossSize, hp.position.y, 2f);
+                shapes.line(batch, hp.position.x, hp.position.y - crossSize,
+                        hp.position.x, hp.position.y + crossSize, 2f);
             }
         }
 
@@ -355,64 +540,57 @@ public class TheFinaleMinigame implements Minigame {
 
             float barWidth = 40f;
             float barHeight = 5f;
-            float barX = duck.position.x - barWidth / 2;
-            float barY = duck.position.y + duck.getRadius() + 10;
+            float barX = duck.getInterpolatedX(alpha) - barWidth / 2;
+            float barY = duck.getInterpolatedY(alpha) + duck.getRadius() + 10;
 
-            shapeRenderer.setColor(Color.BLACK);
-            shapeRenderer.rect(barX, barY, barWidth, barHeight);
+            shapes.setColor(Color.BLACK);
+            shapes.rect(batch, barX, barY, barWidth, barHeight);
 
-            shapeRenderer.setColor(Color.GREEN);
-            shapeRenderer.rect(barX, barY, barWidth * (duck.getHits() / 3f), barHeight);
+            shapes.setColor(Color.GREEN);
+            shapes.rect(batch, barX, barY, barWidth * (duck.getHits() / 3f), barHeight);
         }
 
-        for (Quack quack : quacks) {
-            if (quack.isActive()) {
-                shapeRenderer.setColor(quack.color);
-                shapeRenderer.circle(quack.position.x, quack.position.y, quack.getRadius());
-            }
-        }
-
-        if (!useHealSprite) {
-            for (IntMap.Entry<HealthPack> entry : healthPacks) {
-                HealthPack hp = entry.value;
-                if (hp.isActive()) {
-                    shapeRenderer.setColor(hp.getRenderColor());
-                    shapeRenderer.circle(hp.position.x, hp.position.y, hp.getRadius());
-
-                    shapeRenderer.setColor(Color.WHITE);
-                    float crossSize = hp.getRadius() * 0.6f;
-                    shapeRenderer.rectLine(hp.position.x - crossSize, hp.position.y,
-                            hp.position.x + crossSize, hp.position.y, 2f);
-                    shapeRenderer.rectLine(hp.position.x, hp.position.y - crossSize,
-                            hp.position.x, hp.position.y + crossSize, 2f);
-                }
-            }
+        for (int i = 0; i < quacks.size(); i++) {
+            Duck shooter = ducks.get(quacks.getOwner(i));
+            shapes.setColor(shooter != null ? shooter.color : Color.WHITE);
+            shapes.circle(batch, quacks.getInterpolatedX(i, alpha), quacks.getInterpolatedY(i, alpha),
+                    quacks.getRadius(i));
         }
 
-        shapeRenderer.end();
-
         if (!isSpectator && localDuck != null && localDuck.isAlive()) {
-            Texture crosshairTexture = spriteManager.getCrosshair();
-            if (crosshairTexture == null) {
-                Vector3 mousePos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-                viewport.unproject(mousePos);
-
-                shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-                shapeRenderer.setColor(Color.WHITE);
+            Vector3 mousePos = cursor.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            viewport.unproject(mousePos);
 
+            TextureRegion crosshairTexture = spriteManager.getCrosshair();
+            if (crosshairTexture != null) {
+                float crosshairSize = 20f;
+                batch.draw(crosshairTexture,
+                        mousePos.x - crosshairSize / 2, mousePos.y - crosshairSize / 2,
+                        crosshairSize, crosshairSize);
+            } else {
+                shapes.setColor(Color.WHITE);
                 float crossSize = 10f;
-                shapeRenderer.line(mousePos.x - crossSize, mousePos.y, mousePos.x + crossSize, mousePos.y);
-                shapeRenderer.line(mousePos.x, mousePos.y - crossSize, mousePos.x, mousePos.y + crossSize);
-
-                shapeRenderer.end();
+                shapes.line(batch, mousePos.x - crossSize, mousePos.y, mousePos.x + crossSize, mousePos.y, 1f);
+                shapes.line(batch, mousePos.x, mousePos.y - crossSize, mousePos.x, mousePos.y + crossSize, 1f);
             }
         }
+
+        batch.end();
     }
 
+    /**
+     * Guarda la dirección, el punto de mira y el disparo pedidos; el pato se
+     * mueve y dispara en el siguiente paso.
+     */
     @Override
     public void handleInput(float delta) {
-        if (isSpectator || localDuck == null || !localDuck.isAlive())
+        if (isSpectator || localDuck == null)
+            return;
+        if (!localDuck.isAlive()) {
+            localDuck.setMoveInput(0, 0);
+            shootRequested = false;
             return;
+        }
 
         float dx = 0, dy = 0;
 
@@ -429,12 +607,11 @@ public class TheFinaleMinigame implements Minigame {
             dx = 1;
         }
 
-        if (dx != 0 || dy != 0) {
-            localDuck.move(dx, dy, delta);
-        }
+        localDuck.setMoveInput(dx, dy);
 
-        Vector3 mousePos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
+        Vector3 mousePos = cursor.set(Gdx.input.getX(), Gdx.input.getY(), 0);
         viewport.unproject(mousePos);
+        aimTarget.set(mousePos.x, mousePos.y);
 
         float angleRad = (float) Math.atan2(
                 mousePos.y - localDuck.position.y,
@@ -443,17 +620,12 @@ public class TheFinaleMinigame implements Minigame {
         localDuck.setRotation(angleDeg);
 
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && shootCooldown <= 0) {
-            shoot();
+            shootRequested = true;
         }
     }
 
     private void shoot() {
-        Vector3 mousePos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-        viewport.unproject(mousePos);
-
-        Vector2 direction = new Vector2(
-                mousePos.x - localDuck.position.x,
-                mousePos.y - localDuck.position.y);
+        Vector2 direction = shotDirection.set(aimTarget).sub(localDuck.position);
 
         if (direction.len() < 10f) {
             direction.set(0, 1);
@@ -463,14 +635,9 @@ public class TheFinaleMinigame implements Minigame {
 
         shootCooldown = SHOOT_COOLDOWN;
 
-        Quack quack = new Quack(
-                localPlayerId,
-                localDuck.position.x,
-                localDuck.position.y,
-                direction.x,
-                direction.y,
-                localDuck.color);
-        quacks.add(quack);
+        float dirX = direction.x;
+        float dirY = direction.y;
+        addQuack(localPlayerId, localDuck.position.x, localDuck.position.y, dirX, dirY);
 
         Gdx.app.log("TheFinale", "Player " + localPlayerId + " shot!");
 
@@ -478,13 +645,13 @@ public class TheFinaleMinigame implements Minigame {
         packet.shooterId = localPlayerId;
         packet.x = localDuck.position.x;
         packet.y = localDuck.position.y;
-        packet.dirX = direction.x;
-        packet.dirY = direction.y;
+        packet.dirX = dirX;
+        packet.dirY = dirY;
         NetworkManager.getInstance().sendPacket(packet);
     }
 
     private void sendDuckState() {
-        DuckShooterPackets.DuckState packet = new DuckShooterPackets.DuckState();
+        DuckShooterPackets.DuckState packet = duckState;
         packet.playerId = localPlayerId;
         packet.x = localDuck.position.x;
         packet.y = localDuck.position.y;
@@ -498,7 +665,7 @@ public class TheFinaleMinigame implements Minigame {
         float y = 50 + random.nextFloat() * (480 - 100);
 
         int id = nextHealthPackId++;
-        HealthPack hp = new HealthPack(id, x, y);
+        HealthPack hp = HealthPack.obtain(id, x, y);
         healthPacks.put(id, hp);
 
         DuckShooterPackets.HealthPackSpawned spawnPacket = new DuckShooterPackets.HealthPackSpawned();
@@ -510,29 +677,50 @@ public class TheFinaleMinigame implements Minigame {
         Gdx.app.log("TheFinale", "Spawned health pack " + id + " at (" + x + ", " + y + ")");
     }
 
-    private void checkHealthPackCollisions(HealthPack hp) {
-        for (IntMap.Entry<Duck> entry : ducks) {
-            Duck duck = entry.value;
-
-            if (hp.checkCollision(duck)) {
-                if (duck.heal()) {
-                    hp.pickup();
+    /**
+     * Revisa los botiquines activos contra los patos de la rejilla. Cada
+     * botiquín lo recoge el primer pato, en orden de la rejilla, que puede
+     * curarse.
+     */
+    private void checkHealthPackCollisions() {
+        packContacts.clear();
+        gridPacks.clear();
+        for (IntMap.Entry<HealthPack> entry : healthPacks) {
+            HealthPack hp = entry.value;
+            if (!hp.isActive()) {
+                continue;
+            }
+            duckGrid.queryCircle(hp.position.x, hp.position.y, hp.getPickupRadius(), candidates);
+            for (int i = 0; i < candidates.size; i++) {
+                packContacts.add(gridPacks.size, candidates.get(i));
+            }
+            gridPacks.add(hp);
+        }
+        packContacts.run(packTest);
 
-                    Gdx.app.log("TheFinale", "Player " + duck.playerId + " picked up health pack " + hp.id
-                            + ". New health: " + duck.getHits());
+        for (int pair = 0, n = packContacts.size(); pair < n; pair++) {
+            HealthPack hp = gridPacks.get(packContacts.getA(pair));
+            Duck duck = gridDucks.get(packContacts.getB(pair));
+            if (!packContacts.isContact(pair) || !hp.isActive() || !duck.heal()) {
+                continue;
+            }
+            hp.pickup();
 
-                    DuckShooterPackets.HealthPackPickup pickupPacket = new DuckShooterPackets.HealthPackPickup();
-                    pickupPacket.healthPackId = hp.id;
-                    pickupPacket.playerId = duck.playerId;
-                    pickupPacket.newHits = duck.getHits();
-                    NetworkManager.getInstance().broadcastFromHost(pickupPacket);
+            Gdx.app.log("TheFinale", "Player " + duck.playerId + " picked up health pack " + hp.id
+                    + ". New health: " + duck.getHits());
 
-                    break;
-                }
-            }
+            DuckShooterPackets.HealthPackPickup pickupPacket = new DuckShooterPackets.HealthPackPickup();
+            pickupPacket.healthPackId = hp.id;
+            pickupPacket.playerId = duck.playerId;
+            pickupPacket.newHits = duck.getHits();
+            NetworkManager.getInstance().broadcastFromHost(pickupPacket);
         }
     }
 
+    private boolean packTouchesDuck(int pack, int gridDuck) {
+        return gridPacks.get(pack).checkCollision(gridDucks.get(gridDuck));
+    }
+
     private void endGame() {
         if (finished)
             return;
@@ -543,21 +731,22 @@ public class TheFinaleMinigame implements Minigame {
             int maxScore = -1;
             boolean foundAlive = false;
 
-            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
-                Duck duck = ducks.get(entry.getKey());
-                int score = entry.getValue();
+            for (int rank = 0; rank < scores.size(); rank++) {
+                int playerId = scores.getPlayerId(rank);
+                Duck duck = ducks.get(playerId);
+                int score = scores.getScore(rank);
                 boolean isAlive = duck != null && duck.isAlive();
 
                 if (isAlive) {
                     if (!foundAlive || score > maxScore) {
                         maxScore = score;
-                        winnerId = entry.getKey();
+                        winnerId = playerId;
                         foundAlive = true;
                     }
                 } else if (!foundAlive) {
                     if (score > maxScore) {
                         maxScore = score;
-                        winnerId = entry.getKey();
+                        winnerId = playerId;
                     }
                 }
             }
@@ -577,8 +766,8 @@ public class TheFinaleMinigame implements Minigame {
     }
 
     @Override
-    public Map<Integer, Integer> getScores() {
-        return new HashMap<>(scores);
+    public ScoreTable getScores() {
+        return scores;
     }
 
     @Override
@@ -602,7 +791,16 @@ public class TheFinaleMinigame implements Minigame {
 
         ducks.clear();
         quacks.clear();
+        for (IntMap.Entry<HealthPack> entry : healthPacks) {
+            HealthPack.POOL.free(entry.value);
+        }
+        healthPacks.clear();
         scores.clear();
+
+        if (shapes != null) {
+            shapes.dispose();
+            shapes = null;
+        }
     }
 
     @Override
@@ -668,7 +866,7 @@ public class TheFinaleMinigame implements Minigame {
             Color color = GameConstants.Player.COLORS[state.playerId % GameConstants.Player.COLORS.length];
             duck = new Duck(state.playerId, state.x, state.y, color);
             ducks.put(state.playerId, duck);
-            scores.putIfAbsent(state.playerId, 0);
+            scores.ensure(state.playerId);
             Gdx.app.log("TheFinale", "Created remote duck for player " + state.playerId);
         }
 
@@ -690,14 +888,7 @@ public class TheFinaleMinigame implements Minigame {
             return;
         }
 
-        Quack quack = new Quack(
-                shoot.shooterId,
-                shoot.x,
-                shoot.y,
-                shoot.dirX,
-                shoot.dirY,
-                shooter.color);
-        quacks.add(quack);
+        addQuack(shoot.shooterId, shoot.x, shoot.y, shoot.dirX, shoot.dirY);
         Gdx.app.log("TheFinale", "Remote player " + shoot.shooterId + " shot a quack");
     }
 
@@ -713,7 +904,7 @@ public class TheFinaleMinigame implements Minigame {
         }
 
         if (hit.remainingHits <= 0) {
-            scores.merge(hit.shooterId, 1, Integer::sum);
+            scores.add(hit.shooterId, 1);
         }
     }
 
@@ -728,7 +919,7 @@ public class TheFinaleMinigame implements Minigame {
             }
         }
 
-        scores.merge(elim.killerId, 1, Integer::sum);
+        scores.add(elim.killerId, 1);
     }
 
     private void handleGameEnd(DuckShooterPackets.GameEnd gameEnd) {
@@ -738,14 +929,20 @@ public class TheFinaleMinigame implements Minigame {
     }
 
     private void handleHealthPackSpawned(DuckShooterPackets.HealthPackSpawned spawned) {
-        HealthPack hp = new HealthPack(spawned.healthPackId, spawned.x, spawned.y);
-        healthPacks.put(spawned.healthPackId, hp);
+        HealthPack hp = HealthPack.obtain(spawned.healthPackId, spawned.x, spawned.y);
+        HealthPack replaced = healthPacks.put(spawned.healthPackId, hp);
+        if (replaced != null) {
+            HealthPack.POOL.free(replaced);
+        }
         Gdx.app.log("TheFinale",
                 "Health pack " + spawned.healthPackId + " spawned at (" + spawned.x + ", " + spawned.y + ")");
     }
 
     private void handleHealthPackPickup(DuckShooterPackets.HealthPackPickup pickup) {
-        healthPacks.remove(pickup.healthPackId);
+        HealthPack removed = healthPacks.remove(pickup.healthPackId);
+        if (removed != null) {
+            HealthPack.POOL.free(removed);
+        }
 
         Duck duck = ducks.get(pickup.playerId);
         if (duck != null) {
@@ -0,0 +1,45 @@
+package to.mpm.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * Transporte del lado del cliente: una única conexión con el servidor.
+ */
+public interface ClientTransport extends TransportConnection {
+    /**
+     * Asigna el receptor de eventos. Debe llamarse antes de conectar.
+     *
+     * @param listener receptor de eventos
+     */
+    void setListener(TransportListener listener);
+
+    /**
+     * Registra clases adicionales para la serialización.
+     *
+     * @param classes clases a registrar
+     */
+    void register(Class<?>... classes);
+
+    /**
+     * Conecta con un servidor, bloqueando hasta que ambos canales están listos.
+     *
+     * @param host      dirección del servidor
+     * @param tcpPort   puerto fiable
+     * @param udpPort   puerto de datagramas
+     * @param timeoutMs tiempo máximo de espera en milisegundos
+     * @throws IOException si la conexión falla
+     */
+    void connect(String host, int tcpPort, int udpPort, int timeoutMs) throws IOException;
+
+    /**
+     * Busca servidores del mismo transporte en la red local, bloqueando hasta
+     * que vence el tiempo de espera.
+     *
+     * @param udpPort   puerto de datagramas de los servidores
+     * @param timeoutMs tiempo de espera de las respuestas en milisegundos
+     * @return direcciones de los servidores que respondieron, sin repetir
+     */
+    List<InetAddress> discoverHosts(int udpPort, int timeoutMs);
+}
@@ -0,0 +1,218 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Canalización de entrada del servidor.
+ * <p>
+ * El trabajo por conexión se hace en el mismo hilo del transporte que
+ * deserializó el objeto, sin saltos intermedios: ahí se reensamblan y
+ * decodifican los fragmentos, se atienden los paquetes de control (sondas de
+ * latencia, estado multicast) y se graban las capturas. Con el transporte NIO
+ * cada conexión está fijada a uno de sus {@link NetworkConfig#SERVER_IO_THREADS}
+ * hilos selectores, así que este trabajo se reparte entre los núcleos y
+ * conserva el orden de cada conexión; KryoNet lo hace todo en su único hilo de
+ * actualización.
+ * <p>
+ * Los paquetes completos pasan por una cola sin bloqueos a un único hilo de
+ * despacho que ejecuta los manejadores. Los manejadores modifican el estado de
+ * la partida sin sincronización, por lo que siguen viendo los paquetes de uno
+ * en uno; al vaciarse la cola se les avisa del fin del lote. Las salas de un
+ * servidor de salas no tienen hilo de despacho propio: su hilo vacía la cola
+ * con {@link #drain()} cuando se le avisa.
+ */
+final class InboundPipeline {
+    /** Tiempo máximo de espera al detener el hilo de despacho. */
+    private static final long JOIN_TIMEOUT_MS = 500;
+
+    /**
+     * Paquete completo de una conexión, o su desconexión si el paquete es null.
+     */
+    private static final class Inbound {
+        final TransportConnection connection;
+        final NetworkPacket packet;
+
+        Inbound(TransportConnection connection, NetworkPacket packet) {
+            this.connection = connection;
+            this.packet = packet;
+        }
+    }
+
+    /** Servidor propietario. */
+    private final NetworkServer server;
+    /**
+     * Reensambladores, uno por hilo selector del transporte NIO para que las
+     * conexiones de hilos distintos no compartan cerrojo.
+     */
+    private final PacketReassembler[] reassemblers;
+    /** Paquetes listos para los manejadores. */
+    private final ConcurrentLinkedQueue<Inbound> decoded = new ConcurrentLinkedQueue<>();
+    /** Hilo que ejecuta los manejadores, o null si los despacha el dueño. */
+    private final Thread dispatcher;
+    /** Aviso al dueño de que hay paquetes pendientes, o null si hay hilo de despacho. */
+    private final Runnable wakeup;
+    /** Indica si la canalización sigue activa. */
+    private volatile boolean running;
+
+    /**
+     * Crea la canalización de un servidor, con su propio hilo de despacho.
+     *
+     * @param server servidor propietario
+     */
+    InboundPipeline(NetworkServer server) {
+        this.server = server;
+        reassemblers = createReassemblers();
+        dispatcher = new Thread(this::dispatchLoop, "NetworkServer-dispatch");
+        dispatcher.setDaemon(true);
+        wakeup = null;
+    }
+
+    /**
+     * Crea la canalización de una sala, sin hilo de despacho.
+     *
+     * @param server servidor propietario
+     * @param wakeup avisa al hilo de la sala de que debe llamar a {@link #drain()}
+     */
+    InboundPipeline(NetworkServer server, Runnable wakeup) {
+        this.server = server;
+        reassemblers = createReassemblers();
+        dispatcher = null;
+        this.wakeup = wakeup;
+    }
+
+    /**
+     * Crea un reensamblador por hilo selector.
+     *
+     * @return reensambladores
+     */
+    private static PacketReassembler[] createReassemblers() {
+        PacketReassembler[] created = new PacketReassembler[NetworkConfig.SERVER_IO_THREADS];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = new PacketReassembler();
+        }
+        return created;
+    }
+
+    /**
+     * Inicia el hilo de despacho, si lo hay.
+     */
+    void start() {
+        running = true;
+        if (dispatcher != null) {
+            dispatcher.start();
+        }
+    }
+
+    /**
+     * Detiene el hilo de despacho y descarta lo pendiente.
+     */
+    void stop() {
+        running = false;
+        if (dispatcher != null) {
+            LockSupport.unpark(dispatcher);
+            try {
+                dispatcher.join(JOIN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        decoded.clear();
+    }
+
+    /**
+     * Ejecuta los manejadores de todos los paquetes pendientes y, si hubo
+     * alguno, avisa del fin del lote.
+     *
+     * @return true si se despachó algún paquete
+     */
+    boolean drain() {
+        boolean dispatched = false;
+        Inbound inbound;
+        while (running && (inbound = decoded.poll()) != null) {
+            dispatched = true;
+            if (inbound.packet == null) {
+                server.handleDisconnection(inbound.connection);
+            } else {
+                server.dispatchPacket(inbound.packet, inbound.connection);
+            }
+        }
+        if (dispatched) {
+            server.endBatch();
+        }
+        return dispatched;
+    }
+
+    /**
+     * Completa un objeto recibido y lo pasa al hilo de despacho. Se llama
+     * desde el hilo del transporte que lo deserializó.
+     *
+     * @param connection conexión remitente
+     * @param object     objeto deserializado
+     */
+    void received(TransportConnection connection, Object object) {
+        int connectionId = connection.getID();
+        if (object instanceof Packets.Fragment fragment) {
+            object = reassembler(connectionId).accept(connectionId, fragment);
+        }
+        if (!(object instanceof NetworkPacket packet)) {
+            return;
+        }
+        try {
+            if (!server.handleControlPacket(connectionId, packet)) {
+                server.capture(PacketRecorder.Direction.SERVER_IN, connectionId, packet);
+                toDispatcher(new Inbound(connection, packet));
+            }
+        } catch (Exception e) {
+            Gdx.app.error("InboundPipeline", "Failed to process inbound packet", e);
+        }
+    }
+
+    /**
+     * Encola la desconexión de una conexión detrás de sus paquetes pendientes.
+     *
+     * @param connection conexión cerrada
+     */
+    void disconnected(TransportConnection connection) {
+        reassembler(connection.getID()).discard(connection.getID());
+        toDispatcher(new Inbound(connection, null));
+    }
+
+    /**
+     * Devuelve el reensamblador de una conexión.
+     *
+     * @param connectionId ID de la conexión
+     * @return reensamblador del hilo selector de la conexión
+     */
+    private PacketReassembler reassembler(int connectionId) {
+        return reassemblers[Math.floorMod(connectionId, reassemblers.length)];
+    }
+
+    /**
+     * Pasa un paquete completo al hilo de despacho.
+     *
+     * @param inbound paquete y conexión remitente
+     */
+    private void toDispatcher(Inbound inbound) {
+        decoded.offer(inbound);
+        if (dispatcher != null) {
+            LockSupport.unpark(dispatcher);
+        } else {
+            wakeup.run();
+        }
+    }
+
+    /**
+     * Bucle del hilo de despacho.
+     */
+    private void dispatchLoop() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(JOIN_TIMEOUT_MS));
+            }
+        }
+    }
+}
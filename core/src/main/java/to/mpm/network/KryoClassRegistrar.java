@@ -5,8 +5,18 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import to.mpm.minigames.catchThemAll.entities.Duck;
+import to.mpm.minigames.catchThemAll.network.CatchThemAllPackets;
 import to.mpm.minigames.duckshooter.network.DuckShooterPackets;
+import to.mpm.minigames.eggThief.network.EggThiefPackets;
+import to.mpm.minigames.manager.ManagerPackets;
+import to.mpm.minigames.sumo.SumoPackets;
+import to.mpm.network.lockstep.LockstepPackets;
+import to.mpm.network.spectator.SpectatorPackets;
+import to.mpm.network.transport.EncodedPacket;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.UUID;
 
 /**
@@ -41,7 +51,24 @@ public final class KryoClassRegistrar {
         kryo.register(Packets.RPC.class);
         kryo.register(Packets.Ping.class);
         kryo.register(Packets.Pong.class);
+        kryo.register(Packets.Fragment.class);
+        kryo.register(Packets.MulticastStatus.class);
+        kryo.register(Packets.RosterSnapshot.class);
+        kryo.register(Packets.RosterDelta.class);
         kryo.register(Object[].class);
+        kryo.register(byte[].class);
+        kryo.register(int[].class);
+        kryo.register(String[].class);
+
+        kryo.register(SpectatorPackets.Subscribe.class);
+        kryo.register(SpectatorPackets.Unsubscribe.class);
+        kryo.register(SpectatorPackets.RelayAssignment.class);
+        kryo.register(SpectatorPackets.Snapshot.class);
+
+        kryo.register(LockstepPackets.Input.class);
+        kryo.register(LockstepPackets.TickInputs.class);
+        kryo.register(LockstepPackets.Checksum.class);
+        kryo.register(LockstepPackets.Desync.class);
 
         kryo.register(DuckShooterPackets.DuckState.class);
         kryo.register(DuckShooterPackets.ShootQuack.class);
@@ -50,6 +77,58 @@ public final class KryoClassRegistrar {
         kryo.register(DuckShooterPackets.GameEnd.class);
         kryo.register(DuckShooterPackets.HealthPackSpawned.class);
         kryo.register(DuckShooterPackets.HealthPackPickup.class);
+
+        // Los paquetes de la partida y de los minijuegos también se registran aquí,
+        // en un orden fijo, para que los IDs no dependan de los minijuegos que
+        // cada extremo haya cargado antes; un servidor de salas comparte además
+        // un único Kryo entre salas que cargan minijuegos distintos.
+        kryo.register(HashMap.class);
+        kryo.register(ArrayList.class);
+        kryo.register(ManagerPackets.RoomConfig.class);
+        kryo.register(ManagerPackets.ShowScoreboard.class);
+        kryo.register(ManagerPackets.StartNextRound.class);
+        kryo.register(ManagerPackets.ShowResults.class);
+        kryo.register(ManagerPackets.ReturnToLobby.class);
+
+        kryo.register(SumoPackets.PlayerKnockback.class);
+        kryo.register(SumoPackets.PlayerFell.class);
+        kryo.register(SumoPackets.GameEnd.class);
+        kryo.register(SumoPackets.ScoreUpdate.class);
+        kryo.register(SumoPackets.RoundReset.class);
+
+        kryo.register(EggThiefPackets.EggSpawned.class);
+        kryo.register(EggThiefPackets.EggUpdate.class);
+        kryo.register(EggThiefPackets.EggRemoved.class);
+        kryo.register(EggThiefPackets.ScoreUpdate.class);
+        kryo.register(EggThiefPackets.DuckUpdate.class);
+        kryo.register(EggThiefPackets.EggCollected.class);
+        kryo.register(EggThiefPackets.EggStolen.class);
+        kryo.register(EggThiefPackets.EggsDelivered.class);
+        kryo.register(EggThiefPackets.GameTimerUpdate.class);
+
+        kryo.register(Duck.DuckType.class);
+        kryo.register(CatchThemAllPackets.DuckSpawned.class);
+        kryo.register(CatchThemAllPackets.DuckUpdate.class);
+        kryo.register(CatchThemAllPackets.DuckRemoved.class);
+        kryo.register(CatchThemAllPackets.ScoreUpdate.class);
+
+        kryo.register(EncodedPacket.class, new EncodedPacket.EncodedSerializer());
+    }
+
+    /**
+     * Crea una instancia de Kryo independiente de la de KryoNet.
+     * <p>
+     * Las clases centrales se registran igual que en KryoNet; las demás se
+     * escriben por nombre para no depender del orden de registro.
+     * Se usa para grabar capturas y para serializar paquetes fragmentados.
+     *
+     * @return instancia de Kryo configurada
+     */
+    public static Kryo createStandaloneKryo() {
+        Kryo kryo = new Kryo();
+        registerCoreClasses(kryo);
+        kryo.setRegistrationRequired(false);
+        return kryo;
     }
 
     /**
@@ -0,0 +1,172 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.network.handlers.ServerPacketContext;
+import to.mpm.network.handlers.ServerPacketHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Manejador de paquetes de la sala para el servidor.
+ * <p>
+ * Las uniones y salidas se acumulan en una cola de admisión que se vacía al
+ * final de cada lote del hilo de despacho: cada jugador admitido recibe una
+ * única {@link Packets.RosterSnapshot} y el resto un único
+ * {@link Packets.RosterDelta} por lote, en lugar de un paquete por pareja
+ * de jugadores.
+ */
+public final class LobbyServerHandler implements ServerPacketHandler {
+    /**
+     * Jugador admitido que aún no recibió la lista.
+     */
+    private static final class Admission {
+        final TransportConnection connection;
+        final int playerId;
+        final String playerName;
+
+        Admission(TransportConnection connection, int playerId, String playerName) {
+            this.connection = connection;
+            this.playerId = playerId;
+            this.playerName = playerName;
+        }
+    }
+
+    /** Admisiones del lote actual. */
+    private final List<Admission> admissions = new ArrayList<>();
+    /** IDs de los jugadores que se fueron durante el lote actual. */
+    private final List<Integer> departures = new ArrayList<>();
+    /** IDs de los jugadores en modo espectador. */
+    private final Set<Integer> spectatorIds = new HashSet<>();
+
+    /**
+     * Obtiene los jugadores en modo espectador. Solo desde el hilo de despacho.
+     *
+     * @return vista de solo lectura de los IDs de los espectadores
+     */
+    public Set<Integer> getSpectatorIds() {
+        return Collections.unmodifiableSet(spectatorIds);
+    }
+
+    @Override
+    public List<Class<? extends NetworkPacket>> receivablePackets() {
+        return List.of(Packets.PlayerJoinRequest.class, ServerEvents.ClientDisconnected.class,
+                Packets.SpectatorStatus.class);
+    }
+
+    @Override
+    public void handle(ServerPacketContext context, NetworkPacket packet) {
+        if (packet instanceof Packets.PlayerJoinRequest joinRequest) {
+            handleJoin(context, joinRequest);
+        } else if (packet instanceof ServerEvents.ClientDisconnected disconnected) {
+            handleDisconnect(context, disconnected);
+        } else if (packet instanceof Packets.SpectatorStatus spectatorStatus) {
+            if (spectatorStatus.isSpectator) {
+                spectatorIds.add(spectatorStatus.playerId);
+            } else {
+                spectatorIds.remove(spectatorStatus.playerId);
+            }
+            context.broadcast(spectatorStatus);
+        }
+    }
+
+    @Override
+    public void onBatchEnd(NetworkServer server) {
+        if (admissions.isEmpty() && departures.isEmpty()) {
+            return;
+        }
+        int version = server.nextRosterVersion();
+
+        Packets.RosterDelta delta = new Packets.RosterDelta();
+        delta.version = version;
+        delta.joinedIds = new int[admissions.size()];
+        delta.joinedNames = new String[admissions.size()];
+        Set<Integer> admitted = new HashSet<>();
+        for (int i = 0; i < admissions.size(); i++) {
+            Admission admission = admissions.get(i);
+            delta.joinedIds[i] = admission.playerId;
+            delta.joinedNames[i] = admission.playerName;
+            admitted.add(admission.connection.getID());
+        }
+        delta.leftIds = departures.stream().mapToInt(Integer::intValue).toArray();
+        server.broadcastExcept(admitted, delta);
+
+        if (!admissions.isEmpty()) {
+            Packets.RosterSnapshot snapshot = createSnapshot(server, version);
+            for (Admission admission : admissions) {
+                server.send(admission.connection, snapshot);
+            }
+        }
+        Gdx.app.log("LobbyServer", "Roster v" + version + ": +" + admissions.size() + " -" + departures.size());
+        admissions.clear();
+        departures.clear();
+    }
+
+    /**
+     * Crea la instantánea de la lista actual.
+     *
+     * @param server  servidor de la sala
+     * @param version versión de la lista
+     * @return lista completa ordenada por ID
+     */
+    private Packets.RosterSnapshot createSnapshot(NetworkServer server, int version) {
+        Map<Integer, String> players = server.getConnectedPlayers();
+        int[] playerIds = players.keySet().stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(playerIds);
+        String[] playerNames = new String[playerIds.length];
+        for (int i = 0; i < playerIds.length; i++) {
+            playerNames[i] = players.get(playerIds[i]);
+        }
+
+        Packets.RosterSnapshot snapshot = new Packets.RosterSnapshot();
+        snapshot.version = version;
+        snapshot.playerIds = playerIds;
+        snapshot.playerNames = playerNames;
+        snapshot.spectatorIds = spectatorIds.stream().mapToInt(Integer::intValue).toArray();
+        return snapshot;
+    }
+
+    /**
+     * Maneja una solicitud de unión de un jugador.
+     *
+     * @param context contexto del paquete del servidor
+     * @param request paquete de solicitud de unión
+     */
+    private void handleJoin(ServerPacketContext context, Packets.PlayerJoinRequest request) {
+        int newPlayerId = context.getServer().allocatePlayerId();
+        context.getServer().bindConnectionToPlayer(context.getConnection(), newPlayerId, request.playerName);
+
+        Packets.PlayerJoined selfPacket = new Packets.PlayerJoined();
+        selfPacket.playerId = newPlayerId;
+        selfPacket.playerName = request.playerName;
+        selfPacket.correlationId = request.correlationId;
+        context.getServer().describeMulticast(selfPacket);
+        context.reply(selfPacket);
+
+        admissions.add(new Admission(context.getConnection(), newPlayerId, request.playerName));
+
+        Gdx.app.log("LobbyServer", "Player joined: " + request.playerName + " (ID: " + newPlayerId + ")");
+    }
+
+    /**
+     * Maneja la desconexión de un jugador.
+     *
+     * @param context contexto del paquete del servidor
+     * @param event   evento de desconexión del cliente
+     */
+    private void handleDisconnect(ServerPacketContext context, ServerEvents.ClientDisconnected event) {
+        if (event.playerId < 0) {
+            return;
+        }
+        spectatorIds.remove(event.playerId);
+        if (!admissions.removeIf(admission -> admission.playerId == event.playerId)) {
+            departures.add(event.playerId);
+        }
+        Gdx.app.log("LobbyServer", "Player disconnected: " + event.playerName + " (ID: " + event.playerId + ")");
+    }
+}
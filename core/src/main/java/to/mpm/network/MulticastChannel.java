@@ -0,0 +1,225 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.ByteBufferOutput;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal multicast del host para los broadcasts UDP en red local.
+ * <p>
+ * El grupo se anuncia en {@link Packets.PlayerJoined} y cada cliente confirma
+ * con {@link Packets.MulticastStatus} cuando recibe las sondas del grupo. Un
+ * broadcast se envía una sola vez al grupo y solo por unicast a los clientes
+ * que no lo han confirmado, así que el tráfico de salida del host no depende
+ * del número de jugadores.
+ * <p>
+ * Datagrama: {@code [int sesión][int ID de conexión excluida][byte tipo][carga]}.
+ */
+public class MulticastChannel {
+    /** Datagrama con un paquete serializado. */
+    static final byte KIND_PACKET = 0;
+    /** Datagrama de sonda sin carga. */
+    static final byte KIND_PROBE = 1;
+    /** Bytes de la cabecera. */
+    static final int HEADER_SIZE = 9;
+
+    /** Canal de envío. */
+    private final DatagramChannel channel;
+    /** Dirección del grupo. */
+    private final InetSocketAddress group;
+    /** Sesión de este host. */
+    private final int session;
+    /** Serializador. */
+    private final Kryo kryo = KryoClassRegistrar.createStandaloneKryo();
+    /** Clases adicionales registradas en orden. */
+    private final List<Class<?>> registered = new CopyOnWriteArrayList<>();
+    /** Clases ya aplicadas al serializador. */
+    private int applied;
+    /** Buffer de envío reutilizado. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(NetworkConfig.MAX_DATAGRAM_SIZE);
+    /** Salida de Kryo sobre el buffer de envío. */
+    private final ByteBufferOutput output = new ByteBufferOutput();
+    /** IDs de conexión que reciben el grupo. */
+    private final Set<Integer> members = ConcurrentHashMap.newKeySet();
+    /** Hilo de las sondas. */
+    private final ScheduledExecutorService prober;
+
+    private MulticastChannel(DatagramChannel channel, InetSocketAddress group) {
+        this.channel = channel;
+        this.group = group;
+        this.session = new SecureRandom().nextInt();
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MulticastProbe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleAtFixedRate(this::probe, 0, NetworkConfig.MULTICAST_PROBE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Abre el canal en el grupo configurado.
+     *
+     * @return canal abierto
+     * @throws IOException si el sistema no permite enviar al grupo
+     */
+    static MulticastChannel open() throws IOException {
+        InetAddress address = InetAddress.getByName(NetworkConfig.MULTICAST_GROUP);
+        if (!address.isMulticastAddress()) {
+            throw new IOException("Not a multicast address: " + NetworkConfig.MULTICAST_GROUP);
+        }
+        DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, 1);
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            NetworkInterface networkInterface = configuredInterface();
+            if (networkInterface != null) {
+                channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            }
+            channel.bind(null);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new MulticastChannel(channel, new InetSocketAddress(address, NetworkConfig.MULTICAST_PORT));
+    }
+
+    /**
+     * Obtiene la interfaz indicada en {@link NetworkConfig#MULTICAST_INTERFACE}.
+     *
+     * @return interfaz configurada, o null para la predeterminada
+     * @throws IOException si la interfaz no existe
+     */
+    static NetworkInterface configuredInterface() throws IOException {
+        String name = NetworkConfig.MULTICAST_INTERFACE;
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        NetworkInterface networkInterface = NetworkInterface.getByName(name);
+        if (networkInterface == null) {
+            throw new IOException("Unknown network interface: " + name);
+        }
+        return networkInterface;
+    }
+
+    /**
+     * Rellena el anuncio del grupo en la respuesta a un jugador que se une.
+     *
+     * @param joined respuesta al jugador
+     */
+    void describe(Packets.PlayerJoined joined) {
+        joined.multicastGroup = group.getAddress().getHostAddress();
+        joined.multicastPort = group.getPort();
+        joined.multicastSession = session;
+    }
+
+    /**
+     * Registra clases adicionales para la serialización.
+     *
+     * @param classes clases a registrar
+     */
+    void register(Class<?>... classes) {
+        registered.addAll(List.of(classes));
+    }
+
+    /**
+     * Marca si una conexión recibe el grupo.
+     *
+     * @param connectionId ID de la conexión
+     * @param member       true si confirmó la recepción
+     */
+    void setMember(int connectionId, boolean member) {
+        if (member) {
+            members.add(connectionId);
+        } else {
+            members.remove(connectionId);
+        }
+    }
+
+    boolean isMember(int connectionId) {
+        return members.contains(connectionId);
+    }
+
+    boolean hasMembers() {
+        return !members.isEmpty();
+    }
+
+    /**
+     * Envía un paquete al grupo.
+     *
+     * @param exceptId ID de la conexión que debe ignorarlo, o -1
+     * @param packet   paquete a enviar
+     * @return true si se envió; false si no cabe en un datagrama y debe ir por unicast
+     */
+    synchronized boolean send(int exceptId, NetworkPacket packet) {
+        while (applied < registered.size()) {
+            kryo.register(registered.get(applied++));
+        }
+        writeHeader(exceptId, KIND_PACKET);
+        output.setBuffer(buffer, buffer.capacity());
+        try {
+            kryo.writeClassAndObject(output, packet);
+            output.flush();
+        } catch (KryoException e) {
+            return false;
+        }
+        buffer.position(output.position());
+        return transmit();
+    }
+
+    /**
+     * Cierra el canal.
+     */
+    void close() {
+        prober.shutdownNow();
+        members.clear();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Se está cerrando.
+        }
+    }
+
+    /**
+     * Envía una sonda para que los clientes confirmen la recepción.
+     */
+    private synchronized void probe() {
+        writeHeader(-1, KIND_PROBE);
+        transmit();
+    }
+
+    private void writeHeader(int exceptId, byte kind) {
+        buffer.clear();
+        buffer.putInt(session);
+        buffer.putInt(exceptId);
+        buffer.put(kind);
+    }
+
+    private boolean transmit() {
+        buffer.flip();
+        try {
+            channel.send(buffer, group);
+            return true;
+        } catch (IOException e) {
+            Gdx.app.error("MulticastChannel", "Failed to send to group " + group, e);
+            return false;
+        }
+    }
+}
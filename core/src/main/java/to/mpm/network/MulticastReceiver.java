@@ -0,0 +1,217 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.ByteBufferInput;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receptor del canal multicast del host (lado del cliente).
+ * <p>
+ * Se une al grupo anunciado en {@link Packets.PlayerJoined} en todas las
+ * interfaces que admiten multicast y entrega los paquetes recibidos por el
+ * mismo camino que los unicast. Confirma al host que recibe el grupo con la
+ * primera sonda y se da de baja si deja de recibirlas, para que el host vuelva
+ * a enviarle por unicast.
+ */
+final class MulticastReceiver {
+    /**
+     * Destino de los paquetes y del estado de la suscripción.
+     */
+    interface Sink {
+        /**
+         * Entrega un paquete recibido del grupo.
+         *
+         * @param packet paquete recibido
+         */
+        void received(NetworkPacket packet);
+
+        /**
+         * Informa al host de si se recibe el grupo.
+         *
+         * @param joined true si se reciben las sondas
+         */
+        void status(boolean joined);
+
+        /**
+         * Obtiene el ID de la conexión local con el host.
+         *
+         * @return ID de la conexión
+         */
+        int connectionId();
+    }
+
+    /** Canal unido al grupo. */
+    private final DatagramChannel channel;
+    /** Selector para esperar con límite de tiempo. */
+    private final Selector selector;
+    /** Sesión del host. */
+    private final int session;
+    /** Destino de los paquetes. */
+    private final Sink sink;
+    /** Clases adicionales registradas por el cliente, compartidas. */
+    private final List<Class<?>> registered;
+    /** Serializador. */
+    private final Kryo kryo = KryoClassRegistrar.createStandaloneKryo();
+    /** Clases ya aplicadas al serializador. */
+    private int applied;
+    /** Indica si el receptor sigue activo. */
+    private volatile boolean running = true;
+
+    private MulticastReceiver(DatagramChannel channel, Selector selector, int session, Sink sink,
+            List<Class<?>> registered) {
+        this.channel = channel;
+        this.selector = selector;
+        this.session = session;
+        this.sink = sink;
+        this.registered = registered;
+    }
+
+    /**
+     * Se une al grupo anunciado e inicia el hilo de recepción.
+     *
+     * @param joined     anuncio recibido del host
+     * @param sink       destino de los paquetes
+     * @param registered clases adicionales registradas por el cliente
+     * @return receptor iniciado
+     * @throws IOException si no se puede unir al grupo en ninguna interfaz
+     */
+    static MulticastReceiver join(Packets.PlayerJoined joined, Sink sink, List<Class<?>> registered)
+            throws IOException {
+        InetAddress group = InetAddress.getByName(joined.multicastGroup);
+        DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        Selector selector = null;
+        try {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.bind(new InetSocketAddress(joined.multicastPort));
+            int memberships = 0;
+            NetworkInterface configured = MulticastChannel.configuredInterface();
+            List<NetworkInterface> candidates = configured != null
+                    ? List.of(configured)
+                    : Collections.list(NetworkInterface.getNetworkInterfaces());
+            for (NetworkInterface networkInterface : candidates) {
+                if (!networkInterface.isUp() || !networkInterface.supportsMulticast()) {
+                    continue;
+                }
+                try {
+                    channel.join(group, networkInterface);
+                    memberships++;
+                } catch (IOException | UnsupportedOperationException e) {
+                    Gdx.app.log("MulticastReceiver", "Cannot join on " + networkInterface.getName() + ": " + e.getMessage());
+                }
+            }
+            if (memberships == 0) {
+                throw new IOException("No interface could join " + joined.multicastGroup);
+            }
+            channel.configureBlocking(false);
+            selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            channel.close();
+            if (selector != null) {
+                selector.close();
+            }
+            throw e;
+        }
+
+        MulticastReceiver receiver = new MulticastReceiver(channel, selector, joined.multicastSession, sink, registered);
+        Thread thread = new Thread(receiver::run, "MulticastReceiver");
+        thread.setDaemon(true);
+        thread.start();
+        return receiver;
+    }
+
+    /**
+     * Abandona el grupo y detiene el hilo.
+     */
+    void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Bucle del hilo de recepción.
+     */
+    private void run() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(NetworkConfig.MAX_DATAGRAM_SIZE);
+        ByteBufferInput input = new ByteBufferInput();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(NetworkConfig.MULTICAST_TIMEOUT_MS);
+        long lastReceived = 0;
+        boolean joined = false;
+        try {
+            while (running) {
+                selector.select(NetworkConfig.MULTICAST_PROBE_MS);
+                selector.selectedKeys().clear();
+                while (running) {
+                    buffer.clear();
+                    if (channel.receive(buffer) == null) {
+                        break;
+                    }
+                    buffer.flip();
+                    if (buffer.remaining() < MulticastChannel.HEADER_SIZE || buffer.getInt() != session) {
+                        continue;
+                    }
+                    lastReceived = System.nanoTime();
+                    if (!joined) {
+                        joined = true;
+                        sink.status(true);
+                    }
+                    int exceptId = buffer.getInt();
+                    if (buffer.get() != MulticastChannel.KIND_PACKET || exceptId == sink.connectionId()) {
+                        continue;
+                    }
+                    decode(buffer, input);
+                }
+                if (joined && System.nanoTime() - lastReceived > timeoutNanos) {
+                    joined = false;
+                    sink.status(false);
+                }
+            }
+        } catch (IOException e) {
+            Gdx.app.error("MulticastReceiver", "Multicast receive failed, using unicast", e);
+            if (joined) {
+                sink.status(false);
+            }
+        } finally {
+            try {
+                selector.close();
+                channel.close();
+            } catch (IOException ignored) {
+                // Se está cerrando.
+            }
+        }
+    }
+
+    /**
+     * Deserializa la carga de un datagrama.
+     *
+     * @param buffer datagrama posicionado tras la cabecera
+     * @param input  entrada de Kryo reutilizada
+     */
+    private void decode(ByteBuffer buffer, ByteBufferInput input) {
+        while (applied < registered.size()) {
+            kryo.register(registered.get(applied++));
+        }
+        try {
+            input.setBuffer(buffer);
+            if (kryo.readClassAndObject(input) instanceof NetworkPacket packet) {
+                sink.received(packet);
+            }
+        } catch (RuntimeException e) {
+            Gdx.app.error("MulticastReceiver", "Dropped malformed multicast datagram", e);
+        }
+    }
+}
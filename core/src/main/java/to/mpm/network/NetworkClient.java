@@ -1,20 +1,20 @@
 package to.mpm.network;
 
 import com.badlogic.gdx.Gdx;
-import com.esotericsoftware.kryo.Kryo;
-import com.esotericsoftware.kryonet.Client;
-import com.esotericsoftware.kryonet.Connection;
-import com.esotericsoftware.kryonet.Listener;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
+import to.mpm.utils.FrameProfiler;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 /**
  * Lógica del lado del cliente de red.
@@ -23,8 +23,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * y el registro de manejadores de paquetes.
  */
 public class NetworkClient {
-    /** Instancia del cliente KryoNet. */
-    private Client client;
+    /** Transporte del cliente, o null si no está conectado. */
+    private ClientTransport client;
     /** Manejadores por tipo de paquete. */
     private final Map<Class<? extends NetworkPacket>, CopyOnWriteArrayList<ClientPacketHandler>> handlers;
     /** Mapa de jugadores conectados (ID -> nombre). */
@@ -35,16 +35,43 @@ public class NetworkClient {
     private int myPlayerId = -1;
     /** Nombre del jugador local. */
     private String myPlayerName;
+    /** Versión de la lista de la sala aplicada, o -1 antes de la instantánea. */
+    private volatile int rosterVersion = -1;
     /** Correlación para detectar la asignación local. */
     private String pendingJoinCorrelationId;
+    /** Grabador de paquetes activo, o null si no se está capturando. */
+    private volatile PacketRecorder recorder;
+    /** Divisor de paquetes UDP grandes. */
+    private final PacketFragmenter fragmenter;
+    /** Reensamblador de paquetes UDP fragmentados. */
+    private final PacketReassembler reassembler;
+    /** Clases adicionales registradas, en orden, para el receptor multicast. */
+    private final List<Class<?>> additionalClasses = new CopyOnWriteArrayList<>();
+    /** Receptor del grupo multicast del host, o null si no se usa. */
+    private volatile MulticastReceiver multicast;
+    /** Ejecutor de los manejadores, o null para el hilo de renderizado. */
+    private final Executor dispatcher;
 
     /**
      * Construye una nueva instancia del cliente de red.
      */
     public NetworkClient() {
+        this(null);
+    }
+
+    /**
+     * Construye un cliente que ejecuta sus manejadores con un ejecutor propio
+     * en lugar de en el hilo de renderizado.
+     *
+     * @param dispatcher ejecutor de los manejadores, o null para el hilo de renderizado
+     */
+    public NetworkClient(Executor dispatcher) {
+        this.dispatcher = dispatcher;
         handlers = new ConcurrentHashMap<>();
         connectedPlayers = new ConcurrentHashMap<>();
         clientContext = new ClientPacketContext(this);
+        fragmenter = new PacketFragmenter();
+        reassembler = new PacketReassembler();
     }
 
     /**
@@ -64,45 +91,67 @@ public class NetworkClient {
         myPlayerName = playerName != null ? playerName : "Player";
         pendingJoinCorrelationId = UUID.randomUUID().toString();
 
-        client = new Client(NetworkConfig.UDP_BUFFER_SIZE, NetworkConfig.UDP_BUFFER_SIZE);
-        KryoClassRegistrar.registerCoreClasses(client.getKryo());
+        client = NetworkConfig.TRANSPORT.createClient();
+        listen(client);
+
+        client.connect(host, port, port, NetworkConfig.TIMEOUT_MS);
 
-        client.addListener(new Listener() {
+        sendJoinRequest();
+
+        Gdx.app.log("NetworkClient", "Connected to " + host + ":" + port);
+    }
+
+    /**
+     * Usa un transporte ya conectado sin pedir unirse como jugador.
+     * <p>
+     * Lo usa el extremo local de una sala de un servidor de salas, que recibe
+     * lo que el servidor difunde sin ocupar un puesto en la sala.
+     *
+     * @param transport transporte conectado
+     */
+    public void attach(ClientTransport transport) {
+        listen(transport);
+        client = transport;
+    }
+
+    /**
+     * Recibe los eventos de un transporte.
+     *
+     * @param transport transporte del cliente
+     */
+    private void listen(ClientTransport transport) {
+        transport.setListener(new TransportListener() {
             @Override
-            public void received(Connection connection, Object object) {
-                if (object instanceof NetworkPacket packet) {
-                    handleInternalPacket(packet);
-                    Gdx.app.postRunnable(() -> dispatchPacket(packet));
-                }
+            public void received(TransportConnection connection, Object object) {
+                receive(connection.getID(), object);
             }
 
             @Override
-            public void disconnected(Connection connection) {
+            public void disconnected(TransportConnection connection) {
                 Gdx.app.log("NetworkClient", "Disconnected from server");
             }
         });
-
-        client.start();
-        client.connect(NetworkConfig.TIMEOUT_MS, host, port, port);
-
-        sendJoinRequest();
-
-        Gdx.app.log("NetworkClient", "Connected to " + host + ":" + port);
     }
 
     /**
      * Desconecta del servidor y limpia los recursos.
      */
     public void disconnect() {
+        MulticastReceiver receiver = multicast;
+        multicast = null;
+        if (receiver != null) {
+            receiver.close();
+        }
         if (client != null) {
-            client.stop();
             client.close();
             client = null;
         }
         myPlayerId = -1;
+        rosterVersion = -1;
         pendingJoinCorrelationId = null;
         connectedPlayers.clear();
         handlers.clear();
+        additionalClasses.clear();
         Gdx.app.log("NetworkClient", "Client disconnected");
     }
 
@@ -113,18 +162,28 @@ public class NetworkClient {
      */
     public void sendTCP(NetworkPacket packet) {
         if (client != null && client.isConnected()) {
-            client.sendTCP(packet);
+            capture(PacketRecorder.Direction.CLIENT_OUT, packet);
+            client.send(packet, Transports.TCP);
         }
     }
 
     /**
-     * Envía un paquete al servidor vía UDP.
+     * Envía un paquete al servidor vía UDP, fragmentándolo si no cabe en un
+     * datagrama.
      *
      * @param packet el paquete a enviar
      */
     public void sendUDP(NetworkPacket packet) {
         if (client != null && client.isConnected()) {
-            client.sendUDP(packet);
+            capture(PacketRecorder.Direction.CLIENT_OUT, packet);
+            Packets.Fragment[] fragments = fragmenter.split(packet);
+            if (fragments == null) {
+                client.send(packet, Transports.UDP);
+                return;
+            }
+            for (Packets.Fragment fragment : fragments) {
+                client.send(fragment, Transports.UDP);
+            }
         }
     }
 
@@ -183,10 +242,10 @@ public class NetworkClient {
      * @param classes las clases a registrar
      */
     public void registerAdditionalClasses(Class<?>... classes) {
-        Kryo kryo = client != null ? client.getKryo() : null;
-        if (kryo != null) {
+        if (client != null) {
+            client.register(classes);
+            additionalClasses.addAll(List.of(classes));
             for (Class<?> clazz : classes) {
-                kryo.register(clazz);
                 Gdx.app.log("NetworkClient", "Registered class: " + clazz.getName());
             }
         }
@@ -237,6 +296,109 @@ public class NetworkClient {
         return myPlayerId != -1;
     }
 
+    /**
+     * Asigna el grabador que captura los paquetes del cliente.
+     *
+     * @param recorder grabador a usar, o null para dejar de capturar
+     */
+    public void setRecorder(PacketRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Inyecta un paquete reproducido siguiendo el mismo camino que uno recibido.
+     *
+     * @param packet paquete a despachar
+     */
+    void replayInbound(NetworkPacket packet) {
+        handleInternalPacket(packet);
+        post(packet);
+    }
+
+    /**
+     * Procesa un objeto recibido del host por unicast o por el grupo multicast.
+     *
+     * @param connectionId ID de la conexión local, para el reensamblado
+     * @param object       objeto deserializado
+     */
+    private void receive(int connectionId, Object object) {
+        if (object instanceof Packets.Fragment fragment) {
+            object = reassembler.accept(connectionId, fragment);
+        }
+        if (object instanceof NetworkPacket packet) {
+            capture(PacketRecorder.Direction.CLIENT_IN, packet);
+            handleInternalPacket(packet);
+            post(packet);
+        }
+    }
+
+    /**
+     * Pasa un paquete a los manejadores en su hilo.
+     *
+     * @param packet paquete recibido
+     */
+    private void post(NetworkPacket packet) {
+        if (dispatcher != null) {
+            dispatcher.execute(() -> dispatchPacket(packet));
+        } else {
+            Gdx.app.postRunnable(() -> dispatchPacket(packet));
+        }
+    }
+
+    /**
+     * Se une al grupo multicast anunciado por el host. Si no es posible, los
+     * broadcasts siguen llegando por unicast.
+     *
+     * @param joined respuesta del host con el anuncio del grupo
+     */
+    private void joinMulticast(Packets.PlayerJoined joined) {
+        if (joined.multicastGroup == null || multicast != null) {
+            return;
+        }
+        ClientTransport transport = client;
+        if (transport == null) {
+            return;
+        }
+        int connectionId = transport.getID();
+        try {
+            multicast = MulticastReceiver.join(joined, new MulticastReceiver.Sink() {
+                @Override
+                public void received(NetworkPacket packet) {
+                    receive(connectionId, packet);
+                }
+
+                @Override
+                public void status(boolean member) {
+                    Packets.MulticastStatus status = new Packets.MulticastStatus();
+                    status.joined = member;
+                    sendTCP(status);
+                }
+
+                @Override
+                public int connectionId() {
+                    return connectionId;
+                }
+            }, additionalClasses);
+            Gdx.app.log("NetworkClient", "Listening on multicast group " + joined.multicastGroup + ":"
+                    + joined.multicastPort);
+        } catch (IOException e) {
+            Gdx.app.log("NetworkClient", "Multicast unavailable, using unicast: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Graba un paquete si hay una captura activa.
+     *
+     * @param direction dirección del paquete
+     * @param packet    paquete a grabar
+     */
+    private void capture(PacketRecorder.Direction direction, NetworkPacket packet) {
+        PacketRecorder active = recorder;
+        if (active != null) {
+            active.record(direction, client != null ? client.getID() : -1, packet);
+        }
+    }
+
     /**
      * Maneja paquetes internos relacionados con la gestión de jugadores.
      *
@@ -249,17 +411,69 @@ public class NetworkClient {
                 myPlayerId = joined.playerId;
                 pendingJoinCorrelationId = null;
                 Gdx.app.log("NetworkClient", "Assigned player ID: " + myPlayerId + " (" + joined.playerName + ")");
+                joinMulticast(joined);
             }
         } else if (packet instanceof Packets.PlayerLeft left) {
             connectedPlayers.remove(left.playerId);
             if (left.playerId == myPlayerId) {
                 myPlayerId = -1;
             }
+        } else if (packet instanceof Packets.RosterSnapshot snapshot) {
+            applyRosterSnapshot(snapshot);
+        } else if (packet instanceof Packets.RosterDelta delta) {
+            applyRosterDelta(delta);
+        } else if (packet instanceof Packets.Ping ping) {
+            Packets.Pong pong = new Packets.Pong();
+            pong.timestamp = ping.timestamp;
+            pong.sequence = ping.sequence;
+            sendUDP(pong);
         }
     }
 
+    /**
+     * Reemplaza la lista de jugadores por la instantánea del host.
+     *
+     * @param snapshot lista completa de la sala
+     */
+    private void applyRosterSnapshot(Packets.RosterSnapshot snapshot) {
+        Set<Integer> present = new HashSet<>(snapshot.playerIds.length);
+        for (int i = 0; i < snapshot.playerIds.length; i++) {
+            present.add(snapshot.playerIds[i]);
+            connectedPlayers.put(snapshot.playerIds[i], snapshot.playerNames[i]);
+        }
+        connectedPlayers.keySet().retainAll(present);
+        rosterVersion = snapshot.version;
+    }
+
+    /**
+     * Aplica un delta de la lista si es posterior a la versión actual.
+     *
+     * @param delta cambios de la sala
+     */
+    private void applyRosterDelta(Packets.RosterDelta delta) {
+        if (rosterVersion < 0 || delta.version <= rosterVersion) {
+            return;
+        }
+        if (delta.version != rosterVersion + 1) {
+            Gdx.app.log("NetworkClient", "Roster jumped from version " + rosterVersion + " to " + delta.version);
+        }
+        for (int i = 0; i < delta.joinedIds.length; i++) {
+            connectedPlayers.put(delta.joinedIds[i], delta.joinedNames[i]);
+        }
+        for (int playerId : delta.leftIds) {
+            connectedPlayers.remove(playerId);
+            if (playerId == myPlayerId) {
+                myPlayerId = -1;
+            }
+        }
+        rosterVersion = delta.version;
+    }
+
     /**
      * Reenvía un paquete a los manejadores registrados.
+     * <p>
+     * En el hilo de renderizado su duración cuenta como la fase de drenado de
+     * {@link FrameProfiler}; con un ejecutor propio no se mide.
      *
      * @param packet el paquete de red a reenvíar
      */
@@ -268,6 +482,23 @@ public class NetworkClient {
         if (handlerList == null || handlerList.isEmpty()) {
             return;
         }
+        if (dispatcher != null) {
+            runHandlers(handlerList, packet);
+            return;
+        }
+        FrameProfiler profiler = FrameProfiler.getInstance();
+        profiler.begin(FrameProfiler.Phase.DRAIN);
+        runHandlers(handlerList, packet);
+        profiler.end(FrameProfiler.Phase.DRAIN);
+    }
+
+    /**
+     * Ejecuta los manejadores de un paquete.
+     *
+     * @param handlerList manejadores registrados para el tipo del paquete
+     * @param packet      paquete recibido
+     */
+    private void runHandlers(List<ClientPacketHandler> handlerList, NetworkPacket packet) {
         for (ClientPacketHandler handler : handlerList) {
             try {
                 handler.handle(clientContext, packet);
@@ -288,6 +519,7 @@ public class NetworkClient {
         Packets.PlayerJoinRequest joinRequest = new Packets.PlayerJoinRequest();
         joinRequest.playerName = myPlayerName != null ? myPlayerName : "Player";
         joinRequest.correlationId = pendingJoinCorrelationId;
+        joinRequest.room = NetworkConfig.ROOM_NAME;
         sendTCP(joinRequest);
     }
 }
@@ -8,6 +8,69 @@ public class NetworkConfig {
     public static final int DEFAULT_PORT = 61232;
     /** Tiempo de espera de conexión en milisegundos. */
     public static final int TIMEOUT_MS = 5000;
+    /** Tiempo de espera de las respuestas a la búsqueda de salas en la red local. */
+    public static final int DISCOVERY_TIMEOUT_MS = 1500;
+    /** Tiempo máximo de una sonda TCP a una dirección candidata. */
+    public static final int PROBE_TIMEOUT_MS = 1500;
     /** Tamaño del buffer UDP en bytes. */
     public static final int UDP_BUFFER_SIZE = 8192;
+    /**
+     * Tamaño máximo de un datagrama UDP en bytes, por debajo del MTU habitual
+     * de 1500 menos las cabeceras IP/UDP y túneles comunes.
+     */
+    public static final int MAX_DATAGRAM_SIZE = 1200;
+    /** Bytes de datos por fragmento, dejando espacio para la cabecera del fragmento. */
+    public static final int FRAGMENT_PAYLOAD_SIZE = MAX_DATAGRAM_SIZE - 32;
+    /** Número máximo de fragmentos por mensaje. */
+    public static final int MAX_FRAGMENTS = 64;
+    /** Tiempo máximo en milisegundos para recibir todos los fragmentos de un mensaje. */
+    public static final int FRAGMENT_TIMEOUT_MS = 1000;
+    /** Implementación de transporte usada por el servidor y los clientes. */
+    public static final TransportType TRANSPORT = TransportType.fromSystemProperty();
+    /** Número de hilos selectores que leen y deserializan los paquetes entrantes del servidor. */
+    public static final int SERVER_IO_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    /** Frecuencia de envío del planificador de estado replicado en Hz. */
+    public static final int SEND_TICK_RATE = 30;
+    /** Presupuesto inicial de envío por cliente en bytes por segundo. */
+    public static final int CLIENT_BUDGET_INITIAL = 32 * 1024;
+    /** Presupuesto mínimo de envío por cliente en bytes por segundo. */
+    public static final int CLIENT_BUDGET_MIN = 4 * 1024;
+    /** Presupuesto máximo de envío por cliente en bytes por segundo. */
+    public static final int CLIENT_BUDGET_MAX = 256 * 1024;
+    /** Ventana de ajuste del presupuesto por cliente en milisegundos; en cada una se envían varias sondas. */
+    public static final int PROBE_INTERVAL_MS = 500;
+    /** Indica si el host abre un canal multicast para sus broadcasts UDP. */
+    public static final boolean MULTICAST_ENABLED = Boolean.parseBoolean(System.getProperty("mpm.multicast", "true"));
+    /** Grupo multicast de ámbito administrativo usado por el host. */
+    public static final String MULTICAST_GROUP = System.getProperty("mpm.multicast.group", "239.255.77.77");
+    /** Puerto del grupo multicast. */
+    public static final int MULTICAST_PORT = DEFAULT_PORT + 2;
+    /** Interfaz de red para el multicast (por ejemplo {@code lo}), o null para la predeterminada. */
+    public static final String MULTICAST_INTERFACE = System.getProperty("mpm.multicast.interface");
+    /** Intervalo entre sondas del grupo multicast en milisegundos. */
+    public static final int MULTICAST_PROBE_MS = 1000;
+    /** Tiempo sin datagramas del grupo tras el cual el cliente vuelve a unicast. */
+    public static final int MULTICAST_TIMEOUT_MS = 3 * MULTICAST_PROBE_MS;
+    /** Frecuencia de publicación de instantáneas para espectadores en Hz. */
+    public static final int SPECTATOR_SNAPSHOT_RATE = 10;
+    /** Número máximo de espectadores que recibe cada nodo del árbol de retransmisión. */
+    public static final int SPECTATOR_FANOUT = 3;
+    /** Indica si el host ejecuta en lockstep los minijuegos que lo admiten. */
+    public static final boolean LOCKSTEP_ENABLED = Boolean.parseBoolean(System.getProperty("mpm.lockstep", "false"));
+    /** Ticks de antelación con que se envía la entrada local en lockstep. */
+    public static final int LOCKSTEP_INPUT_DELAY = 4;
+    /** Ticks entre resúmenes de estado en lockstep. */
+    public static final int LOCKSTEP_CHECKSUM_INTERVAL = 30;
+    /** Sala a la que pide unirse el cliente en un servidor de salas, o null para la sala por defecto. */
+    public static final String ROOM_NAME = System.getProperty("mpm.room");
+    /** Número máximo de salas abiertas a la vez en un servidor de salas. */
+    public static final int ROOM_MAX_ROOMS = Integer.getInteger("mpm.rooms.max", 256);
+    /** Número máximo de conexiones por sala. */
+    public static final int ROOM_MAX_PLAYERS = 16;
+    /** Jugadores activos necesarios para que una sala empiece la partida. */
+    public static final int ROOM_MIN_PLAYERS = 2;
+    /** Rondas de cada partida de una sala. */
+    public static final int ROOM_ROUNDS = Integer.getInteger("mpm.rooms.rounds", 5);
+    /** Tiempo que la lista de una sala debe quedar estable antes de empezar la partida. */
+    public static final int ROOM_START_DELAY_MS = 10000;
 }
@@ -3,9 +3,21 @@ package to.mpm.network;
 import com.badlogic.gdx.Gdx;
 import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.network.handlers.ServerPacketHandler;
+import to.mpm.network.room.RoomContext;
+import to.mpm.network.spectator.SpectatorFeed;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Coordinador principal de la red.
@@ -13,6 +25,18 @@ import java.util.concurrent.ConcurrentHashMap;
  * y proporciona una interfaz unificada para enviar paquetes.
  */
 public class NetworkManager {
+    /**
+     * Recibe el progreso de una operación de conexión en el hilo de render.
+     */
+    public interface ConnectProgress {
+        /**
+         * Informa de la etapa actual.
+         *
+         * @param message descripción de la etapa para mostrar al usuario
+         */
+        void onProgress(String message);
+    }
+
     /** Instancia singleton. */
     private static NetworkManager instance;
     /** Instancia del servidor de red. */
@@ -21,6 +45,20 @@ public class NetworkManager {
     private NetworkClient client;
     /** Indica si este es el host. */
     private boolean isHost;
+    /** Indica si coordina una sala de un servidor de salas, sin jugador local. */
+    private boolean dedicated;
+    /** Captura de paquetes activa, o null si no se está grabando. */
+    private PacketRecorder recorder;
+    /** Reproducción de captura activa, o null si no hay ninguna. */
+    private PacketReplay replay;
+    /** Canal de instantáneas para espectadores (solo host). */
+    private SpectatorFeed spectatorFeed;
+    /** Hilos para conectar, arrancar el servidor y sondear hosts fuera del hilo de render. */
+    private final ExecutorService connector = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "NetworkManager-connect");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Constructor privado para el singleton.
@@ -30,16 +68,44 @@ public class NetworkManager {
 
     /**
      * Devuelve la instancia singleton de NetworkManager.
+     * <p>
+     * Desde el hilo de una sala devuelve el coordinador de esa sala.
      *
      * @return instancia singleton
      */
     public static NetworkManager getInstance() {
+        NetworkManager scoped = RoomContext.scoped(NetworkManager.class, NetworkManager::new);
+        if (scoped != null) {
+            return scoped;
+        }
         if (instance == null) {
             instance = new NetworkManager();
         }
         return instance;
     }
 
+    /**
+     * Crea el coordinador de una sala de un servidor de salas.
+     * <p>
+     * Es host pero no tiene jugador local: el servidor es el de la sala y el
+     * cliente es el extremo local de la sala, que recibe lo que el servidor
+     * difunde sin ocupar un puesto. La lista de jugadores sale del servidor.
+     *
+     * @param server servidor de la sala, ya iniciado
+     * @param client extremo local de la sala, ya conectado
+     * @param feed   canal de espectadores registrado en el servidor
+     * @return coordinador de la sala
+     */
+    public static NetworkManager forRoom(NetworkServer server, NetworkClient client, SpectatorFeed feed) {
+        NetworkManager manager = new NetworkManager();
+        manager.isHost = true;
+        manager.dedicated = true;
+        manager.server = server;
+        manager.client = client;
+        manager.spectatorFeed = feed;
+        return manager;
+    }
+
     /**
      * Inicia un juego como host con un nombre de jugador personalizado.
      * <p>
@@ -55,14 +121,98 @@ public class NetworkManager {
             return;
         }
 
-        isHost = true;
+        NetworkServer newServer = new NetworkServer();
+        NetworkClient newClient = new NetworkClient();
+        SpectatorFeed feed = openHost(newServer, newClient, hostPlayerName, port, null);
+        installHost(newServer, newClient, feed, port);
+    }
+
+    /**
+     * Inicia un juego como host sin bloquear el hilo de render.
+     * <p>
+     * El servidor y el cliente local se arrancan en segundo plano. El futuro se
+     * completa en el hilo de render, después de instalar ambos; si se cancela
+     * antes, se cierran.
+     *
+     * @param hostPlayerName el nombre del jugador host
+     * @param port           el puerto en el que escuchar
+     * @param progress       receptor del progreso, o null
+     * @return futuro que se completa al terminar el arranque
+     */
+    public CompletableFuture<Void> hostGameAsync(String hostPlayerName, int port, ConnectProgress progress) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (server != null) {
+            Gdx.app.log("NetworkManager", "Server is already running");
+            result.complete(null);
+            return result;
+        }
+        connector.execute(() -> {
+            NetworkServer newServer = new NetworkServer();
+            NetworkClient newClient = new NetworkClient();
+            SpectatorFeed feed;
+            try {
+                feed = openHost(newServer, newClient, hostPlayerName, port, progress);
+            } catch (IOException e) {
+                Gdx.app.postRunnable(() -> result.completeExceptionally(e));
+                return;
+            }
+            Gdx.app.postRunnable(() -> {
+                if (result.isDone()) {
+                    newClient.disconnect();
+                    newServer.stop();
+                    return;
+                }
+                installHost(newServer, newClient, feed, port);
+                result.complete(null);
+            });
+        });
+        return result;
+    }
 
-        server = new NetworkServer();
-        server.start(port);
+    /**
+     * Arranca el servidor y conecta el cliente local, cerrando ambos si falla.
+     *
+     * @param newServer      servidor a arrancar
+     * @param newClient      cliente local a conectar
+     * @param hostPlayerName nombre del jugador host
+     * @param port           puerto en el que escuchar
+     * @param progress       receptor del progreso, o null
+     * @return canal de espectadores registrado en el servidor
+     * @throws IOException si el servidor o el cliente no pueden iniciarse
+     */
+    private SpectatorFeed openHost(NetworkServer newServer, NetworkClient newClient, String hostPlayerName,
+            int port, ConnectProgress progress) throws IOException {
+        try {
+            report(progress, "Abriendo puerto " + port + "...");
+            newServer.setRecorder(recorder);
+            newServer.start(port);
+            SpectatorFeed feed = new SpectatorFeed(newServer);
+            newServer.registerHandler(feed);
 
-        client = new NetworkClient();
-        client.connect("127.0.0.1", port, hostPlayerName);
+            report(progress, "Conectando jugador local...");
+            newClient.setRecorder(recorder);
+            newClient.connect("127.0.0.1", port, hostPlayerName);
+            return feed;
+        } catch (IOException e) {
+            newClient.disconnect();
+            newServer.stop();
+            throw e;
+        }
+    }
 
+    /**
+     * Instala el servidor y el cliente local ya conectados.
+     *
+     * @param newServer servidor en marcha
+     * @param newClient cliente local conectado
+     * @param feed      canal de espectadores del servidor
+     * @param port      puerto del servidor
+     */
+    private void installHost(NetworkServer newServer, NetworkClient newClient, SpectatorFeed feed, int port) {
+        isHost = true;
+        server = newServer;
+        spectatorFeed = feed;
+        client = newClient;
         Gdx.app.log("NetworkManager", "Hosting game on port " + port);
     }
 
@@ -80,14 +230,178 @@ public class NetworkManager {
             return;
         }
 
-        isHost = false;
+        NetworkClient newClient = new NetworkClient();
+        newClient.setRecorder(recorder);
+        newClient.connect(host, port, playerName);
+        installClient(newClient, host, port);
+    }
 
-        client = new NetworkClient();
-        client.connect(host, port, playerName);
+    /**
+     * Se une a un juego como cliente sin bloquear el hilo de render.
+     * <p>
+     * La dirección indicada se sondea en paralelo con una búsqueda de salas en
+     * la red local; se usa la indicada si responde y, si no, la primera sala
+     * encontrada que acepte conexiones. El futuro se completa en el hilo de
+     * render con la dirección usada; si se cancela antes, se desconecta.
+     *
+     * @param host       dirección del servidor, o vacía para buscar en la red local
+     * @param port       el puerto del servidor
+     * @param playerName el nombre del jugador local
+     * @param progress   receptor del progreso, o null
+     * @return futuro con la dirección a la que se conectó
+     */
+    public CompletableFuture<String> joinGameAsync(String host, int port, String playerName,
+            ConnectProgress progress) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        if (client != null && client.isConnected()) {
+            Gdx.app.log("NetworkManager", "Already connected to a game");
+            result.completeExceptionally(new IOException("Already connected to a game"));
+            return result;
+        }
+        connector.execute(() -> {
+            NetworkClient newClient = new NetworkClient();
+            String address;
+            try {
+                address = resolveHost(host, port, progress);
+                report(progress, "Conectando a " + address + "...");
+                newClient.setRecorder(recorder);
+                newClient.connect(address, port, playerName);
+            } catch (IOException e) {
+                newClient.disconnect();
+                Gdx.app.postRunnable(() -> result.completeExceptionally(e));
+                return;
+            }
+            Gdx.app.postRunnable(() -> {
+                if (result.isDone()) {
+                    newClient.disconnect();
+                    return;
+                }
+                installClient(newClient, address, port);
+                result.complete(address);
+            });
+        });
+        return result;
+    }
 
+    /**
+     * Instala un cliente ya conectado a un host remoto.
+     *
+     * @param newClient cliente conectado
+     * @param host      dirección del servidor
+     * @param port      puerto del servidor
+     */
+    private void installClient(NetworkClient newClient, String host, int port) {
+        isHost = false;
+        client = newClient;
         Gdx.app.log("NetworkManager", "Joined game at " + host + ":" + port);
     }
 
+    /**
+     * Elige la dirección a la que conectarse, sondeando la indicada mientras
+     * se buscan salas en la red local.
+     *
+     * @param host     dirección indicada, o vacía
+     * @param port     puerto del servidor
+     * @param progress receptor del progreso, o null
+     * @return dirección que acepta conexiones
+     * @throws IOException si ninguna dirección responde
+     */
+    private String resolveHost(String host, int port, ConnectProgress progress) throws IOException {
+        report(progress, "Buscando sala...");
+        CompletableFuture<List<InetAddress>> discovery = CompletableFuture.supplyAsync(
+                () -> discoverHosts(port), connector);
+
+        List<String> typed = new ArrayList<>();
+        if (host != null && !host.isBlank()) {
+            typed.add(host.trim());
+        }
+        String reachable = firstReachable(typed, port);
+        if (reachable != null) {
+            return reachable;
+        }
+
+        report(progress, "Buscando salas en la red local...");
+        List<String> candidates = new ArrayList<>();
+        for (InetAddress address : discovery.join()) {
+            candidates.add(address.getHostAddress());
+        }
+        reachable = firstReachable(candidates, port);
+        if (reachable == null) {
+            throw new IOException(typed.isEmpty() ? "No game found on the local network"
+                    : "No game found at " + typed.get(0) + ":" + port + " or on the local network");
+        }
+        return reachable;
+    }
+
+    /**
+     * Busca salas en la red local con el transporte configurado.
+     *
+     * @param port puerto de datagramas de los servidores
+     * @return direcciones que respondieron
+     */
+    private List<InetAddress> discoverHosts(int port) {
+        ClientTransport transport = NetworkConfig.TRANSPORT.createClient();
+        try {
+            List<InetAddress> hosts = transport.discoverHosts(port, NetworkConfig.DISCOVERY_TIMEOUT_MS);
+            return hosts != null ? hosts : List.of();
+        } finally {
+            transport.close();
+        }
+    }
+
+    /**
+     * Sondea varias direcciones en paralelo.
+     *
+     * @param candidates direcciones a sondear
+     * @param port       puerto del servidor
+     * @return la primera dirección que aceptó una conexión TCP, o null si ninguna
+     */
+    private String firstReachable(List<String> candidates, int port) {
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        CompletableFuture<String> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(candidates.size());
+        for (String candidate : candidates) {
+            connector.execute(() -> {
+                if (isReachable(candidate, port)) {
+                    winner.complete(candidate);
+                } else if (pending.decrementAndGet() == 0) {
+                    winner.complete(null);
+                }
+            });
+        }
+        return winner.join();
+    }
+
+    /**
+     * Comprueba si una dirección acepta conexiones TCP en el puerto.
+     *
+     * @param host dirección a sondear
+     * @param port puerto del servidor
+     * @return true si aceptó la conexión
+     */
+    private static boolean isReachable(String host, int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), NetworkConfig.PROBE_TIMEOUT_MS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Publica una etapa del progreso en el hilo de render.
+     *
+     * @param progress receptor del progreso, o null
+     * @param message  descripción de la etapa
+     */
+    private static void report(ConnectProgress progress, String message) {
+        if (progress != null) {
+            Gdx.app.postRunnable(() -> progress.onProgress(message));
+        }
+    }
+
     /**
      * Envía un paquete a través de la red.
      * <p>
@@ -184,14 +498,88 @@ public class NetworkManager {
         }
     }
 
+    /**
+     * Empieza a grabar todos los paquetes enviados y recibidos.
+     *
+     * @param file ruta del archivo de captura
+     * @throws IOException si el archivo no puede crearse
+     */
+    public void startCapture(Path file) throws IOException {
+        stopCapture();
+        recorder = new PacketRecorder(file);
+        if (server != null) {
+            server.setRecorder(recorder);
+        }
+        if (client != null) {
+            client.setRecorder(recorder);
+        }
+        Gdx.app.log("NetworkManager", "Capturing packets to " + file);
+    }
+
+    /**
+     * Detiene la captura de paquetes en curso, si la hay.
+     */
+    public void stopCapture() {
+        if (recorder == null) {
+            return;
+        }
+        if (server != null) {
+            server.setRecorder(null);
+        }
+        if (client != null) {
+            client.setRecorder(null);
+        }
+        recorder.close();
+        recorder = null;
+    }
+
+    /**
+     * Verifica si se están capturando paquetes.
+     *
+     * @return true si hay una captura activa
+     */
+    public boolean isCapturing() {
+        return recorder != null;
+    }
+
+    /**
+     * Reproduce una captura a través del servidor y cliente actuales.
+     *
+     * @param file  ruta del archivo de captura
+     * @param speed factor de velocidad (1 = tiempo original); un valor no
+     *              positivo reproduce sin esperas
+     * @throws IOException si la captura no puede leerse
+     */
+    public void replayCapture(Path file, float speed) throws IOException {
+        stopReplay();
+        replay = new PacketReplay(file);
+        replay.start(server, client, speed);
+        Gdx.app.log("NetworkManager", "Replaying " + replay.getRecords().size() + " packets from " + file);
+    }
+
+    /**
+     * Detiene la reproducción de captura en curso, si la hay.
+     */
+    public void stopReplay() {
+        if (replay != null) {
+            replay.stop();
+            replay = null;
+        }
+    }
+
     /**
      * Desconecta de la red y limpia los recursos.
      */
     public void disconnect() {
+        stopReplay();
         if (server != null) {
             server.stop();
             server = null;
         }
+        if (spectatorFeed != null) {
+            spectatorFeed.dispose();
+            spectatorFeed = null;
+        }
 
         if (client != null) {
             client.disconnect();
@@ -199,9 +587,19 @@ public class NetworkManager {
         }
 
         isHost = false;
+        dedicated = false;
         Gdx.app.log("NetworkManager", "Disconnected");
     }
 
+    /**
+     * Obtiene el canal de instantáneas para espectadores.
+     *
+     * @return canal del host, o null si no se está hospedando
+     */
+    public SpectatorFeed getSpectatorFeed() {
+        return spectatorFeed;
+    }
+
     /**
      * Verifica si este administrador de red es el host.
      * 
@@ -235,6 +633,9 @@ public class NetworkManager {
      * @return mapa de ID de jugador a nombre de jugador
      */
     public ConcurrentHashMap<Integer, String> getConnectedPlayers() {
+        if (dedicated && server != null) {
+            return server.getConnectedPlayers();
+        }
         if (client != null) {
             return client.getConnectedPlayers();
         }
@@ -6,6 +6,8 @@ package to.mpm.network;
 public abstract class NetworkPacket {
     /** Modo de transporte preferido. */
     private Transports transportMode = Transports.TCP;
+    /** Indica si el paquete puede dividirse en fragmentos UDP. */
+    private transient boolean fragmentable;
 
     /**
      * Constructor protegido para permitir la extensión.
@@ -30,4 +32,22 @@ public abstract class NetworkPacket {
     protected void preferTransport(Transports transport) {
         this.transportMode = transport;
     }
+
+    /**
+     * Indica si el paquete puede dividirse en varios datagramas cuando excede
+     * {@link NetworkConfig#MAX_DATAGRAM_SIZE}.
+     *
+     * @return true si el paquete admite fragmentación
+     */
+    public boolean isFragmentable() {
+        return fragmentable;
+    }
+
+    /**
+     * Permite a las subclases cuyo tamaño crece con el número de jugadores
+     * enviarse por UDP sin superar el MTU.
+     */
+    protected void allowFragmentation() {
+        this.fragmentable = true;
+    }
 }
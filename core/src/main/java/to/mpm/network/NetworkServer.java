@@ -1,10 +1,6 @@
 package to.mpm.network;
 
 import com.badlogic.gdx.Gdx;
-import com.esotericsoftware.kryo.Kryo;
-import com.esotericsoftware.kryonet.Connection;
-import com.esotericsoftware.kryonet.Listener;
-import com.esotericsoftware.kryonet.Server;
 import to.mpm.network.handlers.ServerPacketContext;
 import to.mpm.network.handlers.ServerPacketHandler;
 
@@ -12,8 +8,11 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -22,9 +21,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Maneja conexiones de clientes, el envío y recepción de paquetes,
  * y el registro de manejadores de paquetes.
  */
-public class NetworkServer {
-    /** Instancia del servidor KryoNet. */
-    private Server server;
+public final class NetworkServer {
+    /** Transporte del servidor, o null si está detenido. */
+    private volatile ServerTransport server;
     /** Manejadores por tipo de paquete. */
     private final Map<Class<? extends NetworkPacket>, CopyOnWriteArrayList<ServerPacketHandler>> handlers;
     /** Mapa de jugadores conectados (ID -> nombre). */
@@ -33,6 +32,22 @@ public class NetworkServer {
     private final ConcurrentHashMap<Integer, Integer> connectionToPlayerId;
     /** Contador para asignar nuevos IDs de jugador. */
     private final AtomicInteger nextPlayerId;
+    /** Versión de la lista de la sala. */
+    private final AtomicInteger rosterVersion;
+    /** Manejadores registrados, para avisarles del fin de cada lote. */
+    private final Set<ServerPacketHandler> registeredHandlers;
+    /** Grabador de paquetes activo, o null si no se está capturando. */
+    private volatile PacketRecorder recorder;
+    /** IDs de conexión suscritas al canal de espectadores. */
+    private final Set<Integer> feedSubscribers;
+    /** Divisor de paquetes UDP grandes. */
+    private final PacketFragmenter fragmenter;
+    /** Canal multicast para los broadcasts UDP, o null si no está disponible. */
+    private volatile MulticastChannel multicast;
+    /** Hilos de entrada activos, o null si el servidor está detenido. */
+    private volatile InboundPipeline inbound;
+    /** Planificador del estado replicado con presupuesto por cliente. */
+    private final SendScheduler scheduler;
 
     /**
      * Construye una nueva instancia del servidor de red.
@@ -42,6 +57,11 @@ public class NetworkServer {
         connectedPlayers = new ConcurrentHashMap<>();
         connectionToPlayerId = new ConcurrentHashMap<>();
         nextPlayerId = new AtomicInteger(0);
+        rosterVersion = new AtomicInteger(0);
+        registeredHandlers = new CopyOnWriteArraySet<>();
+        feedSubscribers = ConcurrentHashMap.newKeySet();
+        fragmenter = new PacketFragmenter();
+        scheduler = new SendScheduler(this);
     }
 
     /**
@@ -56,53 +76,118 @@ public class NetworkServer {
             return;
         }
 
-        server = new Server(NetworkConfig.UDP_BUFFER_SIZE, NetworkConfig.UDP_BUFFER_SIZE);
-        KryoClassRegistrar.registerCoreClasses(server.getKryo());
+        ServerTransport transport = NetworkConfig.TRANSPORT.createServer();
+        InboundPipeline pipeline = new InboundPipeline(this);
+        listen(transport, pipeline);
 
-        server.addListener(new Listener() {
+        try {
+            pipeline.start();
+            inbound = pipeline;
+            transport.bind(port, port);
+            scheduler.start();
+            openMulticast();
+            Gdx.app.log("NetworkServer", "Server started on port " + port + " (" + NetworkConfig.TRANSPORT + ")");
+        } catch (IOException e) {
+            transport.close();
+            pipeline.stop();
+            inbound = null;
+            server = null;
+            connectedPlayers.clear();
+            connectionToPlayerId.clear();
+            nextPlayerId.set(0);
+            throw new IOException("Failed to start server on port " + port, e);
+        }
+    }
+
+    /**
+     * Inicia el servidor como sala sobre un transporte que ya escucha en un
+     * puerto compartido con otras salas.
+     * <p>
+     * No hay hilo de despacho: el hilo de la sala recibe el aviso
+     * {@code wakeup} cuando llegan paquetes y los despacha con
+     * {@link #dispatchInbound()}. Los ticks del planificador de envío van al
+     * ejecutor compartido y no se abre el canal multicast, que es común a todo
+     * el puerto.
+     *
+     * @param name      nombre de la sala, para el log
+     * @param transport vista del transporte con las conexiones de la sala
+     * @param ticker    ejecutor compartido para los ticks de envío
+     * @param wakeup    avisa al hilo de la sala de que hay paquetes pendientes
+     */
+    public void startRoom(String name, ServerTransport transport, ScheduledExecutorService ticker, Runnable wakeup) {
+        if (server != null) {
+            Gdx.app.log("NetworkServer", "Server is already running");
+            return;
+        }
+
+        InboundPipeline pipeline = new InboundPipeline(this, wakeup);
+        listen(transport, pipeline);
+        pipeline.start();
+        inbound = pipeline;
+        scheduler.start(ticker);
+        Gdx.app.log("NetworkServer", "Room started: " + name);
+    }
+
+    /**
+     * Ejecuta en el hilo actual los manejadores de los paquetes pendientes de
+     * una sala iniciada con {@link #startRoom}.
+     */
+    public void dispatchInbound() {
+        InboundPipeline pipeline = inbound;
+        if (pipeline != null) {
+            pipeline.drain();
+        }
+    }
+
+    /**
+     * Conecta un transporte con la canalización de entrada.
+     *
+     * @param transport transporte del servidor
+     * @param pipeline  canalización que recibe sus objetos
+     */
+    private void listen(ServerTransport transport, InboundPipeline pipeline) {
+        transport.setListener(new TransportListener() {
             @Override
-            public void received(Connection connection, Object object) {
-                if (object instanceof NetworkPacket packet) {
-                    dispatchPacket(packet, connection);
-                }
+            public void received(TransportConnection connection, Object object) {
+                pipeline.received(connection, object);
             }
 
             @Override
-            public void connected(Connection connection) {
-                Gdx.app.log("NetworkServer", "Client connected: " + connection.getRemoteAddressTCP());
+            public void connected(TransportConnection connection) {
+                Gdx.app.log("NetworkServer", "Client connected: " + connection.getRemoteAddress());
             }
 
             @Override
-            public void disconnected(Connection connection) {
-                handleDisconnection(connection);
+            public void disconnected(TransportConnection connection) {
+                pipeline.disconnected(connection);
             }
         });
-
-        try {
-            server.bind(port, port);
-            server.start();
-            Gdx.app.log("NetworkServer", "Server started on port " + port);
-        } catch (IOException e) {
-            server = null;
-            connectedPlayers.clear();
-            connectionToPlayerId.clear();
-            nextPlayerId.set(0);
-            throw new IOException("Failed to start server on port " + port, e);
-        }
+        server = transport;
     }
 
     /**
      * Detiene el servidor y limpia los recursos.
      */
     public void stop() {
+        scheduler.stop();
+        MulticastChannel group = multicast;
+        multicast = null;
+        if (group != null) {
+            group.close();
+        }
         if (server != null) {
-            server.stop();
             server.close();
             server = null;
         }
+        InboundPipeline pipeline = inbound;
+        inbound = null;
+        if (pipeline != null) {
+            pipeline.stop();
+        }
         handlers.clear();
         connectedPlayers.clear();
         connectionToPlayerId.clear();
+        feedSubscribers.clear();
         nextPlayerId.set(0);
         Gdx.app.log("NetworkServer", "Server stopped");
     }
@@ -121,6 +206,7 @@ public class NetworkServer {
             handlers.computeIfAbsent(packetClass, key -> new CopyOnWriteArrayList<>())
                     .add(handler);
         }
+        registeredHandlers.add(handler);
     }
 
     /**
@@ -132,21 +218,26 @@ public class NetworkServer {
         for (List<ServerPacketHandler> handlerList : handlers.values()) {
             handlerList.remove(handler);
         }
+        registeredHandlers.remove(handler);
     }
 
     /**
      * Envía un paquete a todos los clientes conectados usando su transporte
      * preferido.
+     * <p>
+     * Los paquetes UDP no se envían a los espectadores suscritos al canal de
+     * instantáneas.
      * 
      * @param packet paquete de red a enviar
      */
     public void broadcast(NetworkPacket packet) {
         if (server == null)
             return;
+        capture(PacketRecorder.Direction.SERVER_OUT, -1, packet);
         if (packet.getTransportMode() == Transports.UDP) {
-            server.sendToAllUDP(packet);
+            broadcastUDP(-1, packet);
         } else {
-            server.sendToAllTCP(packet);
+            server.sendToAll(-1, packet, Transports.TCP);
         }
     }
 
@@ -156,13 +247,38 @@ public class NetworkServer {
      * @param origin conexión del remitente
      * @param packet paquete de red a enviar
      */
-    public void broadcastExcept(Connection origin, NetworkPacket packet) {
+    public void broadcastExcept(TransportConnection origin, NetworkPacket packet) {
         if (server == null || origin == null)
             return;
+        capture(PacketRecorder.Direction.SERVER_OUT, -1, packet);
         if (packet.getTransportMode() == Transports.UDP) {
-            server.sendToAllExceptUDP(origin.getID(), packet);
+            broadcastUDP(origin.getID(), packet);
         } else {
-            server.sendToAllExceptTCP(origin.getID(), packet);
+            server.sendToAll(origin.getID(), packet, Transports.TCP);
+        }
+    }
+
+    /**
+     * Envía un paquete TCP a todos excepto a un grupo de conexiones, serializándolo
+     * una sola vez.
+     *
+     * @param excluded IDs de las conexiones que no lo reciben
+     * @param packet   paquete de red a enviar
+     */
+    public void broadcastExcept(Set<Integer> excluded, NetworkPacket packet) {
+        ServerTransport current = server;
+        if (current == null)
+            return;
+        capture(PacketRecorder.Direction.SERVER_OUT, -1, packet);
+        TransportConnection[] targets = current.getConnections();
+        int count = 0;
+        for (TransportConnection connection : targets) {
+            if (!excluded.contains(connection.getID())) {
+                targets[count++] = connection;
+            }
+        }
+        if (count > 0) {
+            current.sendTo(targets, count, packet, Transports.TCP);
         }
     }
 
@@ -172,14 +288,103 @@ public class NetworkServer {
      * @param target conexión objetivo
      * @param packet paquete de red a enviar
      */
-    public void send(Connection target, NetworkPacket packet) {
-        if (target == null)
+    public void send(TransportConnection target, NetworkPacket packet) {
+        sendMeasured(target, packet);
+    }
+
+    /**
+     * Registra el último estado de una entidad para enviarlo según el
+     * presupuesto de cada cliente en lugar de reenviarlo inmediatamente.
+     * <p>
+     * Las actualizaciones intermedias de la misma entidad que aún no se
+     * enviaron a un cliente se reemplazan por la más reciente.
+     *
+     * @param origin  conexión que originó el estado, que no lo recibe de vuelta
+     * @param key     clave de la entidad (ver {@link SendScheduler#key(int, int)})
+     * @param ownerId ID del jugador que controla la entidad, o -1 si es un objeto
+     * @param x       posición X de la entidad
+     * @param y       posición Y de la entidad
+     * @param packet  paquete con el estado completo de la entidad
+     */
+    public void replicate(TransportConnection origin, int key, int ownerId, float x, float y, NetworkPacket packet) {
+        if (server == null)
             return;
-        if (packet.getTransportMode() == Transports.UDP) {
-            target.sendUDP(packet);
-        } else {
-            target.sendTCP(packet);
+        scheduler.replicate(origin, key, ownerId, x, y, packet);
+    }
+
+    /**
+     * Descarta el estado pendiente de una entidad eliminada.
+     *
+     * @param key clave de la entidad
+     */
+    public void forgetReplicated(int key) {
+        scheduler.forget(key);
+    }
+
+    /**
+     * Obtiene el presupuesto de envío actual de una conexión.
+     *
+     * @param connectionId ID de la conexión
+     * @return bytes por segundo
+     */
+    public int getClientBudget(int connectionId) {
+        return scheduler.getBudget(connectionId);
+    }
+
+    /**
+     * Envía a una conexión y devuelve los bytes escritos.
+     *
+     * @param target conexión objetivo
+     * @param packet paquete de red a enviar
+     * @return bytes enviados
+     */
+    int sendMeasured(TransportConnection target, NetworkPacket packet) {
+        if (target == null)
+            return 0;
+        capture(PacketRecorder.Direction.SERVER_OUT, target.getID(), packet);
+        if (packet.getTransportMode() != Transports.UDP) {
+            return target.send(packet, Transports.TCP);
+        }
+        Packets.Fragment[] fragments = fragmenter.split(packet);
+        if (fragments == null) {
+            return target.send(packet, Transports.UDP);
+        }
+        int bytes = 0;
+        for (Packets.Fragment fragment : fragments) {
+            bytes += target.send(fragment, Transports.UDP);
         }
+        return bytes;
+    }
+
+    /**
+     * Obtiene las conexiones abiertas.
+     *
+     * @return conexiones activas, vacío si el servidor no está en marcha
+     */
+    TransportConnection[] getActiveConnections() {
+        ServerTransport current = server;
+        return current != null ? current.getConnections() : new TransportConnection[0];
+    }
+
+    /**
+     * Obtiene el jugador asociado a una conexión.
+     *
+     * @param connection conexión a consultar
+     * @return ID del jugador, o -1 si no está asociada
+     */
+    int getPlayerId(TransportConnection connection) {
+        Integer playerId = connectionToPlayerId.get(connection.getID());
+        return playerId != null ? playerId : -1;
+    }
+
+    /**
+     * Verifica si una conexión está suscrita al canal de espectadores.
+     *
+     * @param connectionId ID de la conexión
+     * @return true si está suscrita
+     */
+    boolean isFeedSubscriber(int connectionId) {
+        return feedSubscribers.contains(connectionId);
     }
 
     /**
@@ -189,9 +394,12 @@ public class NetworkServer {
      */
     public void registerAdditionalClasses(Class<?>... classes) {
         if (server != null) {
-            Kryo kryo = server.getKryo();
+            server.register(classes);
+            MulticastChannel group = multicast;
+            if (group != null) {
+                group.register(classes);
+            }
             for (Class<?> clazz : classes) {
-                kryo.register(clazz);
                 Gdx.app.log("NetworkServer", "Registered class: " + clazz.getName());
             }
         }
@@ -233,6 +441,24 @@ public class NetworkServer {
         return nextPlayerId.getAndIncrement();
     }
 
+    /**
+     * Avanza la versión de la lista de la sala.
+     *
+     * @return nueva versión
+     */
+    public int nextRosterVersion() {
+        return rosterVersion.incrementAndGet();
+    }
+
+    /**
+     * Obtiene la versión actual de la lista de la sala.
+     *
+     * @return versión actual
+     */
+    public int getRosterVersion() {
+        return rosterVersion.get();
+    }
+
     /**
      * Asocia una conexión con un jugador concreto.
      * 
@@ -240,8 +466,10 @@ public class NetworkServer {
      * @param playerId   ID del jugador
      * @param playerName nombre del jugador
      */
-    public void bindConnectionToPlayer(Connection connection, int playerId, String playerName) {
-        connectionToPlayerId.put(connection.getID(), playerId);
+    public void bindConnectionToPlayer(TransportConnection connection, int playerId, String playerName) {
+        if (connection != null) {
+            connectionToPlayerId.put(connection.getID(), playerId);
+        }
         if (playerName != null) {
             connectedPlayers.put(playerId, playerName);
         }
@@ -253,17 +481,122 @@ public class NetworkServer {
      * @param connection conexión a desasociar
      * @return ID del jugador eliminado, o null si no existía
      */
-    public Integer unbindConnection(Connection connection) {
+    public Integer unbindConnection(TransportConnection connection) {
         return connectionToPlayerId.remove(connection.getID());
     }
 
+    /**
+     * Asigna el grabador que captura los paquetes del servidor.
+     *
+     * @param recorder grabador a usar, o null para dejar de capturar
+     */
+    public void setRecorder(PacketRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Inyecta un paquete reproducido como si lo hubiera enviado una conexión.
+     *
+     * @param connectionId ID de la conexión original
+     * @param packet       paquete a despachar
+     */
+    void replayInbound(int connectionId, NetworkPacket packet) {
+        TransportConnection connection = null;
+        if (server != null) {
+            for (TransportConnection candidate : server.getConnections()) {
+                if (candidate.getID() == connectionId) {
+                    connection = candidate;
+                    break;
+                }
+            }
+        }
+        dispatchPacket(packet, connection);
+        endBatch();
+    }
+
+    /**
+     * Marca una conexión como suscrita o no al canal de espectadores.
+     * <p>
+     * Las conexiones suscritas dejan de recibir el tráfico UDP de los jugadores.
+     *
+     * @param connection conexión del espectador
+     * @param subscribed true para suscribirla
+     */
+    public void setFeedSubscriber(TransportConnection connection, boolean subscribed) {
+        if (connection == null) {
+            return;
+        }
+        if (subscribed) {
+            feedSubscribers.add(connection.getID());
+        } else {
+            feedSubscribers.remove(connection.getID());
+        }
+    }
+
+    /**
+     * Envía un paquete UDP a los jugadores, fragmentándolo si no cabe en un
+     * datagrama.
+     *
+     * @param exceptId ID de conexión a omitir, o -1
+     * @param packet   paquete a enviar
+     */
+    private void broadcastUDP(int exceptId, NetworkPacket packet) {
+        Packets.Fragment[] fragments = fragmenter.split(packet);
+        if (fragments == null) {
+            sendToPlayersUDP(exceptId, packet);
+            return;
+        }
+        for (Packets.Fragment fragment : fragments) {
+            sendToPlayersUDP(exceptId, fragment);
+        }
+    }
+
+    /**
+     * Envía un datagrama a las conexiones que no están suscritas al canal de
+     * espectadores, una sola vez al grupo multicast para las que lo reciben.
+     *
+     * @param exceptId ID de conexión a omitir, o -1
+     * @param packet   paquete a enviar
+     */
+    private void sendToPlayersUDP(int exceptId, NetworkPacket packet) {
+        MulticastChannel group = multicast;
+        boolean viaGroup = group != null && group.hasMembers() && group.send(exceptId, packet);
+        if (!viaGroup && feedSubscribers.isEmpty()) {
+            server.sendToAll(exceptId, packet, Transports.UDP);
+            return;
+        }
+        TransportConnection[] targets = server.getConnections();
+        int count = 0;
+        for (TransportConnection connection : targets) {
+            int id = connection.getID();
+            if (id != exceptId && !feedSubscribers.contains(id) && !(viaGroup && group.isMember(id))) {
+                targets[count++] = connection;
+            }
+        }
+        server.sendTo(targets, count, packet, Transports.UDP);
+    }
+
+    /**
+     * Graba un paquete si hay una captura activa.
+     *
+     * @param direction    dirección del paquete
+     * @param connectionId ID de la conexión, o -1 para un broadcast
+     * @param packet       paquete a grabar
+     */
+    void capture(PacketRecorder.Direction direction, int connectionId, NetworkPacket packet) {
+        PacketRecorder active = recorder;
+        if (active != null) {
+            active.record(direction, connectionId, packet);
+        }
+    }
+
     /**
      * Reenvía un paquete a los manejadores registrados.
      *
      * @param packet     el paquete de red a reenvíar
      * @param connection la conexión que envió el paquete
      */
-    private void dispatchPacket(NetworkPacket packet, Connection connection) {
+    void dispatchPacket(NetworkPacket packet, TransportConnection connection) {
         List<ServerPacketHandler> handlerList = handlers.get(packet.getClass());
         if (handlerList == null || handlerList.isEmpty()) {
             return;
@@ -278,12 +611,81 @@ public class NetworkServer {
         }
     }
 
+    /**
+     * Avisa a los manejadores de que terminó un lote de paquetes.
+     */
+    void endBatch() {
+        for (ServerPacketHandler handler : registeredHandlers) {
+            try {
+                handler.onBatchEnd(this);
+            } catch (Exception ex) {
+                Gdx.app.error("NetworkServer", "Batch end failed in " + handler.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    /**
+     * Atiende los paquetes de control que no llegan a los manejadores.
+     *
+     * @param connectionId ID de la conexión remitente
+     * @param packet       paquete recibido
+     * @return true si era un paquete de control
+     */
+    boolean handleControlPacket(int connectionId, NetworkPacket packet) {
+        if (packet instanceof Packets.Pong pong) {
+            scheduler.onPong(connectionId, pong);
+            return true;
+        }
+        if (packet instanceof Packets.MulticastStatus status) {
+            MulticastChannel group = multicast;
+            if (group != null) {
+                group.setMember(connectionId, status.joined);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Anuncia el grupo multicast en la respuesta a un jugador que se une.
+     *
+     * @param joined respuesta al jugador; no se modifica si no hay canal multicast
+     */
+    public void describeMulticast(Packets.PlayerJoined joined) {
+        MulticastChannel group = multicast;
+        if (group != null) {
+            group.describe(joined);
+        }
+    }
+
+    /**
+     * Abre el canal multicast si está habilitado; si falla, los broadcasts
+     * siguen yendo por unicast.
+     */
+    private void openMulticast() {
+        if (!NetworkConfig.MULTICAST_ENABLED) {
+            return;
+        }
+        try {
+            multicast = MulticastChannel.open();
+            Gdx.app.log("NetworkServer", "Multicast group " + NetworkConfig.MULTICAST_GROUP + ":"
+                    + NetworkConfig.MULTICAST_PORT);
+        } catch (IOException e) {
+            Gdx.app.log("NetworkServer", "Multicast unavailable, using unicast: " + e.getMessage());
+        }
+    }
+
     /**
      * Maneja la desconexión de un cliente.
      * 
      * @param connection la conexión que se ha desconectado
      */
-    private void handleDisconnection(Connection connection) {
+    void handleDisconnection(TransportConnection connection) {
+        feedSubscribers.remove(connection.getID());
+        MulticastChannel group = multicast;
+        if (group != null) {
+            group.setMember(connection.getID(), false);
+        }
         Integer playerId = unbindConnection(connection);
         if (playerId == null) {
             return;
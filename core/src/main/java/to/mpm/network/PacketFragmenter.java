@@ -0,0 +1,66 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.Arrays;
+
+/**
+ * Divide los paquetes UDP grandes en fragmentos que caben en un datagrama.
+ * <p>
+ * Solo se fragmentan los paquetes que lo permiten con
+ * {@link NetworkPacket#allowFragmentation()}; el resto se envía sin cambios. El
+ * paquete se serializa con una instancia de Kryo propia, por lo que no
+ * interfiere con el hilo de KryoNet. Los fragmentos se reensamblan con
+ * {@link PacketReassembler}.
+ */
+public class PacketFragmenter {
+    /** Serializador propio. */
+    private final Kryo kryo = KryoClassRegistrar.createStandaloneKryo();
+    /** Buffer de serialización que crece según el mayor paquete enviado. */
+    private final Output output = new Output(NetworkConfig.MAX_DATAGRAM_SIZE, -1);
+    /** ID del siguiente mensaje fragmentado. */
+    private int nextMessageId;
+
+    /**
+     * Divide un paquete si no cabe en un datagrama.
+     *
+     * @param packet paquete a enviar
+     * @return fragmentos a enviar en su lugar (vacío si el paquete excede
+     *         {@link NetworkConfig#MAX_FRAGMENTS} y se descarta), o null si el
+     *         paquete debe enviarse tal cual
+     */
+    public synchronized Packets.Fragment[] split(NetworkPacket packet) {
+        if (!packet.isFragmentable() || packet.getTransportMode() != Transports.UDP) {
+            return null;
+        }
+        output.clear();
+        kryo.writeClassAndObject(output, packet);
+        int length = output.position();
+        if (length <= NetworkConfig.FRAGMENT_PAYLOAD_SIZE) {
+            return null;
+        }
+
+        int count = (length + NetworkConfig.FRAGMENT_PAYLOAD_SIZE - 1) / NetworkConfig.FRAGMENT_PAYLOAD_SIZE;
+        if (count > NetworkConfig.MAX_FRAGMENTS) {
+            Gdx.app.error("PacketFragmenter", packet.getClass().getSimpleName() + " is too large to fragment ("
+                    + length + " bytes), dropping");
+            return new Packets.Fragment[0];
+        }
+        int messageId = nextMessageId++;
+        byte[] buffer = output.getBuffer();
+        Packets.Fragment[] fragments = new Packets.Fragment[count];
+        for (int i = 0; i < count; i++) {
+            int start = i * NetworkConfig.FRAGMENT_PAYLOAD_SIZE;
+            Packets.Fragment fragment = new Packets.Fragment();
+            fragment.messageId = messageId;
+            fragment.index = (short) i;
+            fragment.count = (short) count;
+            fragment.data = Arrays.copyOfRange(buffer, start,
+                    Math.min(length, start + NetworkConfig.FRAGMENT_PAYLOAD_SIZE));
+            fragments[i] = fragment;
+        }
+        return fragments;
+    }
+}
@@ -0,0 +1,112 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reensambla los paquetes divididos por {@link PacketFragmenter}.
+ * <p>
+ * Los fragmentos se agrupan por remitente e ID de mensaje. Si un mensaje no se
+ * completa en {@link NetworkConfig#FRAGMENT_TIMEOUT_MS} se descarta, igual que
+ * se perdería un datagrama sin fragmentar.
+ */
+public class PacketReassembler {
+    /**
+     * Mensaje parcialmente recibido.
+     */
+    private static final class Partial {
+        /** Fragmentos recibidos por posición. */
+        final byte[][] parts;
+        /** Instante de llegada del primer fragmento. */
+        final long firstSeenMillis;
+        /** Número de fragmentos recibidos. */
+        int received;
+        /** Bytes recibidos. */
+        int length;
+
+        Partial(int count, long now) {
+            parts = new byte[count][];
+            firstSeenMillis = now;
+        }
+    }
+
+    /** Serializador propio. */
+    private final Kryo kryo = KryoClassRegistrar.createStandaloneKryo();
+    /** Mensajes pendientes por clave de remitente y mensaje. */
+    private final Map<Long, Partial> pending = new HashMap<>();
+
+    /**
+     * Procesa un fragmento recibido.
+     *
+     * @param sourceId ID de la conexión remitente
+     * @param fragment fragmento recibido
+     * @return paquete completo, o null si faltan fragmentos
+     */
+    public synchronized NetworkPacket accept(int sourceId, Packets.Fragment fragment) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        if (fragment.count <= 0 || fragment.count > NetworkConfig.MAX_FRAGMENTS
+                || fragment.index < 0 || fragment.index >= fragment.count || fragment.data == null) {
+            return null;
+        }
+
+        long key = ((long) sourceId << 32) | (fragment.messageId & 0xFFFFFFFFL);
+        Partial partial = pending.get(key);
+        if (partial == null) {
+            partial = new Partial(fragment.count, now);
+            pending.put(key, partial);
+        } else if (partial.parts.length != fragment.count) {
+            return null;
+        }
+        if (partial.parts[fragment.index] != null) {
+            return null;
+        }
+        partial.parts[fragment.index] = fragment.data;
+        partial.length += fragment.data.length;
+        if (++partial.received < partial.parts.length) {
+            return null;
+        }
+
+        pending.remove(key);
+        byte[] message = new byte[partial.length];
+        int offset = 0;
+        for (byte[] part : partial.parts) {
+            System.arraycopy(part, 0, message, offset, part.length);
+            offset += part.length;
+        }
+        try {
+            return (NetworkPacket) kryo.readClassAndObject(new Input(message));
+        } catch (RuntimeException e) {
+            Gdx.app.error("PacketReassembler", "Failed to decode fragmented message " + fragment.messageId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Descarta los fragmentos pendientes de un remitente.
+     *
+     * @param sourceId ID de la conexión remitente
+     */
+    public synchronized void discard(int sourceId) {
+        pending.keySet().removeIf(key -> (int) (key >>> 32) == sourceId);
+    }
+
+    /**
+     * Descarta los mensajes que superaron el tiempo de espera.
+     *
+     * @param now instante actual en milisegundos
+     */
+    private void expire(long now) {
+        Iterator<Partial> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().firstSeenMillis > NetworkConfig.FRAGMENT_TIMEOUT_MS) {
+                iterator.remove();
+            }
+        }
+    }
+}
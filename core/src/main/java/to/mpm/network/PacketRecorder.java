@@ -0,0 +1,162 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grabador binario de todos los paquetes enviados y recibidos.
+ * <p>
+ * Escribe en un archivo mapeado en memoria de solo anexado. Cada registro
+ * contiene la marca de tiempo monotónica relativa al inicio de la captura, el
+ * ID de conexión, la dirección y los bytes serializados del paquete:
+ *
+ * <pre>
+ * [int longitud][long nanos][int conexión][byte dirección][bytes...]
+ * </pre>
+ *
+ * Una longitud 0 marca el final de la captura. Las capturas se reproducen con
+ * {@link PacketReplay}.
+ */
+public class PacketRecorder {
+    /** Firma al inicio de cada captura ("MPMC"). */
+    static final int MAGIC = 0x4D504D43;
+    /** Versión del formato de captura. */
+    static final short VERSION = 1;
+    /** Tamaño de la cabecera del archivo en bytes. */
+    static final int FILE_HEADER_SIZE = 6;
+    /** Tamaño de la cabecera de cada registro en bytes. */
+    static final int RECORD_HEADER_SIZE = 4 + 8 + 4 + 1;
+    /** Tamaño de cada región mapeada en bytes. */
+    private static final int REGION_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Dirección de un paquete capturado.
+     */
+    public enum Direction {
+        SERVER_IN, //!< Recibido por el servidor
+        SERVER_OUT, //!< Enviado por el servidor
+        CLIENT_IN, //!< Recibido por el cliente
+        CLIENT_OUT //!< Enviado por el cliente
+    }
+
+    /** Canal del archivo de captura. */
+    private final FileChannel channel;
+    /** Serializador propio, independiente del de KryoNet. */
+    private final Kryo kryo;
+    /** Buffer de serialización reutilizado. */
+    private final Output output;
+    /** Instante de inicio de la captura en nanosegundos. */
+    private final long startNanos;
+    /** Región mapeada actual. */
+    private MappedByteBuffer region;
+    /** Posición en el archivo donde empieza la región actual. */
+    private long regionStart;
+    /** Número de paquetes grabados. */
+    private long recordCount;
+    /** Indica si la captura sigue abierta. */
+    private boolean open;
+
+    /**
+     * Crea una captura nueva, reemplazando el archivo si ya existía.
+     *
+     * @param file ruta del archivo de captura
+     * @throws IOException si el archivo no puede crearse
+     */
+    public PacketRecorder(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        kryo = KryoClassRegistrar.createStandaloneKryo();
+        output = new Output(1024, -1);
+        startNanos = System.nanoTime();
+        regionStart = 0;
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+        region.putInt(MAGIC);
+        region.putShort(VERSION);
+        open = true;
+    }
+
+    /**
+     * Graba un paquete.
+     * <p>
+     * Puede llamarse desde el hilo de KryoNet y desde el hilo de render.
+     *
+     * @param direction    dirección del paquete
+     * @param connectionId ID de la conexión, o -1 para un broadcast
+     * @param packet       paquete a grabar
+     */
+    public synchronized void record(Direction direction, int connectionId, NetworkPacket packet) {
+        if (!open) {
+            return;
+        }
+        long timestamp = System.nanoTime() - startNanos;
+        try {
+            output.clear();
+            kryo.writeClassAndObject(output, packet);
+            int length = output.position();
+            ensureCapacity(RECORD_HEADER_SIZE + length + 4);
+            region.putInt(length);
+            region.putLong(timestamp);
+            region.putInt(connectionId);
+            region.put((byte) direction.ordinal());
+            region.put(output.getBuffer(), 0, length);
+            recordCount++;
+        } catch (Exception e) {
+            Gdx.app.error("PacketRecorder", "Failed to record " + packet.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Obtiene el número de paquetes grabados.
+     *
+     * @return número de registros
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Cierra la captura y recorta el archivo al tamaño escrito.
+     */
+    public synchronized void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        try {
+            long end = regionStart + region.position();
+            region.force();
+            channel.truncate(end);
+            channel.close();
+            Gdx.app.log("PacketRecorder", "Capture closed with " + recordCount + " packets");
+        } catch (IOException e) {
+            Gdx.app.error("PacketRecorder", "Failed to close capture", e);
+        }
+    }
+
+    /**
+     * Asegura espacio en la región mapeada, mapeando la siguiente si es necesario.
+     *
+     * @param bytes bytes que se van a escribir
+     * @throws IOException si la nueva región no puede mapearse
+     */
+    private void ensureCapacity(int bytes) throws IOException {
+        if (region.remaining() >= bytes) {
+            return;
+        }
+        regionStart += region.position();
+        region.force();
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, bytes));
+    }
+}
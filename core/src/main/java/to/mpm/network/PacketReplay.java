@@ -0,0 +1,220 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reproductor de capturas generadas por {@link PacketRecorder}.
+ * <p>
+ * Inyecta los paquetes recibidos de la sesión grabada en los despachadores de
+ * {@link NetworkServer} y {@link NetworkClient}, respetando los tiempos
+ * originales o acelerándolos. Los paquetes salientes se conservan en
+ * {@link #getRecords()} pero no se reinyectan, ya que son el resultado de la
+ * simulación.
+ */
+public class PacketReplay {
+    /**
+     * Registro individual de una captura.
+     */
+    public static final class Record {
+        /** Instante relativo al inicio de la captura en nanosegundos. */
+        public final long timestampNanos;
+        /** ID de la conexión, o -1 para un broadcast. */
+        public final int connectionId;
+        /** Dirección del paquete. */
+        public final PacketRecorder.Direction direction;
+        /** Bytes serializados del paquete. */
+        public final byte[] payload;
+
+        /**
+         * Construye un registro.
+         *
+         * @param timestampNanos instante relativo en nanosegundos
+         * @param connectionId   ID de la conexión
+         * @param direction      dirección del paquete
+         * @param payload        bytes serializados
+         */
+        Record(long timestampNanos, int connectionId, PacketRecorder.Direction direction, byte[] payload) {
+            this.timestampNanos = timestampNanos;
+            this.connectionId = connectionId;
+            this.direction = direction;
+            this.payload = payload;
+        }
+    }
+
+    /** Registros cargados de la captura. */
+    private final List<Record> records;
+    /** Serializador para decodificar los paquetes. */
+    private final Kryo kryo;
+    /** Hilo de reproducción activo. */
+    private volatile Thread playbackThread;
+
+    /**
+     * Carga una captura desde disco.
+     *
+     * @param file ruta del archivo de captura
+     * @throws IOException si el archivo no existe o no es una captura válida
+     */
+    public PacketReplay(Path file) throws IOException {
+        kryo = KryoClassRegistrar.createStandaloneKryo();
+        records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            readRecords(buffer);
+        }
+    }
+
+    /**
+     * Obtiene todos los registros de la captura en orden.
+     *
+     * @return lista inmutable de registros
+     */
+    public List<Record> getRecords() {
+        return Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Decodifica el paquete de un registro.
+     *
+     * @param record registro a decodificar
+     * @return paquete deserializado
+     */
+    public NetworkPacket decode(Record record) {
+        synchronized (kryo) {
+            return (NetworkPacket) kryo.readClassAndObject(new Input(record.payload));
+        }
+    }
+
+    /**
+     * Inicia la reproducción en un hilo de fondo.
+     *
+     * @param server servidor que recibe los paquetes entrantes del servidor, o
+     *               null para omitirlos
+     * @param client cliente que recibe los paquetes entrantes del cliente, o
+     *               null para omitirlos
+     * @param speed  factor de velocidad (1 = tiempo original); un valor no
+     *               positivo reproduce sin esperas
+     */
+    public synchronized void start(NetworkServer server, NetworkClient client, float speed) {
+        stop();
+        Thread thread = new Thread(() -> play(server, client, speed), "PacketReplay");
+        thread.setDaemon(true);
+        playbackThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Detiene la reproducción en curso, si la hay.
+     */
+    public synchronized void stop() {
+        Thread thread = playbackThread;
+        playbackThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Verifica si hay una reproducción en curso.
+     *
+     * @return true si se está reproduciendo
+     */
+    public boolean isPlaying() {
+        Thread thread = playbackThread;
+        return thread != null && thread.isAlive();
+    }
+
+    /**
+     * Bucle de reproducción.
+     *
+     * @param server servidor destino
+     * @param client cliente destino
+     * @param speed  factor de velocidad
+     */
+    private void play(NetworkServer server, NetworkClient client, float speed) {
+        long start = System.nanoTime();
+        int injected = 0;
+        for (Record record : records) {
+            if (Thread.currentThread() != playbackThread) {
+                return;
+            }
+            boolean toServer = record.direction == PacketRecorder.Direction.SERVER_IN && server != null;
+            boolean toClient = record.direction == PacketRecorder.Direction.CLIENT_IN && client != null;
+            if (!toServer && !toClient) {
+                continue;
+            }
+            if (speed > 0f && !waitUntil(start + (long) (record.timestampNanos / speed))) {
+                return;
+            }
+            NetworkPacket packet = decode(record);
+            if (toServer) {
+                server.replayInbound(record.connectionId, packet);
+            } else {
+                client.replayInbound(packet);
+            }
+            injected++;
+        }
+        Gdx.app.log("PacketReplay", "Replay finished, injected " + injected + " packets");
+    }
+
+    /**
+     * Espera hasta el instante indicado.
+     *
+     * @param deadline instante objetivo en nanosegundos
+     * @return false si el hilo fue interrumpido
+     */
+    private boolean waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Lee todos los registros del buffer mapeado.
+     *
+     * @param buffer contenido de la captura
+     * @throws IOException si la cabecera no es válida
+     */
+    private void readRecords(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < PacketRecorder.FILE_HEADER_SIZE
+                || buffer.getInt() != PacketRecorder.MAGIC
+                || buffer.getShort() != PacketRecorder.VERSION) {
+            throw new IOException("Not a packet capture");
+        }
+        PacketRecorder.Direction[] directions = PacketRecorder.Direction.values();
+        while (buffer.remaining() >= PacketRecorder.RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            if (length <= 0) {
+                break;
+            }
+            long timestamp = buffer.getLong();
+            int connectionId = buffer.getInt();
+            byte direction = buffer.get();
+            if (direction < 0 || direction >= directions.length || buffer.remaining() < length) {
+                throw new IOException("Corrupt capture record at offset " + buffer.position());
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            records.add(new Record(timestamp, connectionId, directions[direction], payload));
+        }
+    }
+}
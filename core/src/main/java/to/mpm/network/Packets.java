@@ -14,6 +14,8 @@ public class Packets {
         public String playerName;
         /** Identificador para reconocer la respuesta local. */
         public String correlationId;
+        /** Sala a la que unirse en un servidor de salas, o null para la sala por defecto. */
+        public String room;
     }
 
     /**
@@ -28,6 +30,15 @@ public class Packets {
         public boolean existingPlayer;
         /** Correlación opcional para el jugador local. */
         public String correlationId;
+        /**
+         * Grupo multicast del host, o null si no hay canal multicast. Solo se
+         * envía en la respuesta al jugador que se une.
+         */
+        public String multicastGroup;
+        /** Puerto del grupo multicast. */
+        public int multicastPort;
+        /** Sesión del host, para descartar tráfico de otros hosts en el mismo grupo. */
+        public int multicastSession;
     }
 
     /**
@@ -38,6 +49,37 @@ public class Packets {
         public int playerId;
     }
 
+    /**
+     * Lista completa de la sala, enviada una vez a cada jugador que se une.
+     */
+    public static class RosterSnapshot extends NetworkPacket {
+        /** Versión de la lista que representa. */
+        public int version;
+        /** IDs de los jugadores, en orden ascendente. */
+        public int[] playerIds;
+        /** Nombres de los jugadores, en el mismo orden que los IDs. */
+        public String[] playerNames;
+        /** IDs de los jugadores en modo espectador. */
+        public int[] spectatorIds;
+    }
+
+    /**
+     * Cambios de la lista de la sala acumulados durante un lote de admisión.
+     * <p>
+     * Cada delta incrementa la versión en uno; los clientes descartan los que
+     * ya están incluidos en su instantánea.
+     */
+    public static class RosterDelta extends NetworkPacket {
+        /** Versión de la lista tras aplicar el delta. */
+        public int version;
+        /** IDs de los jugadores que se unieron. */
+        public int[] joinedIds;
+        /** Nombres de los jugadores que se unieron. */
+        public String[] joinedNames;
+        /** IDs de los jugadores que se fueron. */
+        public int[] leftIds;
+    }
+
     /**
      * Paquete enviado por el host para indicar a los clientes que inicien la
      * partida.
@@ -49,6 +91,10 @@ public class Packets {
         public int currentRound;
         /** Total de rondas configuradas. */
         public int totalRounds;
+        /** Semilla del generador aleatorio de la simulación de la ronda. */
+        public long seed;
+        /** Jugadores que avanzan en lockstep, ordenados, o null sin lockstep. */
+        public int[] lockstepPlayerIds;
     }
 
     /**
@@ -118,6 +164,8 @@ public class Packets {
     public static class Ping extends NetworkPacket {
         /** Instante en que se envió el ping. */
         public long timestamp;
+        /** Número de secuencia para estimar la pérdida de paquetes. */
+        public int sequence;
 
         /** Constructor por defecto que prefiere UDP. */
         public Ping() {
@@ -131,6 +179,8 @@ public class Packets {
     public static class Pong extends NetworkPacket {
         /** Instante en que se recibió el ping. */
         public long timestamp;
+        /** Número de secuencia del ping respondido. */
+        public int sequence;
 
         /** Constructor por defecto que prefiere UDP. */
         public Pong() {
@@ -147,4 +197,37 @@ public class Packets {
         /** True si es espectador, false si es jugador. */
         public boolean isSpectator;
     }
+
+    /**
+     * Fragmento de un paquete UDP que no cabe en un datagrama.
+     * <p>
+     * Lo generan y consumen {@link PacketFragmenter} y
+     * {@link PacketReassembler}; los manejadores nunca lo reciben.
+     */
+    public static class Fragment extends NetworkPacket {
+        /** ID del mensaje al que pertenece el fragmento. */
+        public int messageId;
+        /** Posición del fragmento dentro del mensaje. */
+        public short index;
+        /** Número total de fragmentos del mensaje. */
+        public short count;
+        /** Bytes del mensaje serializado contenidos en este fragmento. */
+        public byte[] data;
+
+        /** Constructor por defecto que prefiere UDP. */
+        public Fragment() {
+            preferTransport(Transports.UDP);
+        }
+    }
+
+    /**
+     * Informa al host de si el cliente está recibiendo el grupo multicast.
+     * <p>
+     * Mientras no lo confirma, el host le sigue enviando los broadcasts por
+     * unicast.
+     */
+    public static class MulticastStatus extends NetworkPacket {
+        /** True si el cliente recibe los datagramas del grupo. */
+        public boolean joined;
+    }
 }
@@ -0,0 +1,582 @@
+package to.mpm.network;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntFloatMap;
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planificador de envío del estado replicado con presupuesto por cliente.
+ * <p>
+ * En lugar de reenviar cada actualización de entidad en cuanto llega, el
+ * servidor guarda solo el último estado de cada entidad. Para cada cliente,
+ * las entidades pendientes acumulan prioridad con el tiempo según su
+ * relevancia (la entidad propia, después los jugadores cercanos, después los
+ * objetos lejanos y por último los que no se mueven). En cada tick se envían
+ * las de mayor prioridad que caben en el presupuesto de bytes del cliente; las
+ * demás conservan su prioridad y salen en ticks posteriores. La entidad más
+ * prioritaria de cada tick sale aunque no quepa: el exceso queda como deuda
+ * que se descuenta de los ticks siguientes, así que una entidad mayor que el
+ * presupuesto de un tick se retrasa pero nunca se queda sin enviar.
+ * <p>
+ * El presupuesto se ajusta con sondas {@link Packets.Ping}: en cada ventana de
+ * {@link NetworkConfig#PROBE_INTERVAL_MS} salen varias, cada respuesta se
+ * empareja con su sonda por número de secuencia y la latencia y la pérdida se
+ * suavizan con medias móviles exponenciales. Al cerrar la ventana el
+ * presupuesto baja si la latencia suavizada crece o la pérdida suavizada supera
+ * el umbral, y sube lentamente mientras la conexión está sana; una sonda
+ * perdida suelta no basta para reducirlo. Así el tráfico de salida del host
+ * tiene un techo conocido aunque el número de entidades se dispare.
+ */
+public class SendScheduler {
+    /** Peso de la entidad controlada por el propio cliente. */
+    private static final float OWN_WEIGHT = 8f;
+    /** Peso de las entidades de otros jugadores. */
+    private static final float PLAYER_WEIGHT = 4f;
+    /** Peso de los objetos sin dueño. */
+    private static final float OBJECT_WEIGHT = 1f;
+    /** Factor aplicado a las entidades que no se movieron. */
+    private static final float STATIONARY_FACTOR = 0.25f;
+    /** Distancia en píxeles a la que la relevancia se reduce a la mitad. */
+    private static final float RELEVANCE_DISTANCE = 200f;
+    /** Desplazamiento mínimo para considerar que una entidad se movió. */
+    private static final float MOVE_EPSILON = 0.5f;
+    /** Tiempo sin actualizaciones tras el cual se olvida una entidad. */
+    private static final long ENTITY_EXPIRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+    /** Tamaño estimado de una actualización antes de medirla. */
+    private static final int DEFAULT_PACKET_SIZE = 32;
+    /** Pérdida de sondas suavizada a partir de la cual se reduce el presupuesto. */
+    private static final float LOSS_THRESHOLD = 0.05f;
+    /** Sondas enviadas en cada ventana de ajuste. */
+    private static final int PROBES_PER_WINDOW = 5;
+    /** Tiempo entre sondas consecutivas. */
+    private static final long PROBE_SPACING_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(NetworkConfig.PROBE_INTERVAL_MS) / PROBES_PER_WINDOW;
+    /** Tiempo sin respuesta tras el cual una sonda cuenta como perdida. */
+    private static final long PROBE_LOSS_NANOS = TimeUnit.MILLISECONDS.toNanos(2L * NetworkConfig.PROBE_INTERVAL_MS);
+    /** Sondas recientes recordadas por cliente; debe superar las que caben en {@link #PROBE_LOSS_NANOS}. */
+    private static final int PROBE_HISTORY = 32;
+    /**
+     * Peso de cada sonda en la pérdida suavizada. Es menor que
+     * {@link #LOSS_THRESHOLD}, así que hace falta más de una pérdida reciente
+     * para superarlo.
+     */
+    private static final float LOSS_GAIN = 1f / 32f;
+    /** Peso de cada muestra en la latencia suavizada. */
+    private static final float RTT_GAIN = 1f / 8f;
+    /** Factor de reducción del presupuesto ante congestión. */
+    private static final float DECREASE_FACTOR = 0.75f;
+    /** Incremento del presupuesto por sonda sin congestión, en bytes por segundo. */
+    private static final int INCREASE_STEP = 2 * 1024;
+
+    /**
+     * Último estado conocido de una entidad.
+     */
+    private static final class Entity {
+        /** Clave de la entidad. */
+        final int key;
+        /** Último paquete de estado. */
+        NetworkPacket packet;
+        /** ID del jugador dueño, o -1 si es un objeto. */
+        int ownerId = -1;
+        /** Posición X. */
+        float x;
+        /** Posición Y. */
+        float y;
+        /** Indica si se movió en la última actualización. */
+        boolean moving;
+        /** ID de la conexión que originó el estado, que no lo recibe de vuelta. */
+        int originId;
+        /** Tamaño del último envío en bytes. */
+        int size = DEFAULT_PACKET_SIZE;
+        /** Instante de la última actualización. */
+        long updatedNanos;
+
+        Entity(int key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Estado de envío de una conexión.
+     */
+    private static final class Client {
+        /** Prioridad acumulada de cada entidad pendiente. */
+        final IntFloatMap pending = new IntFloatMap();
+        /** Presupuesto actual en bytes por segundo. */
+        float bytesPerSecond = NetworkConfig.CLIENT_BUDGET_INITIAL;
+        /**
+         * Bytes no usados en el tick anterior, como máximo un tick, o deuda
+         * (negativa) de un envío que superó el presupuesto.
+         */
+        float carry;
+        /** Menor latencia observada en milisegundos. */
+        int baselineRtt = Integer.MAX_VALUE;
+        /** Latencia suavizada en milisegundos, o -1 sin muestras. */
+        float smoothedRtt = -1f;
+        /** Fracción de sondas perdidas, suavizada. */
+        float smoothedLoss;
+        /** Indica si ya se resolvió alguna sonda. */
+        boolean hasSamples;
+        /** Secuencia de la siguiente sonda. */
+        int nextProbe;
+        /** Secuencia de la sonda más antigua sin resolver. */
+        int oldestProbe;
+        /** Instante de envío de las sondas recientes, por secuencia. */
+        final long[] probeSentNanos = new long[PROBE_HISTORY];
+        /** Indica qué sondas recientes ya se respondieron. */
+        final boolean[] probeAnswered = new boolean[PROBE_HISTORY];
+    }
+
+    /** Servidor por el que se envían los paquetes. */
+    private final NetworkServer server;
+    /** Último estado de cada entidad replicada. */
+    private final IntMap<Entity> entities = new IntMap<>();
+    /** Entidad controlada por cada jugador, por ID de jugador. */
+    private final IntMap<Entity> ownEntities = new IntMap<>();
+    /** Estado de envío por ID de conexión. */
+    private final IntMap<Client> clients = new IntMap<>();
+    /** Entidades candidatas reutilizadas en cada tick. */
+    private final Array<Entity> candidates = new Array<>();
+    /** Hilo propio del planificador, o null si usa un ejecutor compartido. */
+    private ScheduledExecutorService executor;
+    /** Tarea periódica del planificador, o null si está detenido. */
+    private ScheduledFuture<?> task;
+    /** Instante de la última sonda. */
+    private long lastProbeNanos;
+    /** Instante del último ajuste de presupuesto. */
+    private long lastAdaptNanos;
+
+    /**
+     * Crea el planificador de un servidor.
+     *
+     * @param server servidor por el que se envían los paquetes
+     */
+    SendScheduler(NetworkServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Calcula la clave de una entidad a partir de su tipo y su ID.
+     *
+     * @param kind tipo de entidad definido por el minijuego (0-127)
+     * @param id   ID de la entidad dentro de su tipo
+     * @return clave única
+     */
+    public static int key(int kind, int id) {
+        return (kind << 24) | (id & 0xFFFFFF);
+    }
+
+    /**
+     * Inicia el hilo del planificador.
+     */
+    synchronized void start() {
+        if (task != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SendScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        start(executor);
+    }
+
+    /**
+     * Inicia los ticks sobre un ejecutor compartido con otros servidores.
+     *
+     * @param shared ejecutor donde se programan los ticks; no se detiene al parar
+     */
+    synchronized void start(ScheduledExecutorService shared) {
+        if (task != null) {
+            return;
+        }
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / NetworkConfig.SEND_TICK_RATE;
+        task = shared.scheduleAtFixedRate(this::runTick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Detiene el hilo y descarta el estado pendiente.
+     */
+    synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        entities.clear();
+        ownEntities.clear();
+        clients.clear();
+    }
+
+    /**
+     * Registra el último estado de una entidad.
+     *
+     * @param origin   conexión que originó el estado, o null
+     * @param key      clave de la entidad (ver {@link #key(int, int)})
+     * @param ownerId  ID del jugador dueño, o -1 si es un objeto
+     * @param x        posición X, usada para la relevancia
+     * @param y        posición Y, usada para la relevancia
+     * @param packet   paquete con el estado completo
+     */
+    synchronized void replicate(TransportConnection origin, int key, int ownerId, float x, float y, NetworkPacket packet) {
+        Entity entity = entities.get(key);
+        if (entity == null) {
+            entity = new Entity(key);
+            entity.moving = true;
+            entities.put(key, entity);
+        } else {
+            entity.moving = Math.abs(entity.x - x) > MOVE_EPSILON || Math.abs(entity.y - y) > MOVE_EPSILON;
+        }
+        entity.packet = packet;
+        if (entity.ownerId != ownerId) {
+            unindexOwner(entity);
+        }
+        entity.ownerId = ownerId;
+        if (ownerId >= 0) {
+            ownEntities.put(ownerId, entity);
+        }
+        entity.x = x;
+        entity.y = y;
+        entity.originId = origin != null ? origin.getID() : -1;
+        entity.updatedNanos = System.nanoTime();
+
+        for (IntMap.Entry<Client> entry : clients) {
+            if (entry.key != entity.originId && !entry.value.pending.containsKey(key)) {
+                entry.value.pending.put(key, 0f);
+            }
+        }
+    }
+
+    /**
+     * Olvida una entidad eliminada para no enviar su último estado.
+     *
+     * @param key clave de la entidad
+     */
+    synchronized void forget(int key) {
+        Entity entity = entities.remove(key);
+        if (entity != null) {
+            unindexOwner(entity);
+        }
+        for (IntMap.Entry<Client> entry : clients) {
+            entry.value.pending.remove(key, 0f);
+        }
+    }
+
+    /**
+     * Procesa la respuesta a una sonda. Se ignoran las respuestas repetidas y
+     * las de sondas ya dadas por perdidas.
+     *
+     * @param connectionId ID de la conexión
+     * @param pong         respuesta recibida
+     */
+    synchronized void onPong(int connectionId, Packets.Pong pong) {
+        Client client = clients.get(connectionId);
+        if (client == null || pong.sequence < client.oldestProbe || pong.sequence >= client.nextProbe) {
+            return;
+        }
+        int slot = pong.sequence % PROBE_HISTORY;
+        if (client.probeAnswered[slot]) {
+            return;
+        }
+        client.probeAnswered[slot] = true;
+        int rtt = (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - client.probeSentNanos[slot]);
+        client.baselineRtt = Math.min(client.baselineRtt, rtt);
+        client.smoothedRtt = client.smoothedRtt < 0f ? rtt : client.smoothedRtt + (rtt - client.smoothedRtt) * RTT_GAIN;
+        recordProbe(client, false);
+    }
+
+    /**
+     * Obtiene el presupuesto actual de una conexión.
+     *
+     * @param connectionId ID de la conexión
+     * @return bytes por segundo, o 0 si la conexión no tiene estado
+     */
+    public synchronized int getBudget(int connectionId) {
+        Client client = clients.get(connectionId);
+        return client != null ? (int) client.bytesPerSecond : 0;
+    }
+
+    /**
+     * Ejecuta un tick capturando los errores para no detener el hilo.
+     */
+    private void runTick() {
+        try {
+            tick(1f / NetworkConfig.SEND_TICK_RATE);
+        } catch (Exception e) {
+            Gdx.app.error("SendScheduler", "Send tick failed", e);
+        }
+    }
+
+    /**
+     * Envía a cada cliente las actualizaciones más prioritarias que caben en
+     * su presupuesto.
+     *
+     * @param delta duración del tick en segundos
+     */
+    private synchronized void tick(float delta) {
+        long now = System.nanoTime();
+        TransportConnection[] connections = server.getActiveConnections();
+        syncClients(connections);
+        expireEntities(now);
+
+        boolean probe = now - lastProbeNanos >= PROBE_SPACING_NANOS;
+        if (probe) {
+            lastProbeNanos = now;
+        }
+        boolean adapt = now - lastAdaptNanos >= TimeUnit.MILLISECONDS.toNanos(NetworkConfig.PROBE_INTERVAL_MS);
+        if (adapt) {
+            lastAdaptNanos = now;
+        }
+
+        for (TransportConnection connection : connections) {
+            Client client = clients.get(connection.getID());
+            if (client == null) {
+                continue;
+            }
+            if (probe) {
+                expireProbes(client, now);
+                sendProbe(connection, client, now);
+            }
+            if (adapt) {
+                adaptBudget(client);
+            }
+            if (server.isFeedSubscriber(connection.getID())) {
+                client.pending.clear();
+                continue;
+            }
+            flush(connection, client, delta);
+        }
+    }
+
+    /**
+     * Acumula prioridad y envía las entidades de un cliente.
+     *
+     * @param connection conexión destino
+     * @param client     estado de envío del cliente
+     * @param delta      duración del tick en segundos
+     */
+    private void flush(TransportConnection connection, Client client, float delta) {
+        float tickBudget = client.bytesPerSecond * delta;
+        if (client.pending.size == 0) {
+            client.carry = Math.min(client.carry + tickBudget, tickBudget);
+            return;
+        }
+        int playerId = server.getPlayerId(connection);
+        Entity viewer = playerId >= 0 ? ownEntities.get(playerId) : null;
+
+        candidates.clear();
+        IntFloatMap.Entries pending = client.pending.entries();
+        while (pending.hasNext()) {
+            IntFloatMap.Entry entry = pending.next();
+            Entity entity = entities.get(entry.key);
+            if (entity == null) {
+                pending.remove();
+                continue;
+            }
+            client.pending.put(entry.key, entry.value + relevance(entity, playerId, viewer) * delta);
+            candidates.add(entity);
+        }
+        candidates.sort((a, b) -> Float.compare(client.pending.get(b.key, 0f), client.pending.get(a.key, 0f)));
+
+        float budget = tickBudget + client.carry;
+        if (budget <= 0f) {
+            // Todavía pagando un envío grande: solo se acumula prioridad
+            client.carry = budget;
+            return;
+        }
+        boolean sentAny = false;
+        for (Entity entity : candidates) {
+            // La primera siempre sale para que ninguna entidad quede bloqueada por su tamaño
+            if (sentAny && entity.size > budget) {
+                continue;
+            }
+            sentAny = true;
+            int sent = server.sendMeasured(connection, entity.packet);
+            if (sent > 0) {
+                entity.size = sent;
+            }
+            budget -= entity.size;
+            client.pending.remove(entity.key, 0f);
+        }
+        client.carry = Math.min(budget, tickBudget);
+    }
+
+    /**
+     * Calcula la relevancia de una entidad para un cliente.
+     *
+     * @param entity   entidad a evaluar
+     * @param playerId ID del jugador del cliente, o -1
+     * @param viewer   entidad propia del cliente, o null si no tiene
+     * @return relevancia por segundo
+     */
+    private float relevance(Entity entity, int playerId, Entity viewer) {
+        float weight;
+        if (playerId >= 0 && entity.ownerId == playerId) {
+            weight = OWN_WEIGHT;
+        } else if (entity.ownerId >= 0) {
+            weight = PLAYER_WEIGHT;
+        } else {
+            weight = OBJECT_WEIGHT;
+        }
+        if (viewer != null && viewer != entity) {
+            float dx = entity.x - viewer.x;
+            float dy = entity.y - viewer.y;
+            weight /= 1f + (float) Math.sqrt(dx * dx + dy * dy) / RELEVANCE_DISTANCE;
+        }
+        if (!entity.moving) {
+            weight *= STATIONARY_FACTOR;
+        }
+        return weight;
+    }
+
+    /**
+     * Quita una entidad del índice de entidades propias si es la registrada
+     * para su dueño.
+     *
+     * @param entity entidad que cambia de dueño o desaparece
+     */
+    private void unindexOwner(Entity entity) {
+        if (entity.ownerId >= 0 && ownEntities.get(entity.ownerId) == entity) {
+            ownEntities.remove(entity.ownerId);
+        }
+    }
+
+    /**
+     * Ajusta el presupuesto según la latencia y la pérdida suavizadas.
+     *
+     * @param client estado de envío del cliente
+     */
+    private void adaptBudget(Client client) {
+        if (!client.hasSamples) {
+            return;
+        }
+        boolean delayed = client.smoothedRtt >= 0f && client.smoothedRtt > client.baselineRtt * 1.5f + 20f;
+        if (client.smoothedLoss > LOSS_THRESHOLD || delayed) {
+            client.bytesPerSecond = Math.max(NetworkConfig.CLIENT_BUDGET_MIN, client.bytesPerSecond * DECREASE_FACTOR);
+        } else {
+            client.bytesPerSecond = Math.min(NetworkConfig.CLIENT_BUDGET_MAX, client.bytesPerSecond + INCREASE_STEP);
+        }
+    }
+
+    /**
+     * Agrega el resultado de una sonda a la pérdida suavizada.
+     *
+     * @param client estado de envío del cliente
+     * @param lost   true si la sonda se perdió
+     */
+    private static void recordProbe(Client client, boolean lost) {
+        client.smoothedLoss += ((lost ? 1f : 0f) - client.smoothedLoss) * LOSS_GAIN;
+        client.hasSamples = true;
+    }
+
+    /**
+     * Resuelve en orden las sondas más antiguas: las respondidas ya se
+     * contaron y las que llevan demasiado sin respuesta cuentan como perdidas.
+     * Si el historial está lleno, la más antigua se da por perdida para dejar
+     * sitio a la siguiente.
+     *
+     * @param client estado de envío del cliente
+     * @param now    instante actual en nanosegundos
+     */
+    private void expireProbes(Client client, long now) {
+        while (client.oldestProbe < client.nextProbe) {
+            int slot = client.oldestProbe % PROBE_HISTORY;
+            if (!client.probeAnswered[slot]) {
+                boolean full = client.nextProbe - client.oldestProbe >= PROBE_HISTORY;
+                if (!full && now - client.probeSentNanos[slot] < PROBE_LOSS_NANOS) {
+                    break;
+                }
+                recordProbe(client, true);
+            }
+            client.oldestProbe++;
+        }
+    }
+
+    /**
+     * Envía una sonda de latencia a un cliente.
+     *
+     * @param connection conexión destino
+     * @param client     estado de envío del cliente
+     * @param now        instante actual en nanosegundos
+     */
+    private void sendProbe(TransportConnection connection, Client client, long now) {
+        int sequence = client.nextProbe++;
+        int slot = sequence % PROBE_HISTORY;
+        client.probeSentNanos[slot] = now;
+        client.probeAnswered[slot] = false;
+
+        Packets.Ping ping = new Packets.Ping();
+        ping.timestamp = now;
+        ping.sequence = sequence;
+        connection.send(ping, Transports.UDP);
+    }
+
+    /**
+     * Crea el estado de las conexiones nuevas y descarta el de las cerradas.
+     *
+     * @param connections conexiones activas
+     */
+    private void syncClients(TransportConnection[] connections) {
+        for (TransportConnection connection : connections) {
+            if (!clients.containsKey(connection.getID())) {
+                Client client = new Client();
+                for (Entity entity : entities.values()) {
+                    if (entity.originId != connection.getID()) {
+                        client.pending.put(entity.key, 0f);
+                    }
+                }
+                clients.put(connection.getID(), client);
+            }
+        }
+        if (clients.size > connections.length) {
+            IntMap.Keys keys = clients.keys();
+            while (keys.hasNext) {
+                int id = keys.next();
+                if (!contains(connections, id)) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Olvida las entidades que dejaron de actualizarse.
+     *
+     * @param now instante actual en nanosegundos
+     */
+    private void expireEntities(long now) {
+        IntMap.Values<Entity> values = entities.values();
+        while (values.hasNext) {
+            Entity entity = values.next();
+            if (now - entity.updatedNanos > ENTITY_EXPIRY_NANOS) {
+                values.remove();
+                unindexOwner(entity);
+            }
+        }
+    }
+
+    /**
+     * Verifica si una conexión sigue activa.
+     *
+     * @param connections conexiones activas
+     * @param id          ID de conexión
+     * @return true si está en la lista
+     */
+    private static boolean contains(TransportConnection[] connections, int id) {
+        for (TransportConnection connection : connections) {
+            if (connection.getID() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package to.mpm.network;
+
+import java.io.IOException;
+
+/**
+ * Transporte del lado del servidor.
+ * <p>
+ * Aísla a {@link NetworkServer} de la biblioteca de red concreta; las
+ * implementaciones están en {@code to.mpm.network.transport} y se eligen con
+ * {@link NetworkConfig#TRANSPORT}.
+ */
+public interface ServerTransport {
+    /**
+     * Asigna el receptor de eventos. Debe llamarse antes de {@link #bind(int, int)}.
+     *
+     * @param listener receptor de eventos
+     */
+    void setListener(TransportListener listener);
+
+    /**
+     * Registra clases adicionales para la serialización.
+     *
+     * @param classes clases a registrar
+     */
+    void register(Class<?>... classes);
+
+    /**
+     * Abre los puertos e inicia los hilos de red.
+     *
+     * @param tcpPort puerto fiable
+     * @param udpPort puerto de datagramas
+     * @throws IOException si no se pueden abrir los puertos
+     */
+    void bind(int tcpPort, int udpPort) throws IOException;
+
+    /**
+     * Obtiene el puerto fiable abierto. Si se pidió el puerto 0, es el que
+     * eligió el sistema y el que hay que anunciar.
+     *
+     * @return puerto TCP, o 0 si no está abierto
+     */
+    int getTcpPort();
+
+    /**
+     * Obtiene el puerto de datagramas abierto. Si se pidió el puerto 0, es el
+     * que eligió el sistema y el que hay que anunciar.
+     *
+     * @return puerto UDP, o 0 si no está abierto
+     */
+    int getUdpPort();
+
+    /**
+     * Obtiene las conexiones abiertas.
+     *
+     * @return copia nueva con las conexiones activas
+     */
+    TransportConnection[] getConnections();
+
+    /**
+     * Envía un objeto a todas las conexiones.
+     * <p>
+     * El objeto se serializa una sola vez y los mismos bytes se escriben en
+     * cada conexión, así que el coste de CPU no depende del número de
+     * destinatarios.
+     *
+     * @param exceptId  ID de conexión a omitir, o -1
+     * @param object    objeto a enviar
+     * @param transport transporte a usar
+     */
+    void sendToAll(int exceptId, Object object, Transports transport);
+
+    /**
+     * Envía un objeto a varias conexiones serializándolo una sola vez.
+     *
+     * @param targets   conexiones destino
+     * @param count     número de conexiones válidas en {@code targets}
+     * @param object    objeto a enviar
+     * @param transport transporte a usar
+     */
+    void sendTo(TransportConnection[] targets, int count, Object object, Transports transport);
+
+    /**
+     * Cierra todas las conexiones y detiene los hilos de red.
+     */
+    void close();
+}
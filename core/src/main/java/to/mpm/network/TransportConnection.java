@@ -0,0 +1,43 @@
+package to.mpm.network;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Conexión con un extremo remoto, independiente de la biblioteca de red.
+ */
+public interface TransportConnection {
+    /**
+     * Obtiene el identificador de la conexión, único dentro de su servidor.
+     *
+     * @return ID de la conexión
+     */
+    int getID();
+
+    /**
+     * Envía un objeto serializado por el transporte indicado.
+     *
+     * @param object    objeto a enviar
+     * @param transport transporte a usar
+     * @return bytes escritos, o 0 si no se pudo enviar
+     */
+    int send(Object object, Transports transport);
+
+    /**
+     * Obtiene la dirección remota de la conexión fiable.
+     *
+     * @return dirección remota, o null si no está conectada
+     */
+    InetSocketAddress getRemoteAddress();
+
+    /**
+     * Verifica si la conexión sigue abierta.
+     *
+     * @return true si está conectada
+     */
+    boolean isConnected();
+
+    /**
+     * Cierra la conexión.
+     */
+    void close();
+}
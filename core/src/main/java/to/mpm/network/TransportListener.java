@@ -0,0 +1,33 @@
+package to.mpm.network;
+
+/**
+ * Receptor de los eventos de un transporte.
+ * <p>
+ * Los métodos se llaman desde los hilos de red del transporte.
+ */
+public interface TransportListener {
+    /**
+     * Se llama cuando una conexión queda lista para enviar y recibir.
+     *
+     * @param connection conexión establecida
+     */
+    default void connected(TransportConnection connection) {
+    }
+
+    /**
+     * Se llama con cada objeto deserializado.
+     *
+     * @param connection conexión remitente
+     * @param object     objeto recibido
+     */
+    default void received(TransportConnection connection, Object object) {
+    }
+
+    /**
+     * Se llama una sola vez cuando una conexión se cierra.
+     *
+     * @param connection conexión cerrada
+     */
+    default void disconnected(TransportConnection connection) {
+    }
+}
@@ -0,0 +1,52 @@
+package to.mpm.network;
+
+import to.mpm.network.transport.KryoNetClientTransport;
+import to.mpm.network.transport.KryoNetServerTransport;
+import to.mpm.network.transport.NioClientTransport;
+import to.mpm.network.transport.NioServerTransport;
+
+import java.util.Locale;
+
+/**
+ * Implementaciones de transporte disponibles.
+ * <p>
+ * El host y los clientes deben usar la misma, ya que los formatos de cable no
+ * son compatibles entre sí.
+ */
+public enum TransportType {
+    KRYONET, //!< KryoNet, un hilo de actualización por extremo
+    NIO; //!< DatagramChannel y SocketChannel con buffers directos reutilizados
+
+    /**
+     * Crea el transporte del servidor.
+     *
+     * @return transporte nuevo
+     */
+    public ServerTransport createServer() {
+        return this == NIO ? new NioServerTransport() : new KryoNetServerTransport();
+    }
+
+    /**
+     * Crea el transporte del cliente.
+     *
+     * @return transporte nuevo
+     */
+    public ClientTransport createClient() {
+        return this == NIO ? new NioClientTransport() : new KryoNetClientTransport();
+    }
+
+    /**
+     * Obtiene el transporte elegido con la propiedad del sistema
+     * {@code mpm.transport}.
+     *
+     * @return transporte configurado, KryoNet si no se indica o no es válido
+     */
+    static TransportType fromSystemProperty() {
+        String value = System.getProperty("mpm.transport", KRYONET.name());
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return KRYONET;
+        }
+    }
+}
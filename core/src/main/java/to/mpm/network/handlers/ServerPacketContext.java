@@ -1,9 +1,8 @@
 package to.mpm.network.handlers;
 
-import com.esotericsoftware.kryonet.Connection;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.NetworkServer;
-import to.mpm.network.Transports;
+import to.mpm.network.TransportConnection;
 
 /**
  * Clase que contiene el contexto para el manejo de paquetes en el servidor.
@@ -12,7 +11,7 @@ public class ServerPacketContext extends PacketContext {
     /** Instancia del servidor de red. */
     private final NetworkServer server;
     /** Conexión del cliente que envió el paquete. */
-    private final Connection connection;
+    private final TransportConnection connection;
 
     /**
      * Construye un nuevo contexto de paquete para el servidor.
@@ -20,7 +19,7 @@ public class ServerPacketContext extends PacketContext {
      * @param server     instancia del servidor de red
      * @param connection conexión del cliente que envió el paquete
      */
-    public ServerPacketContext(NetworkServer server, Connection connection) {
+    public ServerPacketContext(NetworkServer server, TransportConnection connection) {
         this.server = server;
         this.connection = connection;
     }
@@ -39,7 +38,7 @@ public class ServerPacketContext extends PacketContext {
      *
      * @return conexión del cliente
      */
-    public Connection getConnection() {
+    public TransportConnection getConnection() {
         return connection;
     }
 
@@ -49,11 +48,7 @@ public class ServerPacketContext extends PacketContext {
      * @param packet paquete de red a enviar como respuesta
      */
     public void reply(NetworkPacket packet) {
-        if (packet.getTransportMode() == Transports.UDP) {
-            connection.sendUDP(packet);
-        } else {
-            connection.sendTCP(packet);
-        }
+        server.send(connection, packet);
     }
 
     /**
@@ -73,4 +68,18 @@ public class ServerPacketContext extends PacketContext {
     public void broadcastExceptSender(NetworkPacket packet) {
         server.broadcastExcept(connection, packet);
     }
+
+    /**
+     * Registra el estado de una entidad para enviarlo a todos excepto al
+     * remitente según el presupuesto de cada cliente.
+     *
+     * @param key     clave de la entidad
+     * @param ownerId ID del jugador que controla la entidad, o -1
+     * @param x       posición X de la entidad
+     * @param y       posición Y de la entidad
+     * @param packet  paquete con el estado de la entidad
+     */
+    public void replicateExceptSender(int key, int ownerId, float x, float y, NetworkPacket packet) {
+        server.replicate(connection, key, ownerId, x, y, packet);
+    }
 }
@@ -1,7 +1,18 @@
 package to.mpm.network.handlers;
 
+import to.mpm.network.NetworkServer;
+
 /**
  * Interfaz para manejar paquetes de red en el servidor.
  */
 public interface ServerPacketHandler extends NetworkPacketHandler<ServerPacketContext> {
+    /**
+     * Se llama en el hilo de despacho cuando se vacía la cola de entrada tras
+     * despachar uno o más paquetes, para cerrar el trabajo acumulado durante
+     * la ráfaga.
+     *
+     * @param server servidor que despacha
+     */
+    default void onBatchEnd(NetworkServer server) {
+    }
 }
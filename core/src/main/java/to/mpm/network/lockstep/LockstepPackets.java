@@ -0,0 +1,69 @@
+package to.mpm.network.lockstep;
+
+import to.mpm.network.NetworkPacket;
+
+/**
+ * Paquetes del modo lockstep.
+ * <p>
+ * Solo viajan las entradas de cada tick y, cada cierto número de ticks, un
+ * resumen del estado de cada jugador. Van por TCP: perder una entrada
+ * detendría a todos los jugadores.
+ */
+public final class LockstepPackets {
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private LockstepPackets() {
+    }
+
+    /**
+     * Entrada de un jugador para un tick (cliente a host).
+     */
+    public static class Input extends NetworkPacket {
+        /** ID del jugador. */
+        public int playerId;
+        /** Tick al que se aplica la entrada. */
+        public int tick;
+        /** Botones pulsados, con significado propio de cada minijuego. */
+        public byte buttons;
+    }
+
+    /**
+     * Entradas confirmadas de todos los jugadores para un tick (host a todos).
+     */
+    public static class TickInputs extends NetworkPacket {
+        /** Tick al que se aplican. */
+        public int tick;
+        /** Botones de cada jugador, en el orden de los IDs de la ronda. */
+        public byte[] buttons;
+    }
+
+    /**
+     * Resumen del estado de un jugador tras simular un tick (cliente a host).
+     */
+    public static class Checksum extends NetworkPacket {
+        /** ID del jugador. */
+        public int playerId;
+        /** Tick ya simulado. */
+        public int tick;
+        /** Resumen del estado. */
+        public long hash;
+    }
+
+    /**
+     * Aviso del host de que un jugador se ha desincronizado (host a todos).
+     */
+    public static class Desync extends NetworkPacket {
+        /** Tick en el que se detectó. */
+        public int tick;
+        /** ID del jugador cuyo resumen no coincide. */
+        public int playerId;
+        /**
+         * Resumen de la mayoría de los jugadores; si no hay mayoría estricta,
+         * el más repetido, y se avisa de todos los jugadores.
+         */
+        public long expected;
+        /** Resumen del jugador desincronizado. */
+        public long actual;
+    }
+}
@@ -0,0 +1,231 @@
+package to.mpm.network.lockstep;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.IntMap;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.NetworkPacket;
+import to.mpm.network.ServerEvents;
+import to.mpm.network.handlers.ServerPacketContext;
+import to.mpm.network.handlers.ServerPacketHandler;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lado del host del modo lockstep.
+ * <p>
+ * Reúne la entrada de cada jugador para cada tick y, cuando están todas,
+ * reenvía el tick completo a todos en orden. Un jugador que se desconecta deja
+ * de esperarse y su entrada queda a cero. También compara los resúmenes de
+ * estado de cada tick: cuando han informado todos, el resumen de la mayoría
+ * se toma como el correcto y se avisa a todos de cada jugador que difiere. Si
+ * ningún resumen tiene mayoría estricta no se puede saber quién se desvió y
+ * se avisa de todos los que informaron.
+ * <p>
+ * Se usa solo desde el hilo de despacho del servidor.
+ */
+public class LockstepRelay implements ServerPacketHandler {
+    /** Intervalos tras los que se descarta un resumen que algún jugador no envió. */
+    private static final int STALE_CHECKSUM_INTERVALS = 8;
+
+    /**
+     * Entradas recibidas de un tick.
+     */
+    private static final class PendingTick {
+        final byte[] buttons;
+        final boolean[] received;
+
+        PendingTick(int players) {
+            buttons = new byte[players];
+            received = new boolean[players];
+        }
+    }
+
+    /**
+     * Resúmenes recibidos de un tick.
+     */
+    private static final class PendingChecksum {
+        /** Resumen de cada jugador, por índice. */
+        final long[] hashes;
+        /** Jugadores que ya informaron, por índice. */
+        final boolean[] reported;
+        /** Jugadores que ya informaron. */
+        int reports;
+
+        PendingChecksum(int players) {
+            hashes = new long[players];
+            reported = new boolean[players];
+        }
+    }
+
+    /** IDs de los jugadores de la ronda, ordenados. */
+    private final int[] playerIds;
+    /** Jugadores que siguen conectados. */
+    private final boolean[] active;
+    /** Jugadores conectados. */
+    private int activeCount;
+    /** Entradas pendientes por tick. */
+    private final IntMap<PendingTick> pending = new IntMap<>();
+    /** Resúmenes pendientes por tick. */
+    private final IntMap<PendingChecksum> checksums = new IntMap<>();
+    /** Siguiente tick a reenviar. */
+    private int nextTick = NetworkConfig.LOCKSTEP_INPUT_DELAY;
+
+    /**
+     * Crea el relevo de una ronda.
+     *
+     * @param playerIds IDs de los jugadores de la ronda, ordenados
+     */
+    public LockstepRelay(int[] playerIds) {
+        this.playerIds = playerIds;
+        active = new boolean[playerIds.length];
+        Arrays.fill(active, true);
+        activeCount = playerIds.length;
+    }
+
+    @Override
+    public Collection<Class<? extends NetworkPacket>> receivablePackets() {
+        return List.of(
+                LockstepPackets.Input.class,
+                LockstepPackets.Checksum.class,
+                ServerEvents.ClientDisconnected.class);
+    }
+
+    @Override
+    public void handle(ServerPacketContext context, NetworkPacket packet) {
+        if (packet instanceof LockstepPackets.Input input) {
+            receiveInput(context, input);
+        } else if (packet instanceof LockstepPackets.Checksum checksum) {
+            receiveChecksum(context, checksum);
+        } else if (packet instanceof ServerEvents.ClientDisconnected disconnected) {
+            int index = Arrays.binarySearch(playerIds, disconnected.playerId);
+            if (index >= 0 && active[index]) {
+                active[index] = false;
+                activeCount--;
+                flush(context);
+                settleChecksums(context);
+            }
+        }
+    }
+
+    private void receiveInput(ServerPacketContext context, LockstepPackets.Input input) {
+        int index = Arrays.binarySearch(playerIds, input.playerId);
+        if (index < 0 || input.tick < nextTick || input.tick >= nextTick + LockstepSession.WINDOW) {
+            return;
+        }
+        PendingTick tick = pending.get(input.tick);
+        if (tick == null) {
+            tick = new PendingTick(playerIds.length);
+            pending.put(input.tick, tick);
+        }
+        tick.buttons[index] = input.buttons;
+        tick.received[index] = true;
+        flush(context);
+    }
+
+    /**
+     * Reenvía en orden los ticks que ya tienen todas sus entradas.
+     */
+    private void flush(ServerPacketContext context) {
+        while (activeCount > 0) {
+            PendingTick tick = pending.get(nextTick);
+            if (tick == null) {
+                return;
+            }
+            for (int i = 0; i < playerIds.length; i++) {
+                if (active[i] && !tick.received[i]) {
+                    return;
+                }
+            }
+            LockstepPackets.TickInputs tickInputs = new LockstepPackets.TickInputs();
+            tickInputs.tick = nextTick;
+            tickInputs.buttons = tick.buttons;
+            context.broadcast(tickInputs);
+            pending.remove(nextTick);
+            nextTick++;
+        }
+    }
+
+    private void receiveChecksum(ServerPacketContext context, LockstepPackets.Checksum checksum) {
+        int index = Arrays.binarySearch(playerIds, checksum.playerId);
+        if (index < 0) {
+            return;
+        }
+        PendingChecksum pendingChecksum = checksums.get(checksum.tick);
+        if (pendingChecksum == null) {
+            checksums.remove(checksum.tick - STALE_CHECKSUM_INTERVALS * NetworkConfig.LOCKSTEP_CHECKSUM_INTERVAL);
+            pendingChecksum = new PendingChecksum(playerIds.length);
+            checksums.put(checksum.tick, pendingChecksum);
+        }
+        if (pendingChecksum.reported[index]) {
+            return;
+        }
+        pendingChecksum.hashes[index] = checksum.hash;
+        pendingChecksum.reported[index] = true;
+        if (++pendingChecksum.reports >= activeCount) {
+            checksums.remove(checksum.tick);
+            compare(context, checksum.tick, pendingChecksum);
+        }
+    }
+
+    /**
+     * Compara los ticks que quedaron completos porque un jugador se desconectó.
+     */
+    private void settleChecksums(ServerPacketContext context) {
+        IntMap.Entries<PendingChecksum> entries = checksums.entries();
+        while (entries.hasNext()) {
+            IntMap.Entry<PendingChecksum> entry = entries.next();
+            if (entry.value.reports >= activeCount) {
+                entries.remove();
+                compare(context, entry.key, entry.value);
+            }
+        }
+    }
+
+    /**
+     * Busca el resumen de la mayoría de un tick y avisa de los jugadores que
+     * difieren de él.
+     *
+     * @param context         contexto del servidor
+     * @param tick            tick comparado
+     * @param pendingChecksum resúmenes recibidos del tick
+     */
+    private void compare(ServerPacketContext context, int tick, PendingChecksum pendingChecksum) {
+        long majority = 0;
+        int majorityVotes = 0;
+        for (int i = 0; i < playerIds.length; i++) {
+            if (!pendingChecksum.reported[i]) {
+                continue;
+            }
+            int votes = 0;
+            for (int j = 0; j < playerIds.length; j++) {
+                if (pendingChecksum.reported[j] && pendingChecksum.hashes[j] == pendingChecksum.hashes[i]) {
+                    votes++;
+                }
+            }
+            if (votes > majorityVotes) {
+                majority = pendingChecksum.hashes[i];
+                majorityVotes = votes;
+            }
+        }
+        if (majorityVotes == pendingChecksum.reports) {
+            return;
+        }
+        boolean hasMajority = majorityVotes * 2 > pendingChecksum.reports;
+        for (int i = 0; i < playerIds.length; i++) {
+            long hash = pendingChecksum.hashes[i];
+            if (!pendingChecksum.reported[i] || (hasMajority && hash == majority)) {
+                continue;
+            }
+            Gdx.app.error("LockstepRelay", "Player " + playerIds[i] + " desynced at tick " + tick
+                    + (hasMajority ? "" : " (no majority)"));
+            LockstepPackets.Desync desync = new LockstepPackets.Desync();
+            desync.tick = tick;
+            desync.playerId = playerIds[i];
+            desync.expected = majority;
+            desync.actual = hash;
+            context.broadcast(desync);
+        }
+    }
+}
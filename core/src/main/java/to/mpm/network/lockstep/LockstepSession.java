@@ -0,0 +1,186 @@
+package to.mpm.network.lockstep;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.NetworkManager;
+import to.mpm.network.NetworkPacket;
+import to.mpm.network.handlers.ClientPacketContext;
+import to.mpm.network.handlers.ClientPacketHandler;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lado del jugador del modo lockstep.
+ * <p>
+ * La entrada local de cada tick se envía al host
+ * {@link NetworkConfig#LOCKSTEP_INPUT_DELAY} ticks antes de simularlo, y el
+ * tick solo avanza cuando llegan las entradas confirmadas de todos los
+ * jugadores; mientras tanto la simulación se detiene. Los primeros ticks se
+ * simulan sin entradas. Cada {@link NetworkConfig#LOCKSTEP_CHECKSUM_INTERVAL}
+ * ticks se envía un resumen del estado para que el host compare.
+ * <p>
+ * Se usa solo desde el hilo de render.
+ */
+public class LockstepSession implements ClientPacketHandler {
+    /** Ticks de entradas confirmadas que se guardan por adelantado. */
+    static final int WINDOW = 256;
+    /** Valor inicial de los resúmenes de estado. */
+    public static final long CHECKSUM_SEED = 0xCBF29CE484222325L;
+
+    /** ID del jugador local. */
+    private final int localPlayerId;
+    /** IDs de los jugadores de la ronda, ordenados. */
+    private final int[] playerIds;
+    /** Entradas confirmadas por tick, indexadas por {@code tick % WINDOW}. */
+    private final byte[][] inputs;
+    /** Tick al que corresponde cada posición de {@link #inputs}. */
+    private final int[] inputTicks = new int[WINDOW];
+    /** Siguiente tick a simular. */
+    private int tick;
+    /** Siguiente tick cuya entrada local falta por enviar. */
+    private int nextInputTick = NetworkConfig.LOCKSTEP_INPUT_DELAY;
+    /** Desincronizaciones del jugador local informadas por el host. */
+    private int desyncs;
+
+    /**
+     * Crea la sesión de un jugador.
+     *
+     * @param localPlayerId ID del jugador local
+     * @param playerIds     IDs de los jugadores de la ronda, ordenados
+     */
+    public LockstepSession(int localPlayerId, int[] playerIds) {
+        this.localPlayerId = localPlayerId;
+        this.playerIds = playerIds;
+        inputs = new byte[WINDOW][playerIds.length];
+        Arrays.fill(inputTicks, -1);
+        for (int t = 0; t < NetworkConfig.LOCKSTEP_INPUT_DELAY; t++) {
+            inputTicks[t] = t;
+        }
+    }
+
+    /**
+     * Empieza a recibir las entradas confirmadas.
+     */
+    public void start() {
+        NetworkManager.getInstance().registerClientHandler(this);
+        Gdx.app.log("LockstepSession", "Lockstep started with " + playerIds.length + " players");
+    }
+
+    /**
+     * Deja de recibir paquetes.
+     */
+    public void stop() {
+        NetworkManager.getInstance().unregisterClientHandler(this);
+        if (desyncs > 0) {
+            Gdx.app.error("LockstepSession", "Round ended with " + desyncs + " desyncs at tick " + tick);
+        }
+    }
+
+    /**
+     * Avanza un tick si ya están todas sus entradas.
+     *
+     * @param simulation minijuego a avanzar
+     * @param delta      duración del tick
+     * @return true si avanzó; false si espera entradas de otros jugadores
+     */
+    public boolean step(LockstepSimulation simulation, float delta) {
+        sendLocalInput(simulation);
+        if (inputTicks[tick % WINDOW] != tick) {
+            return false;
+        }
+        simulation.step(this, delta);
+        if ((tick + 1) % NetworkConfig.LOCKSTEP_CHECKSUM_INTERVAL == 0) {
+            LockstepPackets.Checksum checksum = new LockstepPackets.Checksum();
+            checksum.playerId = localPlayerId;
+            checksum.tick = tick;
+            checksum.hash = simulation.checksum();
+            NetworkManager.getInstance().sendPacket(checksum);
+        }
+        tick++;
+        return true;
+    }
+
+    /**
+     * Obtiene la entrada de un jugador en el tick que se está simulando.
+     *
+     * @param playerId ID del jugador
+     * @return botones pulsados, o 0 si el jugador no es de la ronda
+     */
+    public byte getInput(int playerId) {
+        int index = Arrays.binarySearch(playerIds, playerId);
+        return index >= 0 ? inputs[tick % WINDOW][index] : 0;
+    }
+
+    /**
+     * Obtiene el tick que se está simulando.
+     *
+     * @return número de tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Mezcla un entero en un resumen de estado (FNV-1a por palabras).
+     *
+     * @param hash  resumen acumulado; empieza en {@link #CHECKSUM_SEED}
+     * @param value valor a mezclar
+     * @return nuevo resumen
+     */
+    public static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001B3L;
+    }
+
+    /**
+     * Mezcla los bits exactos de un float en un resumen de estado.
+     *
+     * @param hash  resumen acumulado
+     * @param value valor a mezclar
+     * @return nuevo resumen
+     */
+    public static long mix(long hash, float value) {
+        return mix(hash, Float.floatToIntBits(value));
+    }
+
+    @Override
+    public Collection<Class<? extends NetworkPacket>> receivablePackets() {
+        return List.of(LockstepPackets.TickInputs.class, LockstepPackets.Desync.class);
+    }
+
+    @Override
+    public void handle(ClientPacketContext context, NetworkPacket packet) {
+        if (packet instanceof LockstepPackets.TickInputs tickInputs) {
+            int slot = tickInputs.tick % WINDOW;
+            if (tickInputs.tick < tick || tickInputs.buttons == null
+                    || tickInputs.buttons.length != playerIds.length) {
+                return;
+            }
+            System.arraycopy(tickInputs.buttons, 0, inputs[slot], 0, playerIds.length);
+            inputTicks[slot] = tickInputs.tick;
+        } else if (packet instanceof LockstepPackets.Desync desync) {
+            if (desync.playerId == localPlayerId) {
+                desyncs++;
+            }
+            Gdx.app.error("LockstepSession", "Desync at tick " + desync.tick + ": player " + desync.playerId
+                    + " hash " + Long.toHexString(desync.actual) + " != " + Long.toHexString(desync.expected));
+        }
+    }
+
+    /**
+     * Envía la entrada local de los ticks que ya entran en el retardo.
+     */
+    private void sendLocalInput(LockstepSimulation simulation) {
+        if (Arrays.binarySearch(playerIds, localPlayerId) < 0) {
+            return;
+        }
+        while (nextInputTick <= tick + NetworkConfig.LOCKSTEP_INPUT_DELAY) {
+            LockstepPackets.Input input = new LockstepPackets.Input();
+            input.playerId = localPlayerId;
+            input.tick = nextInputTick++;
+            input.buttons = simulation.sampleInput();
+            NetworkManager.getInstance().sendPacket(input);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package to.mpm.network.lockstep;
+
+/**
+ * Minijuego capaz de avanzar en lockstep.
+ * <p>
+ * Todos los jugadores ejecutan la misma simulación con las mismas entradas y
+ * el mismo generador aleatorio de la ronda, así que no se envía estado: solo
+ * las entradas de cada tick. La simulación no puede depender del reloj, del
+ * orden de iteración de tablas hash ni de aleatoriedad fuera de la semilla.
+ */
+public interface LockstepSimulation {
+    /**
+     * Activa el modo lockstep. Se llama antes de {@code initialize()}.
+     *
+     * @param playerIds IDs de los jugadores de la ronda, ordenados
+     */
+    void startLockstep(int[] playerIds);
+
+    /**
+     * Lee la entrada local para el próximo tick que se envía.
+     *
+     * @return botones pulsados
+     */
+    byte sampleInput();
+
+    /**
+     * Avanza un tick con las entradas confirmadas.
+     *
+     * @param inputs entradas del tick
+     * @param delta  duración del tick
+     */
+    void step(LockstepSession inputs, float delta);
+
+    /**
+     * Resume el estado de la simulación para detectar desincronizaciones.
+     *
+     * @return resumen del estado
+     */
+    long checksum();
+}
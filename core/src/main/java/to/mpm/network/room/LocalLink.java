@@ -0,0 +1,216 @@
+package to.mpm.network.room;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import to.mpm.network.ClientTransport;
+import to.mpm.network.KryoClassRegistrar;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Enlace en memoria entre el servidor de una sala y su extremo local.
+ * <p>
+ * El extremo local hace de cliente del host sin jugador: recibe lo que el
+ * servidor difunde y le envía lo que mandan los minijuegos que simula la
+ * sala. Cada objeto se serializa y deserializa con Kryo al cruzar, como en un
+ * transporte de red, para que ningún lado vea los paquetes que el otro
+ * reutiliza. Lo que llega al extremo local se entrega en el hilo de la sala;
+ * lo que llega al servidor entra en su canalización como cualquier otra
+ * conexión.
+ */
+final class LocalLink {
+    /** ID de conexión del extremo local; los transportes numeran desde 1. */
+    static final int CONNECTION_ID = 0;
+
+    /** Kryo de las copias, con las clases centrales registradas. */
+    private final Kryo kryo = KryoClassRegistrar.createStandaloneKryo();
+    /** Buffer de escritura reutilizado por las copias. */
+    private final Output output = new Output(NetworkConfig.UDP_BUFFER_SIZE, -1);
+    /** Buffer de lectura reutilizado por las copias. */
+    private final Input input = new Input();
+    /** Ejecuta las entregas al extremo local en el hilo de la sala. */
+    private final Executor roomThread;
+    /** Lado del servidor: la conexión del extremo local. */
+    private final ServerSide serverSide = new ServerSide();
+    /** Lado del cliente: el transporte del extremo local. */
+    private final ClientSide clientSide = new ClientSide();
+    /** Oyente del servidor de la sala. */
+    private volatile TransportListener serverListener;
+    /** Oyente del extremo local. */
+    private volatile TransportListener clientListener;
+    /** Indica si el enlace sigue abierto. */
+    private volatile boolean open = true;
+
+    /**
+     * Crea el enlace de una sala.
+     *
+     * @param roomThread ejecuta tareas en el hilo de la sala
+     */
+    LocalLink(Executor roomThread) {
+        this.roomThread = roomThread;
+    }
+
+    /**
+     * Obtiene la conexión del extremo local, vista desde el servidor.
+     *
+     * @return conexión del extremo local
+     */
+    TransportConnection server() {
+        return serverSide;
+    }
+
+    /**
+     * Obtiene el transporte del extremo local.
+     *
+     * @return transporte ya conectado
+     */
+    ClientTransport client() {
+        return clientSide;
+    }
+
+    /**
+     * Asigna el oyente del servidor de la sala.
+     *
+     * @param listener oyente del servidor
+     */
+    void setServerListener(TransportListener listener) {
+        serverListener = listener;
+    }
+
+    /**
+     * Cierra el enlace; los envíos posteriores se descartan.
+     */
+    void close() {
+        open = false;
+    }
+
+    /**
+     * Copia un objeto serializándolo y deserializándolo.
+     *
+     * @param object objeto a copiar
+     * @return copia independiente
+     */
+    private synchronized Object copy(Object object) {
+        output.clear();
+        kryo.writeClassAndObject(output, object);
+        input.setBuffer(output.getBuffer(), 0, output.position());
+        return kryo.readClassAndObject(input);
+    }
+
+    /**
+     * Conexión del extremo local en el servidor de la sala.
+     */
+    private final class ServerSide implements TransportConnection {
+        @Override
+        public int getID() {
+            return CONNECTION_ID;
+        }
+
+        @Override
+        public int send(Object object, Transports transport) {
+            TransportListener listener = clientListener;
+            if (!open || listener == null) {
+                return 0;
+            }
+            Object copy;
+            int bytes;
+            synchronized (LocalLink.this) {
+                copy = copy(object);
+                bytes = output.position();
+            }
+            roomThread.execute(() -> listener.received(clientSide, copy));
+            return bytes;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return open;
+        }
+
+        /**
+         * No hace nada: el enlace se cierra con la sala.
+         */
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Transporte del extremo local, conectado desde su creación.
+     */
+    private final class ClientSide implements ClientTransport {
+        @Override
+        public void setListener(TransportListener listener) {
+            clientListener = listener;
+        }
+
+        /**
+         * No hace nada: el Kryo del enlace escribe por nombre las clases que no
+         * son centrales.
+         */
+        @Override
+        public void register(Class<?>... classes) {
+        }
+
+        /**
+         * No hace nada: el extremo local ya está conectado.
+         */
+        @Override
+        public void connect(String host, int tcpPort, int udpPort, int timeoutMs) {
+        }
+
+        @Override
+        public List<InetAddress> discoverHosts(int udpPort, int timeoutMs) {
+            return List.of();
+        }
+
+        @Override
+        public int getID() {
+            return CONNECTION_ID;
+        }
+
+        @Override
+        public int send(Object object, Transports transport) {
+            TransportListener listener = serverListener;
+            if (!open || listener == null) {
+                return 0;
+            }
+            Object copy;
+            int bytes;
+            synchronized (LocalLink.this) {
+                copy = copy(object);
+                bytes = output.position();
+            }
+            listener.received(serverSide, copy);
+            return bytes;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
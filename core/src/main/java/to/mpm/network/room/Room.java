@@ -0,0 +1,240 @@
+package to.mpm.network.room;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.minigames.GameConstants;
+import to.mpm.network.LobbyServerHandler;
+import to.mpm.network.NetworkClient;
+import to.mpm.network.NetworkManager;
+import to.mpm.network.NetworkServer;
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.spectator.SpectatorFeed;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sala de un {@link RoomHub}.
+ * <p>
+ * Cada sala tiene su propio {@link NetworkServer}: sus manejadores, su lista
+ * de jugadores con IDs propios y su planificador de envío. Nada de eso se
+ * comparte con las demás salas del proceso, así que un paquete o un broadcast
+ * nunca cruza de una sala a otra.
+ * <p>
+ * Un hilo virtual por sala despacha los paquetes recibidos y avanza su
+ * {@link RoomHost} a la frecuencia de la simulación. Ese hilo lleva el
+ * {@link RoomContext} de la sala, así que el flujo de la partida, los gestores
+ * de sprites y los objetos sincronizados que usan los minijuegos son los de la
+ * sala y no los del proceso.
+ */
+public final class Room {
+    /** Espera máxima al hilo de la sala al cerrarla, en milisegundos. */
+    private static final long CLOSE_TIMEOUT_MS = 1000;
+
+    /** Nombre de la sala. */
+    private final String name;
+    /** Estado propio de la sala, ligado a su hilo. */
+    private final RoomContext context;
+    /** Tareas pendientes para el hilo de la sala. */
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /** Hilo virtual de la sala. */
+    private final Thread thread;
+    /** Enlace con el extremo local de la sala. */
+    private final LocalLink link;
+    /** Conexiones de la sala. */
+    private final RoomTransport transport;
+    /** Servidor de la sala. */
+    private final NetworkServer server;
+    /** Manejador del lobby de la sala. */
+    private final LobbyServerHandler lobby;
+    /** Extremo local de la sala; sus manejadores corren en el hilo de la sala. */
+    private final NetworkClient client;
+    /** Coordinador de red de la sala. */
+    private final NetworkManager network;
+    /** Anfitrión de la sala, o null hasta que arranca su hilo. */
+    private volatile RoomHost host;
+    /** Indica si el hilo de la sala debe seguir corriendo. */
+    private volatile boolean running;
+
+    /**
+     * Crea una sala vacía. No admite tráfico hasta {@link #start}.
+     *
+     * @param name   nombre de la sala
+     * @param shared transporte compartido del puerto
+     */
+    Room(String name, ServerTransport shared) {
+        this.name = name;
+        context = new RoomContext(name);
+        thread = Thread.ofVirtual().name("Room-" + name).unstarted(this::run);
+        link = new LocalLink(this::post);
+        transport = new RoomTransport(shared, link);
+        server = new NetworkServer();
+        lobby = new LobbyServerHandler();
+        client = new NetworkClient(Runnable::run);
+        network = NetworkManager.forRoom(server, client, new SpectatorFeed(server));
+    }
+
+    /**
+     * Inicia el servidor de la sala y su hilo.
+     *
+     * @param ticker ejecutor compartido para los ticks de envío
+     */
+    void start(ScheduledExecutorService ticker) {
+        server.startRoom(name, transport, ticker, this::wake);
+        server.registerHandler(lobby);
+        server.registerHandler(network.getSpectatorFeed());
+        client.attach(link.client());
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Obtiene el nombre de la sala.
+     *
+     * @return nombre de la sala
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Obtiene el servidor de la sala, para registrar sus manejadores.
+     *
+     * @return servidor de la sala
+     */
+    public NetworkServer getServer() {
+        return server;
+    }
+
+    /**
+     * Obtiene el número de conexiones de la sala.
+     *
+     * @return conexiones, sin contar el extremo local
+     */
+    public int getConnectionCount() {
+        return transport.size();
+    }
+
+    /**
+     * Indica si la sala admite jugadores nuevos; no lo hace con una partida
+     * en curso.
+     *
+     * @return true si la sala está en el lobby
+     */
+    public boolean isAccepting() {
+        RoomHost current = host;
+        return current == null || current.isAccepting();
+    }
+
+    /**
+     * Agrega una conexión a la sala.
+     *
+     * @param connection conexión admitida
+     */
+    void admit(TransportConnection connection) {
+        transport.add(connection);
+    }
+
+    /**
+     * Entrega un objeto recibido de un miembro.
+     *
+     * @param connection conexión remitente
+     * @param object     objeto deserializado
+     */
+    void received(TransportConnection connection, Object object) {
+        transport.received(connection, object);
+    }
+
+    /**
+     * Quita un miembro que se desconectó.
+     *
+     * @param connection conexión cerrada
+     */
+    void leave(TransportConnection connection) {
+        transport.remove(connection);
+    }
+
+    /**
+     * Detiene el hilo de la sala, que al salir cierra su servidor y sus
+     * conexiones.
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        try {
+            if (!thread.join(Duration.ofMillis(CLOSE_TIMEOUT_MS))) {
+                Gdx.app.error("Room", "Room " + name + " did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encola una tarea para el hilo de la sala.
+     *
+     * @param task tarea a ejecutar
+     */
+    private void post(Runnable task) {
+        tasks.offer(task);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Despierta el hilo de la sala para que despache los paquetes recibidos.
+     */
+    private void wake() {
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Bucle del hilo de la sala: ejecuta las tareas encoladas, despacha los
+     * paquetes recibidos y avanza el anfitrión una vez por paso de
+     * simulación.
+     */
+    private void run() {
+        context.enter();
+        context.put(NetworkManager.class, network);
+        RoomHost current = new RoomHost(name, server, lobby);
+        host = current;
+        long period = (long) (GameConstants.Timing.SIMULATION_STEP * 1_000_000_000L);
+        long last = System.nanoTime();
+        long next = last + period;
+        try {
+            while (running) {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                server.dispatchInbound();
+
+                long now = System.nanoTime();
+                if (now - next >= 0) {
+                    float delta = (now - last) / 1_000_000_000f;
+                    last = now;
+                    next = now + period;
+                    try {
+                        current.update(delta);
+                    } catch (RuntimeException e) {
+                        Gdx.app.error("Room", "Room " + name + " failed to update", e);
+                        current.abort();
+                    }
+                }
+                LockSupport.parkNanos(next - System.nanoTime());
+            }
+        } finally {
+            try {
+                current.dispose();
+            } finally {
+                network.disconnect();
+                context.exit();
+                Gdx.app.log("Room", "Room " + name + " stopped");
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package to.mpm.network.room;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Estado propio de una sala, ligado al hilo que la ejecuta.
+ * <p>
+ * En el juego hay una sola partida por proceso y los gestores
+ * ({@code NetworkManager}, {@code GameFlowManager}, los gestores de sprites,
+ * el registro de objetos sincronizados...) son únicos. En un servidor de
+ * salas cada sala necesita los suyos, así que sus {@code getInstance()}
+ * consultan primero {@link #scoped}: desde el hilo de una sala obtienen la
+ * instancia de esa sala y desde cualquier otro hilo la del proceso.
+ */
+public final class RoomContext {
+    /** Sala que ejecuta el hilo actual. */
+    private static final ThreadLocal<RoomContext> current = new ThreadLocal<>();
+
+    /** Nombre de la sala. */
+    private final String name;
+    /** Instancias de la sala por clase; solo las toca el hilo de la sala. */
+    private final Map<Class<?>, Object> instances = new HashMap<>();
+
+    /**
+     * Crea el contexto de una sala.
+     *
+     * @param name nombre de la sala
+     */
+    RoomContext(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Obtiene la instancia de una clase en la sala del hilo actual, creándola
+     * la primera vez.
+     *
+     * @param type    clase de la instancia
+     * @param factory crea la instancia si la sala aún no tiene una
+     * @param <T>     tipo de la instancia
+     * @return instancia de la sala, o null si el hilo no ejecuta ninguna sala
+     */
+    public static <T> T scoped(Class<T> type, Supplier<T> factory) {
+        RoomContext context = current.get();
+        if (context == null) {
+            return null;
+        }
+        Object instance = context.instances.get(type);
+        if (instance == null) {
+            instance = factory.get();
+            context.instances.put(type, instance);
+        }
+        return type.cast(instance);
+    }
+
+    /**
+     * Obtiene la sala que ejecuta el hilo actual.
+     *
+     * @return contexto de la sala, o null fuera de una sala
+     */
+    public static RoomContext current() {
+        return current.get();
+    }
+
+    /**
+     * Obtiene el nombre de la sala.
+     *
+     * @return nombre de la sala
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Fija la instancia de una clase en esta sala.
+     *
+     * @param type     clase de la instancia
+     * @param instance instancia de la sala
+     * @param <T>      tipo de la instancia
+     */
+    <T> void put(Class<T> type, T instance) {
+        instances.put(type, instance);
+    }
+
+    /**
+     * Liga esta sala al hilo actual.
+     */
+    void enter() {
+        current.set(this);
+    }
+
+    /**
+     * Desliga la sala del hilo actual.
+     */
+    void exit() {
+        current.remove();
+    }
+}
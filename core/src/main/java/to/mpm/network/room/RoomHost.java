@@ -0,0 +1,396 @@
+package to.mpm.network.room;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.minigames.FixedTimestep;
+import to.mpm.minigames.GameConstants;
+import to.mpm.minigames.Minigame;
+import to.mpm.minigames.MinigameFactory;
+import to.mpm.minigames.MinigameType;
+import to.mpm.minigames.manager.GameFlowManager;
+import to.mpm.minigames.manager.ManagerPackets;
+import to.mpm.minigames.selection.RandomGameSelection;
+import to.mpm.network.LobbyServerHandler;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.NetworkManager;
+import to.mpm.network.NetworkServer;
+import to.mpm.network.Packets;
+import to.mpm.network.lockstep.LockstepSession;
+import to.mpm.network.lockstep.LockstepSimulation;
+import to.mpm.network.spectator.SpectatorFeed;
+import to.mpm.network.spectator.SpectatorSnapshotSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Anfitrión sin jugador de una sala de un {@link RoomHub}.
+ * <p>
+ * Hace lo que en el juego hacen las pantallas del host: inicia la partida
+ * desde el lobby, simula cada minijuego como espectador, reparte las
+ * puntuaciones entre rondas y devuelve a todos al lobby al terminar. Como no
+ * hay nadie que pulse "Iniciar", la partida empieza sola cuando hay jugadores
+ * suficientes y el lobby lleva un rato sin cambios.
+ * <p>
+ * Solo se usa desde el hilo de la sala, así que los {@code getInstance()}
+ * devuelven las instancias de la sala.
+ */
+final class RoomHost {
+    /**
+     * Protege la creación y liberación de minijuegos: las texturas y la caché
+     * de recursos se registran en estructuras comunes a todo el proceso.
+     */
+    private static final Object GRAPHICS_LOCK = new Object();
+
+    /**
+     * Fases de la partida de la sala.
+     */
+    private enum Phase {
+        /** Esperando jugadores. */
+        LOBBY,
+        /** Presentación del minijuego en los clientes. */
+        INTRO,
+        /** Minijuego en curso. */
+        PLAYING,
+        /** Tabla de puntuaciones entre rondas. */
+        SCOREBOARD,
+        /** Resultados finales. */
+        RESULTS
+    }
+
+    /** Nombre de la sala, para el log. */
+    private final String name;
+    /** Servidor de la sala. */
+    private final NetworkServer server;
+    /** Manejador del lobby, que lleva la lista de espectadores. */
+    private final LobbyServerHandler lobby;
+    /** Coordinador de red de la sala. */
+    private final NetworkManager network;
+    /** Flujo de la partida de la sala. */
+    private final GameFlowManager flow;
+    /** Acumulador de pasos fijos del minijuego en curso. */
+    private final FixedTimestep timestep = new FixedTimestep();
+
+    /** Fase actual. */
+    private Phase phase = Phase.LOBBY;
+    /** Indica si la sala admite jugadores nuevos; solo en el lobby. */
+    private volatile boolean accepting = true;
+    /** Segundos que quedan en la fase actual. */
+    private float phaseTimer;
+    /** Versión de la lista de jugadores en la última comprobación del lobby. */
+    private int lobbyRosterVersion = -1;
+    /** Espectadores en la última comprobación del lobby. */
+    private Set<Integer> lobbySpectators = Set.of();
+    /** Segundos que lleva el lobby sin cambios. */
+    private float lobbyStableTime;
+    /** Minijuego de la ronda actual o de la siguiente. */
+    private MinigameType nextGame;
+    /** Minijuego en curso, o null. */
+    private Minigame minigame;
+    /** Sesión lockstep de la ronda, o null si el minijuego avanza por su cuenta. */
+    private LockstepSession lockstep;
+
+    /**
+     * Crea el anfitrión de una sala. Debe llamarse desde el hilo de la sala.
+     *
+     * @param name   nombre de la sala
+     * @param server servidor de la sala
+     * @param lobby  manejador del lobby registrado en el servidor
+     */
+    RoomHost(String name, NetworkServer server, LobbyServerHandler lobby) {
+        this.name = name;
+        this.server = server;
+        this.lobby = lobby;
+        network = NetworkManager.getInstance();
+        flow = GameFlowManager.getInstance();
+    }
+
+    /**
+     * Indica si la sala admite jugadores nuevos. Se puede consultar desde
+     * cualquier hilo.
+     *
+     * @return true mientras la sala está en el lobby
+     */
+    boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * Avanza la fase actual.
+     *
+     * @param delta segundos desde la última llamada
+     */
+    void update(float delta) {
+        switch (phase) {
+            case LOBBY -> updateLobby(delta);
+            case INTRO -> {
+                phaseTimer -= delta;
+                if (phaseTimer <= 0) {
+                    beginMinigame();
+                }
+            }
+            case PLAYING -> updateMinigame(delta);
+            case SCOREBOARD -> {
+                phaseTimer -= delta;
+                if (phaseTimer <= 0) {
+                    advanceToNextRound();
+                }
+            }
+            case RESULTS -> {
+                phaseTimer -= delta;
+                if (phaseTimer <= 0) {
+                    returnToLobby();
+                }
+            }
+        }
+    }
+
+    /**
+     * Abandona la partida en curso tras un error y devuelve a todos al lobby.
+     */
+    void abort() {
+        Gdx.app.error("RoomHost", "Room " + name + " aborted its match");
+        try {
+            disposeMinigame();
+        } catch (RuntimeException e) {
+            Gdx.app.error("RoomHost", "Failed to dispose minigame in room " + name, e);
+            minigame = null;
+            lockstep = null;
+        }
+        returnToLobby();
+    }
+
+    /**
+     * Libera el minijuego en curso, si lo hay.
+     */
+    void dispose() {
+        disposeMinigame();
+        flow.reset();
+    }
+
+    /**
+     * Inicia la partida cuando hay jugadores activos suficientes y ni la
+     * lista de jugadores ni los espectadores cambiaron durante
+     * {@link NetworkConfig#ROOM_START_DELAY_MS}.
+     *
+     * @param delta segundos desde la última llamada
+     */
+    private void updateLobby(float delta) {
+        int rosterVersion = server.getRosterVersion();
+        Set<Integer> spectators = lobby.getSpectatorIds();
+        if (rosterVersion != lobbyRosterVersion || !spectators.equals(lobbySpectators)) {
+            lobbyRosterVersion = rosterVersion;
+            lobbySpectators = new HashSet<>(spectators);
+            lobbyStableTime = 0f;
+            return;
+        }
+
+        int activePlayers = 0;
+        for (Integer playerId : server.getConnectedPlayers().keySet()) {
+            if (!spectators.contains(playerId)) {
+                activePlayers++;
+            }
+        }
+        if (activePlayers < NetworkConfig.ROOM_MIN_PLAYERS) {
+            lobbyStableTime = 0f;
+            return;
+        }
+
+        lobbyStableTime += delta;
+        if (lobbyStableTime * 1000f >= NetworkConfig.ROOM_START_DELAY_MS) {
+            startGame();
+        }
+    }
+
+    /**
+     * Configura la partida, elige el primer minijuego y lo anuncia.
+     */
+    private void startGame() {
+        accepting = false;
+        Set<Integer> spectators = new HashSet<>(lobby.getSpectatorIds());
+        flow.initialize(NetworkConfig.ROOM_ROUNDS);
+        flow.setSpectators(spectators);
+        flow.startRound();
+
+        network.broadcastFromHost(new ManagerPackets.RoomConfig(NetworkConfig.ROOM_ROUNDS, new ArrayList<>(spectators)));
+
+        int activePlayerCount = flow.getActivePlayerCount();
+        MinigameType selected = RandomGameSelection.selectGame(activePlayerCount);
+        Gdx.app.log("RoomHost", "Room " + name + " selected game: " + selected.getDisplayName() + " for "
+                + activePlayerCount + " players (" + spectators.size() + " spectators)");
+
+        flow.prepareRoundSimulation(selected, flow.getActivePlayerIds());
+
+        Packets.StartGame packet = new Packets.StartGame();
+        packet.minigameType = selected.name();
+        packet.currentRound = flow.getCurrentRound();
+        packet.totalRounds = flow.getTotalRounds();
+        packet.seed = flow.getRoundSeed();
+        packet.lockstepPlayerIds = flow.getLockstepPlayerIds();
+        network.broadcastFromHost(packet);
+
+        enterIntro(selected);
+    }
+
+    /**
+     * Espera a que los clientes terminen la presentación del minijuego.
+     *
+     * @param type minijuego de la ronda
+     */
+    private void enterIntro(MinigameType type) {
+        nextGame = type;
+        phase = Phase.INTRO;
+        phaseTimer = GameConstants.Timing.INTRO_SCREEN_DURATION;
+    }
+
+    /**
+     * Crea el minijuego de la ronda como espectador y arma el lockstep si la
+     * ronda lo usa.
+     */
+    private void beginMinigame() {
+        synchronized (GRAPHICS_LOCK) {
+            minigame = MinigameFactory.createMinigame(nextGame, GameConstants.SPECTATOR_ID);
+            int[] lockstepPlayerIds = flow.getLockstepPlayerIds();
+            if (lockstepPlayerIds != null && minigame instanceof LockstepSimulation simulation) {
+                simulation.startLockstep(lockstepPlayerIds);
+                lockstep = new LockstepSession(GameConstants.SPECTATOR_ID, lockstepPlayerIds);
+                lockstep.start();
+            }
+            minigame.initialize();
+        }
+        // La final no tiene temporizador en pantalla; aquí su duración solo
+        // acota una ronda que nadie termina
+        phaseTimer = nextGame == MinigameType.THE_FINALE
+                ? GameConstants.TheFinale.GAME_DURATION
+                : GameConstants.Timing.DEFAULT_GAME_DURATION;
+        phase = Phase.PLAYING;
+        Gdx.app.log("RoomHost", "Room " + name + " started minigame: " + nextGame.getDisplayName());
+    }
+
+    /**
+     * Simula los pasos fijos pendientes del minijuego, publica el estado a
+     * los espectadores y termina la ronda al acabar el tiempo o el minijuego.
+     *
+     * @param delta segundos desde la última llamada
+     */
+    private void updateMinigame(float delta) {
+        int steps = timestep.advance(delta);
+        int simulated = 0;
+        for (; simulated < steps && !minigame.isFinished(); simulated++) {
+            if (lockstep == null) {
+                minigame.update(timestep.getStep());
+            } else if (!lockstep.step((LockstepSimulation) minigame, timestep.getStep())) {
+                break;
+            }
+        }
+
+        SpectatorFeed spectatorFeed = network.getSpectatorFeed();
+        if (spectatorFeed != null && minigame instanceof SpectatorSnapshotSource source) {
+            spectatorFeed.publish(delta, source);
+        }
+
+        phaseTimer -= simulated * timestep.getStep();
+        if (phaseTimer <= 0 || minigame.isFinished()) {
+            endGame();
+        }
+    }
+
+    /**
+     * Suma las puntuaciones de la ronda y muestra la tabla o los resultados.
+     */
+    private void endGame() {
+        flow.endRound(minigame.getScores());
+        disposeMinigame();
+
+        if (flow.isGameComplete()) {
+            showResults();
+            return;
+        }
+        network.broadcastFromHost(new ManagerPackets.ShowScoreboard(
+                flow.getCurrentRound(), flow.getTotalRounds(), flow.getTotalScores()));
+        nextGame = selectNextGame();
+        phase = Phase.SCOREBOARD;
+        phaseTimer = GameConstants.Timing.SCOREBOARD_DURATION;
+    }
+
+    /**
+     * Elige el siguiente minijuego: la final en la última ronda o uno al azar
+     * para los jugadores activos.
+     *
+     * @return el minijuego elegido
+     */
+    private MinigameType selectNextGame() {
+        if (flow.isFinaleNext()) {
+            return MinigameType.THE_FINALE;
+        }
+        return RandomGameSelection.selectGame(flow.getActivePlayerCount());
+    }
+
+    /**
+     * Anuncia la siguiente ronda, o los resultados si solo queda un jugador
+     * para la final.
+     */
+    private void advanceToNextRound() {
+        flow.startRound();
+
+        List<Integer> participatingPlayers = null;
+        if (flow.shouldPlayFinale()) {
+            participatingPlayers = flow.getFinalePlayerIds();
+            if (participatingPlayers.size() == 1) {
+                Gdx.app.log("RoomHost", "Room " + name + " has 1 player left, skipping finale");
+                showResults();
+                return;
+            }
+        }
+
+        flow.prepareRoundSimulation(nextGame,
+                participatingPlayers != null ? participatingPlayers : flow.getActivePlayerIds());
+
+        ManagerPackets.StartNextRound packet = new ManagerPackets.StartNextRound(
+                flow.getCurrentRound(), nextGame.name(), participatingPlayers);
+        packet.seed = flow.getRoundSeed();
+        packet.lockstepPlayerIds = flow.getLockstepPlayerIds();
+        network.broadcastFromHost(packet);
+
+        enterIntro(nextGame);
+    }
+
+    /**
+     * Muestra los resultados finales en los clientes.
+     */
+    private void showResults() {
+        network.broadcastFromHost(new ManagerPackets.ShowResults(flow.getTotalScores()));
+        phase = Phase.RESULTS;
+        phaseTimer = GameConstants.Timing.RESULTS_DURATION;
+    }
+
+    /**
+     * Devuelve a todos al lobby y vuelve a admitir jugadores.
+     */
+    private void returnToLobby() {
+        network.broadcastFromHost(new ManagerPackets.ReturnToLobby());
+        flow.reset();
+        phase = Phase.LOBBY;
+        lobbyRosterVersion = -1;
+        accepting = true;
+        Gdx.app.log("RoomHost", "Room " + name + " returned to lobby");
+    }
+
+    /**
+     * Detiene el lockstep y libera el minijuego en curso.
+     */
+    private void disposeMinigame() {
+        if (lockstep != null) {
+            lockstep.stop();
+            lockstep = null;
+            flow.endLockstep();
+        }
+        if (minigame != null) {
+            synchronized (GRAPHICS_LOCK) {
+                minigame.dispose();
+            }
+            minigame = null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package to.mpm.network.room;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.Packets;
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Servidor de muchas salas en un solo proceso y un solo puerto.
+ * <p>
+ * Un único transporte escucha en el puerto y cada conexión se asigna a una
+ * sala con su primera {@link Packets.PlayerJoinRequest}, según el campo
+ * {@code room}; las salas se crean con el primer jugador y se cierran al irse
+ * el último. Una sala con la partida empezada rechaza a los que llegan tarde.
+ * A partir de ahí los objetos de la conexión van directos a la canalización
+ * de su sala sin bloqueos. Cada sala corre en su propio hilo virtual y los
+ * ticks de envío de todas comparten un ejecutor con un hilo por núcleo, así
+ * que el coste por sala es de memoria y no de hilos del sistema.
+ */
+public class RoomHub {
+    /** Sala de los jugadores que no piden ninguna. */
+    public static final String DEFAULT_ROOM = "default";
+
+    /** Salas abiertas por nombre. */
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    /** Sala de cada conexión admitida, por ID de conexión. */
+    private final Map<Integer, Room> connectionRooms = new ConcurrentHashMap<>();
+    /** Transporte compartido, o null si está detenido. */
+    private ServerTransport transport;
+    /** Ejecutor de los ticks de envío de todas las salas. */
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Empieza a escuchar en un puerto.
+     *
+     * @param port puerto TCP y UDP
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public void start(int port) throws IOException {
+        start(NetworkConfig.TRANSPORT.createServer(), port);
+    }
+
+    /**
+     * Empieza a escuchar en un puerto con un transporte dado.
+     *
+     * @param shared transporte que escuchará en el puerto
+     * @param port   puerto TCP y UDP
+     * @throws IOException si no se puede abrir el puerto
+     */
+    synchronized void start(ServerTransport shared, int port) throws IOException {
+        if (transport != null) {
+            Gdx.app.log("RoomHub", "Hub is already running");
+            return;
+        }
+        shared.setListener(new TransportListener() {
+            @Override
+            public void connected(TransportConnection connection) {
+                Gdx.app.log("RoomHub", "Client connected: " + connection.getRemoteAddress());
+            }
+
+            @Override
+            public void received(TransportConnection connection, Object object) {
+                route(connection, object);
+            }
+
+            @Override
+            public void disconnected(TransportConnection connection) {
+                leave(connection);
+            }
+        });
+        ticker = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "RoomHub-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        transport = shared;
+        try {
+            shared.bind(port, port);
+        } catch (IOException e) {
+            stop();
+            throw new IOException("Failed to start room hub on port " + port, e);
+        }
+        Gdx.app.log("RoomHub", "Hub started on port " + port + " (" + NetworkConfig.TRANSPORT + ")");
+    }
+
+    /**
+     * Cierra todas las salas y deja de escuchar.
+     */
+    public void stop() {
+        ServerTransport shared;
+        ScheduledExecutorService stoppedTicker;
+        synchronized (this) {
+            shared = transport;
+            stoppedTicker = ticker;
+            transport = null;
+            ticker = null;
+        }
+        List<Room> open = new ArrayList<>(rooms.values());
+        rooms.clear();
+        connectionRooms.clear();
+        for (Room room : open) {
+            room.close();
+        }
+        if (shared != null) {
+            shared.close();
+        }
+        if (stoppedTicker != null) {
+            stoppedTicker.shutdownNow();
+        }
+        Gdx.app.log("RoomHub", "Hub stopped");
+    }
+
+    /**
+     * Obtiene una sala abierta.
+     *
+     * @param name nombre de la sala
+     * @return la sala, o null si no está abierta
+     */
+    public Room getRoom(String name) {
+        return rooms.get(normalize(name));
+    }
+
+    /**
+     * Obtiene las salas abiertas.
+     *
+     * @return vista de solo lectura de las salas
+     */
+    public Collection<Room> getRooms() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
+    /**
+     * Pasa un objeto recibido a la sala de su conexión, asignándola si es su
+     * primera solicitud de unión. Los objetos de conexiones sin sala se
+     * descartan.
+     *
+     * @param connection conexión remitente
+     * @param object     objeto deserializado
+     */
+    private void route(TransportConnection connection, Object object) {
+        Room room = connectionRooms.get(connection.getID());
+        if (room == null) {
+            if (!(object instanceof Packets.PlayerJoinRequest request)) {
+                return;
+            }
+            room = join(connection, request.room);
+            if (room == null) {
+                return;
+            }
+        }
+        room.received(connection, object);
+    }
+
+    /**
+     * Admite una conexión en una sala, creándola si no existe.
+     *
+     * @param connection conexión que pide unirse
+     * @param roomName   sala pedida, o null para la sala por defecto
+     * @return la sala, o null si se rechazó la conexión
+     */
+    private synchronized Room join(TransportConnection connection, String roomName) {
+        if (transport == null) {
+            return null;
+        }
+        String name = normalize(roomName);
+        Room room = rooms.get(name);
+        if (room == null) {
+            if (rooms.size() >= NetworkConfig.ROOM_MAX_ROOMS) {
+                Gdx.app.log("RoomHub", "Rejected " + connection.getRemoteAddress() + ": room limit reached");
+                connection.close();
+                return null;
+            }
+            room = new Room(name, transport);
+            room.start(ticker);
+            rooms.put(name, room);
+        } else if (!room.isAccepting()) {
+            Gdx.app.log("RoomHub", "Rejected " + connection.getRemoteAddress() + ": room " + name + " is playing");
+            connection.close();
+            return null;
+        } else if (room.getConnectionCount() >= NetworkConfig.ROOM_MAX_PLAYERS) {
+            Gdx.app.log("RoomHub", "Rejected " + connection.getRemoteAddress() + ": room " + name + " is full");
+            connection.close();
+            return null;
+        }
+        room.admit(connection);
+        connectionRooms.put(connection.getID(), room);
+        Gdx.app.log("RoomHub", "Connection " + connection.getID() + " joined room " + name
+                + " (" + rooms.size() + " rooms)");
+        return room;
+    }
+
+    /**
+     * Quita una conexión cerrada de su sala y cierra la sala si quedó vacía.
+     *
+     * @param connection conexión cerrada
+     */
+    private void leave(TransportConnection connection) {
+        Room emptied = null;
+        synchronized (this) {
+            Room room = connectionRooms.remove(connection.getID());
+            if (room == null) {
+                return;
+            }
+            room.leave(connection);
+            if (room.getConnectionCount() == 0) {
+                rooms.remove(room.getName());
+                emptied = room;
+            }
+        }
+        if (emptied != null) {
+            emptied.close();
+            Gdx.app.log("RoomHub", "Room closed: " + emptied.getName());
+        }
+    }
+
+    /**
+     * Normaliza el nombre de una sala.
+     *
+     * @param name nombre pedido, o null
+     * @return nombre sin espacios en los extremos, o la sala por defecto
+     */
+    private static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return DEFAULT_ROOM;
+        }
+        return name.trim();
+    }
+}
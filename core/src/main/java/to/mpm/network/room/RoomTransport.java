@@ -0,0 +1,173 @@
+package to.mpm.network.room;
+
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vista del transporte compartido de un {@link RoomHub} que solo contiene las
+ * conexiones de una sala.
+ * <p>
+ * Los envíos se delegan en el transporte compartido, que serializa cada
+ * paquete una sola vez por lote de destinos; los broadcasts solo alcanzan a
+ * los miembros de la sala y a su extremo local, que no pasa por la red.
+ */
+final class RoomTransport implements ServerTransport {
+    /** Transporte que escucha en el puerto del servidor. */
+    private final ServerTransport shared;
+    /** Enlace con el extremo local de la sala. */
+    private final LocalLink local;
+    /** Conexiones de la sala por ID, sin el extremo local. */
+    private final ConcurrentHashMap<Integer, TransportConnection> members = new ConcurrentHashMap<>();
+    /** Oyente del servidor de la sala. */
+    private volatile TransportListener listener;
+
+    /**
+     * Crea la vista de una sala.
+     *
+     * @param shared transporte compartido
+     * @param local  enlace con el extremo local de la sala
+     */
+    RoomTransport(ServerTransport shared, LocalLink local) {
+        this.shared = shared;
+        this.local = local;
+    }
+
+    /**
+     * Agrega una conexión a la sala.
+     *
+     * @param connection conexión admitida
+     */
+    void add(TransportConnection connection) {
+        members.put(connection.getID(), connection);
+    }
+
+    /**
+     * Quita una conexión de la sala y avisa al servidor de la sala.
+     *
+     * @param connection conexión cerrada
+     */
+    void remove(TransportConnection connection) {
+        if (members.remove(connection.getID()) != null) {
+            TransportListener current = listener;
+            if (current != null) {
+                current.disconnected(connection);
+            }
+        }
+    }
+
+    /**
+     * Entrega un objeto recibido al servidor de la sala.
+     *
+     * @param connection conexión remitente
+     * @param object     objeto deserializado
+     */
+    void received(TransportConnection connection, Object object) {
+        TransportListener current = listener;
+        if (current != null) {
+            current.received(connection, object);
+        }
+    }
+
+    /**
+     * Obtiene el número de conexiones remotas de la sala.
+     *
+     * @return conexiones, sin contar el extremo local
+     */
+    int size() {
+        return members.size();
+    }
+
+    @Override
+    public void setListener(TransportListener listener) {
+        this.listener = listener;
+        local.setServerListener(listener);
+    }
+
+    @Override
+    public void register(Class<?>... classes) {
+        shared.register(classes);
+    }
+
+    /**
+     * No hace nada: el transporte compartido ya escucha en el puerto.
+     */
+    @Override
+    public void bind(int tcpPort, int udpPort) {
+    }
+
+    @Override
+    public int getTcpPort() {
+        return shared.getTcpPort();
+    }
+
+    @Override
+    public int getUdpPort() {
+        return shared.getUdpPort();
+    }
+
+    /**
+     * Obtiene las conexiones de la sala, con el extremo local en la última
+     * posición.
+     */
+    @Override
+    public TransportConnection[] getConnections() {
+        TransportConnection[] remote = members.values().toArray(new TransportConnection[0]);
+        TransportConnection[] all = new TransportConnection[remote.length + 1];
+        System.arraycopy(remote, 0, all, 0, remote.length);
+        all[remote.length] = local.server();
+        return all;
+    }
+
+    @Override
+    public void sendToAll(int exceptId, Object object, Transports transport) {
+        TransportConnection[] targets = getConnections();
+        int count = 0;
+        for (TransportConnection connection : targets) {
+            if (connection.getID() != exceptId) {
+                targets[count++] = connection;
+            }
+        }
+        sendTo(targets, count, object, transport);
+    }
+
+    /**
+     * Envía a las conexiones remotas por el transporte compartido y al
+     * extremo local por su enlace. Reordena {@code targets}.
+     */
+    @Override
+    public void sendTo(TransportConnection[] targets, int count, Object object, Transports transport) {
+        TransportConnection localConnection = local.server();
+        boolean toLocal = false;
+        int remote = 0;
+        for (int i = 0; i < count; i++) {
+            if (targets[i] == localConnection) {
+                toLocal = true;
+            } else {
+                targets[remote++] = targets[i];
+            }
+        }
+        if (remote > 0) {
+            shared.sendTo(targets, remote, object, transport);
+        }
+        if (toLocal) {
+            localConnection.send(object, transport);
+        }
+    }
+
+    /**
+     * Cierra las conexiones de la sala y su enlace local sin tocar el
+     * transporte compartido.
+     */
+    @Override
+    public void close() {
+        for (TransportConnection connection : members.values()) {
+            connection.close();
+        }
+        members.clear();
+        local.close();
+    }
+}
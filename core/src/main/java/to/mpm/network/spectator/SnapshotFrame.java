@@ -0,0 +1,206 @@
+package to.mpm.network.spectator;
+
+import com.badlogic.gdx.utils.IntIntMap;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.Arrays;
+
+/**
+ * Instantánea compacta del estado de un minijuego para espectadores.
+ * <p>
+ * Guarda las entidades en arreglos primitivos paralelos para que el host pueda
+ * reutilizar la misma instancia en cada publicación sin generar basura. Cada
+ * entidad se identifica por su tipo (definido por el minijuego) y su ID.
+ */
+public class SnapshotFrame {
+    /** Capacidad inicial de entidades. */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /** Tipo de cada entidad. */
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    /** ID de cada entidad. */
+    private int[] ids = new int[INITIAL_CAPACITY];
+    /** Posición X de cada entidad. */
+    private float[] xs = new float[INITIAL_CAPACITY];
+    /** Posición Y de cada entidad. */
+    private float[] ys = new float[INITIAL_CAPACITY];
+    /** Rotación en grados o valor auxiliar de cada entidad. */
+    private float[] rotations = new float[INITIAL_CAPACITY];
+    /** Estado libre definido por el minijuego. */
+    private int[] states = new int[INITIAL_CAPACITY];
+    /** Número de entidades. */
+    private int entityCount;
+
+    /** IDs de jugador con puntuación. */
+    private int[] scoreIds = new int[8];
+    /** Puntuaciones en el mismo orden que {@link #scoreIds}. */
+    private int[] scoreValues = new int[8];
+    /** Número de puntuaciones. */
+    private int scoreCount;
+
+    /** Índice de entidades por clave compuesta de tipo e ID. */
+    private final IntIntMap index = new IntIntMap();
+
+    /**
+     * Vacía la instantánea conservando la memoria reservada.
+     */
+    public void clear() {
+        entityCount = 0;
+        scoreCount = 0;
+        index.clear();
+    }
+
+    /**
+     * Añade una entidad.
+     *
+     * @param kind     tipo de entidad definido por el minijuego (0-7)
+     * @param id       ID de la entidad dentro de su tipo
+     * @param x        posición X
+     * @param y        posición Y
+     * @param rotation rotación en grados o valor auxiliar
+     * @param state    estado libre
+     */
+    public void addEntity(int kind, int id, float x, float y, float rotation, int state) {
+        if (entityCount == ids.length) {
+            int capacity = entityCount * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            rotations = Arrays.copyOf(rotations, capacity);
+            states = Arrays.copyOf(states, capacity);
+        }
+        int i = entityCount++;
+        kinds[i] = (byte) kind;
+        ids[i] = id;
+        xs[i] = x;
+        ys[i] = y;
+        rotations[i] = rotation;
+        states[i] = state;
+        index.put(key(kind, id), i);
+    }
+
+    /**
+     * Añade la puntuación de un jugador.
+     *
+     * @param playerId ID del jugador
+     * @param score    puntuación
+     */
+    public void putScore(int playerId, int score) {
+        if (scoreCount == scoreIds.length) {
+            scoreIds = Arrays.copyOf(scoreIds, scoreCount * 2);
+            scoreValues = Arrays.copyOf(scoreValues, scoreCount * 2);
+        }
+        scoreIds[scoreCount] = playerId;
+        scoreValues[scoreCount] = score;
+        scoreCount++;
+    }
+
+    /**
+     * Busca una entidad.
+     *
+     * @param kind tipo de la entidad
+     * @param id   ID de la entidad
+     * @return índice de la entidad, o -1 si no existe
+     */
+    public int indexOf(int kind, int id) {
+        return index.get(key(kind, id), -1);
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    public int getKind(int i) {
+        return kinds[i];
+    }
+
+    public int getId(int i) {
+        return ids[i];
+    }
+
+    public float getX(int i) {
+        return xs[i];
+    }
+
+    public float getY(int i) {
+        return ys[i];
+    }
+
+    public float getRotation(int i) {
+        return rotations[i];
+    }
+
+    public int getState(int i) {
+        return states[i];
+    }
+
+    public int getScoreCount() {
+        return scoreCount;
+    }
+
+    public int getScorePlayerId(int i) {
+        return scoreIds[i];
+    }
+
+    public int getScoreValue(int i) {
+        return scoreValues[i];
+    }
+
+    /**
+     * Serializa la instantánea.
+     *
+     * @param output destino
+     */
+    public void write(Output output) {
+        output.writeVarInt(entityCount, true);
+        for (int i = 0; i < entityCount; i++) {
+            output.writeByte(kinds[i]);
+            output.writeVarInt(ids[i], true);
+            output.writeFloat(xs[i]);
+            output.writeFloat(ys[i]);
+            output.writeFloat(rotations[i]);
+            output.writeVarInt(states[i], false);
+        }
+        output.writeVarInt(scoreCount, true);
+        for (int i = 0; i < scoreCount; i++) {
+            output.writeVarInt(scoreIds[i], false);
+            output.writeVarInt(scoreValues[i], false);
+        }
+    }
+
+    /**
+     * Reemplaza el contenido con una instantánea serializada.
+     *
+     * @param input origen
+     */
+    public void read(Input input) {
+        clear();
+        int count = input.readVarInt(true);
+        for (int i = 0; i < count; i++) {
+            int kind = input.readByte();
+            int id = input.readVarInt(true);
+            float x = input.readFloat();
+            float y = input.readFloat();
+            float rotation = input.readFloat();
+            int state = input.readVarInt(false);
+            addEntity(kind, id, x, y, rotation, state);
+        }
+        int scores = input.readVarInt(true);
+        for (int i = 0; i < scores; i++) {
+            putScore(input.readVarInt(false), input.readVarInt(false));
+        }
+    }
+
+    /**
+     * Calcula la clave de índice de una entidad.
+     *
+     * @param kind tipo de entidad
+     * @param id   ID de entidad
+     * @return clave compuesta
+     */
+    private static int key(int kind, int id) {
+        return (id << 3) | (kind & 0x7);
+    }
+}
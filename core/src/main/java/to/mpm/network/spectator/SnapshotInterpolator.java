@@ -0,0 +1,157 @@
+package to.mpm.network.spectator;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Interpola entre las dos últimas instantáneas recibidas.
+ * <p>
+ * Las instantáneas llegan a baja frecuencia, así que el espectador dibuja las
+ * entidades desplazándose de la instantánea anterior a la última durante un
+ * intervalo de publicación. Solo se usa en el hilo de render.
+ */
+public class SnapshotInterpolator {
+    /** Instantánea anterior. */
+    private SnapshotFrame previous = new SnapshotFrame();
+    /** Última instantánea recibida. */
+    private SnapshotFrame latest = new SnapshotFrame();
+    /** Instantánea libre para la siguiente recepción. */
+    private SnapshotFrame spare = new SnapshotFrame();
+    /** Intervalo esperado entre instantáneas en segundos. */
+    private final float interval;
+    /** Tiempo transcurrido desde la última instantánea. */
+    private float sinceLatest;
+    /** Indica si ya se recibió al menos una instantánea. */
+    private boolean hasFrame;
+    /** Indica si la instantánea anterior es válida. */
+    private boolean hasPrevious;
+    /** Indica si hay una instantánea nueva sin consumir. */
+    private boolean newFrame;
+
+    /**
+     * Crea el interpolador.
+     *
+     * @param interval intervalo esperado entre instantáneas en segundos
+     */
+    public SnapshotInterpolator(float interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Obtiene la instantánea libre para rellenarla antes de {@link #push()}.
+     *
+     * @return instantánea libre
+     */
+    SnapshotFrame acquire() {
+        return spare;
+    }
+
+    /**
+     * Convierte la instantánea obtenida con {@link #acquire()} en la última.
+     */
+    void push() {
+        SnapshotFrame recycled = previous;
+        previous = latest;
+        latest = spare;
+        spare = recycled;
+        hasPrevious = hasFrame;
+        sinceLatest = 0f;
+        hasFrame = true;
+        newFrame = true;
+    }
+
+    /**
+     * Avanza el reloj de interpolación.
+     *
+     * @param delta tiempo transcurrido en segundos
+     */
+    public void advance(float delta) {
+        sinceLatest += delta;
+    }
+
+    public boolean hasFrame() {
+        return hasFrame;
+    }
+
+    public SnapshotFrame getLatest() {
+        return latest;
+    }
+
+    /**
+     * Indica si llegó una instantánea desde la última llamada y la marca como
+     * consumida.
+     *
+     * @return true si hay una instantánea nueva
+     */
+    public boolean consumeNewFrame() {
+        boolean result = newFrame;
+        newFrame = false;
+        return result;
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido desde la última instantánea.
+     *
+     * @return segundos desde la última instantánea
+     */
+    public float getTimeSinceLatest() {
+        return sinceLatest;
+    }
+
+    /**
+     * Obtiene el factor de interpolación actual.
+     *
+     * @return valor entre 0 y 1
+     */
+    public float getAlpha() {
+        return MathUtils.clamp(sinceLatest / interval, 0f, 1f);
+    }
+
+    /**
+     * Obtiene la posición X interpolada de una entidad de la última instantánea.
+     *
+     * @param i índice en la última instantánea
+     * @return posición X
+     */
+    public float getX(int i) {
+        int p = previousIndex(i);
+        return p < 0 ? latest.getX(i) : MathUtils.lerp(previous.getX(p), latest.getX(i), getAlpha());
+    }
+
+    /**
+     * Obtiene la posición Y interpolada de una entidad de la última instantánea.
+     *
+     * @param i índice en la última instantánea
+     * @return posición Y
+     */
+    public float getY(int i) {
+        int p = previousIndex(i);
+        return p < 0 ? latest.getY(i) : MathUtils.lerp(previous.getY(p), latest.getY(i), getAlpha());
+    }
+
+    /**
+     * Obtiene la rotación interpolada por el camino más corto.
+     *
+     * @param i índice en la última instantánea
+     * @return rotación en grados
+     */
+    public float getRotation(int i) {
+        int p = previousIndex(i);
+        if (p < 0) {
+            return latest.getRotation(i);
+        }
+        return MathUtils.lerpAngleDeg(previous.getRotation(p), latest.getRotation(i), getAlpha());
+    }
+
+    /**
+     * Busca en la instantánea anterior la entidad equivalente.
+     *
+     * @param i índice en la última instantánea
+     * @return índice en la anterior, o -1 si la entidad es nueva
+     */
+    private int previousIndex(int i) {
+        if (!hasPrevious) {
+            return -1;
+        }
+        return previous.indexOf(latest.getKind(i), latest.getId(i));
+    }
+}
@@ -0,0 +1,278 @@
+package to.mpm.network.spectator;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.IntMap;
+import com.esotericsoftware.kryo.io.Output;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.NetworkPacket;
+import to.mpm.network.NetworkServer;
+import to.mpm.network.ServerEvents;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.handlers.ServerPacketContext;
+import to.mpm.network.handlers.ServerPacketHandler;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Canal de instantáneas para espectadores (lado del host).
+ * <p>
+ * En lugar de reenviar a cada espectador todo el tráfico por frame de los
+ * jugadores, el host publica instantáneas comprimidas a
+ * {@link NetworkConfig#SPECTATOR_SNAPSHOT_RATE} Hz. Los espectadores se
+ * organizan en un árbol: el host envía solo a sus hijos directos y cada
+ * espectador que puede retransmitir reenvía las instantáneas a como máximo
+ * {@link NetworkConfig#SPECTATOR_FANOUT} espectadores más, de modo que el
+ * ancho de banda de subida del host no crece con la audiencia.
+ */
+public class SpectatorFeed implements ServerPacketHandler {
+    /**
+     * Nodo del árbol de retransmisión.
+     */
+    private static final class Subscriber {
+        /** Conexión con el host. */
+        final TransportConnection connection;
+        /** Dirección desde la que otros espectadores pueden conectarse. */
+        final String address;
+        /** Puerto TCP de retransmisión, o 0 si no retransmite. */
+        final int relayPort;
+        /** Puerto UDP de retransmisión. */
+        final int relayUdpPort;
+        /** Espectadores que reciben de este nodo. */
+        final List<Subscriber> children = new ArrayList<>();
+        /** Nodo del que recibe, o null si recibe del host. */
+        Subscriber parent;
+
+        Subscriber(TransportConnection connection, String address, int relayPort, int relayUdpPort) {
+            this.connection = connection;
+            this.address = address;
+            this.relayPort = relayPort;
+            this.relayUdpPort = relayUdpPort;
+        }
+
+        boolean canRelay() {
+            return relayPort > 0 && relayUdpPort > 0 && address != null;
+        }
+    }
+
+    /** Servidor por el que se envían las instantáneas. */
+    private final NetworkServer server;
+    /** Suscriptores por ID de conexión. */
+    private final IntMap<Subscriber> subscribers = new IntMap<>();
+    /** Suscriptores que reciben directamente del host. */
+    private final List<Subscriber> roots = new ArrayList<>();
+    /** Instantánea reutilizada en cada publicación. */
+    private final SnapshotFrame frame = new SnapshotFrame();
+    /** Buffer de serialización reutilizado. */
+    private final Output output = new Output(1024, -1);
+    /** Compresor reutilizado. */
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    /** Buffer de compresión reutilizado. */
+    private byte[] compressed = new byte[1024];
+    /** Intervalo entre publicaciones en segundos. */
+    private final float interval = 1f / NetworkConfig.SPECTATOR_SNAPSHOT_RATE;
+    /** Tiempo acumulado desde la última publicación. */
+    private float accumulator;
+    /** Número de secuencia de la siguiente instantánea. */
+    private int nextSequence;
+
+    /**
+     * Crea el canal para un servidor.
+     *
+     * @param server servidor del host
+     */
+    public SpectatorFeed(NetworkServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public Collection<Class<? extends NetworkPacket>> receivablePackets() {
+        return List.of(
+                SpectatorPackets.Subscribe.class,
+                SpectatorPackets.Unsubscribe.class,
+                ServerEvents.ClientDisconnected.class);
+    }
+
+    @Override
+    public void handle(ServerPacketContext context, NetworkPacket packet) {
+        TransportConnection connection = context.getConnection();
+        if (connection == null) {
+            return;
+        }
+        if (packet instanceof SpectatorPackets.Subscribe subscribe) {
+            subscribe(connection, subscribe.relayPort, subscribe.relayUdpPort);
+        } else {
+            unsubscribe(connection);
+        }
+    }
+
+    /**
+     * Indica si hay espectadores suscritos.
+     *
+     * @return true si hay al menos un suscriptor
+     */
+    public synchronized boolean hasSubscribers() {
+        return subscribers.size > 0;
+    }
+
+    /**
+     * Publica una instantánea si ha pasado el intervalo de publicación.
+     * <p>
+     * Se llama en cada frame desde el hilo de render del host.
+     *
+     * @param delta  tiempo transcurrido desde el último frame
+     * @param source minijuego que describe su estado
+     */
+    public void publish(float delta, SpectatorSnapshotSource source) {
+        accumulator += delta;
+        if (accumulator < interval) {
+            return;
+        }
+        accumulator %= interval;
+
+        Subscriber[] targets;
+        synchronized (this) {
+            if (roots.isEmpty()) {
+                return;
+            }
+            targets = roots.toArray(new Subscriber[0]);
+        }
+
+        frame.clear();
+        source.writeSpectatorSnapshot(frame);
+        output.clear();
+        frame.write(output);
+
+        SpectatorPackets.Snapshot snapshot = new SpectatorPackets.Snapshot();
+        snapshot.sequence = nextSequence++;
+        snapshot.rawLength = output.position();
+        snapshot.data = compress(output.getBuffer(), output.position());
+        for (Subscriber target : targets) {
+            server.send(target.connection, snapshot);
+        }
+    }
+
+    /**
+     * Añade un espectador al árbol.
+     *
+     * @param connection conexión del espectador
+     * @param relayPort    puerto TCP de retransmisión que abrió el espectador, o 0
+     * @param relayUdpPort puerto UDP de retransmisión que abrió el espectador
+     */
+    private synchronized void subscribe(TransportConnection connection, int relayPort, int relayUdpPort) {
+        if (subscribers.containsKey(connection.getID())) {
+            return;
+        }
+        InetSocketAddress remote = connection.getRemoteAddress();
+        String address = remote != null ? remote.getAddress().getHostAddress() : null;
+        Subscriber subscriber = new Subscriber(connection, address, relayPort, relayUdpPort);
+        subscribers.put(connection.getID(), subscriber);
+        server.setFeedSubscriber(connection, true);
+        attach(subscriber);
+        Gdx.app.log("SpectatorFeed", "Spectator " + connection.getID() + " subscribed"
+                + (subscriber.parent != null ? " via relay " + subscriber.parent.connection.getID() : ""));
+    }
+
+    /**
+     * Quita un espectador del árbol y reasigna a sus hijos.
+     *
+     * @param connection conexión del espectador
+     */
+    private synchronized void unsubscribe(TransportConnection connection) {
+        Subscriber subscriber = subscribers.remove(connection.getID());
+        if (subscriber == null) {
+            return;
+        }
+        server.setFeedSubscriber(connection, false);
+        if (subscriber.parent != null) {
+            subscriber.parent.children.remove(subscriber);
+        } else {
+            roots.remove(subscriber);
+        }
+        List<Subscriber> orphans = new ArrayList<>(subscriber.children);
+        subscriber.children.clear();
+        for (Subscriber orphan : orphans) {
+            orphan.parent = null;
+            attach(orphan);
+        }
+        Gdx.app.log("SpectatorFeed", "Spectator " + connection.getID() + " unsubscribed, reassigned "
+                + orphans.size() + " relayed spectators");
+    }
+
+    /**
+     * Coloca un espectador en el nodo libre más cercano al host y le comunica
+     * de quién debe recibir.
+     *
+     * @param subscriber espectador a colocar
+     */
+    private void attach(Subscriber subscriber) {
+        Subscriber parent = findParent();
+        subscriber.parent = parent;
+        if (parent == null) {
+            roots.add(subscriber);
+        } else {
+            parent.children.add(subscriber);
+        }
+
+        SpectatorPackets.RelayAssignment assignment = new SpectatorPackets.RelayAssignment();
+        if (parent != null) {
+            assignment.parentHost = parent.address;
+            assignment.parentPort = parent.relayPort;
+            assignment.parentUdpPort = parent.relayUdpPort;
+        }
+        server.send(subscriber.connection, assignment);
+    }
+
+    /**
+     * Busca en anchura el primer nodo con capacidad libre.
+     *
+     * @return nodo padre, o null para recibir directamente del host
+     */
+    private Subscriber findParent() {
+        if (roots.size() < NetworkConfig.SPECTATOR_FANOUT) {
+            return null;
+        }
+        ArrayDeque<Subscriber> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            Subscriber candidate = queue.poll();
+            if (candidate.canRelay() && candidate.children.size() < NetworkConfig.SPECTATOR_FANOUT) {
+                return candidate;
+            }
+            queue.addAll(candidate.children);
+        }
+        return null;
+    }
+
+    /**
+     * Comprime la instantánea serializada.
+     *
+     * @param data   bytes sin comprimir
+     * @param length número de bytes válidos
+     * @return copia comprimida
+     */
+    private byte[] compress(byte[] data, int length) {
+        deflater.reset();
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            size += deflater.deflate(compressed, size, compressed.length - size);
+        }
+        return Arrays.copyOf(compressed, size);
+    }
+
+    /**
+     * Libera el compresor.
+     */
+    public void dispose() {
+        deflater.end();
+    }
+}
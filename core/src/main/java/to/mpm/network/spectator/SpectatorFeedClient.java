@@ -0,0 +1,238 @@
+package to.mpm.network.spectator;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.io.Input;
+import to.mpm.network.ClientTransport;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.NetworkManager;
+import to.mpm.network.NetworkPacket;
+import to.mpm.network.PacketFragmenter;
+import to.mpm.network.PacketReassembler;
+import to.mpm.network.Packets;
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+import to.mpm.network.handlers.ClientPacketContext;
+import to.mpm.network.handlers.ClientPacketHandler;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Receptor del canal de instantáneas (lado del espectador).
+ * <p>
+ * Se suscribe al host, recibe las instantáneas del host o del espectador que
+ * le asigne y, si puede abrir un servidor de retransmisión, las retransmite
+ * sin descomprimir a los espectadores que el host le asigne como hijos. El
+ * servidor escucha en puertos elegidos por el sistema, que se anuncian al host
+ * al suscribirse, así que varios espectadores pueden convivir en una máquina.
+ */
+public class SpectatorFeedClient implements ClientPacketHandler {
+    /** Interpolador con las instantáneas recibidas. */
+    private final SnapshotInterpolator interpolator =
+            new SnapshotInterpolator(1f / NetworkConfig.SPECTATOR_SNAPSHOT_RATE);
+    /** Descompresor reutilizado. */
+    private final Inflater inflater = new Inflater();
+    /** Buffer de descompresión reutilizado. */
+    private byte[] inflated = new byte[1024];
+    /** Divisor de las instantáneas retransmitidas. */
+    private final PacketFragmenter fragmenter = new PacketFragmenter();
+    /** Reensamblador de las instantáneas recibidas del espectador padre. */
+    private final PacketReassembler reassembler = new PacketReassembler();
+    /** Servidor de retransmisión, o null si no se pudo abrir. */
+    private ServerTransport relayServer;
+    /** Conexión con el espectador padre, o null si se recibe del host. */
+    private volatile ClientTransport upstream;
+    /** Última secuencia aplicada. */
+    private int lastSequence = -1;
+    /** Última secuencia retransmitida. */
+    private volatile int lastRelayedSequence = -1;
+    /** Indica si el receptor sigue activo. */
+    private volatile boolean running;
+
+    /**
+     * Abre el puerto de retransmisión y se suscribe al canal del host.
+     */
+    public void start() {
+        running = true;
+        openRelay();
+        NetworkManager.getInstance().registerClientHandler(this);
+
+        SpectatorPackets.Subscribe subscribe = new SpectatorPackets.Subscribe();
+        if (relayServer != null) {
+            subscribe.relayPort = relayServer.getTcpPort();
+            subscribe.relayUdpPort = relayServer.getUdpPort();
+        }
+        NetworkManager.getInstance().sendPacket(subscribe);
+    }
+
+    /**
+     * Cancela la suscripción y cierra las conexiones de retransmisión.
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        NetworkManager.getInstance().unregisterClientHandler(this);
+        NetworkManager.getInstance().sendPacket(new SpectatorPackets.Unsubscribe());
+        closeUpstream();
+        if (relayServer != null) {
+            relayServer.close();
+            relayServer = null;
+        }
+        inflater.end();
+    }
+
+    /**
+     * Indica si ya se recibió alguna instantánea.
+     *
+     * @return true si hay estado que mostrar
+     */
+    public boolean hasFrame() {
+        return interpolator.hasFrame();
+    }
+
+    /**
+     * Avanza la interpolación y devuelve la vista actual.
+     *
+     * @param delta tiempo transcurrido desde el último frame
+     * @return vista interpolada
+     */
+    public SnapshotInterpolator advance(float delta) {
+        interpolator.advance(delta);
+        return interpolator;
+    }
+
+    @Override
+    public Collection<Class<? extends NetworkPacket>> receivablePackets() {
+        return List.of(SpectatorPackets.Snapshot.class, SpectatorPackets.RelayAssignment.class);
+    }
+
+    @Override
+    public void handle(ClientPacketContext context, NetworkPacket packet) {
+        if (packet instanceof SpectatorPackets.Snapshot snapshot) {
+            relay(snapshot);
+            apply(snapshot);
+        } else if (packet instanceof SpectatorPackets.RelayAssignment assignment) {
+            connectUpstream(assignment.parentHost, assignment.parentPort, assignment.parentUdpPort);
+        }
+    }
+
+    /**
+     * Abre el servidor de retransmisión en puertos elegidos por el sistema.
+     * Si no se puede abrir, el espectador solo recibe.
+     */
+    private void openRelay() {
+        ServerTransport relay = NetworkConfig.TRANSPORT.createServer();
+        try {
+            relay.bind(0, 0);
+            relayServer = relay;
+            Gdx.app.log("SpectatorFeedClient", "Relaying on TCP " + relay.getTcpPort() + ", UDP " + relay.getUdpPort());
+        } catch (IOException e) {
+            relay.close();
+            Gdx.app.log("SpectatorFeedClient", "Relay unavailable, receiving only: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cambia la fuente de las instantáneas.
+     *
+     * @param host    dirección del espectador padre, o null para recibir del host
+     * @param port    puerto TCP de retransmisión del padre
+     * @param udpPort puerto UDP de retransmisión del padre
+     */
+    private void connectUpstream(String host, int port, int udpPort) {
+        closeUpstream();
+        if (host == null || !running) {
+            Gdx.app.log("SpectatorFeedClient", "Receiving snapshots directly from host");
+            return;
+        }
+        ClientTransport client = NetworkConfig.TRANSPORT.createClient();
+        client.setListener(new TransportListener() {
+            @Override
+            public void received(TransportConnection connection, Object object) {
+                if (object instanceof Packets.Fragment fragment) {
+                    object = reassembler.accept(connection.getID(), fragment);
+                }
+                if (object instanceof SpectatorPackets.Snapshot snapshot) {
+                    relay(snapshot);
+                    Gdx.app.postRunnable(() -> apply(snapshot));
+                }
+            }
+        });
+        upstream = client;
+        Thread connector = new Thread(() -> {
+            try {
+                client.connect(host, port, udpPort, NetworkConfig.TIMEOUT_MS);
+                Gdx.app.log("SpectatorFeedClient", "Receiving snapshots via relay " + host + ":" + port);
+            } catch (IOException e) {
+                Gdx.app.error("SpectatorFeedClient", "Failed to reach relay " + host + ":" + port, e);
+            }
+        }, "SpectatorRelayConnect");
+        connector.setDaemon(true);
+        connector.start();
+    }
+
+    /**
+     * Cierra la conexión con el espectador padre, si existe.
+     */
+    private void closeUpstream() {
+        ClientTransport client = upstream;
+        upstream = null;
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    /**
+     * Reenvía una instantánea comprimida a los hijos de este nodo.
+     *
+     * @param snapshot instantánea recibida
+     */
+    private void relay(SpectatorPackets.Snapshot snapshot) {
+        ServerTransport relay = relayServer;
+        if (relay == null || snapshot.sequence <= lastRelayedSequence) {
+            return;
+        }
+        lastRelayedSequence = snapshot.sequence;
+        Packets.Fragment[] fragments = fragmenter.split(snapshot);
+        if (fragments == null) {
+            relay.sendToAll(-1, snapshot, Transports.UDP);
+            return;
+        }
+        for (Packets.Fragment fragment : fragments) {
+            relay.sendToAll(-1, fragment, Transports.UDP);
+        }
+    }
+
+    /**
+     * Descomprime una instantánea en el interpolador, descartando las
+     * atrasadas. Se ejecuta en el hilo de render.
+     *
+     * @param snapshot instantánea recibida
+     */
+    private void apply(SpectatorPackets.Snapshot snapshot) {
+        if (!running || snapshot.sequence <= lastSequence) {
+            return;
+        }
+        if (inflated.length < snapshot.rawLength) {
+            inflated = new byte[snapshot.rawLength];
+        }
+        try {
+            inflater.reset();
+            inflater.setInput(snapshot.data);
+            int length = inflater.inflate(inflated, 0, snapshot.rawLength);
+            SnapshotFrame frame = interpolator.acquire();
+            frame.read(new Input(inflated, 0, length));
+            interpolator.push();
+            lastSequence = snapshot.sequence;
+        } catch (DataFormatException e) {
+            Gdx.app.error("SpectatorFeedClient", "Corrupt snapshot " + snapshot.sequence, e);
+        }
+    }
+}
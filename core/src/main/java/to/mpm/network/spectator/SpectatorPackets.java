@@ -0,0 +1,67 @@
+package to.mpm.network.spectator;
+
+import to.mpm.network.NetworkPacket;
+import to.mpm.network.Transports;
+
+/**
+ * Paquetes del canal de espectadores.
+ * <p>
+ * Los espectadores suscritos reciben instantáneas comprimidas a baja frecuencia
+ * en lugar del tráfico por frame de los jugadores.
+ */
+public final class SpectatorPackets {
+    /**
+     * Constructor privado para evitar la instanciación.
+     */
+    private SpectatorPackets() {
+    }
+
+    /**
+     * Solicitud de un espectador para recibir el canal de instantáneas.
+     */
+    public static class Subscribe extends NetworkPacket {
+        /** Puerto TCP en el que el espectador retransmite, o 0 si no retransmite. */
+        public int relayPort;
+        /** Puerto UDP en el que el espectador retransmite. */
+        public int relayUdpPort;
+    }
+
+    /**
+     * Aviso de que un espectador deja de recibir el canal.
+     */
+    public static class Unsubscribe extends NetworkPacket {
+    }
+
+    /**
+     * Indica al espectador de quién debe recibir las instantáneas.
+     */
+    public static class RelayAssignment extends NetworkPacket {
+        /** Dirección del espectador que retransmite, o null para recibir del host. */
+        public String parentHost;
+        /** Puerto TCP del espectador que retransmite. */
+        public int parentPort;
+        /** Puerto UDP del espectador que retransmite. */
+        public int parentUdpPort;
+    }
+
+    /**
+     * Instantánea comprimida del estado del minijuego.
+     * <p>
+     * Crece con el número de jugadores, por lo que se fragmenta si no cabe en
+     * un datagrama.
+     */
+    public static class Snapshot extends NetworkPacket {
+        /** Número de secuencia creciente. */
+        public int sequence;
+        /** Tamaño de los datos sin comprimir. */
+        public int rawLength;
+        /** Datos del {@link SnapshotFrame} comprimidos con Deflate. */
+        public byte[] data;
+
+        /** Constructor por defecto que prefiere UDP. */
+        public Snapshot() {
+            preferTransport(Transports.UDP);
+            allowFragmentation();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package to.mpm.network.spectator;
+
+/**
+ * Minijuego capaz de describir su estado en instantáneas para espectadores.
+ * <p>
+ * El host escribe las instantáneas y los espectadores las aplican en lugar de
+ * ejecutar la simulación completa.
+ */
+public interface SpectatorSnapshotSource {
+    /**
+     * Escribe el estado actual en una instantánea (lado del host).
+     *
+     * @param frame instantánea vacía a rellenar
+     */
+    void writeSpectatorSnapshot(SnapshotFrame frame);
+
+    /**
+     * Aplica el estado interpolado al minijuego local (lado del espectador).
+     *
+     * @param view  vista interpolada de las dos últimas instantáneas
+     * @param delta tiempo transcurrido desde el último frame
+     */
+    void applySpectatorSnapshot(SnapshotInterpolator view, float delta);
+}
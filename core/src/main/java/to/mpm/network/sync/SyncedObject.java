@@ -8,9 +8,11 @@ import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.network.handlers.ServerPacketContext;
 import to.mpm.network.handlers.ServerPacketHandler;
+import to.mpm.network.room.RoomContext;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,19 +22,29 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * Esta clase asigna un identificador único {@code objectId} a cada instancia
  * para identificarla en mensajes {@link Packets.SyncUpdate}.
+ * <p>
+ * Los campos anotados con {@link Synchronized} se buscan una vez por clase, y
+ * los de tipo {@code float}, {@code int} y {@code boolean} se comparan sin
+ * empaquetarlos, así que {@link #update()} no asigna memoria mientras nada
+ * cambia.
+ * <p>
+ * El registro de objetos y sus manejadores son del proceso, salvo en el hilo
+ * de una sala de un servidor de salas, donde cada sala tiene el suyo.
  */
 public class SyncedObject {
-    /** Registro de todos los objetos sincronizados por ID. */
-    private static final Map<UUID, SyncedObject> syncedObjects = new ConcurrentHashMap<>();
-    /** Handler global del lado del cliente. */
-    private static ClientPacketHandler clientHandler;
-    /** Handler global del lado del servidor. */
-    private static ServerPacketHandler serverHandler;
+    /** Registro del proceso, usado fuera de las salas. */
+    private static final Registry processRegistry = new Registry();
+    /** Campos sincronizados de cada clase, en orden de declaración. */
+    private static final Map<Class<?>, Field[]> synchronizedFields = new ConcurrentHashMap<>();
 
+    /** Registro donde está este objeto. */
+    private final Registry registry;
     /** ID único para este objeto sincronizado. */
     private final UUID objectId;
-    /** Últimos valores conocidos de los campos sincronizados. */
-    private final Map<String, Object> lastKnownValues;
+    /** Campos sincronizados de esta clase. */
+    private final Field[] fields;
+    /** Últimos valores conocidos de los campos sincronizados, en el orden de {@link #fields}. */
+    private final Object[] lastKnownValues;
     /** True si esta instancia debe enviar actualizaciones. */
     private boolean isLocallyOwned;
 
@@ -45,20 +57,18 @@ public class SyncedObject {
     public SyncedObject(boolean isLocallyOwned) {
         this.objectId = UUID.randomUUID();
         this.isLocallyOwned = isLocallyOwned;
-        this.lastKnownValues = new HashMap<>();
+        this.fields = synchronizedFields.computeIfAbsent(getClass(), SyncedObject::findSynchronizedFields);
+        this.lastKnownValues = new Object[fields.length];
+        this.registry = registry();
 
-        syncedObjects.put(objectId, this);
-        ensureHandlersRegistered();
+        registry.objects.put(objectId, this);
+        registry.ensureHandlersRegistered();
 
-        for (Field field : getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Synchronized.class)) {
-                field.setAccessible(true);
-                try {
-                    Object value = field.get(this);
-                    lastKnownValues.put(field.getName(), value);
-                } catch (IllegalAccessException e) {
-                    Gdx.app.error("SyncedObject", "No se pudo leer el campo: " + field.getName(), e);
-                }
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                lastKnownValues[i] = fields[i].get(this);
+            } catch (IllegalAccessException e) {
+                Gdx.app.error("SyncedObject", "No se pudo leer el campo: " + fields[i].getName(), e);
             }
         }
 
@@ -68,33 +78,37 @@ public class SyncedObject {
     }
 
     /**
-     * Limpia todos los objetos sincronizados.
+     * Busca los campos anotados con {@link Synchronized} de una clase.
+     *
+     * @param type clase a inspeccionar
+     * @return campos accesibles, en orden de declaración
      */
-    public static void clearAll() {
-        syncedObjects.clear();
-        NetworkManager nm = NetworkManager.getInstance();
-        if (clientHandler != null) {
-            nm.unregisterClientHandler(clientHandler);
-            clientHandler = null;
-        }
-        if (serverHandler != null) {
-            nm.unregisterServerHandler(serverHandler);
-            serverHandler = null;
+    private static Field[] findSynchronizedFields(Class<?> type) {
+        List<Field> found = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Synchronized.class)) {
+                field.setAccessible(true);
+                found.add(field);
+            }
         }
+        return found.toArray(new Field[0]);
     }
 
     /**
-     * Manejador estático global para todos los paquetes SyncUpdate.
-     * <p>
-     * Envía al objeto SyncedObject correcto.
-     * 
-     * @param packet el paquete de actualización de sincronización
+     * Obtiene el registro del hilo actual.
+     *
+     * @return registro de la sala del hilo, o el del proceso
      */
-    private static void handleGlobalSyncUpdate(Packets.SyncUpdate packet) {
-        SyncedObject obj = syncedObjects.get(packet.objectId);
-        if (obj != null && !obj.isLocallyOwned) {
-            obj.applySyncUpdate(packet.fieldName, packet.value);
-        }
+    private static Registry registry() {
+        Registry scoped = RoomContext.scoped(Registry.class, Registry::new);
+        return scoped != null ? scoped : processRegistry;
+    }
+
+    /**
+     * Limpia todos los objetos sincronizados.
+     */
+    public static void clearAll() {
+        registry().clear();
     }
 
     /**
@@ -106,24 +120,41 @@ public class SyncedObject {
             return;
         }
 
-        for (Field field : getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Synchronized.class)) {
-                field.setAccessible(true);
-                try {
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            try {
+                if (!matchesLastValue(field, lastKnownValues[i])) {
                     Object currentValue = field.get(this);
-                    Object lastValue = lastKnownValues.get(field.getName());
-
-                    if (!valueEquals(currentValue, lastValue)) {
-                        lastKnownValues.put(field.getName(), currentValue);
-                        sendSyncUpdate(field.getName(), currentValue);
-                    }
-                } catch (IllegalAccessException e) {
-                    Gdx.app.error("SyncedObject", "No se pudo leer el campo: " + field.getName(), e);
+                    lastKnownValues[i] = currentValue;
+                    sendSyncUpdate(field.getName(), currentValue);
                 }
+            } catch (IllegalAccessException e) {
+                Gdx.app.error("SyncedObject", "No se pudo leer el campo: " + field.getName(), e);
             }
         }
     }
 
+    /**
+     * Compara el valor actual de un campo con el último conocido, leyendo los
+     * tipos primitivos habituales sin empaquetarlos.
+     *
+     * @param field     campo sincronizado
+     * @param lastValue último valor conocido
+     * @return true si el valor no cambió
+     * @throws IllegalAccessException si el campo no se puede leer
+     */
+    private boolean matchesLastValue(Field field, Object lastValue) throws IllegalAccessException {
+        Class<?> type = field.getType();
+        if (type == float.class) {
+            return lastValue instanceof Float last && Float.compare(last, field.getFloat(this)) == 0;
+        } else if (type == int.class) {
+            return lastValue instanceof Integer last && last == field.getInt(this);
+        } else if (type == boolean.class) {
+            return lastValue instanceof Boolean last && last == field.getBoolean(this);
+        }
+        return valueEquals(field.get(this), lastValue);
+    }
+
     /**
      * Envía una actualización de sincronización para un campo específico a los
      * pares remotos.
@@ -147,14 +178,18 @@ public class SyncedObject {
      * @param value     nuevo valor a asignar
      */
     private void applySyncUpdate(String fieldName, Object value) {
-        try {
-            Field field = getClass().getDeclaredField(fieldName);
-            field.setAccessible(true);
-            field.set(this, value);
-            lastKnownValues.put(fieldName, value);
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            Gdx.app.error("SyncedObject", "No se pudo aplicar la actualización de sincronización: " + fieldName, e);
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equals(fieldName)) {
+                try {
+                    fields[i].set(this, value);
+                    lastKnownValues[i] = value;
+                } catch (IllegalAccessException | IllegalArgumentException e) {
+                    Gdx.app.error("SyncedObject", "No se pudo aplicar la actualización de sincronización: " + fieldName, e);
+                }
+                return;
+            }
         }
+        Gdx.app.error("SyncedObject", "Campo sincronizado desconocido: " + fieldName);
     }
 
     /**
@@ -208,10 +243,10 @@ public class SyncedObject {
     }
 
     /**
-     * Limpia y elimina este objeto del registro global.
+     * Limpia y elimina este objeto de su registro.
      */
     public void dispose() {
-        syncedObjects.remove(objectId);
+        registry.objects.remove(objectId);
     }
 
     /**
@@ -225,17 +260,57 @@ public class SyncedObject {
     }
 
     /**
-     * Asegura que los manejadores globales estén registrados.
+     * Objetos sincronizados de una partida y sus manejadores de red.
      */
-    private void ensureHandlersRegistered() {
-        NetworkManager nm = NetworkManager.getInstance();
-        if (clientHandler == null) {
-            clientHandler = new SyncClientHandler();
-            nm.registerClientHandler(clientHandler);
+    private static final class Registry {
+        /** Objetos sincronizados por ID. */
+        private final Map<UUID, SyncedObject> objects = new ConcurrentHashMap<>();
+        /** Handler del lado del cliente, o null si no se registró. */
+        private ClientPacketHandler clientHandler;
+        /** Handler del lado del servidor, o null si no se registró. */
+        private ServerPacketHandler serverHandler;
+
+        /**
+         * Asegura que los manejadores estén registrados.
+         */
+        private void ensureHandlersRegistered() {
+            NetworkManager nm = NetworkManager.getInstance();
+            if (clientHandler == null) {
+                clientHandler = new SyncClientHandler(this);
+                nm.registerClientHandler(clientHandler);
+            }
+            if (serverHandler == null && nm.isHost()) {
+                serverHandler = new SyncServerRelay();
+                nm.registerServerHandler(serverHandler);
+            }
         }
-        if (serverHandler == null && nm.isHost()) {
-            serverHandler = new SyncServerRelay();
-            nm.registerServerHandler(serverHandler);
+
+        /**
+         * Olvida los objetos y desregistra los manejadores.
+         */
+        private void clear() {
+            objects.clear();
+            NetworkManager nm = NetworkManager.getInstance();
+            if (clientHandler != null) {
+                nm.unregisterClientHandler(clientHandler);
+                clientHandler = null;
+            }
+            if (serverHandler != null) {
+                nm.unregisterServerHandler(serverHandler);
+                serverHandler = null;
+            }
+        }
+
+        /**
+         * Aplica un paquete SyncUpdate al objeto correcto.
+         *
+         * @param packet el paquete de actualización de sincronización
+         */
+        private void apply(Packets.SyncUpdate packet) {
+            SyncedObject obj = objects.get(packet.objectId);
+            if (obj != null && !obj.isLocallyOwned) {
+                obj.applySyncUpdate(packet.fieldName, packet.value);
+            }
         }
     }
 
@@ -244,6 +319,13 @@ public class SyncedObject {
      * sincronización.
      */
     private static final class SyncClientHandler implements ClientPacketHandler {
+        /** Registro cuyos objetos reciben las actualizaciones. */
+        private final Registry registry;
+
+        private SyncClientHandler(Registry registry) {
+            this.registry = registry;
+        }
+
         @Override
         public java.util.Collection<Class<? extends NetworkPacket>> receivablePackets() {
             return java.util.List.of(Packets.SyncUpdate.class, Packets.SyncedObjectCreated.class);
@@ -252,7 +334,7 @@ public class SyncedObject {
         @Override
         public void handle(ClientPacketContext context, NetworkPacket packet) {
             if (packet instanceof Packets.SyncUpdate update) {
-                handleGlobalSyncUpdate(update);
+                registry.apply(update);
             } else if (packet instanceof Packets.SyncedObjectCreated created) {
                 Gdx.app.log("SyncedObject",
                         "Remote object announced: " + created.objectId + " (" + created.objectType + ")");
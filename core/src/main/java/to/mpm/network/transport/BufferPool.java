@@ -0,0 +1,76 @@
+package to.mpm.network.transport;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reserva de buffers directos de tamaño fijo.
+ * <p>
+ * Reservar un buffer directo es caro y su memoria queda fuera del heap hasta
+ * que el recolector lo libera, así que los buffers de envío y recepción se
+ * devuelven aquí en lugar de crearse por paquete.
+ */
+public final class BufferPool {
+    /** Tamaño de cada buffer en bytes. */
+    private final int bufferSize;
+    /** Número máximo de buffers libres retenidos. */
+    private final int maxPooled;
+    /** Buffers libres. */
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    /** Número de buffers libres. */
+    private final AtomicInteger pooled = new AtomicInteger();
+    /** Número de buffers creados. */
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    /**
+     * Crea una reserva vacía.
+     *
+     * @param bufferSize tamaño de cada buffer en bytes
+     * @param maxPooled  número máximo de buffers libres retenidos
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Obtiene un buffer vacío.
+     *
+     * @return buffer directo listo para escribir
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            allocated.incrementAndGet();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Devuelve un buffer que ya no se usa.
+     *
+     * @param buffer buffer obtenido con {@link #acquire()}
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize || !buffer.isDirect()) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            free.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getAllocatedCount() {
+        return allocated.get();
+    }
+}
@@ -0,0 +1,64 @@
+package to.mpm.network.transport;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Envoltorio que serializa un objeto una sola vez para enviarlo a muchas
+ * conexiones de KryoNet.
+ * <p>
+ * KryoNet serializa el objeto de nuevo en cada conexión. Con este envoltorio
+ * la primera serialización guarda los bytes del objeto interno y las
+ * siguientes solo los copian en el buffer de la conexión. El receptor lee el
+ * objeto interno directamente, así que los manejadores nunca ven el
+ * envoltorio.
+ */
+public final class EncodedPacket {
+    /** Objeto envuelto. */
+    private final Object object;
+    /** Bytes del objeto, o null hasta la primera serialización. */
+    private byte[] encoded;
+
+    /**
+     * Envuelve un objeto para un único envío múltiple.
+     *
+     * @param object objeto a enviar
+     */
+    public EncodedPacket(Object object) {
+        this.object = object;
+    }
+
+    /**
+     * Obtiene los bytes del objeto, serializándolo la primera vez.
+     *
+     * @param kryo instancia con la que se serializa
+     * @return bytes compartidos por todos los envíos
+     */
+    private synchronized byte[] encode(Kryo kryo) {
+        if (encoded == null) {
+            Output output = new Output(256, -1);
+            kryo.writeClassAndObject(output, object);
+            encoded = output.toBytes();
+        }
+        return encoded;
+    }
+
+    /**
+     * Serializador que escribe los bytes guardados y, al leer, devuelve el
+     * objeto interno.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static final class EncodedSerializer extends Serializer {
+        @Override
+        public void write(Kryo kryo, Output output, Object object) {
+            output.writeBytes(((EncodedPacket) object).encode(kryo));
+        }
+
+        @Override
+        public Object read(Kryo kryo, Input input, Class type) {
+            return kryo.readClassAndObject(input);
+        }
+    }
+}
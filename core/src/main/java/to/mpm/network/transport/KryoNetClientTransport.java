@@ -0,0 +1,101 @@
+package to.mpm.network.transport;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryonet.Client;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.Listener;
+import to.mpm.network.ClientTransport;
+import to.mpm.network.KryoClassRegistrar;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Transporte de cliente basado en KryoNet.
+ */
+public class KryoNetClientTransport implements ClientTransport {
+    /** Cliente de KryoNet. */
+    private final Client client;
+    /** Receptor de eventos. */
+    private volatile TransportListener listener = new TransportListener() {
+    };
+
+    /**
+     * Crea el transporte con las clases centrales registradas.
+     */
+    public KryoNetClientTransport() {
+        client = new Client(NetworkConfig.UDP_BUFFER_SIZE, NetworkConfig.UDP_BUFFER_SIZE);
+        KryoClassRegistrar.registerCoreClasses(client.getKryo());
+        client.addListener(new Listener() {
+            @Override
+            public void connected(Connection connection) {
+                listener.connected(KryoNetClientTransport.this);
+            }
+
+            @Override
+            public void received(Connection connection, Object object) {
+                listener.received(KryoNetClientTransport.this, object);
+            }
+
+            @Override
+            public void disconnected(Connection connection) {
+                listener.disconnected(KryoNetClientTransport.this);
+            }
+        });
+    }
+
+    @Override
+    public void setListener(TransportListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void register(Class<?>... classes) {
+        Kryo kryo = client.getKryo();
+        for (Class<?> clazz : classes) {
+            kryo.register(clazz);
+        }
+    }
+
+    @Override
+    public void connect(String host, int tcpPort, int udpPort, int timeoutMs) throws IOException {
+        client.start();
+        client.connect(timeoutMs, host, tcpPort, udpPort);
+    }
+
+    @Override
+    public List<InetAddress> discoverHosts(int udpPort, int timeoutMs) {
+        return client.discoverHosts(udpPort, timeoutMs);
+    }
+
+    @Override
+    public int getID() {
+        return client.getID();
+    }
+
+    @Override
+    public int send(Object object, Transports transport) {
+        return transport == Transports.UDP ? client.sendUDP(object) : client.sendTCP(object);
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return client.getRemoteAddressTCP();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return client.isConnected();
+    }
+
+    @Override
+    public void close() {
+        client.stop();
+        client.close();
+    }
+}
@@ -0,0 +1,44 @@
+package to.mpm.network.transport;
+
+import com.esotericsoftware.kryonet.Connection;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.Transports;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Adaptador de una conexión de KryoNet.
+ */
+final class KryoNetConnection implements TransportConnection {
+    /** Conexión de KryoNet adaptada. */
+    private final Connection connection;
+
+    KryoNetConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public int getID() {
+        return connection.getID();
+    }
+
+    @Override
+    public int send(Object object, Transports transport) {
+        return transport == Transports.UDP ? connection.sendUDP(object) : connection.sendTCP(object);
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return connection.getRemoteAddressTCP();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connection.isConnected();
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+    }
+}
@@ -0,0 +1,193 @@
+package to.mpm.network.transport;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.Listener;
+import com.esotericsoftware.kryonet.Server;
+import to.mpm.network.KryoClassRegistrar;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.ServerSocket;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Transporte de servidor basado en KryoNet.
+ * <p>
+ * Un único hilo de actualización selecciona los sockets, deserializa y llama
+ * al receptor para todas las conexiones. Los envíos múltiples se envuelven en
+ * {@link EncodedPacket} para serializar el objeto una sola vez.
+ */
+public class KryoNetServerTransport implements ServerTransport {
+    /** Intentos de abrir un puerto elegido por el sistema antes de rendirse. */
+    private static final int EPHEMERAL_BIND_ATTEMPTS = 5;
+
+    /** Servidor de KryoNet. */
+    private final Server server;
+    /** Adaptadores por ID de conexión. */
+    private final ConcurrentHashMap<Integer, KryoNetConnection> adapters = new ConcurrentHashMap<>();
+    /** Receptor de eventos. */
+    private volatile TransportListener listener = new TransportListener() {
+    };
+    /** Puerto TCP abierto, o 0. */
+    private volatile int tcpPort;
+    /** Puerto UDP abierto, o 0. */
+    private volatile int udpPort;
+
+    /**
+     * Crea el transporte con las clases centrales registradas.
+     */
+    public KryoNetServerTransport() {
+        server = new Server(NetworkConfig.UDP_BUFFER_SIZE, NetworkConfig.UDP_BUFFER_SIZE);
+        KryoClassRegistrar.registerCoreClasses(server.getKryo());
+        server.addListener(new Listener() {
+            @Override
+            public void connected(Connection connection) {
+                listener.connected(adapt(connection));
+            }
+
+            @Override
+            public void received(Connection connection, Object object) {
+                listener.received(adapt(connection), object);
+            }
+
+            @Override
+            public void disconnected(Connection connection) {
+                listener.disconnected(adapt(connection));
+                adapters.remove(connection.getID());
+            }
+        });
+    }
+
+    @Override
+    public void setListener(TransportListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void register(Class<?>... classes) {
+        Kryo kryo = server.getKryo();
+        for (Class<?> clazz : classes) {
+            kryo.register(clazz);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * KryoNet no expone los puertos que abre, así que el puerto 0 se resuelve
+     * aquí: se pide al sistema un puerto libre y se reintenta si otro proceso
+     * lo ocupa antes del bind.
+     */
+    @Override
+    public void bind(int tcpPort, int udpPort) throws IOException {
+        IOException failure = null;
+        int attempts = tcpPort == 0 || udpPort == 0 ? EPHEMERAL_BIND_ATTEMPTS : 1;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            int tcp = tcpPort != 0 ? tcpPort : freeTcpPort();
+            int udp = udpPort != 0 ? udpPort : freeUdpPort();
+            try {
+                server.bind(tcp, udp);
+                this.tcpPort = tcp;
+                this.udpPort = udp;
+                server.start();
+                return;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    @Override
+    public int getTcpPort() {
+        return tcpPort;
+    }
+
+    @Override
+    public int getUdpPort() {
+        return udpPort;
+    }
+
+    @Override
+    public TransportConnection[] getConnections() {
+        Connection[] connections = server.getConnections();
+        TransportConnection[] result = new TransportConnection[connections.length];
+        for (int i = 0; i < connections.length; i++) {
+            result[i] = adapt(connections[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void sendToAll(int exceptId, Object object, Transports transport) {
+        object = new EncodedPacket(object);
+        if (transport == Transports.UDP) {
+            if (exceptId < 0) {
+                server.sendToAllUDP(object);
+            } else {
+                server.sendToAllExceptUDP(exceptId, object);
+            }
+        } else if (exceptId < 0) {
+            server.sendToAllTCP(object);
+        } else {
+            server.sendToAllExceptTCP(exceptId, object);
+        }
+    }
+
+    @Override
+    public void sendTo(TransportConnection[] targets, int count, Object object, Transports transport) {
+        EncodedPacket encoded = new EncodedPacket(object);
+        for (int i = 0; i < count; i++) {
+            targets[i].send(encoded, transport);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+        server.close();
+        adapters.clear();
+        tcpPort = 0;
+        udpPort = 0;
+    }
+
+    /**
+     * Pide al sistema un puerto TCP libre.
+     *
+     * @return puerto libre en este momento
+     * @throws IOException si no hay puertos libres
+     */
+    private static int freeTcpPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Pide al sistema un puerto UDP libre.
+     *
+     * @return puerto libre en este momento
+     * @throws IOException si no hay puertos libres
+     */
+    private static int freeUdpPort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Obtiene el adaptador estable de una conexión de KryoNet.
+     *
+     * @param connection conexión de KryoNet
+     * @return adaptador de la conexión
+     */
+    private KryoNetConnection adapt(Connection connection) {
+        return adapters.computeIfAbsent(connection.getID(), id -> new KryoNetConnection(connection));
+    }
+}
@@ -0,0 +1,325 @@
+package to.mpm.network.transport;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.network.ClientTransport;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transporte de cliente compatible con {@link NioServerTransport}.
+ * <p>
+ * Al conectar, el servidor envía por TCP el ID de la conexión y el cliente
+ * registra su dirección UDP enviando datagramas con ese ID hasta que el
+ * servidor lo confirma.
+ */
+public class NioClientTransport implements ClientTransport {
+    /** Buffers libres retenidos por la reserva. */
+    private static final int MAX_POOLED_BUFFERS = 32;
+    /** Intervalo entre reintentos del registro UDP en milisegundos. */
+    private static final long REGISTER_RETRY_MS = 100;
+
+    /** Reserva de buffers directos. */
+    private final BufferPool pool = new BufferPool(NetworkConfig.UDP_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    /** Serializador. */
+    private final NioCodec codec = new NioCodec(pool);
+    /** Receptor de eventos. */
+    private volatile TransportListener listener = new TransportListener() {
+    };
+    /** Canal TCP. */
+    private NioStream stream;
+    /** Canal de datagramas conectado al servidor. */
+    private DatagramChannel datagramChannel;
+    /** Selector del hilo de red. */
+    private Selector selector;
+    /** Dirección TCP del servidor. */
+    private InetSocketAddress remoteAddress;
+    /** ID asignado por el servidor, o 0 hasta recibirlo. */
+    private volatile int id;
+    /** Se libera cuando el servidor confirma el registro UDP. */
+    private CountDownLatch registered;
+    /** Indica si la conexión está abierta. */
+    private volatile boolean connected;
+
+    @Override
+    public void setListener(TransportListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void register(Class<?>... classes) {
+        codec.register(classes);
+    }
+
+    @Override
+    public void connect(String host, int tcpPort, int udpPort, int timeoutMs) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        remoteAddress = new InetSocketAddress(host, tcpPort);
+        registered = new CountDownLatch(1);
+        try {
+            SocketChannel channel = SocketChannel.open();
+            channel.socket().connect(remoteAddress, timeoutMs);
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            stream = new NioStream(channel, pool);
+            datagramChannel = DatagramChannel.open();
+            datagramChannel.connect(new InetSocketAddress(remoteAddress.getAddress(), udpPort));
+            datagramChannel.configureBlocking(false);
+            selector = Selector.open();
+            stream.register(selector, stream);
+            datagramChannel.register(selector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+
+        connected = true;
+        Thread thread = new Thread(this::run, "NioClient");
+        thread.setDaemon(true);
+        thread.start();
+
+        try {
+            while (!registered.await(REGISTER_RETRY_MS, TimeUnit.MILLISECONDS)) {
+                if (!connected || System.nanoTime() > deadline) {
+                    close();
+                    throw new IOException("Timed out connecting to " + host + ":" + tcpPort);
+                }
+                if (id != 0) {
+                    sendRegistration();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IOException("Interrupted while connecting", e);
+        }
+        listener.connected(this);
+    }
+
+    @Override
+    public int getID() {
+        return id;
+    }
+
+    @Override
+    public List<InetAddress> discoverHosts(int udpPort, int timeoutMs) {
+        List<InetAddress> hosts = new ArrayList<>();
+        byte[] probe = new byte[NioCodec.DATAGRAM_HEADER_SIZE];
+        probe[0] = NioCodec.DISCOVER;
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setBroadcast(true);
+            socket.send(new DatagramPacket(probe, probe.length, InetAddress.getByName("255.255.255.255"), udpPort));
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            byte[] reply = new byte[NioCodec.DATAGRAM_HEADER_SIZE];
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                socket.setSoTimeout((int) remaining);
+                DatagramPacket packet = new DatagramPacket(reply, reply.length);
+                try {
+                    socket.receive(packet);
+                } catch (SocketTimeoutException e) {
+                    break;
+                }
+                if (packet.getLength() > 0 && reply[0] == NioCodec.DISCOVER && !hosts.contains(packet.getAddress())) {
+                    hosts.add(packet.getAddress());
+                }
+            }
+        } catch (IOException e) {
+            Gdx.app.error("NioClientTransport", "Host discovery failed", e);
+        }
+        return hosts;
+    }
+
+    @Override
+    public int send(Object object, Transports transport) {
+        if (!connected) {
+            return 0;
+        }
+        if (transport == Transports.UDP) {
+            ByteBuffer datagram = codec.encodeDatagram(NioCodec.PACKET, id, object);
+            return datagram != null ? writeDatagram(datagram) : 0;
+        }
+        ByteBuffer frame = codec.encodeFrame(NioCodec.PACKET, object, 0);
+        if (frame == null) {
+            return 0;
+        }
+        try {
+            return stream.write(frame);
+        } catch (IOException e) {
+            close();
+            return 0;
+        }
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return connected ? remoteAddress : null;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        boolean wasConnected;
+        synchronized (this) {
+            wasConnected = connected;
+            connected = false;
+        }
+        if (stream != null) {
+            stream.close();
+        }
+        if (datagramChannel != null) {
+            try {
+                datagramChannel.close();
+            } catch (IOException ignored) {
+                // Se está cerrando.
+            }
+        }
+        if (selector != null) {
+            selector.wakeup();
+        }
+        if (wasConnected) {
+            listener.disconnected(this);
+        }
+    }
+
+    /**
+     * Envía un datagrama de registro con el ID asignado.
+     */
+    private void sendRegistration() {
+        ByteBuffer datagram = codec.encodeDatagram(NioCodec.REGISTER, id, null);
+        if (datagram != null) {
+            writeDatagram(datagram);
+        }
+    }
+
+    /**
+     * Escribe un datagrama y devuelve su buffer a la reserva.
+     *
+     * @param datagram datagrama codificado
+     * @return bytes enviados
+     */
+    private int writeDatagram(ByteBuffer datagram) {
+        try {
+            return datagramChannel.write(datagram);
+        } catch (IOException e) {
+            return 0;
+        } finally {
+            pool.release(datagram);
+        }
+    }
+
+    /**
+     * Bucle del hilo de red.
+     */
+    private void run() {
+        ByteBuffer datagram = pool.acquire();
+        while (connected) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.attachment() == stream) {
+                        serviceStream(key);
+                    } else if (key.isReadable()) {
+                        receiveDatagrams(datagram);
+                    }
+                }
+            } catch (Exception e) {
+                if (connected) {
+                    Gdx.app.log("NioClientTransport", "Connection lost: " + e);
+                }
+                close();
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+            // Se está cerrando.
+        }
+    }
+
+    private void serviceStream(SelectionKey key) throws IOException {
+        if (key.isWritable()) {
+            stream.flush();
+        }
+        if (key.isValid() && key.isReadable() && !stream.read(this::handleFrame)) {
+            close();
+        }
+    }
+
+    /**
+     * Procesa una trama TCP del servidor.
+     *
+     * @param frame trama recibida
+     */
+    private void handleFrame(ByteBuffer frame) {
+        byte type = frame.get();
+        if (type == NioCodec.PACKET) {
+            listener.received(this, codec.decode(frame));
+        } else if (type == NioCodec.REGISTER) {
+            id = frame.getInt();
+            sendRegistration();
+        } else if (type == NioCodec.REGISTERED) {
+            registered.countDown();
+        }
+    }
+
+    /**
+     * Recibe los datagramas pendientes.
+     *
+     * @param buffer buffer de recepción del hilo
+     */
+    private void receiveDatagrams(ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            try {
+                if (datagramChannel.read(buffer) <= 0) {
+                    return;
+                }
+            } catch (PortUnreachableException e) {
+                return;
+            }
+            buffer.flip();
+            if (buffer.remaining() < NioCodec.DATAGRAM_HEADER_SIZE || buffer.get() != NioCodec.PACKET) {
+                continue;
+            }
+            buffer.getInt();
+            try {
+                listener.received(this, codec.decode(buffer));
+            } catch (RuntimeException e) {
+                Gdx.app.error("NioClientTransport", "Dropped malformed datagram", e);
+            }
+        }
+    }
+}
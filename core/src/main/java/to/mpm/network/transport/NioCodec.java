@@ -0,0 +1,169 @@
+package to.mpm.network.transport;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.ByteBufferInput;
+import com.esotericsoftware.kryo.io.ByteBufferOutput;
+import to.mpm.network.KryoClassRegistrar;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Formato de cable del transporte NIO.
+ * <p>
+ * Los objetos se serializan directamente en buffers directos de la reserva,
+ * sin copias intermedias, y se leen del buffer de recepción sin copiarlos.
+ * Kryo no es seguro entre hilos, así que cada hilo tiene su propia instancia;
+ * las clases registradas después de crearla se aplican en orden antes de
+ * usarla, para que los IDs coincidan en todos los hilos y extremos.
+ * <p>
+ * Trama TCP: {@code [int longitud][byte tipo][carga]}. Datagrama:
+ * {@code [byte tipo][int ID de conexión][carga]}.
+ */
+final class NioCodec {
+    /** Carga serializada con Kryo. */
+    static final byte PACKET = 0;
+    /** TCP servidor a cliente: ID asignado. UDP cliente a servidor: registro de la dirección. */
+    static final byte REGISTER = 1;
+    /** TCP servidor a cliente: dirección UDP registrada. */
+    static final byte REGISTERED = 2;
+    /** UDP: búsqueda de servidores en la red local y su respuesta, sin carga. */
+    static final byte DISCOVER = 3;
+    /** Bytes de la longitud de una trama TCP. */
+    static final int LENGTH_SIZE = 4;
+    /** Bytes de la cabecera de un datagrama. */
+    static final int DATAGRAM_HEADER_SIZE = 5;
+
+    /**
+     * Serializador de un hilo.
+     */
+    private static final class State {
+        final Kryo kryo = KryoClassRegistrar.createStandaloneKryo();
+        final ByteBufferOutput output = new ByteBufferOutput();
+        final ByteBufferInput input = new ByteBufferInput();
+        int applied;
+    }
+
+    /** Reserva de la que salen los buffers codificados. */
+    private final BufferPool pool;
+    /** Clases registradas además de las centrales, en orden. */
+    private final CopyOnWriteArrayList<Class<?>> registered = new CopyOnWriteArrayList<>();
+    /** Serializador de cada hilo. */
+    private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+
+    NioCodec(BufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Registra clases en todos los serializadores.
+     *
+     * @param classes clases a registrar
+     */
+    synchronized void register(Class<?>... classes) {
+        for (Class<?> clazz : classes) {
+            if (!registered.contains(clazz)) {
+                registered.add(clazz);
+            }
+        }
+    }
+
+    /**
+     * Codifica una trama TCP en un buffer de la reserva.
+     *
+     * @param type   tipo de trama
+     * @param object objeto a serializar, o null para una trama sin carga
+     * @param value  entero escrito como carga cuando no hay objeto
+     * @return buffer listo para escribir, o null si el objeto no cabe
+     */
+    ByteBuffer encodeFrame(byte type, Object object, int value) {
+        ByteBuffer buffer = pool.acquire();
+        buffer.position(LENGTH_SIZE);
+        buffer.put(type);
+        if (!write(buffer, object, value)) {
+            return null;
+        }
+        buffer.flip();
+        buffer.putInt(0, buffer.limit() - LENGTH_SIZE);
+        return buffer;
+    }
+
+    /**
+     * Codifica un datagrama en un buffer de la reserva.
+     *
+     * @param type         tipo de datagrama
+     * @param connectionId ID de la conexión remitente
+     * @param object       objeto a serializar, o null
+     * @return buffer listo para enviar, o null si el objeto no cabe
+     */
+    ByteBuffer encodeDatagram(byte type, int connectionId, Object object) {
+        ByteBuffer buffer = pool.acquire();
+        buffer.put(type);
+        buffer.putInt(connectionId);
+        if (!write(buffer, object, 0)) {
+            return null;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Deserializa la carga entre la posición y el límite del buffer.
+     *
+     * @param buffer buffer de recepción
+     * @return objeto leído
+     */
+    Object decode(ByteBuffer buffer) {
+        State state = state();
+        int end = buffer.limit();
+        state.input.setBuffer(buffer);
+        try {
+            return state.kryo.readClassAndObject(state.input);
+        } finally {
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Escribe la carga a continuación de la cabecera.
+     *
+     * @param buffer buffer de la reserva
+     * @param object objeto a serializar, o null
+     * @param value  entero a escribir si no hay objeto
+     * @return true si cupo; si no, el buffer se devuelve a la reserva
+     */
+    private boolean write(ByteBuffer buffer, Object object, int value) {
+        if (object == null) {
+            buffer.putInt(value);
+            return true;
+        }
+        State state = state();
+        state.output.setBuffer(buffer, buffer.capacity());
+        try {
+            state.kryo.writeClassAndObject(state.output, object);
+            state.output.flush();
+        } catch (KryoException e) {
+            pool.release(buffer);
+            Gdx.app.error("NioCodec", "Object does not fit in a " + buffer.capacity()
+                    + " byte buffer: " + object.getClass().getSimpleName(), e);
+            return false;
+        }
+        buffer.position(state.output.position());
+        return true;
+    }
+
+    /**
+     * Obtiene el serializador del hilo actual con todos los registros aplicados.
+     *
+     * @return serializador del hilo
+     */
+    private State state() {
+        State state = states.get();
+        while (state.applied < registered.size()) {
+            state.kryo.register(registered.get(state.applied++));
+        }
+        return state;
+    }
+}
@@ -0,0 +1,117 @@
+package to.mpm.network.transport;
+
+import to.mpm.network.TransportConnection;
+import to.mpm.network.Transports;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Conexión de un cliente con {@link NioServerTransport}.
+ */
+final class NioConnection implements TransportConnection {
+    /** ID asignado por el servidor. */
+    private final int id;
+    /** Servidor propietario. */
+    private final NioServerTransport owner;
+    /** Canal TCP. */
+    final NioStream stream;
+    /** Dirección TCP remota. */
+    private final InetSocketAddress remoteAddress;
+    /** Dirección UDP registrada por el cliente, o null hasta el registro. */
+    volatile InetSocketAddress udpAddress;
+    /** Indica si la conexión sigue abierta. */
+    private volatile boolean open = true;
+
+    NioConnection(int id, NioServerTransport owner, NioStream stream, InetSocketAddress remoteAddress) {
+        this.id = id;
+        this.owner = owner;
+        this.stream = stream;
+        this.remoteAddress = remoteAddress;
+    }
+
+    @Override
+    public int getID() {
+        return id;
+    }
+
+    @Override
+    public int send(Object object, Transports transport) {
+        if (!open) {
+            return 0;
+        }
+        InetSocketAddress target = udpAddress;
+        if (transport == Transports.UDP && target != null) {
+            return owner.sendDatagram(target, object);
+        }
+        return sendFrame(owner.getCodec().encodeFrame(NioCodec.PACKET, object, 0));
+    }
+
+    /**
+     * Escribe una trama ya codificada.
+     *
+     * @param frame trama codificada, o null si no se pudo codificar
+     * @return bytes escritos
+     */
+    int sendFrame(ByteBuffer frame) {
+        if (frame == null) {
+            return 0;
+        }
+        try {
+            return stream.write(frame);
+        } catch (IOException e) {
+            owner.disconnect(this);
+            return 0;
+        }
+    }
+
+    /**
+     * Escribe una trama codificada para varias conexiones.
+     *
+     * @param frame trama compartida
+     * @return bytes escritos
+     */
+    int sendFrame(SharedFrame frame) {
+        if (!open) {
+            return 0;
+        }
+        try {
+            return stream.write(frame);
+        } catch (IOException e) {
+            owner.disconnect(this);
+            return 0;
+        }
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        owner.disconnect(this);
+    }
+
+    /**
+     * Marca la conexión como cerrada.
+     *
+     * @return true si estaba abierta
+     */
+    boolean markClosed() {
+        synchronized (this) {
+            if (!open) {
+                return false;
+            }
+            open = false;
+        }
+        stream.close();
+        return true;
+    }
+}
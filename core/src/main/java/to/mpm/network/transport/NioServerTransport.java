@@ -0,0 +1,514 @@
+package to.mpm.network.transport;
+
+import com.badlogic.gdx.Gdx;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transporte de servidor sobre {@link DatagramChannel} y {@link SocketChannel}.
+ * <p>
+ * Un hilo acepta conexiones y recibe los datagramas; las conexiones se
+ * reparten entre {@link NetworkConfig#SERVER_IO_THREADS} hilos selectores que
+ * leen y deserializan en paralelo. El hilo de datagramas solo copia cada
+ * datagrama y lo pasa al hilo selector de su conexión, que lo deserializa
+ * junto a sus lecturas TCP, así que los paquetes de una conexión se entregan
+ * siempre desde el mismo hilo. Los envíos se codifican directamente en
+ * buffers directos reutilizados que se escriben en el socket sin copiarse; los
+ * envíos múltiples se codifican una vez y comparten el mismo buffer.
+ */
+public class NioServerTransport implements ServerTransport {
+    /** Buffers libres retenidos por la reserva. */
+    private static final int MAX_POOLED_BUFFERS = 256;
+
+    /**
+     * Datagrama recibido pendiente de deserializar.
+     */
+    private static final class Datagram {
+        final NioConnection connection;
+        /** Carga del datagrama, sin la cabecera. */
+        final ByteBuffer payload;
+
+        Datagram(NioConnection connection, ByteBuffer payload) {
+            this.connection = connection;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Hilo selector de un grupo de conexiones TCP.
+     */
+    private final class IoThread extends Thread {
+        /** Selector de las conexiones del hilo. */
+        final Selector selector;
+        /** Conexiones aceptadas pendientes de registrar. */
+        final ConcurrentLinkedQueue<NioConnection> adopted = new ConcurrentLinkedQueue<>();
+        /** Datagramas de las conexiones del hilo pendientes de deserializar. */
+        final ConcurrentLinkedQueue<Datagram> datagrams = new ConcurrentLinkedQueue<>();
+        /**
+         * Indica si hay datagramas encolados desde el último despertar. Solo lo
+         * usa el hilo de aceptación.
+         */
+        boolean wakePending;
+
+        IoThread(int index) throws IOException {
+            super("NioServer-io-" + index);
+            setDaemon(true);
+            selector = Selector.open();
+        }
+
+        /**
+         * Asigna una conexión a este hilo.
+         *
+         * @param connection conexión aceptada
+         */
+        void adopt(NioConnection connection) {
+            adopted.offer(connection);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    selector.select();
+                } catch (IOException e) {
+                    Gdx.app.error("NioServerTransport", "Selector failed", e);
+                    break;
+                }
+                registerAdopted();
+                decodeDatagrams();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    service(key, (NioConnection) key.attachment());
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // Se está cerrando.
+            }
+        }
+
+        private void registerAdopted() {
+            NioConnection connection;
+            while ((connection = adopted.poll()) != null) {
+                try {
+                    connection.stream.register(selector, connection);
+                    listener.connected(connection);
+                } catch (IOException e) {
+                    disconnect(connection);
+                }
+            }
+        }
+
+        private void decodeDatagrams() {
+            Datagram datagram;
+            while ((datagram = datagrams.poll()) != null) {
+                try {
+                    listener.received(datagram.connection, codec.decode(datagram.payload));
+                } catch (RuntimeException e) {
+                    Gdx.app.error("NioServerTransport", "Dropped malformed datagram from connection "
+                            + datagram.connection.getID(), e);
+                } finally {
+                    pool.release(datagram.payload);
+                }
+            }
+        }
+
+        private void service(SelectionKey key, NioConnection connection) {
+            try {
+                if (key.isValid() && key.isWritable()) {
+                    connection.stream.flush();
+                }
+                if (key.isValid() && key.isReadable() && !connection.stream.read(frame -> {
+                    if (frame.get() == NioCodec.PACKET) {
+                        listener.received(connection, codec.decode(frame));
+                    }
+                })) {
+                    disconnect(connection);
+                }
+            } catch (Exception e) {
+                if (running && connection.isConnected()) {
+                    Gdx.app.log("NioServerTransport", "Closing connection " + connection.getID() + ": " + e);
+                }
+                disconnect(connection);
+            }
+        }
+    }
+
+    /** Reserva de buffers directos. */
+    private final BufferPool pool = new BufferPool(NetworkConfig.UDP_BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    /** Serializador. */
+    private final NioCodec codec = new NioCodec(pool);
+    /** Conexiones abiertas por ID. */
+    private final ConcurrentHashMap<Integer, NioConnection> connections = new ConcurrentHashMap<>();
+    /** Siguiente ID de conexión. */
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    /** Receptor de eventos. */
+    private volatile TransportListener listener = new TransportListener() {
+    };
+    /** Canal de aceptación. */
+    private ServerSocketChannel acceptChannel;
+    /** Canal de datagramas. */
+    private DatagramChannel datagramChannel;
+    /** Selector del hilo de aceptación. */
+    private Selector acceptSelector;
+    /** Hilos selectores de las conexiones. */
+    private IoThread[] ioThreads;
+    /** Hilo de aceptación y datagramas. */
+    private Thread acceptThread;
+    /** Indica si los hilos siguen activos. */
+    private volatile boolean running;
+
+    @Override
+    public void setListener(TransportListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void register(Class<?>... classes) {
+        codec.register(classes);
+    }
+
+    @Override
+    public void bind(int tcpPort, int udpPort) throws IOException {
+        try {
+            acceptSelector = Selector.open();
+            acceptChannel = ServerSocketChannel.open();
+            acceptChannel.bind(new InetSocketAddress(tcpPort));
+            acceptChannel.configureBlocking(false);
+            acceptChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+            datagramChannel = DatagramChannel.open();
+            datagramChannel.bind(new InetSocketAddress(udpPort));
+            datagramChannel.configureBlocking(false);
+            datagramChannel.register(acceptSelector, SelectionKey.OP_READ);
+            ioThreads = new IoThread[NetworkConfig.SERVER_IO_THREADS];
+            for (int i = 0; i < ioThreads.length; i++) {
+                ioThreads[i] = new IoThread(i);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        running = true;
+        for (IoThread thread : ioThreads) {
+            thread.start();
+        }
+        acceptThread = new Thread(this::acceptLoop, "NioServer-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    @Override
+    public int getTcpPort() {
+        ServerSocketChannel channel = acceptChannel;
+        return channel != null ? channel.socket().getLocalPort() : 0;
+    }
+
+    @Override
+    public int getUdpPort() {
+        DatagramChannel channel = datagramChannel;
+        return channel != null ? channel.socket().getLocalPort() : 0;
+    }
+
+    @Override
+    public TransportConnection[] getConnections() {
+        return connections.values().toArray(new TransportConnection[0]);
+    }
+
+    @Override
+    public void sendToAll(int exceptId, Object object, Transports transport) {
+        TransportConnection[] targets = getConnections();
+        int count = 0;
+        for (TransportConnection connection : targets) {
+            if (connection.getID() != exceptId) {
+                targets[count++] = connection;
+            }
+        }
+        sendTo(targets, count, object, transport);
+    }
+
+    @Override
+    public void sendTo(TransportConnection[] targets, int count, Object object, Transports transport) {
+        if (count == 0) {
+            return;
+        }
+        ByteBuffer datagram = null;
+        SharedFrame frame = null;
+        try {
+            for (int i = 0; i < count; i++) {
+                NioConnection connection = (NioConnection) targets[i];
+                InetSocketAddress address = connection.udpAddress;
+                if (transport == Transports.UDP && address != null) {
+                    if (datagram == null) {
+                        datagram = codec.encodeDatagram(NioCodec.PACKET, 0, object);
+                        if (datagram == null) {
+                            return;
+                        }
+                    }
+                    datagram.rewind();
+                    sendDatagram(address, datagram);
+                } else {
+                    if (frame == null) {
+                        ByteBuffer encoded = codec.encodeFrame(NioCodec.PACKET, object, 0);
+                        if (encoded == null) {
+                            return;
+                        }
+                        frame = new SharedFrame(pool, encoded);
+                    }
+                    connection.sendFrame(frame);
+                }
+            }
+        } finally {
+            pool.release(datagram);
+            if (frame != null) {
+                frame.release();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (NioConnection connection : connections.values()) {
+            disconnect(connection);
+        }
+        if (ioThreads != null) {
+            for (IoThread thread : ioThreads) {
+                if (thread != null) {
+                    thread.selector.wakeup();
+                }
+            }
+        }
+        closeQuietly(acceptChannel);
+        closeQuietly(datagramChannel);
+        if (acceptSelector != null) {
+            acceptSelector.wakeup();
+        }
+    }
+
+    NioCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Envía un objeto en un datagrama.
+     *
+     * @param target dirección UDP del cliente
+     * @param object objeto a enviar
+     * @return bytes enviados
+     */
+    int sendDatagram(SocketAddress target, Object object) {
+        ByteBuffer datagram = codec.encodeDatagram(NioCodec.PACKET, 0, object);
+        if (datagram == null) {
+            return 0;
+        }
+        try {
+            return sendDatagram(target, datagram);
+        } finally {
+            pool.release(datagram);
+        }
+    }
+
+    /**
+     * Envía un datagrama ya codificado.
+     *
+     * @param target   dirección UDP del cliente
+     * @param datagram datagrama desde su posición hasta su límite
+     * @return bytes enviados
+     */
+    private int sendDatagram(SocketAddress target, ByteBuffer datagram) {
+        try {
+            return datagramChannel.send(datagram, target);
+        } catch (IOException e) {
+            Gdx.app.error("NioServerTransport", "Failed to send datagram to " + target, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Cierra una conexión y avisa al receptor una sola vez.
+     *
+     * @param connection conexión a cerrar
+     */
+    void disconnect(NioConnection connection) {
+        if (connection.markClosed()) {
+            connections.remove(connection.getID());
+            listener.disconnected(connection);
+        }
+    }
+
+    /**
+     * Bucle del hilo de aceptación y datagramas.
+     */
+    private void acceptLoop() {
+        ByteBuffer datagram = pool.acquire();
+        while (running) {
+            try {
+                acceptSelector.select();
+                Iterator<SelectionKey> keys = acceptSelector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        receiveDatagrams(datagram);
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    Gdx.app.error("NioServerTransport", "Accept loop failed", e);
+                }
+            }
+        }
+        try {
+            acceptSelector.close();
+        } catch (IOException ignored) {
+            // Se está cerrando.
+        }
+    }
+
+    /**
+     * Acepta las conexiones pendientes y les comunica su ID.
+     *
+     * @throws IOException si la aceptación falla
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = acceptChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            int id = nextId.getAndIncrement();
+            NioConnection connection = new NioConnection(id, this, new NioStream(channel, pool),
+                    (InetSocketAddress) channel.getRemoteAddress());
+            connections.put(id, connection);
+            connection.sendFrame(codec.encodeFrame(NioCodec.REGISTER, null, id));
+            ioThread(id).adopt(connection);
+        }
+    }
+
+    /**
+     * Devuelve el hilo selector de una conexión.
+     *
+     * @param connectionId ID de la conexión
+     * @return hilo que lee y deserializa sus paquetes
+     */
+    private IoThread ioThread(int connectionId) {
+        return ioThreads[Math.floorMod(connectionId, ioThreads.length)];
+    }
+
+    /**
+     * Recibe los datagramas pendientes y despierta una vez a cada hilo
+     * selector que recibió alguno.
+     *
+     * @param buffer buffer de recepción del hilo
+     */
+    private void receiveDatagrams(ByteBuffer buffer) {
+        try {
+            receiveDatagramBatch(buffer);
+        } finally {
+            for (IoThread thread : ioThreads) {
+                if (thread.wakePending) {
+                    thread.wakePending = false;
+                    thread.selector.wakeup();
+                }
+            }
+        }
+    }
+
+    /**
+     * Recibe los datagramas pendientes y encola los paquetes en el hilo
+     * selector de su conexión.
+     *
+     * @param buffer buffer de recepción del hilo
+     */
+    private void receiveDatagramBatch(ByteBuffer buffer) {
+        while (true) {
+            buffer.clear();
+            SocketAddress source;
+            try {
+                source = datagramChannel.receive(buffer);
+            } catch (IOException e) {
+                return;
+            }
+            if (source == null) {
+                return;
+            }
+            buffer.flip();
+            if (buffer.remaining() < NioCodec.DATAGRAM_HEADER_SIZE) {
+                continue;
+            }
+            byte type = buffer.get();
+            if (type == NioCodec.DISCOVER) {
+                buffer.rewind();
+                sendDatagram(source, buffer);
+                continue;
+            }
+            NioConnection connection = connections.get(buffer.getInt());
+            if (connection == null) {
+                continue;
+            }
+            if (type == NioCodec.REGISTER) {
+                registerDatagramAddress(connection, (InetSocketAddress) source);
+            } else if (type == NioCodec.PACKET && source.equals(connection.udpAddress)) {
+                ByteBuffer payload = pool.acquire();
+                payload.put(buffer).flip();
+                IoThread thread = ioThread(connection.getID());
+                thread.datagrams.offer(new Datagram(connection, payload));
+                thread.wakePending = true;
+            }
+        }
+    }
+
+    /**
+     * Asocia la dirección UDP de un cliente si procede de la misma máquina que
+     * su conexión TCP.
+     *
+     * @param connection conexión del cliente
+     * @param source     dirección del datagrama de registro
+     */
+    private void registerDatagramAddress(NioConnection connection, InetSocketAddress source) {
+        InetSocketAddress remote = connection.getRemoteAddress();
+        if (remote == null || !remote.getAddress().equals(source.getAddress())) {
+            return;
+        }
+        connection.udpAddress = source;
+        connection.sendFrame(codec.encodeFrame(NioCodec.REGISTERED, null, 0));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Se está cerrando.
+        }
+    }
+}
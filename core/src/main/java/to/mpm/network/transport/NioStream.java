@@ -0,0 +1,224 @@
+package to.mpm.network.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+
+/**
+ * Canal TCP no bloqueante con tramas de longitud prefijada.
+ * <p>
+ * Cualquier hilo puede escribir: si el socket acepta la trama completa se
+ * escribe en el acto; si no, queda en cola y el hilo selector la termina
+ * cuando el socket vuelve a admitir escritura. La lectura solo la hace el
+ * hilo selector, que entrega cada trama completa sin copiarla.
+ */
+final class NioStream {
+    /**
+     * Receptor de tramas completas.
+     */
+    interface FrameHandler {
+        /**
+         * Procesa una trama; el buffer está limitado a su tipo y su carga.
+         *
+         * @param frame trama recibida
+         * @throws IOException si la trama no es válida
+         */
+        void frame(ByteBuffer frame) throws IOException;
+    }
+
+    /** Canal TCP. */
+    private final SocketChannel channel;
+    /** Reserva de buffers. */
+    private final BufferPool pool;
+    /**
+     * Trama pendiente de escribir.
+     */
+    private static final class Pending {
+        final ByteBuffer data;
+        final SharedFrame shared;
+
+        Pending(ByteBuffer data, SharedFrame shared) {
+            this.data = data;
+            this.shared = shared;
+        }
+    }
+
+    /** Tramas pendientes de escribir. */
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    /** Buffer de recepción, solo usado por el hilo selector. */
+    private final ByteBuffer readBuffer;
+    /** Clave de registro en el selector. */
+    private volatile SelectionKey key;
+
+    NioStream(SocketChannel channel, BufferPool pool) {
+        this.channel = channel;
+        this.pool = pool;
+        this.readBuffer = pool.acquire();
+    }
+
+    /**
+     * Registra el canal en un selector. Se llama desde el hilo selector.
+     *
+     * @param selector   selector del hilo
+     * @param attachment objeto asociado a la clave
+     * @throws ClosedChannelException si el canal ya se cerró
+     */
+    void register(Selector selector, Object attachment) throws ClosedChannelException {
+        synchronized (pending) {
+            int ops = pending.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+            key = channel.register(selector, ops, attachment);
+        }
+    }
+
+    /**
+     * Escribe una trama y devuelve su buffer a la reserva cuando termina.
+     *
+     * @param frame trama codificada
+     * @return bytes de la trama
+     * @throws IOException si el canal está cerrado
+     */
+    int write(ByteBuffer frame) throws IOException {
+        return write(frame, null);
+    }
+
+    /**
+     * Escribe una trama compartida con otras conexiones.
+     *
+     * @param shared trama compartida
+     * @return bytes de la trama
+     * @throws IOException si el canal está cerrado
+     */
+    int write(SharedFrame shared) throws IOException {
+        return write(shared.retainView(), shared);
+    }
+
+    /**
+     * Escribe los datos en el acto o los deja en cola.
+     *
+     * @param data   datos a escribir
+     * @param shared trama compartida de la que son vista, o null si son propios
+     * @return bytes de la trama
+     * @throws IOException si el canal está cerrado
+     */
+    private int write(ByteBuffer data, SharedFrame shared) throws IOException {
+        int size = data.remaining();
+        synchronized (pending) {
+            try {
+                if (pending.isEmpty()) {
+                    channel.write(data);
+                    if (!data.hasRemaining()) {
+                        release(data, shared);
+                        return size;
+                    }
+                }
+            } catch (IOException e) {
+                release(data, shared);
+                throw e;
+            }
+            pending.add(new Pending(data, shared));
+            SelectionKey current = key;
+            if (current != null && current.isValid()) {
+                current.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                current.selector().wakeup();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Escribe las tramas pendientes. Se llama desde el hilo selector.
+     *
+     * @throws IOException si el canal está cerrado
+     */
+    void flush() throws IOException {
+        synchronized (pending) {
+            while (!pending.isEmpty()) {
+                Pending frame = pending.peek();
+                channel.write(frame.data);
+                if (frame.data.hasRemaining()) {
+                    return;
+                }
+                pending.poll();
+                release(frame.data, frame.shared);
+            }
+            SelectionKey current = key;
+            if (current != null && current.isValid()) {
+                current.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    /**
+     * Lee del socket y entrega las tramas completas. Se llama desde el hilo
+     * selector.
+     *
+     * @param handler receptor de las tramas
+     * @return false si el extremo remoto cerró la conexión
+     * @throws IOException si la lectura falla o una trama no es válida
+     */
+    boolean read(FrameHandler handler) throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            return false;
+        }
+        readBuffer.flip();
+        while (readBuffer.remaining() >= NioCodec.LENGTH_SIZE) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length <= 0 || length > readBuffer.capacity() - NioCodec.LENGTH_SIZE) {
+                throw new IOException("Invalid frame length: " + length);
+            }
+            if (readBuffer.remaining() < NioCodec.LENGTH_SIZE + length) {
+                break;
+            }
+            int end = readBuffer.position() + NioCodec.LENGTH_SIZE + length;
+            int limit = readBuffer.limit();
+            readBuffer.position(readBuffer.position() + NioCodec.LENGTH_SIZE).limit(end);
+            handler.frame(readBuffer);
+            readBuffer.limit(limit).position(end);
+        }
+        readBuffer.compact();
+        return true;
+    }
+
+    /**
+     * Cierra el canal y libera las tramas pendientes.
+     */
+    void close() {
+        SelectionKey current = key;
+        if (current != null) {
+            current.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // El canal ya no se usa.
+        }
+        synchronized (pending) {
+            while (!pending.isEmpty()) {
+                Pending frame = pending.poll();
+                release(frame.data, frame.shared);
+            }
+        }
+    }
+
+    /**
+     * Devuelve una trama escrita o descartada.
+     *
+     * @param data   datos de la trama
+     * @param shared trama compartida, o null si los datos son propios
+     */
+    private void release(ByteBuffer data, SharedFrame shared) {
+        if (shared != null) {
+            shared.release();
+        } else {
+            pool.release(data);
+        }
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+}
@@ -0,0 +1,45 @@
+package to.mpm.network.transport;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trama codificada una vez y escrita en varias conexiones.
+ * <p>
+ * Cada conexión escribe una vista de solo lectura con su propia posición
+ * sobre el mismo buffer directo, que vuelve a la reserva cuando la última
+ * conexión termina de escribirlo.
+ */
+final class SharedFrame {
+    /** Reserva a la que vuelve el buffer. */
+    private final BufferPool pool;
+    /** Trama codificada. */
+    private final ByteBuffer buffer;
+    /** Referencias pendientes, incluida la del creador. */
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    SharedFrame(BufferPool pool, ByteBuffer buffer) {
+        this.pool = pool;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Obtiene una vista nueva y suma una referencia que se libera con
+     * {@link #release()} cuando la vista se ha escrito.
+     *
+     * @return vista de solo lectura de la trama completa
+     */
+    ByteBuffer retainView() {
+        references.incrementAndGet();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Libera una referencia.
+     */
+    void release() {
+        if (references.decrementAndGet() == 0) {
+            pool.release(buffer);
+        }
+    }
+}
@@ -14,7 +14,8 @@ import to.mpm.ui.UISkinProvider;
 import to.mpm.ui.components.InputField;
 import to.mpm.ui.components.StyledButton;
 import to.mpm.utils.FirewallHelper;
-import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Pantalla para crear una nueva sala de juego.
@@ -36,6 +37,10 @@ public class CreateRoomScreen implements Screen {
     private TextField nameField;
     /** Etiqueta para mostrar mensajes de estado. */
     private Label statusLabel;
+    /** Botón para crear la sala, deshabilitado mientras arranca. */
+    private TextButton createButton;
+    /** Arranque en curso, o null si no hay ninguno. */
+    private CompletableFuture<Void> pendingHost;
 
     /**
      * Construye una nueva pantalla de creación de sala.
@@ -67,6 +72,7 @@ public class CreateRoomScreen implements Screen {
                 .fontSize(18)
                 .height(60f)
                 .onClick(() -> {
+                    cancelPendingHost();
                     game.setScreen(new MainMenuScreen(game));
                     dispose();
                 })
@@ -123,14 +129,13 @@ public class CreateRoomScreen implements Screen {
         nameRow.add(nameField).width(fieldWidth);
         formTable.add(nameRow).padBottom(UIStyles.Spacing.LARGE).row();
 
-        formTable.add(
-                new StyledButton(skin)
-                        .text("Crear")
-                        .width(350f)
-                        .height(60f)
-                        .onClick(this::createRoom)
-                        .build())
-                .size(350f, 60f).padBottom(UIStyles.Spacing.MEDIUM).row();
+        createButton = new StyledButton(skin)
+                .text("Crear")
+                .width(350f)
+                .height(60f)
+                .onClick(this::createRoom)
+                .build();
+        formTable.add(createButton).size(350f, 60f).padBottom(UIStyles.Spacing.MEDIUM).row();
 
         statusLabel = new Label("", skin);
         statusLabel.setStyle(bodyStyle);
@@ -143,9 +148,13 @@ public class CreateRoomScreen implements Screen {
     /**
      * Maneja la creación de una nueva sala de juego.
      * <p>
-     * Valida los campos de entrada e inicia el servidor.
+     * Valida los campos de entrada e inicia el servidor en segundo plano; el
+     * progreso se muestra en la etiqueta de estado.
      */
     private void createRoom() {
+        if (pendingHost != null) {
+            return;
+        }
         try {
             int port = Integer.parseInt(portField.getText());
             int rounds = Integer.parseInt(roundsField.getText());
@@ -161,31 +170,60 @@ public class CreateRoomScreen implements Screen {
             }
 
             statusLabel.setText("Creando sala...");
+            createButton.setDisabled(true);
+
+            pendingHost = NetworkManager.getInstance().hostGameAsync(playerName, port, statusLabel::setText);
+            pendingHost.whenComplete((ignored, error) -> {
+                pendingHost = null;
+                if (error instanceof CancellationException) {
+                    return;
+                }
+                if (error != null) {
+                    createButton.setDisabled(false);
+                    statusLabel.setText("Error al crear sala: " + error.getMessage());
+                    Gdx.app.error("CreateRoomScreen", "Failed to start server", error);
+                    return;
+                }
+                onHosted(port, rounds);
+            });
+        } catch (NumberFormatException e) {
+            statusLabel.setText("Puerto y rondas deben ser números");
+        }
+    }
 
-            NetworkManager.getInstance().hostGame(playerName, port);
-            FirewallHelper.requestFirewallPermission(port);
+    /**
+     * Termina la creación en el hilo de render y pasa a la sala.
+     *
+     * @param port   puerto del servidor
+     * @param rounds número de rondas configuradas
+     */
+    private void onHosted(int port, int rounds) {
+        CompletableFuture.runAsync(() -> FirewallHelper.requestFirewallPermission(port));
 
-            NetworkManager.getInstance().registerAdditionalClasses(
-                    to.mpm.minigames.manager.ManagerPackets.RoomConfig.class,
-                    to.mpm.minigames.manager.ManagerPackets.ShowScoreboard.class,
-                    to.mpm.minigames.manager.ManagerPackets.StartNextRound.class,
-                    to.mpm.minigames.manager.ManagerPackets.ShowResults.class,
-                    to.mpm.minigames.manager.ManagerPackets.ReturnToLobby.class,
-                    java.util.HashMap.class,
-                    java.util.ArrayList.class);
+        NetworkManager.getInstance().registerAdditionalClasses(
+                to.mpm.minigames.manager.ManagerPackets.RoomConfig.class,
+                to.mpm.minigames.manager.ManagerPackets.ShowScoreboard.class,
+                to.mpm.minigames.manager.ManagerPackets.StartNextRound.class,
+                to.mpm.minigames.manager.ManagerPackets.ShowResults.class,
+                to.mpm.minigames.manager.ManagerPackets.ReturnToLobby.class,
+                java.util.HashMap.class,
+                java.util.ArrayList.class);
 
-            to.mpm.minigames.manager.ManagerPackets.RoomConfig roomConfig = new to.mpm.minigames.manager.ManagerPackets.RoomConfig(
-                    rounds);
-            NetworkManager.getInstance().broadcastFromHost(roomConfig);
+        to.mpm.minigames.manager.ManagerPackets.RoomConfig roomConfig = new to.mpm.minigames.manager.ManagerPackets.RoomConfig(
+                rounds);
+        NetworkManager.getInstance().broadcastFromHost(roomConfig);
 
-            game.setScreen(new LobbyScreen(game, true, rounds));
-            dispose();
+        game.setScreen(new LobbyScreen(game, true, rounds));
+        dispose();
+    }
 
-        } catch (NumberFormatException e) {
-            statusLabel.setText("Puerto y rondas deben ser números");
-        } catch (IOException e) {
-            statusLabel.setText("Error al crear sala: " + e.getMessage());
-            Gdx.app.error("CreateRoomScreen", "Failed to start server", e);
+    /**
+     * Cancela el arranque en curso, si existe.
+     */
+    private void cancelPendingHost() {
+        if (pendingHost != null) {
+            pendingHost.cancel(false);
+            pendingHost = null;
         }
     }
 
@@ -240,6 +278,7 @@ public class CreateRoomScreen implements Screen {
      */
     @Override
     public void dispose() {
+        cancelPendingHost();
         stage.dispose();
     }
 }
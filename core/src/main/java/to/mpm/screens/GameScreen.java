@@ -15,17 +15,26 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
+import to.mpm.minigames.FixedTimestep;
 import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.Minigame;
 import to.mpm.minigames.MinigameFactory;
 import to.mpm.minigames.MinigameType;
+import to.mpm.minigames.ScoreTable;
+import to.mpm.minigames.pool.EntityPool;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.Packets;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
+import to.mpm.network.lockstep.LockstepSession;
+import to.mpm.network.lockstep.LockstepSimulation;
+import to.mpm.network.spectator.SpectatorFeed;
+import to.mpm.network.spectator.SpectatorSnapshotSource;
 import to.mpm.ui.UIStyles;
 import to.mpm.ui.UISkinProvider;
+import to.mpm.utils.FrameProfiler;
+import to.mpm.utils.FrameProfiler.Phase;
 
 /**
  * Pantalla principal de juego que ejecuta el minijuego seleccionado.
@@ -51,6 +60,8 @@ public class GameScreen implements Screen {
     private Label scoreLabel;
     /** Etiqueta que muestra el temporizador. */
     private Label timerLabel;
+    /** Segundos mostrados en el temporizador, para no rehacer el texto cada frame. */
+    private int displayedSeconds = -1;
     /** Etiqueta que muestra la ronda actual. */
     private Label roundLabel;
     /** Temporizador del juego en segundos. */
@@ -69,8 +80,12 @@ public class GameScreen implements Screen {
     private float scanlineTimer = 0f;
     /** Intervalo para cambio aleatorio del offset. */
     private float scanlineChangeInterval = 2f;
-    /** Fuente personalizada para la UI. */
+    /** Fuente personalizada para la UI, compartida por {@link to.mpm.ui.FontCache}. */
     private BitmapFont customFont;
+    /** Acumulador de los pasos fijos de simulación. */
+    private final FixedTimestep timestep = new FixedTimestep();
+    /** Sesión lockstep de la ronda, o null si el minijuego avanza por su cuenta. */
+    private LockstepSession lockstep;
 
     /** Manejador de paquete para iniciar el juego. */
     private StartGamePacketHandler startGameHandler;
@@ -186,6 +201,12 @@ public class GameScreen implements Screen {
 
         int localPlayerId = NetworkManager.getInstance().getMyId();
         currentMinigame = MinigameFactory.createMinigame(minigameType, localPlayerId);
+        int[] lockstepPlayerIds = flowManager.getLockstepPlayerIds();
+        if (lockstepPlayerIds != null && currentMinigame instanceof LockstepSimulation simulation) {
+            simulation.startLockstep(lockstepPlayerIds);
+            lockstep = new LockstepSession(localPlayerId, lockstepPlayerIds);
+            lockstep.start();
+        }
         currentMinigame.initialize();
 
         NetworkManager networkManager = NetworkManager.getInstance();
@@ -203,34 +224,63 @@ public class GameScreen implements Screen {
 
     /**
      * Renderiza la pantalla y actualiza la lógica del frame.
+     * <p>
+     * La entrada se lee una vez por frame y el minijuego la aplica en sus pasos
+     * fijos: cero o varios por frame según el tiempo acumulado. En
+     * lockstep un paso se salta si faltan entradas de otros jugadores, y el
+     * temporizador solo cuenta los pasos simulados. Cada fase se mide con
+     * {@link FrameProfiler}.
      *
      * @param delta tiempo transcurrido desde el último frame en segundos
      */
     @Override
     public void render(float delta) {
+        FrameProfiler profiler = FrameProfiler.getInstance();
         if (gameEnded) {
             Gdx.gl.glClearColor(0.15f, 0.15f, 0.2f, 1);
             Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            profiler.begin(Phase.UI);
             uiStage.act(delta);
             uiStage.draw();
+            profiler.end(Phase.UI);
             return;
         }
 
+        profiler.begin(Phase.INPUT);
         currentMinigame.handleInput(delta);
-        currentMinigame.update(delta);
+        profiler.end(Phase.INPUT);
+        profiler.begin(Phase.UPDATE);
+        int steps = timestep.advance(delta);
+        int simulated = 0;
+        for (; simulated < steps && !currentMinigame.isFinished(); simulated++) {
+            if (lockstep == null) {
+                currentMinigame.update(timestep.getStep());
+            } else if (!lockstep.step((LockstepSimulation) currentMinigame, timestep.getStep())) {
+                break;
+            }
+        }
+        profiler.end(Phase.UPDATE);
+
+        SpectatorFeed spectatorFeed = NetworkManager.getInstance().getSpectatorFeed();
+        if (spectatorFeed != null && currentMinigame instanceof SpectatorSnapshotSource source) {
+            spectatorFeed.publish(delta, source);
+        }
 
         if (!isFinale) {
-            gameTimer -= delta;
+            gameTimer -= simulated * timestep.getStep();
             if (timerLabel != null) {
                 int seconds = Math.max(0, (int) Math.ceil(gameTimer));
-                timerLabel.setText("TIEMPO " + seconds);
+                if (seconds != displayedSeconds) {
+                    displayedSeconds = seconds;
+                    timerLabel.setText("TIEMPO " + seconds);
+                }
             }
         }
 
         if (!isFinale && scoreLabel != null) {
             int localPlayerId = NetworkManager.getInstance().getMyId();
-            int currentScore = currentMinigame.getScores().getOrDefault(localPlayerId, 0);
-            scoreLabel.setText(String.valueOf(currentScore));
+            int currentScore = currentMinigame.getScores().get(localPlayerId);
+            scoreLabel.setText(currentScore);
         }
 
         if (!isFinale) {
@@ -253,8 +303,11 @@ public class GameScreen implements Screen {
         Gdx.gl.glClearColor(0.15f, 0.15f, 0.2f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        currentMinigame.render(batch, shapeRenderer);
+        profiler.begin(Phase.RENDER);
+        currentMinigame.render(batch, shapeRenderer, timestep.getAlpha());
+        profiler.end(Phase.RENDER);
 
+        profiler.begin(Phase.OVERLAY);
         if (scanlineOverlay != null) {
             batch.begin();
             int screenWidth = Gdx.graphics.getWidth();
@@ -266,9 +319,12 @@ public class GameScreen implements Screen {
             }
             batch.end();
         }
+        profiler.end(Phase.OVERLAY);
 
+        profiler.begin(Phase.UI);
         uiStage.act(delta);
         uiStage.draw();
+        profiler.end(Phase.UI);
     }
 
     /**
@@ -283,7 +339,7 @@ public class GameScreen implements Screen {
         }
         gameEnded = true;
 
-        java.util.Map<Integer, Integer> roundScores = currentMinigame.getScores();
+        ScoreTable roundScores = currentMinigame.getScores();
         to.mpm.minigames.manager.GameFlowManager flowManager = to.mpm.minigames.manager.GameFlowManager.getInstance();
 
         if (NetworkManager.getInstance().isHost()) {
@@ -351,12 +407,23 @@ public class GameScreen implements Screen {
     }
 
     /**
-     * Libera los recursos utilizados por esta pantalla.
+     * Libera los recursos utilizados por esta pantalla y guarda el perfil de
+     * frames de la ronda.
      */
     @Override
     public void dispose() {
+        FrameProfiler.getInstance().dumpRound(
+                "round-" + currentRound + "-" + minigameType.name().toLowerCase());
+        if (lockstep != null) {
+            lockstep.stop();
+            lockstep = null;
+            if (NetworkManager.getInstance().isHost()) {
+                to.mpm.minigames.manager.GameFlowManager.getInstance().endLockstep();
+            }
+        }
         if (currentMinigame != null) {
             currentMinigame.dispose();
+            EntityPool.logOccupancy();
         }
         if (shapeRenderer != null) {
             shapeRenderer.dispose();
@@ -364,9 +431,6 @@ public class GameScreen implements Screen {
         if (scanlineOverlay != null) {
             scanlineOverlay.dispose();
         }
-        if (customFont != null) {
-            customFont.dispose();
-        }
         if (startGameHandler != null) {
             NetworkManager.getInstance().unregisterClientHandler(startGameHandler);
             startGameHandler = null;
@@ -398,7 +462,7 @@ public class GameScreen implements Screen {
             if (packet instanceof to.mpm.minigames.manager.ManagerPackets.ShowScoreboard showScoreboard) {
                 Gdx.app.log("GameScreen", "Received ShowScoreboard for round " + showScoreboard.currentRound);
                 int localPlayerId = NetworkManager.getInstance().getMyId();
-                game.setScreen(new ScoreboardScreen(game, showScoreboard.allPlayerScores,
+                game.setScreen(new ScoreboardScreen(game, showScoreboard.getScores(),
                         showScoreboard.currentRound, showScoreboard.totalRounds, localPlayerId));
                 dispose();
             }
@@ -418,7 +482,7 @@ public class GameScreen implements Screen {
         public void handle(ClientPacketContext context, NetworkPacket packet) {
             if (packet instanceof to.mpm.minigames.manager.ManagerPackets.ShowResults showResults) {
                 Gdx.app.log("GameScreen", "Received ShowResults packet");
-                game.setScreen(new ResultsScreen(game, showResults.finalScores));
+                game.setScreen(new ResultsScreen(game, showResults.getScores()));
                 dispose();
             }
         }
@@ -436,6 +500,8 @@ public class GameScreen implements Screen {
         @Override
         public void handle(ClientPacketContext context, NetworkPacket packet) {
             if (packet instanceof Packets.StartGame startGame) {
+                to.mpm.minigames.manager.GameFlowManager.getInstance()
+                        .setRoundSimulation(startGame.seed, startGame.lockstepPlayerIds);
                 int roundNumber = startGame.currentRound > 0 ? startGame.currentRound : 1;
                 int roundsTotal = startGame.totalRounds > 0 ? startGame.totalRounds : 1;
                 game.setScreen(
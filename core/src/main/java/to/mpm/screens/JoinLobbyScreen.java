@@ -14,7 +14,8 @@ import to.mpm.ui.UIStyles;
 import to.mpm.ui.UISkinProvider;
 import to.mpm.ui.components.InputField;
 import to.mpm.ui.components.StyledButton;
-import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Pantalla para unirse a una sala de juego existente.
@@ -36,6 +37,10 @@ public class JoinLobbyScreen implements Screen {
     private TextField portField;
     /** Etiqueta para mostrar mensajes de estado. */
     private Label statusLabel;
+    /** Botón para unirse, deshabilitado mientras se conecta. */
+    private TextButton joinButton;
+    /** Conexión en curso, o null si no hay ninguna. */
+    private CompletableFuture<String> pendingJoin;
 
     /**
      * Construye una nueva pantalla de unión a sala.
@@ -67,6 +72,7 @@ public class JoinLobbyScreen implements Screen {
                 .fontSize(18)
                 .height(60f)
                 .onClick(() -> {
+                    cancelPendingJoin();
                     game.setScreen(new MainMenuScreen(game));
                     dispose();
                 })
@@ -123,14 +129,13 @@ public class JoinLobbyScreen implements Screen {
         nameRow.add(nameField).width(fieldWidth);
         formTable.add(nameRow).padBottom(UIStyles.Spacing.LARGE).row();
 
-        formTable.add(
-                new StyledButton(skin)
-                        .text("Unirse")
-                        .width(350f)
-                        .height(60f)
-                        .onClick(this::joinGame)
-                        .build())
-                .size(350f, 60f).padBottom(UIStyles.Spacing.MEDIUM).row();
+        joinButton = new StyledButton(skin)
+                .text("Unirse")
+                .width(350f)
+                .height(60f)
+                .onClick(this::joinGame)
+                .build();
+        formTable.add(joinButton).size(350f, 60f).padBottom(UIStyles.Spacing.MEDIUM).row();
 
         statusLabel = new Label("", skin);
         statusLabel.setStyle(bodyStyle);
@@ -142,9 +147,14 @@ public class JoinLobbyScreen implements Screen {
     /**
      * Maneja la conexión a una sala de juego existente.
      * <p>
-     * Valida los campos de entrada e intenta conectar al servidor.
+     * Valida los campos de entrada e inicia la conexión en segundo plano; el
+     * progreso se muestra en la etiqueta de estado. Si la IP no responde, se
+     * busca una sala en la red local.
      */
     private void joinGame() {
+        if (pendingJoin != null) {
+            return;
+        }
         String playerName = nameField.getText();
         String host = ipField.getText();
         int port;
@@ -162,26 +172,53 @@ public class JoinLobbyScreen implements Screen {
         }
 
         statusLabel.setText("Conectando...");
+        joinButton.setDisabled(true);
 
-        try {
-            NetworkManager.getInstance().joinGame(host, port, playerName);
-
-            NetworkManager.getInstance().registerAdditionalClasses(
-                    to.mpm.minigames.manager.ManagerPackets.RoomConfig.class,
-                    to.mpm.minigames.manager.ManagerPackets.ShowScoreboard.class,
-                    to.mpm.minigames.manager.ManagerPackets.StartNextRound.class,
-                    to.mpm.minigames.manager.ManagerPackets.ShowResults.class,
-                    to.mpm.minigames.manager.ManagerPackets.ReturnToLobby.class,
-                    java.util.HashMap.class,
-                    java.util.ArrayList.class);
-
-            statusLabel.setText("¡Conectado!");
-
-            game.setScreen(new LobbyScreen(game, false, host, port));
-            dispose();
-        } catch (IOException e) {
-            statusLabel.setText("Conexión fallida: " + e.getMessage());
-            Gdx.app.error("JoinLobbyScreen", "Failed to connect", e);
+        pendingJoin = NetworkManager.getInstance().joinGameAsync(host, port, playerName, statusLabel::setText);
+        pendingJoin.whenComplete((address, error) -> {
+            pendingJoin = null;
+            if (error instanceof CancellationException) {
+                return;
+            }
+            if (error != null) {
+                joinButton.setDisabled(false);
+                statusLabel.setText("Conexión fallida: " + error.getMessage());
+                Gdx.app.error("JoinLobbyScreen", "Failed to connect", error);
+                return;
+            }
+            onJoined(address, port);
+        });
+    }
+
+    /**
+     * Termina la unión en el hilo de render y pasa a la sala.
+     *
+     * @param address dirección a la que se conectó
+     * @param port    puerto del servidor
+     */
+    private void onJoined(String address, int port) {
+        NetworkManager.getInstance().registerAdditionalClasses(
+                to.mpm.minigames.manager.ManagerPackets.RoomConfig.class,
+                to.mpm.minigames.manager.ManagerPackets.ShowScoreboard.class,
+                to.mpm.minigames.manager.ManagerPackets.StartNextRound.class,
+                to.mpm.minigames.manager.ManagerPackets.ShowResults.class,
+                to.mpm.minigames.manager.ManagerPackets.ReturnToLobby.class,
+                java.util.HashMap.class,
+                java.util.ArrayList.class);
+
+        statusLabel.setText("¡Conectado!");
+
+        game.setScreen(new LobbyScreen(game, false, address, port));
+        dispose();
+    }
+
+    /**
+     * Cancela la conexión en curso, si existe.
+     */
+    private void cancelPendingJoin() {
+        if (pendingJoin != null) {
+            pendingJoin.cancel(false);
+            pendingJoin = null;
         }
     }
 
@@ -236,6 +273,7 @@ public class JoinLobbyScreen implements Screen {
      */
     @Override
     public void dispose() {
+        cancelPendingJoin();
         stage.dispose();
     }
 }
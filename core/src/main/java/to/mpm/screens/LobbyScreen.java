@@ -5,24 +5,25 @@ import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
 import to.mpm.minigames.MinigameType;
+import to.mpm.network.LobbyServerHandler;
 import to.mpm.network.NetworkConfig;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.Packets;
-import to.mpm.network.ServerEvents;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
-import to.mpm.network.handlers.ServerPacketContext;
-import to.mpm.network.handlers.ServerPacketHandler;
 import to.mpm.ui.UIStyles;
 import to.mpm.ui.UISkinProvider;
 import to.mpm.ui.components.PlayerListItem;
 import to.mpm.ui.components.StyledButton;
+import to.mpm.ui.components.VirtualList;
 import java.net.InetAddress;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.List;
@@ -54,8 +55,8 @@ public class LobbyScreen implements Screen {
     private Label ipLabel;
     /** Etiqueta que muestra el puerto del servidor. */
     private Label portLabel;
-    /** Contenedor de la lista de jugadores. */
-    private Table playersContainer;
+    /** Lista virtualizada de jugadores, con el ID de jugador como clave. */
+    private VirtualList<PlayerListItem.Row> playersList;
     /** Botón para iniciar el juego (solo host). */
     private TextButton startButton;
     /** Botón para alternar modo espectador. */
@@ -165,9 +166,18 @@ public class LobbyScreen implements Screen {
 
         root.add(topBar).expandX().fillX().row();
 
-        playersContainer = new Table();
-        playersContainer.top();
-        ScrollPane playersScroll = new ScrollPane(playersContainer, skin);
+        playersList = new VirtualList<>(new VirtualList.RowAdapter<>() {
+            @Override
+            public PlayerListItem.Row create() {
+                return new PlayerListItem(skin).createRow();
+            }
+
+            @Override
+            public void bind(PlayerListItem.Row row, int playerId, int index) {
+                row.bind(NetworkManager.getInstance().getConnectedPlayers().get(playerId), roleOf(playerId), null);
+            }
+        }, UIStyles.Spacing.SMALL);
+        ScrollPane playersScroll = new ScrollPane(playersList, skin);
         playersScroll.setFadeScrollBars(false);
 
         root.add(playersScroll).expand().fill().pad(UIStyles.Spacing.LARGE).row();
@@ -208,11 +218,8 @@ public class LobbyScreen implements Screen {
             root.add(statusLabel).bottom().padBottom(UIStyles.Spacing.MEDIUM).row();
         }
 
-        updatePlayersList();
-
-        if (isHost && startButton != null && NetworkManager.getInstance().getPlayerCount() > 1) {
-            startButton.setDisabled(false);
-        }
+        rebuildPlayersList();
+        updateStartButton();
 
         NetworkManager networkManager = NetworkManager.getInstance();
         lobbyClientHandler = new LobbyClientHandler();
@@ -252,38 +259,49 @@ public class LobbyScreen implements Screen {
         packet.isSpectator = !isCurrentlySpectator;
         NetworkManager.getInstance().sendPacket(packet);
 
-        updatePlayersList();
+        refreshPlayerRow(localPlayerId);
         Gdx.app.log("LobbyScreen", "Spectator mode toggled: " + !isCurrentlySpectator);
     }
 
     /**
-     * Maneja el evento de nuevo jugador conectado.
+     * Reemplaza la lista por la instantánea recibida al unirse.
      *
-     * @param packet paquete con información del jugador que se unió
+     * @param packet lista completa de la sala
      */
-    private void onPlayerJoined(Packets.PlayerJoined packet) {
-        Gdx.app.log("LobbyScreen", "Player " + packet.playerName + " connected!");
-        updatePlayersList();
-
-        if (isHost && startButton != null) {
-            startButton.setDisabled(false);
+    private void onRosterSnapshot(Packets.RosterSnapshot packet) {
+        spectators.clear();
+        for (int spectatorId : packet.spectatorIds) {
+            spectators.add(spectatorId);
         }
+        rebuildPlayersList();
+        updateStartButton();
+        Gdx.app.log("LobbyScreen", "Roster v" + packet.version + " with " + packet.playerIds.length + " players");
     }
 
     /**
-     * Maneja el evento de jugador desconectado.
+     * Aplica los cambios de un lote de admisión sin reconstruir la lista.
      *
-     * @param packet paquete con información del jugador que salió
+     * @param packet cambios de la sala
      */
-    private void onPlayerLeft(Packets.PlayerLeft packet) {
-        Gdx.app.log("LobbyScreen", "Player " + packet.playerId + " disconnected");
-        spectators.remove(packet.playerId);
-        updatePlayersList();
+    private void onRosterDelta(Packets.RosterDelta packet) {
+        for (int playerId : packet.leftIds) {
+            spectators.remove(playerId);
+            playersList.remove(playerId);
+        }
+        for (int playerId : packet.joinedIds) {
+            playersList.add(playerId);
+        }
+        updateStartButton();
+        Gdx.app.log("LobbyScreen", "Roster v" + packet.version + ": +" + packet.joinedIds.length + " -"
+                + packet.leftIds.length);
+    }
 
+    /**
+     * Habilita el botón de inicio si hay más de un jugador.
+     */
+    private void updateStartButton() {
         if (isHost && startButton != null) {
-            if (NetworkManager.getInstance().getPlayerCount() <= 1) {
-                startButton.setDisabled(true);
-            }
+            startButton.setDisabled(NetworkManager.getInstance().getPlayerCount() <= 1);
         }
     }
 
@@ -304,7 +322,7 @@ public class LobbyScreen implements Screen {
             spectatorButton.setText(packet.isSpectator ? "Modo\nJugador" : "Modo\nEspectador");
         }
 
-        updatePlayersList();
+        refreshPlayerRow(packet.playerId);
         Gdx.app.log("LobbyScreen", "Player " + packet.playerId + " spectator status: " + packet.isSpectator);
     }
 
@@ -330,6 +348,7 @@ public class LobbyScreen implements Screen {
                     Gdx.app.log("LobbyScreen",
                             "Client initialized GameFlowManager with " + spectators.size() + " spectators");
                 }
+                flowManager.setRoundSimulation(packet.seed, packet.lockstepPlayerIds);
 
                 int localPlayerId = NetworkManager.getInstance().getMyId();
                 if (spectators.contains(localPlayerId)) {
@@ -347,33 +366,42 @@ public class LobbyScreen implements Screen {
     }
 
     /**
-     * Actualiza la lista visual de jugadores conectados.
+     * Reemplaza las claves de la lista por los jugadores conectados, ordenados
+     * por ID.
+     * <p>
+     * Solo se usa al mostrar la pantalla y al recibir una instantánea; los
+     * deltas y los cambios de rol tocan únicamente sus claves. En ningún caso
+     * se crean filas para los jugadores que no están a la vista.
      */
-    private void updatePlayersList() {
-        playersContainer.clear();
-
-        ConcurrentHashMap<Integer, String> players = NetworkManager.getInstance().getConnectedPlayers();
-
-        for (var entry : players.entrySet()) {
-            int playerId = entry.getKey();
-            String playerName = entry.getValue();
-
-            String role;
-            if (spectators.contains(playerId)) {
-                role = "Espectador";
-            } else if (playerId == 0) {
-                role = isHost ? "Creador" : "Anfitrión";
-            } else {
-                role = "Jugador";
-            }
+    private void rebuildPlayersList() {
+        Map<Integer, String> players = NetworkManager.getInstance().getConnectedPlayers();
+        int[] playerIds = players.keySet().stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(playerIds);
+        playersList.setKeys(IntArray.with(playerIds));
+    }
 
-            Table playerItem = new PlayerListItem(skin)
-                    .playerName(playerName)
-                    .role(role)
-                    .build();
+    /**
+     * Vuelve a enlazar la fila de un jugador tras un cambio de rol.
+     *
+     * @param playerId ID del jugador
+     */
+    private void refreshPlayerRow(int playerId) {
+        playersList.refresh(playerId);
+    }
 
-            playersContainer.add(playerItem).fillX().expandX().padBottom(UIStyles.Spacing.SMALL).row();
+    /**
+     * Determina el rol que se muestra para un jugador.
+     *
+     * @param playerId ID del jugador
+     * @return texto del rol
+     */
+    private String roleOf(int playerId) {
+        if (spectators.contains(playerId)) {
+            return "Espectador";
+        } else if (playerId == 0) {
+            return isHost ? "Creador" : "Anfitrión";
         }
+        return "Jugador";
     }
 
     /**
@@ -407,10 +435,14 @@ public class LobbyScreen implements Screen {
         Gdx.app.log("LobbyScreen", "Selected game: " + selectedGame.getDisplayName() + " for " + activePlayerCount
                 + " players (" + spectators.size() + " spectators)");
 
+        flowManager.prepareRoundSimulation(selectedGame, flowManager.getActivePlayerIds());
+
         Packets.StartGame packet = new Packets.StartGame();
         packet.minigameType = selectedGame.name();
         packet.currentRound = flowManager.getCurrentRound();
         packet.totalRounds = flowManager.getTotalRounds();
+        packet.seed = flowManager.getRoundSeed();
+        packet.lockstepPlayerIds = flowManager.getLockstepPlayerIds();
         NetworkManager.getInstance().broadcastFromHost(packet);
 
         int localPlayerId = NetworkManager.getInstance().getMyId();
@@ -497,15 +529,16 @@ public class LobbyScreen implements Screen {
     private final class LobbyClientHandler implements ClientPacketHandler {
         @Override
         public List<Class<? extends NetworkPacket>> receivablePackets() {
-            return List.of(Packets.PlayerJoined.class, Packets.PlayerLeft.class, Packets.SpectatorStatus.class);
+            return List.of(Packets.RosterSnapshot.class, Packets.RosterDelta.class,
+                    Packets.SpectatorStatus.class);
         }
 
         @Override
         public void handle(ClientPacketContext context, NetworkPacket packet) {
-            if (packet instanceof Packets.PlayerJoined joined) {
-                onPlayerJoined(joined);
-            } else if (packet instanceof Packets.PlayerLeft left) {
-                onPlayerLeft(left);
+            if (packet instanceof Packets.RosterSnapshot snapshot) {
+                onRosterSnapshot(snapshot);
+            } else if (packet instanceof Packets.RosterDelta delta) {
+                onRosterDelta(delta);
             } else if (packet instanceof Packets.SpectatorStatus spectatorStatus) {
                 onSpectatorStatusChanged(spectatorStatus);
             }
@@ -528,7 +561,7 @@ public class LobbyScreen implements Screen {
                 if (roomConfig.spectatorIds != null) {
                     spectators.clear();
                     spectators.addAll(roomConfig.spectatorIds);
-                    updatePlayersList();
+                    rebuildPlayersList();
                 }
                 Gdx.app.log("LobbyScreen",
                         "Room configured with " + rounds + " rounds and " + spectators.size() + " spectators");
@@ -552,79 +585,4 @@ public class LobbyScreen implements Screen {
             }
         }
     }
-
-    /**
-     * Manejador de paquetes de la sala para el servidor.
-     */
-    private static final class LobbyServerHandler implements ServerPacketHandler {
-
-        @Override
-        public List<Class<? extends NetworkPacket>> receivablePackets() {
-            return List.of(Packets.PlayerJoinRequest.class, ServerEvents.ClientDisconnected.class,
-                    Packets.SpectatorStatus.class);
-        }
-
-        @Override
-        public void handle(ServerPacketContext context, NetworkPacket packet) {
-            if (packet instanceof Packets.PlayerJoinRequest joinRequest) {
-                handleJoin(context, joinRequest);
-            } else if (packet instanceof ServerEvents.ClientDisconnected disconnected) {
-                handleDisconnect(context, disconnected);
-            } else if (packet instanceof Packets.SpectatorStatus spectatorStatus) {
-                context.broadcast(spectatorStatus);
-            }
-        }
-
-        /**
-         * Maneja una solicitud de unión de un jugador.
-         *
-         * @param context contexto del paquete del servidor
-         * @param request paquete de solicitud de unión
-         */
-        private void handleJoin(ServerPacketContext context, Packets.PlayerJoinRequest request) {
-            int newPlayerId = context.getServer().allocatePlayerId();
-            context.getServer().bindConnectionToPlayer(context.getConnection(), newPlayerId, request.playerName);
-
-            Packets.PlayerJoined selfPacket = new Packets.PlayerJoined();
-            selfPacket.playerId = newPlayerId;
-            selfPacket.playerName = request.playerName;
-            selfPacket.correlationId = request.correlationId;
-            context.reply(selfPacket);
-
-            Packets.PlayerJoined broadcastPacket = new Packets.PlayerJoined();
-            broadcastPacket.playerId = newPlayerId;
-            broadcastPacket.playerName = request.playerName;
-            broadcastPacket.existingPlayer = false;
-            context.broadcastExceptSender(broadcastPacket);
-
-            context.getServer().getConnectedPlayers().forEach((playerId, playerName) -> {
-                if (playerId == newPlayerId) {
-                    return;
-                }
-                Packets.PlayerJoined existing = new Packets.PlayerJoined();
-                existing.playerId = playerId;
-                existing.playerName = playerName;
-                existing.existingPlayer = true;
-                context.reply(existing);
-            });
-
-            Gdx.app.log("LobbyServer", "Player joined: " + request.playerName + " (ID: " + newPlayerId + ")");
-        }
-
-        /**
-         * Maneja la desconexión de un jugador.
-         *
-         * @param context contexto del paquete del servidor
-         * @param event   evento de desconexión del cliente
-         */
-        private void handleDisconnect(ServerPacketContext context, ServerEvents.ClientDisconnected event) {
-            if (event.playerId < 0) {
-                return;
-            }
-            Packets.PlayerLeft left = new Packets.PlayerLeft();
-            left.playerId = event.playerId;
-            context.broadcast(left);
-            Gdx.app.log("LobbyServer", "Player disconnected: " + event.playerName + " (ID: " + event.playerId + ")");
-        }
-    }
 }
@@ -9,6 +9,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
+import to.mpm.minigames.AssetCache;
 import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.MinigameType;
 import to.mpm.ui.UIStyles;
@@ -18,7 +19,8 @@ import to.mpm.ui.UISkinProvider;
  * Pantalla de introducción mostrada antes de cada minijuego.
  * <p>
  * Muestra la descripción del minijuego y una vista previa.
- * Soporta tanto jugadores como espectadores.
+ * Soporta tanto jugadores como espectadores. Mientras corre la cuenta
+ * regresiva se precargan los sprites del minijuego.
  */
 public class MinigameIntroScreen implements Screen {
     /** Instancia del juego principal. */
@@ -78,6 +80,8 @@ public class MinigameIntroScreen implements Screen {
 
     @Override
     public void show() {
+        AssetCache.getInstance().preload(minigameType);
+
         stage = new Stage(new ScreenViewport());
         skin = UISkinProvider.obtain();
         Gdx.input.setInputProcessor(stage);
@@ -10,6 +10,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
 import to.mpm.minigames.MinigameType;
+import to.mpm.minigames.manager.GameFlowManager;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.Packets;
 import to.mpm.ui.UIStyles;
@@ -127,10 +128,15 @@ public class MinigameSelectionScreen implements Screen {
     private void selectMinigame(MinigameType type) {
         statusLabel.setText("Starting " + type.getDisplayName() + "...");
 
+        GameFlowManager flowManager = GameFlowManager.getInstance();
+        flowManager.prepareRoundSimulation(type, flowManager.getActivePlayerIds());
+
         Packets.StartGame packet = new Packets.StartGame();
         packet.minigameType = type.name();
         packet.currentRound = 1;
         packet.totalRounds = 1;
+        packet.seed = flowManager.getRoundSeed();
+        packet.lockstepPlayerIds = flowManager.getLockstepPlayerIds();
         NetworkManager.getInstance().broadcastFromHost(packet);
 
         startGame(type);
@@ -5,11 +5,14 @@ import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.ui.UIStyles;
 import to.mpm.ui.UISkinProvider;
 import to.mpm.ui.components.ScoreItem;
+import to.mpm.ui.components.VirtualList;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -75,20 +78,20 @@ public class ResultsScreen implements Screen {
     private to.mpm.network.handlers.ClientPacketHandler returnToLobbyHandler;
 
     /**
-     * Constructor de la pantalla de resultados con scores map.
+     * Constructor de la pantalla de resultados con la tabla de puntajes.
      *
      * @param game        referencia a la instancia principal del juego
-     * @param finalScores mapa de playerId a puntaje final
+     * @param finalScores puntajes finales por playerId
      */
-    public ResultsScreen(Main game, java.util.Map<Integer, Integer> finalScores) {
+    public ResultsScreen(Main game, ScoreTable finalScores) {
         this.game = game;
         this.results = new ArrayList<>();
 
         java.util.Map<Integer, String> playerNames = to.mpm.network.NetworkManager.getInstance().getConnectedPlayers();
-        for (java.util.Map.Entry<Integer, Integer> entry : finalScores.entrySet()) {
-            int playerId = entry.getKey();
+        for (int rank = 0; rank < finalScores.size(); rank++) {
+            int playerId = finalScores.getPlayerId(rank);
             String playerName = playerNames.getOrDefault(playerId, "Player " + playerId);
-            results.add(new to.mpm.utils.PlayerData(playerId, playerName, entry.getValue()));
+            results.add(new to.mpm.utils.PlayerData(playerId, playerName, finalScores.getScore(rank)));
         }
         java.util.Collections.sort(results);
 
@@ -238,20 +241,25 @@ public class ResultsScreen implements Screen {
     private void renderFullListView() {
         Table listTable = new Table();
 
-        Table scoresContainer = new Table();
+        VirtualList<ScoreItem.Row> scoresList = new VirtualList<>(new VirtualList.RowAdapter<>() {
+            @Override
+            public ScoreItem.Row create() {
+                return new ScoreItem(skin).createRow();
+            }
+
+            @Override
+            public void bind(ScoreItem.Row row, int playerId, int index) {
+                to.mpm.utils.PlayerData pr = results.get(index + 3);
+                row.bind(index + 4, pr.getPlayerName(), pr.getScore(), false);
+            }
+        }, UIStyles.Spacing.LARGE);
+        IntArray playerIds = new IntArray();
         for (int i = 3; i < results.size(); i++) {
-            to.mpm.utils.PlayerData pr = results.get(i);
-            Table scoreItem = new ScoreItem(skin)
-                    .rank(i + 1)
-                    .playerName(pr.getPlayerName())
-                    .score(pr.getScore())
-                    .highlighted(false)
-                    .build();
-
-            scoresContainer.add(scoreItem).fillX().expandX().padBottom(UIStyles.Spacing.LARGE).row();
+            playerIds.add(results.get(i).getPlayerId());
         }
+        scoresList.setKeys(playerIds);
 
-        fullListScrollPane = new ScrollPane(scoresContainer, skin);
+        fullListScrollPane = new ScrollPane(scoresList, skin);
         fullListScrollPane.setFadeScrollBars(false);
         listTable.add(fullListScrollPane).width(UIStyles.Layout.PANEL_MAX_WIDTH)
                 .height(UIStyles.Layout.LIST_MAX_HEIGHT);
@@ -6,9 +6,13 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
+import to.mpm.minigames.AssetCache;
+import to.mpm.minigames.GameConstants;
 import to.mpm.minigames.MinigameType;
+import to.mpm.minigames.ScoreTable;
 import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.handlers.ClientPacketContext;
@@ -16,21 +20,22 @@ import to.mpm.network.handlers.ClientPacketHandler;
 import to.mpm.ui.UIStyles;
 import to.mpm.ui.UISkinProvider;
 import to.mpm.ui.components.ScoreItem;
+import to.mpm.ui.components.VirtualList;
 import to.mpm.utils.PlayerData;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Pantalla de marcador mostrando los puntajes acumulados después de cada ronda.
  * <p>
  * Los jugadores se ordenan por puntaje de forma descendente.
  * <p>
- * Avanza automáticamente a la siguiente ronda después de 5 segundos.
+ * Avanza automáticamente a la siguiente ronda después de 5 segundos. El host
+ * elige el siguiente minijuego al mostrarse la pantalla para precargar sus
+ * sprites durante la cuenta regresiva.
  */
 public class ScoreboardScreen implements Screen {
     /** Referencia a la instancia principal del juego. */
@@ -48,32 +53,34 @@ public class ScoreboardScreen implements Screen {
     private Skin skin;
     /** Scroll para la lista de puntajes. */
     private ScrollPane scoresScroll;
-    /** Contenedor para la lista de puntajes. */
-    private Table scoresContainer;
+    /** Lista virtualizada de puntajes, con el ID de jugador como clave. */
+    private VirtualList<ScoreItem.Row> scoresList;
     /** Etiqueta para mostrar la cuenta regresiva. */
     private Label countdownLabel;
     /** Etiqueta para mostrar la ronda actual. */
     private Label roundLabel;
 
     /** Temporizador de cuenta regresiva en segundos. */
-    private float countdownTimer = 5.0f;
+    private float countdownTimer = GameConstants.Timing.SCOREBOARD_DURATION;
     /** Lista de jugadores ordenados por puntaje. */
     private List<PlayerData> sortedPlayers;
     /** Manejador de paquete para iniciar la siguiente ronda. */
     private StartNextRoundHandler startNextRoundHandler;
     /** Manejador de paquete para mostrar resultados. */
     private ShowResultsHandler showResultsHandler;
+    /** Siguiente minijuego elegido por el host, o null en los clientes. */
+    private MinigameType nextGame;
 
     /**
      * Constructor de la pantalla de marcador.
      *
      * @param game          referencia a la instancia principal del juego
-     * @param scores        mapa de playerId a puntaje acumulado
+     * @param scores        puntajes acumulados por playerId
      * @param currentRound  ronda actual que acaba de terminar (1-based)
      * @param totalRounds   total de rondas en el juego
      * @param localPlayerId ID del jugador local
      */
-    public ScoreboardScreen(Main game, Map<Integer, Integer> scores, int currentRound, int totalRounds,
+    public ScoreboardScreen(Main game, ScoreTable scores, int currentRound, int totalRounds,
             int localPlayerId) {
         this.game = game;
         this.currentRound = currentRound;
@@ -82,17 +89,15 @@ public class ScoreboardScreen implements Screen {
 
         sortedPlayers = new ArrayList<>();
         Map<Integer, String> playerNames = NetworkManager.getInstance().getConnectedPlayers();
-        Set<Integer> processedPlayers = new HashSet<>();
         to.mpm.minigames.manager.GameFlowManager flowManager = to.mpm.minigames.manager.GameFlowManager.getInstance();
 
-        for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
-            int playerId = entry.getKey();
+        for (int rank = 0; rank < scores.size(); rank++) {
+            int playerId = scores.getPlayerId(rank);
             if (flowManager.isSpectator(playerId))
                 continue;
 
             String playerName = playerNames.getOrDefault(playerId, "Player " + playerId);
-            sortedPlayers.add(new PlayerData(playerId, playerName, entry.getValue()));
-            processedPlayers.add(playerId);
+            sortedPlayers.add(new PlayerData(playerId, playerName, scores.getScore(rank)));
         }
 
         for (Map.Entry<Integer, String> entry : playerNames.entrySet()) {
@@ -100,7 +105,7 @@ public class ScoreboardScreen implements Screen {
             if (flowManager.isSpectator(playerId))
                 continue;
 
-            if (!processedPlayers.contains(playerId)) {
+            if (!scores.containsKey(playerId)) {
                 sortedPlayers.add(new PlayerData(playerId, entry.getValue(), 0));
             }
         }
@@ -113,6 +118,11 @@ public class ScoreboardScreen implements Screen {
      */
     @Override
     public void show() {
+        if (NetworkManager.getInstance().isHost()) {
+            nextGame = selectNextGame();
+            AssetCache.getInstance().preload(nextGame);
+        }
+
         stage = new Stage(new ScreenViewport());
         skin = UISkinProvider.obtain();
         game.getSettingsOverlayManager().attachStage(stage);
@@ -138,8 +148,25 @@ public class ScoreboardScreen implements Screen {
         titleLabel.setAlignment(Align.center);
         root.add(titleLabel).expandX().center().padBottom(UIStyles.Spacing.LARGE).row();
 
-        scoresContainer = new Table();
-        scoresScroll = new ScrollPane(scoresContainer, skin);
+        scoresList = new VirtualList<>(new VirtualList.RowAdapter<>() {
+            @Override
+            public ScoreItem.Row create() {
+                return new ScoreItem(skin)
+                        .rankFontSize(16)
+                        .nameFontSize(14)
+                        .scoreFontSize(16)
+                        .createRow();
+            }
+
+            @Override
+            public void bind(ScoreItem.Row row, int playerId, int index) {
+                PlayerData player = sortedPlayers.get(index);
+                boolean isLocalPlayer = playerId == localPlayerId;
+                row.bind(index + 1, player.getPlayerName() + (isLocalPlayer ? " (Tú)" : ""), player.getScore(),
+                        isLocalPlayer);
+            }
+        }, UIStyles.Spacing.LARGE);
+        scoresScroll = new ScrollPane(scoresList, skin);
         scoresScroll.setFadeScrollBars(false);
 
         root.add(scoresScroll)
@@ -172,42 +199,25 @@ public class ScoreboardScreen implements Screen {
     }
 
     /**
-     * Actualiza la lista de puntajes, resaltando al jugador local.
+     * Actualiza la lista de puntajes, resaltando al jugador local, y la
+     * desplaza para centrarlo.
+     * <p>
+     * Solo se enlazan las filas visibles, así que el costo no crece con el
+     * número de jugadores.
      */
     private void updateScoresList() {
-        scoresContainer.clear();
-
-        for (int i = 0; i < sortedPlayers.size(); i++) {
-            PlayerData player = sortedPlayers.get(i);
-            boolean isLocalPlayer = player.getPlayerId() == localPlayerId;
-
-            Table scoreItem = new ScoreItem(skin)
-                    .rank(i + 1)
-                    .playerName(player.getPlayerName() + (isLocalPlayer ? " (Tú)" : ""))
-                    .score(player.getScore())
-                    .highlighted(isLocalPlayer)
-                    .rankFontSize(16)
-                    .nameFontSize(14)
-                    .scoreFontSize(16)
-                    .build();
-
-            scoresContainer.add(scoreItem).fillX().expandX().padBottom(UIStyles.Spacing.LARGE).row();
+        IntArray playerIds = new IntArray(sortedPlayers.size());
+        for (PlayerData player : sortedPlayers) {
+            playerIds.add(player.getPlayerId());
         }
+        scoresList.setKeys(playerIds);
 
         stage.act(0);
-        float localPlayerY = 0;
-
-        for (int i = 0; i < sortedPlayers.size(); i++) {
-            if (sortedPlayers.get(i).getPlayerId() == localPlayerId) {
-                break;
-            }
-            if (i < scoresContainer.getChildren().size) {
-                localPlayerY += scoresContainer.getChildren().get(i).getHeight() + UIStyles.Spacing.LARGE;
-            }
-        }
+        int localIndex = scoresList.indexOf(localPlayerId);
+        float localPlayerY = localIndex >= 0 ? scoresList.getRowOffset(localIndex) : 0;
 
         float scrollHeight = scoresScroll.getHeight();
-        float contentHeight = scoresContainer.getHeight();
+        float contentHeight = scoresList.getPrefHeight();
         float targetScroll = localPlayerY - scrollHeight / 2;
         targetScroll = Math.max(0, Math.min(targetScroll, contentHeight - scrollHeight));
         scoresScroll.setScrollY(targetScroll);
@@ -237,6 +247,24 @@ public class ScoreboardScreen implements Screen {
         stage.draw();
     }
 
+    /**
+     * Elige el siguiente minijuego (solo host): la final en la última ronda o
+     * uno al azar para los jugadores activos.
+     *
+     * @return el minijuego elegido
+     */
+    private MinigameType selectNextGame() {
+        to.mpm.minigames.manager.GameFlowManager flowManager = to.mpm.minigames.manager.GameFlowManager.getInstance();
+        if (flowManager.isFinaleNext()) {
+            return MinigameType.THE_FINALE;
+        }
+        int activePlayerCount = flowManager.getActivePlayerCount();
+        MinigameType selected = to.mpm.minigames.selection.RandomGameSelection.selectGame(activePlayerCount);
+        Gdx.app.log("ScoreboardScreen",
+                "Selected next game: " + selected.getDisplayName() + " for " + activePlayerCount + " players");
+        return selected;
+    }
+
     /**
      * Avanza a la siguiente ronda o a la pantalla de resultados si es la final.
      * <p>
@@ -246,11 +274,9 @@ public class ScoreboardScreen implements Screen {
         to.mpm.minigames.manager.GameFlowManager flowManager = to.mpm.minigames.manager.GameFlowManager.getInstance();
         flowManager.startRound();
 
-        MinigameType nextGame;
         List<Integer> participatingPlayers = null;
 
         if (flowManager.shouldPlayFinale()) {
-            nextGame = MinigameType.THE_FINALE;
             participatingPlayers = flowManager.getFinalePlayerIds();
 
             if (participatingPlayers.size() == 1) {
@@ -264,17 +290,17 @@ public class ScoreboardScreen implements Screen {
             }
 
             Gdx.app.log("ScoreboardScreen", "Starting finale with " + participatingPlayers.size() + " players");
-        } else {
-            int activePlayerCount = flowManager.getActivePlayerCount();
-            nextGame = to.mpm.minigames.selection.RandomGameSelection.selectGame(activePlayerCount);
-            Gdx.app.log("ScoreboardScreen",
-                    "Selected next game: " + nextGame.getDisplayName() + " for " + activePlayerCount + " players");
         }
 
+        flowManager.prepareRoundSimulation(nextGame,
+                participatingPlayers != null ? participatingPlayers : flowManager.getActivePlayerIds());
+
         to.mpm.minigames.manager.ManagerPackets.StartNextRound packet = new to.mpm.minigames.manager.ManagerPackets.StartNextRound(
                 flowManager.getCurrentRound(),
                 nextGame.name(),
                 participatingPlayers);
+        packet.seed = flowManager.getRoundSeed();
+        packet.lockstepPlayerIds = flowManager.getLockstepPlayerIds();
         NetworkManager.getInstance().broadcastFromHost(packet);
 
         if (participatingPlayers == null || participatingPlayers.contains(localPlayerId)) {
@@ -355,6 +381,7 @@ public class ScoreboardScreen implements Screen {
 
                 to.mpm.minigames.manager.GameFlowManager flowManager = to.mpm.minigames.manager.GameFlowManager
                         .getInstance();
+                flowManager.setRoundSimulation(startNextRound.seed, startNextRound.lockstepPlayerIds);
                 if (flowManager.isSpectator(localPlayerId)) {
                     game.setScreen(new MinigameIntroScreen(game, minigameType, startNextRound.roundNumber, totalRounds, true));
                 } else if (startNextRound.participatingPlayerIds == null ||
@@ -381,7 +408,7 @@ public class ScoreboardScreen implements Screen {
         public void handle(ClientPacketContext context, NetworkPacket packet) {
             if (packet instanceof to.mpm.minigames.manager.ManagerPackets.ShowResults showResults) {
                 Gdx.app.log("ScoreboardScreen", "Received ShowResults, transitioning to results screen");
-                game.setScreen(new ResultsScreen(game, showResults.finalScores));
+                game.setScreen(new ResultsScreen(game, showResults.getScores()));
                 dispose();
             }
         }
@@ -13,6 +13,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import to.mpm.Main;
+import to.mpm.minigames.FixedTimestep;
 import to.mpm.minigames.Minigame;
 import to.mpm.minigames.MinigameFactory;
 import to.mpm.minigames.MinigameType;
@@ -20,8 +21,13 @@ import to.mpm.network.NetworkManager;
 import to.mpm.network.NetworkPacket;
 import to.mpm.network.handlers.ClientPacketContext;
 import to.mpm.network.handlers.ClientPacketHandler;
+import to.mpm.network.spectator.SpectatorFeed;
+import to.mpm.network.spectator.SpectatorFeedClient;
+import to.mpm.network.spectator.SpectatorSnapshotSource;
 import to.mpm.ui.UIStyles;
 import to.mpm.ui.UISkinProvider;
+import to.mpm.utils.FrameProfiler;
+import to.mpm.utils.FrameProfiler.Phase;
 
 /**
  * Pantalla de espectador para observar el juego sin participar.
@@ -49,6 +55,8 @@ public class SpectatorScreen implements Screen {
     private Skin skin;
     /** Etiqueta para mostrar el temporizador. */
     private Label timerLabel;
+    /** Segundos mostrados en el temporizador, para no rehacer el texto cada frame. */
+    private int displayedSeconds = -1;
     /** Etiqueta para mostrar la ronda actual. */
     private Label roundLabel;
     /** Temporizador del juego. */
@@ -61,14 +69,18 @@ public class SpectatorScreen implements Screen {
     private float scanlineTimer = 0f;
     /** Intervalo para cambio aleatorio del offset. */
     private float scanlineChangeInterval = 2f;
-    /** Fuente personalizada para la UI. */
+    /** Fuente personalizada para la UI, compartida por {@link to.mpm.ui.FontCache}. */
     private BitmapFont customFont;
+    /** Acumulador de los pasos fijos cuando el minijuego se simula localmente. */
+    private final FixedTimestep timestep = new FixedTimestep();
     /** Manejador de paquete para mostrar el marcador. */
     private ClientPacketHandler showScoreboardHandler;
     /** Manejador de paquete para mostrar resultados. */
     private ClientPacketHandler showResultsHandler;
     /** Manejador de paquete para iniciar la siguiente ronda. */
     private ClientPacketHandler startNextRoundHandler;
+    /** Receptor de instantáneas, o null si el minijuego se simula localmente. */
+    private SpectatorFeedClient feedClient;
 
     /**
      * Construye una nueva pantalla de espectador.
@@ -195,24 +207,54 @@ public class SpectatorScreen implements Screen {
         startNextRoundHandler = new StartNextRoundPacketHandler();
         networkManager.registerClientHandler(startNextRoundHandler);
 
+        if (!networkManager.isHost() && currentMinigame instanceof SpectatorSnapshotSource) {
+            feedClient = new SpectatorFeedClient();
+            feedClient.start();
+        }
+
         Gdx.app.log("SpectatorScreen", "Spectating minigame: " + minigameType.getDisplayName());
     }
 
     /**
      * Renderiza la pantalla y actualiza la lógica del frame.
+     * <p>
+     * Con instantáneas del host se avanza por tiempo real; si el minijuego se
+     * simula localmente, en pasos fijos como en {@link GameScreen}.
      *
      * @param delta tiempo transcurrido desde el último frame en segundos
      */
     @Override
     public void render(float delta) {
-        currentMinigame.update(delta);
+        FrameProfiler profiler = FrameProfiler.getInstance();
+        profiler.begin(Phase.UPDATE);
+        float simulated = delta;
+        float alpha = 1f;
+        if (feedClient != null && feedClient.hasFrame()
+                && currentMinigame instanceof SpectatorSnapshotSource source) {
+            source.applySpectatorSnapshot(feedClient.advance(delta), delta);
+        } else {
+            int steps = timestep.advance(delta);
+            for (int i = 0; i < steps; i++) {
+                currentMinigame.update(timestep.getStep());
+            }
+            simulated = steps * timestep.getStep();
+            alpha = timestep.getAlpha();
+            SpectatorFeed feed = NetworkManager.getInstance().getSpectatorFeed();
+            if (feed != null && currentMinigame instanceof SpectatorSnapshotSource source) {
+                feed.publish(delta, source);
+            }
+        }
+        profiler.end(Phase.UPDATE);
 
         boolean isFinale = minigameType == MinigameType.THE_FINALE;
         if (!isFinale) {
-            gameTimer -= delta;
+            gameTimer -= simulated;
             if (timerLabel != null) {
                 int seconds = Math.max(0, (int) Math.ceil(gameTimer));
-                timerLabel.setText("TIEMPO " + seconds);
+                if (seconds != displayedSeconds) {
+                    displayedSeconds = seconds;
+                    timerLabel.setText("TIEMPO " + seconds);
+                }
             }
         }
 
@@ -228,8 +270,11 @@ public class SpectatorScreen implements Screen {
         Gdx.gl.glClearColor(0.15f, 0.15f, 0.2f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        currentMinigame.render(batch, shapeRenderer);
+        profiler.begin(Phase.RENDER);
+        currentMinigame.render(batch, shapeRenderer, alpha);
+        profiler.end(Phase.RENDER);
 
+        profiler.begin(Phase.OVERLAY);
         if (scanlineOverlay != null) {
             batch.begin();
             int screenWidth = Gdx.graphics.getWidth();
@@ -241,9 +286,12 @@ public class SpectatorScreen implements Screen {
             }
             batch.end();
         }
+        profiler.end(Phase.OVERLAY);
 
+        profiler.begin(Phase.UI);
         uiStage.act(delta);
         uiStage.draw();
+        profiler.end(Phase.UI);
     }
 
     /**
@@ -282,10 +330,17 @@ public class SpectatorScreen implements Screen {
     }
 
     /**
-     * Libera los recursos utilizados por esta pantalla.
+     * Libera los recursos utilizados por esta pantalla y guarda el perfil de
+     * frames de la ronda.
      */
     @Override
     public void dispose() {
+        FrameProfiler.getInstance().dumpRound(
+                "round-" + currentRound + "-" + minigameType.name().toLowerCase() + "-spectator");
+        if (feedClient != null) {
+            feedClient.stop();
+            feedClient = null;
+        }
         if (showScoreboardHandler != null) {
             NetworkManager.getInstance().unregisterClientHandler(showScoreboardHandler);
         }
@@ -305,9 +360,6 @@ public class SpectatorScreen implements Screen {
         if (scanlineOverlay != null) {
             scanlineOverlay.dispose();
         }
-        if (customFont != null) {
-            customFont.dispose();
-        }
         if (uiStage != null) {
             uiStage.dispose();
         }
@@ -329,7 +381,7 @@ public class SpectatorScreen implements Screen {
                 Gdx.app.log("SpectatorScreen", "Received ShowScoreboard for round " + showScoreboard.currentRound);
                 int localPlayerId = NetworkManager.getInstance().getMyId();
                 Gdx.app.postRunnable(() -> {
-                    game.setScreen(new ScoreboardScreen(game, showScoreboard.allPlayerScores,
+                    game.setScreen(new ScoreboardScreen(game, showScoreboard.getScores(),
                             showScoreboard.currentRound, showScoreboard.totalRounds, localPlayerId));
                 });
             }
@@ -351,7 +403,7 @@ public class SpectatorScreen implements Screen {
             if (packet instanceof to.mpm.minigames.manager.ManagerPackets.ShowResults showResults) {
                 Gdx.app.log("SpectatorScreen", "Received ShowResults packet");
                 Gdx.app.postRunnable(() -> {
-                    game.setScreen(new ResultsScreen(game, showResults.finalScores));
+                    game.setScreen(new ResultsScreen(game, showResults.getScores()));
                 });
             }
         }
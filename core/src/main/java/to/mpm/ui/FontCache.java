@@ -0,0 +1,256 @@
+package to.mpm.ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Caché de fuentes TrueType rasterizadas.
+ * <p>
+ * Cada combinación de fuente, tamaño, color y juego de caracteres se rasteriza
+ * una sola vez: el resultado se guarda en disco como un {@code .fnt} con sus
+ * páginas PNG, en una carpeta por hash del TTF, y las siguientes ejecuciones lo
+ * cargan directamente sin pasar por FreeType. En memoria cada fuente se crea
+ * una vez y se comparte entre pantallas, así que quien la obtiene no debe
+ * liberarla; {@link #dispose()} las libera todas al cerrar el juego.
+ */
+public final class FontCache {
+    /** Carpeta de la caché en disco, relativa al directorio del usuario. */
+    private static final String CACHE_DIR = ".micropatosmania/fonts/";
+    /** Tamaño de las páginas donde se empaquetan los glifos. */
+    private static final int PAGE_SIZE = 1024;
+
+    /** Fuentes cargadas por clave. */
+    private static final ObjectMap<String, BitmapFont> fonts = new ObjectMap<>();
+    /** Generadores abiertos por ruta del TTF. */
+    private static final ObjectMap<String, FreeTypeFontGenerator> generators = new ObjectMap<>();
+    /** Hash del contenido de cada TTF por ruta. */
+    private static final ObjectMap<String, String> ttfHashes = new ObjectMap<>();
+
+    private FontCache() {
+    }
+
+    /**
+     * Obtiene una fuente con los caracteres por defecto de FreeType.
+     *
+     * @param ttfPath ruta interna del TTF
+     * @param size    tamaño en píxeles
+     * @param color   color de los glifos
+     * @return fuente compartida; no se debe liberar
+     */
+    public static BitmapFont obtain(String ttfPath, int size, Color color) {
+        return obtain(ttfPath, size, color, FreeTypeFontGenerator.DEFAULT_CHARS);
+    }
+
+    /**
+     * Obtiene una fuente, cargándola de disco o rasterizándola si hace falta.
+     *
+     * @param ttfPath    ruta interna del TTF
+     * @param size       tamaño en píxeles
+     * @param color      color de los glifos
+     * @param characters caracteres a incluir
+     * @return fuente compartida; no se debe liberar
+     */
+    public static BitmapFont obtain(String ttfPath, int size, Color color, String characters) {
+        String name = fontName(ttfPath, size, color, characters);
+        BitmapFont font = fonts.get(name);
+        if (font != null) {
+            return font;
+        }
+        FileHandle fntFile = Gdx.files.external(CACHE_DIR + ttfHash(ttfPath) + "/" + name + ".fnt");
+        if (fntFile.exists()) {
+            try {
+                font = new BitmapFont(fntFile);
+                Gdx.app.log("FontCache", "Loaded baked font " + fntFile.path());
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("FontCache", "Discarding corrupt baked font " + fntFile.path() + ": " + e.getMessage());
+            }
+        }
+        if (font == null) {
+            font = bake(ttfPath, size, color, characters, fntFile);
+        }
+        fonts.put(name, font);
+        return font;
+    }
+
+    /**
+     * Libera todas las fuentes y generadores.
+     */
+    public static void dispose() {
+        for (BitmapFont font : fonts.values()) {
+            font.dispose();
+        }
+        fonts.clear();
+        for (FreeTypeFontGenerator generator : generators.values()) {
+            generator.dispose();
+        }
+        generators.clear();
+    }
+
+    /**
+     * Rasteriza una fuente con FreeType, la guarda en disco y la carga desde ahí.
+     * Si no se puede escribir la caché, usa la fuente generada en memoria.
+     *
+     * @param ttfPath    ruta interna del TTF
+     * @param size       tamaño en píxeles
+     * @param color      color de los glifos
+     * @param characters caracteres a incluir
+     * @param fntFile    destino del {@code .fnt}
+     * @return la fuente
+     */
+    private static BitmapFont bake(String ttfPath, int size, Color color, String characters, FileHandle fntFile) {
+        FreeTypeFontGenerator generator = generators.get(ttfPath);
+        if (generator == null) {
+            generator = new FreeTypeFontGenerator(Gdx.files.internal(ttfPath));
+            generators.put(ttfPath, generator);
+        }
+        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.size = size;
+        parameter.color = color;
+        parameter.characters = characters;
+
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false,
+                new PixmapPacker.SkylineStrategy());
+        parameter.packer = packer;
+        try {
+            BitmapFont.BitmapFontData data = generator.generateData(parameter);
+            Array<PixmapPacker.Page> pages = packer.getPages();
+            String baseName = fntFile.nameWithoutExtension();
+            for (int i = 0; i < pages.size; i++) {
+                PixmapIO.writePNG(fntFile.sibling(baseName + "_" + i + ".png"), pages.get(i).getPixmap());
+            }
+            fntFile.writeString(writeFnt(data, baseName, pages.size, size), false, "UTF-8");
+            Gdx.app.log("FontCache", "Baked font " + fntFile.path());
+            return new BitmapFont(fntFile);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("FontCache", "Could not cache font " + fntFile.name() + ": " + e.getMessage());
+            parameter.packer = null;
+            return generator.generateFont(parameter);
+        } finally {
+            packer.dispose();
+        }
+    }
+
+    /**
+     * Serializa los datos de una fuente en formato BMFont de texto, con la
+     * línea {@code metrics} de libGDX para conservar exactamente las métricas
+     * que calculó FreeType.
+     *
+     * @param data      datos generados
+     * @param baseName  nombre base de las páginas PNG
+     * @param pageCount número de páginas
+     * @param size      tamaño en píxeles
+     * @return contenido del {@code .fnt}
+     */
+    private static String writeFnt(BitmapFont.BitmapFontData data, String baseName, int pageCount, int size) {
+        StringBuilder out = new StringBuilder();
+        out.append("info face=\"").append(baseName).append("\" size=").append(size)
+                .append(" bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=")
+                .append((int) data.padTop).append(',').append((int) data.padRight).append(',')
+                .append((int) data.padBottom).append(',').append((int) data.padLeft).append(" spacing=0,0\n");
+        out.append("common lineHeight=").append((int) data.lineHeight)
+                .append(" base=").append((int) (data.capHeight + data.ascent))
+                .append(" scaleW=").append(PAGE_SIZE).append(" scaleH=").append(PAGE_SIZE)
+                .append(" pages=").append(pageCount).append(" packed=0\n");
+        for (int i = 0; i < pageCount; i++) {
+            out.append("page id=").append(i).append(" file=\"").append(baseName).append('_').append(i)
+                    .append(".png\"\n");
+        }
+
+        Array<BitmapFont.Glyph> glyphs = new Array<>();
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page == null) {
+                continue;
+            }
+            for (BitmapFont.Glyph glyph : page) {
+                if (glyph != null) {
+                    glyphs.add(glyph);
+                }
+            }
+        }
+        for (BitmapFont.Glyph glyph : glyphs) {
+            out.append("char id=").append(glyph.id)
+                    .append(" x=").append(glyph.srcX).append(" y=").append(glyph.srcY)
+                    .append(" width=").append(glyph.width).append(" height=").append(glyph.height)
+                    .append(" xoffset=").append(glyph.xoffset)
+                    .append(" yoffset=").append(-(glyph.height + glyph.yoffset))
+                    .append(" xadvance=").append(glyph.xadvance)
+                    .append(" page=").append(glyph.page).append(" chnl=0\n");
+        }
+
+        // La línea de kernings se escribe siempre: el lector la salta antes de buscar metrics.
+        StringBuilder kernings = new StringBuilder();
+        int kerningCount = 0;
+        for (int i = 0; i < glyphs.size; i++) {
+            BitmapFont.Glyph first = glyphs.get(i);
+            for (int j = 0; j < glyphs.size; j++) {
+                BitmapFont.Glyph second = glyphs.get(j);
+                int amount = first.getKerning((char) second.id);
+                if (amount != 0) {
+                    kernings.append("kerning first=").append(first.id).append(" second=").append(second.id)
+                            .append(" amount=").append(amount).append('\n');
+                    kerningCount++;
+                }
+            }
+        }
+        out.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+
+        out.append("metrics ascent=").append(data.ascent).append(" descent=").append(data.descent)
+                .append(" down=").append(data.down).append(" capHeight=").append(data.capHeight)
+                .append(" lineHeight=").append(data.lineHeight)
+                .append(" spaceXadvance=").append(data.spaceXadvance)
+                .append(" xHeight=").append(data.xHeight).append('\n');
+        return out.toString();
+    }
+
+    /**
+     * Construye el nombre de una fuente en caché.
+     *
+     * @param ttfPath    ruta interna del TTF
+     * @param size       tamaño en píxeles
+     * @param color      color de los glifos
+     * @param characters caracteres incluidos
+     * @return nombre único para la combinación
+     */
+    private static String fontName(String ttfPath, int size, Color color, String characters) {
+        return Gdx.files.internal(ttfPath).nameWithoutExtension() + "-" + size + "-" + color.toString()
+                + "-" + Integer.toHexString(characters.hashCode());
+    }
+
+    /**
+     * Calcula el hash del contenido de un TTF, para que cambiar la fuente
+     * invalide lo cacheado.
+     *
+     * @param ttfPath ruta interna del TTF
+     * @return los primeros 16 dígitos hexadecimales del SHA-1
+     */
+    private static String ttfHash(String ttfPath) {
+        String hash = ttfHashes.get(ttfPath);
+        if (hash != null) {
+            return hash;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(Gdx.files.internal(ttfPath).readBytes());
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            hash = hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new GdxRuntimeException("SHA-1 not available", e);
+        }
+        ttfHashes.put(ttfPath, hash);
+        return hash;
+    }
+}
@@ -11,6 +11,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
  * Gestiona una instancia compartida para evitar recargas repetidas del recurso.
  */
 public final class UISkinProvider {
+    /** Tamaños de Sixtyfour registrados en el skin como {@code sixtyfour-<tamaño>}. */
+    private static final int[] SIXTYFOUR_SIZES = {12, 14, 16, 18, 20, 24, 32, 40, 48};
+
     /** Instancia compartida del skin. */
     private static Skin sharedSkin;
 
@@ -32,39 +35,31 @@ public final class UISkinProvider {
 
     /**
      * Carga fuentes personalizadas en el skin.
+     * <p>
+     * Las fuentes pertenecen a {@link FontCache}, no al skin.
      *
      * @param skin skin al que agregar las fuentes
      */
     private static void loadCustomFonts(Skin skin) {
-        BitmapFont sixtyfour12 = UIStyles.Fonts.loadSixtyfour(12, Color.WHITE);
-        BitmapFont sixtyfour14 = UIStyles.Fonts.loadSixtyfour(14, Color.WHITE);
-        BitmapFont sixtyfour16 = UIStyles.Fonts.loadSixtyfour(16, Color.WHITE);
-        BitmapFont sixtyfour18 = UIStyles.Fonts.loadSixtyfour(18, Color.WHITE);
-        BitmapFont sixtyfour20 = UIStyles.Fonts.loadSixtyfour(20, Color.WHITE);
-        BitmapFont sixtyfour24 = UIStyles.Fonts.loadSixtyfour(24, Color.WHITE);
-        BitmapFont sixtyfour32 = UIStyles.Fonts.loadSixtyfour(32, Color.WHITE);
-        BitmapFont sixtyfour40 = UIStyles.Fonts.loadSixtyfour(40, Color.WHITE);
-        BitmapFont sixtyfour48 = UIStyles.Fonts.loadSixtyfour(48, Color.WHITE);
-        
-        skin.add("sixtyfour-12", sixtyfour12, BitmapFont.class);
-        skin.add("sixtyfour-14", sixtyfour14, BitmapFont.class);
-        skin.add("sixtyfour-16", sixtyfour16, BitmapFont.class);
-        skin.add("sixtyfour-18", sixtyfour18, BitmapFont.class);
-        skin.add("sixtyfour-20", sixtyfour20, BitmapFont.class);
-        skin.add("sixtyfour-24", sixtyfour24, BitmapFont.class);
-        skin.add("sixtyfour-32", sixtyfour32, BitmapFont.class);
-        skin.add("sixtyfour-40", sixtyfour40, BitmapFont.class);
-        skin.add("sixtyfour-48", sixtyfour48, BitmapFont.class);
-        skin.add("sixtyfour", sixtyfour32, BitmapFont.class);
+        for (int size : SIXTYFOUR_SIZES) {
+            skin.add("sixtyfour-" + size, UIStyles.Fonts.loadSixtyfour(size, Color.WHITE), BitmapFont.class);
+        }
+        skin.add("sixtyfour", UIStyles.Fonts.loadSixtyfour(32, Color.WHITE), BitmapFont.class);
     }
 
     /**
-     * Libera la instancia compartida del skin si existe.
+     * Libera la instancia compartida del skin si existe, junto con las fuentes
+     * de {@link FontCache}.
      */
     public static void dispose() {
         if (sharedSkin != null) {
+            for (int size : SIXTYFOUR_SIZES) {
+                sharedSkin.remove("sixtyfour-" + size, BitmapFont.class);
+            }
+            sharedSkin.remove("sixtyfour", BitmapFont.class);
             sharedSkin.dispose();
             sharedSkin = null;
         }
+        FontCache.dispose();
     }
 }
@@ -1,12 +1,10 @@
 package to.mpm.ui;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 
@@ -78,20 +76,17 @@ public class UIStyles {
         private static final String SIXTYFOUR_PATH = "ui/fonts/Sixtyfour-Regular.ttf";
 
         /**
-         * Carga la fuente Sixtyfour con el tamaño y color especificados.
+         * Obtiene la fuente Sixtyfour con el tamaño y color especificados.
+         * <p>
+         * La fuente viene de {@link FontCache} y se comparte entre pantallas,
+         * así que no se debe liberar.
          *
          * @param size tamaño de la fuente en píxeles
          * @param color color de la fuente
-         * @return fuente generada
+         * @return fuente compartida
          */
         public static BitmapFont loadSixtyfour(int size, Color color) {
-            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal(SIXTYFOUR_PATH));
-            FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            parameter.size = size;
-            parameter.color = color;
-            BitmapFont font = generator.generateFont(parameter);
-            generator.dispose();
-            return font;
+            return FontCache.obtain(SIXTYFOUR_PATH, size, color);
         }
     }
 
@@ -95,36 +95,77 @@ public class PlayerListItem {
      * @return tabla contenedora con todos los componentes configurados
      */
     public Table build() {
-        Table container = new Table(skin);
-        container.setSize(width, height);
-
-        Label roleIndicator = new Label("-", skin);
-        roleIndicator.setColor(getRoleColor(role));
-        container.add(roleIndicator).padLeft(UIStyles.Spacing.SMALL).padRight(UIStyles.Spacing.SMALL);
-
-        Label nameLabel = new Label(playerName != null ? playerName : "Player", skin);
-        com.badlogic.gdx.graphics.g2d.BitmapFont nameFont = skin.getFont("sixtyfour-24");
-        Label.LabelStyle nameStyle = new Label.LabelStyle(nameFont, com.badlogic.gdx.graphics.Color.WHITE);
-        nameLabel.setStyle(nameStyle);
-        container.add(nameLabel).expandX().left().padRight(UIStyles.Spacing.SMALL);
-
-        if (role != null && !role.isEmpty()) {
-            Label roleLabel = new Label(role, skin);
-            com.badlogic.gdx.graphics.g2d.BitmapFont roleFont = skin.getFont("sixtyfour-24");
-            Label.LabelStyle roleStyle = new Label.LabelStyle(roleFont, UIStyles.Colors.TEXT_SECONDARY);
-            roleLabel.setStyle(roleStyle);
-            container.add(roleLabel).padRight(UIStyles.Spacing.SMALL);
-        }
+        Row row = createRow();
+        row.bind(playerName, role, score);
+        return row;
+    }
+
+    /**
+     * Crea una fila vacía con el tamaño configurado, para enlazarla después
+     * con {@link Row#bind}, por ejemplo desde una {@link VirtualList}.
+     *
+     * @return fila sin datos
+     */
+    public Row createRow() {
+        Row row = new Row(skin);
+        row.setSize(width, height);
+        return row;
+    }
 
-        if (score != null) {
-            Label scoreLabel = new Label(String.format("%d", score), skin);
-            com.badlogic.gdx.graphics.g2d.BitmapFont scoreFont = skin.getFont("sixtyfour-24");
-            Label.LabelStyle scoreStyle = new Label.LabelStyle(scoreFont, com.badlogic.gdx.graphics.Color.WHITE);
-            scoreLabel.setStyle(scoreStyle);
-            container.add(scoreLabel).padRight(UIStyles.Spacing.MEDIUM);
+    /**
+     * Fila reutilizable de la lista de jugadores.
+     * <p>
+     * Crea sus etiquetas una vez; {@link #bind} solo cambia textos y colores.
+     */
+    public static final class Row extends Table {
+        /** Indicador de color del rol. */
+        private final Label roleIndicator;
+        /** Nombre del jugador. */
+        private final Label nameLabel;
+        /** Rol del jugador. */
+        private final Label roleLabel;
+        /** Puntuación del jugador. */
+        private final Label scoreLabel;
+
+        /**
+         * Crea la fila con sus etiquetas vacías.
+         *
+         * @param skin skin de UI para renderizar componentes
+         */
+        public Row(Skin skin) {
+            super(skin);
+            com.badlogic.gdx.graphics.g2d.BitmapFont font = skin.getFont("sixtyfour-24");
+
+            roleIndicator = new Label("-", skin);
+            add(roleIndicator).padLeft(UIStyles.Spacing.SMALL).padRight(UIStyles.Spacing.SMALL);
+
+            nameLabel = new Label("Player", new Label.LabelStyle(font, Color.WHITE));
+            add(nameLabel).expandX().left().padRight(UIStyles.Spacing.SMALL);
+
+            roleLabel = new Label("", new Label.LabelStyle(font, UIStyles.Colors.TEXT_SECONDARY));
+            add(roleLabel).padRight(UIStyles.Spacing.SMALL);
+
+            scoreLabel = new Label("", new Label.LabelStyle(font, Color.WHITE));
+            add(scoreLabel).padRight(UIStyles.Spacing.MEDIUM);
         }
 
-        return container;
+        /**
+         * Muestra los datos de un jugador en la fila.
+         *
+         * @param playerName nombre del jugador
+         * @param role       rol del jugador, o null para ocultarlo
+         * @param score      puntuación, o null para ocultarla
+         */
+        public void bind(String playerName, String role, Integer score) {
+            roleIndicator.setColor(getRoleColor(role));
+            nameLabel.setText(playerName != null ? playerName : "Player");
+            roleLabel.setText(role != null ? role : "");
+            if (score != null) {
+                scoreLabel.setText(score);
+            } else {
+                scoreLabel.setText("");
+            }
+        }
     }
 
     /**
@@ -133,7 +174,7 @@ public class PlayerListItem {
      * @param role rol del jugador
      * @return color correspondiente al rol
      */
-    private Color getRoleColor(String role) {
+    private static Color getRoleColor(String role) {
         if (role == null)
             return UIStyles.Colors.TEXT_SECONDARY;
 
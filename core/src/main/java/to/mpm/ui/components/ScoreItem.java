@@ -1,5 +1,6 @@
 package to.mpm.ui.components;
 
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -121,56 +122,93 @@ public class ScoreItem {
      * @return tabla contenedora con todos los componentes configurados
      */
     public Table build() {
-        Table container = new Table(skin);
+        Row row = createRow();
+        row.bind(rank != null ? rank : 0, playerName, score, isHighlighted);
+        return row;
+    }
 
-        if (isHighlighted) {
-            container.setColor(UIStyles.Colors.SECONDARY);
+    /**
+     * Crea una fila vacía con los tamaños de fuente configurados, para
+     * enlazarla después con {@link Row#bind}, por ejemplo desde una
+     * {@link VirtualList}.
+     *
+     * @return fila sin datos
+     */
+    public Row createRow() {
+        return new Row(skin,
+                rankFontSize != null ? "sixtyfour-" + rankFontSize : "sixtyfour-32",
+                nameFontSize != null ? "sixtyfour-" + nameFontSize : "sixtyfour-24",
+                scoreFontSize != null ? "sixtyfour-" + scoreFontSize : "sixtyfour-32");
+    }
+
+    /**
+     * Fila reutilizable de puntuación.
+     * <p>
+     * Crea sus etiquetas una vez; {@link #bind} solo cambia textos y color.
+     */
+    public static final class Row extends Table {
+        /** Posición en el ranking. */
+        private final Label rankLabel;
+        /** Nombre del jugador. */
+        private final Label nameLabel;
+        /** Puntuación del jugador. */
+        private final Label scoreLabel;
+
+        /**
+         * Crea la fila con sus etiquetas vacías.
+         *
+         * @param skin      skin de UI para renderizar componentes
+         * @param rankFont  nombre de la fuente del rango
+         * @param nameFont  nombre de la fuente del nombre
+         * @param scoreFont nombre de la fuente de la puntuación
+         */
+        public Row(Skin skin, String rankFont, String nameFont, String scoreFont) {
+            super(skin);
+
+            rankLabel = new Label("0°", new Label.LabelStyle(skin.getFont(rankFont), Color.WHITE));
+            rankLabel.setAlignment(Align.center);
+            add(rankLabel)
+                    .width(80f)
+                    .padLeft(UIStyles.Spacing.LARGE)
+                    .padTop(UIStyles.Spacing.MEDIUM)
+                    .padBottom(UIStyles.Spacing.MEDIUM)
+                    .center();
+
+            nameLabel = new Label("Player", new Label.LabelStyle(skin.getFont(nameFont), Color.WHITE));
+            nameLabel.setAlignment(Align.center);
+            add(nameLabel)
+                    .expand()
+                    .fill()
+                    .center()
+                    .padLeft(UIStyles.Spacing.LARGE)
+                    .padTop(UIStyles.Spacing.MEDIUM)
+                    .padBottom(UIStyles.Spacing.MEDIUM);
+
+            scoreLabel = new Label("0", new Label.LabelStyle(skin.getFont(scoreFont), Color.WHITE));
+            scoreLabel.setAlignment(Align.center);
+            add(scoreLabel)
+                    .width(150f)
+                    .center()
+                    .padLeft(UIStyles.Spacing.LARGE)
+                    .padRight(UIStyles.Spacing.LARGE)
+                    .padTop(UIStyles.Spacing.MEDIUM)
+                    .padBottom(UIStyles.Spacing.MEDIUM);
         }
 
-        Label rankLabel = new Label(getRankText(rank != null ? rank : 0), skin);
-        String rankFontName = rankFontSize != null ? "sixtyfour-" + rankFontSize : "sixtyfour-32";
-        com.badlogic.gdx.graphics.g2d.BitmapFont rankFont = skin.getFont(rankFontName);
-        Label.LabelStyle rankStyle = new Label.LabelStyle(rankFont, com.badlogic.gdx.graphics.Color.WHITE);
-        rankLabel.setStyle(rankStyle);
-        rankLabel.setAlignment(Align.center);
-        container.add(rankLabel)
-                .width(80f)
-                .padLeft(UIStyles.Spacing.LARGE)
-                .padTop(UIStyles.Spacing.MEDIUM)
-                .padBottom(UIStyles.Spacing.MEDIUM)
-                .center();
-
-        Label nameLabel = new Label(playerName != null ? playerName : "Player", skin);
-        String nameFontName = nameFontSize != null ? "sixtyfour-" + nameFontSize : "sixtyfour-24";
-        com.badlogic.gdx.graphics.g2d.BitmapFont nameFont = skin.getFont(nameFontName);
-        Label.LabelStyle nameStyle = new Label.LabelStyle(nameFont, com.badlogic.gdx.graphics.Color.WHITE);
-        nameLabel.setStyle(nameStyle);
-        nameLabel.setAlignment(Align.center);
-        container.add(nameLabel)
-                .expand()
-                .fill()
-                .center()
-                .padLeft(UIStyles.Spacing.LARGE)
-                .padTop(UIStyles.Spacing.MEDIUM)
-                .padBottom(UIStyles.Spacing.MEDIUM);
-
-        Label scoreLabel = new Label(String.format("%d", score), skin);
-        String scoreFontName = scoreFontSize != null ? "sixtyfour-" + scoreFontSize : "sixtyfour-32";
-        com.badlogic.gdx.graphics.g2d.BitmapFont scoreFont = skin.getFont(scoreFontName);
-        Label.LabelStyle scoreStyle = new Label.LabelStyle(scoreFont, com.badlogic.gdx.graphics.Color.WHITE);
-        scoreLabel.setStyle(scoreStyle);
-        scoreLabel.setAlignment(Align.center);
-        container.add(scoreLabel)
-                .width(150f)
-                .center()
-                .padLeft(UIStyles.Spacing.LARGE)
-                .padRight(UIStyles.Spacing.LARGE)
-                .padTop(UIStyles.Spacing.MEDIUM)
-                .padBottom(UIStyles.Spacing.MEDIUM);
-
-        container.setFillParent(false);
-
-        return container;
+        /**
+         * Muestra los datos de un jugador en la fila.
+         *
+         * @param rank        posición en el ranking
+         * @param playerName  nombre del jugador
+         * @param score       puntuación
+         * @param highlighted true para resaltar la fila
+         */
+        public void bind(int rank, String playerName, int score, boolean highlighted) {
+            rankLabel.setText(getRankText(rank));
+            nameLabel.setText(playerName != null ? playerName : "Player");
+            scoreLabel.setText(score);
+            setColor(highlighted ? UIStyles.Colors.SECONDARY : Color.WHITE);
+        }
     }
 
     /**
@@ -179,7 +217,7 @@ public class ScoreItem {
      * @param rank posición del jugador
      * @return texto formateado con indicador ordinal
      */
-    private String getRankText(int rank) {
+    private static String getRankText(int rank) {
         return rank + "°";
     }
 }
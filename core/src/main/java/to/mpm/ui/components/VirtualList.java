@@ -0,0 +1,313 @@
+package to.mpm.ui.components;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * Lista vertical virtualizada de filas de alto fijo, identificadas por clave.
+ * <p>
+ * Dentro de un {@code ScrollPane} solo existen como actores las filas que caen
+ * en el área visible; al desplazarse, las filas que salen se devuelven a un
+ * pool y se vuelven a enlazar con las que entran. Los cambios se aplican por
+ * clave ({@link #add}, {@link #remove}, {@link #refresh}): mover o quitar una
+ * clave solo recoloca las filas visibles, y refrescar una clave solo vuelve a
+ * enlazar su fila si está a la vista. Así el costo de un cambio depende de las
+ * filas visibles y no del total de elementos.
+ * <p>
+ * El alto de las filas se mide una vez con una fila de muestra del adaptador.
+ *
+ * @param <R> tipo de actor de las filas
+ */
+public class VirtualList<R extends Actor> extends WidgetGroup {
+    /**
+     * Crea y enlaza las filas de la lista.
+     *
+     * @param <R> tipo de actor de las filas
+     */
+    public interface RowAdapter<R extends Actor> {
+        /**
+         * Crea una fila vacía.
+         *
+         * @return nueva fila
+         */
+        R create();
+
+        /**
+         * Muestra en una fila el elemento de una clave.
+         *
+         * @param row   fila a enlazar, nueva o reciclada
+         * @param key   clave del elemento
+         * @param index posición del elemento en la lista
+         */
+        void bind(R row, int key, int index);
+    }
+
+    /** Adaptador de filas. */
+    private final RowAdapter<R> adapter;
+    /** Separación vertical entre filas. */
+    private final float spacing;
+    /** Alto de cada fila. */
+    private final float rowHeight;
+    /** Ancho preferido de las filas. */
+    private final float rowWidth;
+    /** Claves en orden de la lista. */
+    private final IntArray keys = new IntArray();
+    /** Posición de cada clave. */
+    private final IntIntMap indices = new IntIntMap();
+    /** Fila enlazada a cada clave visible. */
+    private final IntMap<R> rows = new IntMap<>();
+    /** Posición con la que se enlazó cada fila visible. */
+    private final IntIntMap boundIndices = new IntIntMap();
+    /** Claves visibles cuyo contenido cambió. */
+    private final IntSet stale = new IntSet();
+    /** Filas libres para reutilizar. */
+    private final Array<R> pool = new Array<>();
+    /** Claves a reciclar en la pasada de layout. */
+    private final IntArray recycled = new IntArray();
+    /** Primera posición enlazada en el último layout. */
+    private int firstVisible;
+    /** Última posición enlazada en el último layout. */
+    private int lastVisible = -1;
+
+    /**
+     * Construye una lista vacía.
+     *
+     * @param adapter adaptador que crea y enlaza las filas
+     * @param spacing separación vertical entre filas
+     */
+    public VirtualList(RowAdapter<R> adapter, float spacing) {
+        this.adapter = adapter;
+        this.spacing = spacing;
+        R sample = adapter.create();
+        if (sample instanceof Layout layout) {
+            rowHeight = layout.getPrefHeight();
+            rowWidth = layout.getPrefWidth();
+        } else {
+            rowHeight = sample.getHeight();
+            rowWidth = sample.getWidth();
+        }
+        pool.add(sample);
+    }
+
+    /**
+     * Reemplaza todas las claves. Las filas de claves que siguen visibles se
+     * conservan, pero se vuelven a enlazar en el próximo layout aunque no
+     * cambie su posición, porque al reemplazar la lista también puede haber
+     * cambiado el contenido de cada clave.
+     *
+     * @param newKeys claves en orden
+     */
+    public void setKeys(IntArray newKeys) {
+        keys.clear();
+        keys.addAll(newKeys);
+        reindex(0);
+        for (IntMap.Entry<R> entry : rows) {
+            stale.add(entry.key);
+        }
+        invalidateHierarchy();
+    }
+
+    /**
+     * Agrega una clave al final, o refresca su fila si ya está en la lista.
+     *
+     * @param key clave del elemento
+     */
+    public void add(int key) {
+        if (indices.containsKey(key)) {
+            refresh(key);
+            return;
+        }
+        indices.put(key, keys.size);
+        keys.add(key);
+        invalidateHierarchy();
+    }
+
+    /**
+     * Quita una clave de la lista.
+     *
+     * @param key clave del elemento
+     */
+    public void remove(int key) {
+        int index = indices.remove(key, -1);
+        if (index < 0) {
+            return;
+        }
+        keys.removeIndex(index);
+        reindex(index);
+        invalidateHierarchy();
+    }
+
+    /**
+     * Marca el contenido de una clave como cambiado. Si su fila está a la
+     * vista se vuelve a enlazar en el próximo layout.
+     *
+     * @param key clave del elemento
+     */
+    public void refresh(int key) {
+        if (rows.containsKey(key)) {
+            stale.add(key);
+            invalidate();
+        }
+    }
+
+    /**
+     * Indica si una clave está en la lista.
+     *
+     * @param key clave del elemento
+     * @return true si está en la lista
+     */
+    public boolean contains(int key) {
+        return indices.containsKey(key);
+    }
+
+    /**
+     * Obtiene la posición de una clave.
+     *
+     * @param key clave del elemento
+     * @return posición, o -1 si no está en la lista
+     */
+    public int indexOf(int key) {
+        return indices.get(key, -1);
+    }
+
+    /**
+     * Obtiene la cantidad de elementos.
+     *
+     * @return elementos en la lista
+     */
+    public int size() {
+        return keys.size;
+    }
+
+    /**
+     * Obtiene la distancia desde el borde superior de la lista hasta una fila.
+     *
+     * @param index posición de la fila
+     * @return desplazamiento en píxeles
+     */
+    public float getRowOffset(int index) {
+        return index * (rowHeight + spacing);
+    }
+
+    @Override
+    public float getPrefWidth() {
+        return rowWidth;
+    }
+
+    @Override
+    public float getPrefHeight() {
+        return keys.size == 0 ? 0 : keys.size * rowHeight + (keys.size - 1) * spacing;
+    }
+
+    /**
+     * Guarda el área visible y pide un layout solo si cambian las filas que
+     * hay que mostrar.
+     *
+     * @param cullingArea área visible en coordenadas de la lista, o null
+     */
+    @Override
+    public void setCullingArea(Rectangle cullingArea) {
+        super.setCullingArea(cullingArea);
+        if (firstIndex() != firstVisible || lastIndex() != lastVisible) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void layout() {
+        int first = firstIndex();
+        int last = lastIndex();
+
+        recycled.clear();
+        for (IntMap.Entry<R> entry : rows) {
+            int index = indices.get(entry.key, -1);
+            if (index < first || index > last) {
+                recycled.add(entry.key);
+            }
+        }
+        for (int i = 0; i < recycled.size; i++) {
+            int key = recycled.get(i);
+            R row = rows.remove(key);
+            boundIndices.remove(key, 0);
+            stale.remove(key);
+            row.remove();
+            pool.add(row);
+        }
+
+        float width = getWidth();
+        float top = getHeight();
+        for (int i = first; i <= last; i++) {
+            int key = keys.get(i);
+            R row = rows.get(key);
+            if (row == null) {
+                row = pool.size > 0 ? pool.pop() : adapter.create();
+                rows.put(key, row);
+                addActor(row);
+                bind(row, key, i);
+            } else if (stale.contains(key) || boundIndices.get(key, -1) != i) {
+                bind(row, key, i);
+            }
+            row.setBounds(0, top - getRowOffset(i) - rowHeight, width, rowHeight);
+        }
+        stale.clear();
+        firstVisible = first;
+        lastVisible = last;
+    }
+
+    /**
+     * Enlaza una fila y recuerda con qué posición se enlazó.
+     */
+    private void bind(R row, int key, int index) {
+        adapter.bind(row, key, index);
+        boundIndices.put(key, index);
+    }
+
+    /**
+     * Actualiza la posición de las claves desde una posición dada.
+     *
+     * @param from primera posición a actualizar
+     */
+    private void reindex(int from) {
+        if (from == 0) {
+            indices.clear();
+        }
+        for (int i = from; i < keys.size; i++) {
+            indices.put(keys.get(i), i);
+        }
+    }
+
+    /**
+     * Calcula la primera fila visible según el área de recorte.
+     *
+     * @return posición de la primera fila a mostrar
+     */
+    private int firstIndex() {
+        Rectangle area = getCullingArea();
+        if (area == null) {
+            return 0;
+        }
+        float fromTop = getHeight() - (area.y + area.height);
+        return Math.max(0, (int) (fromTop / (rowHeight + spacing)));
+    }
+
+    /**
+     * Calcula la última fila visible según el área de recorte.
+     *
+     * @return posición de la última fila a mostrar, o -1 si no hay ninguna
+     */
+    private int lastIndex() {
+        Rectangle area = getCullingArea();
+        if (area == null) {
+            return keys.size - 1;
+        }
+        float fromTop = getHeight() - area.y;
+        return Math.min(keys.size - 1, (int) (fromTop / (rowHeight + spacing)));
+    }
+}
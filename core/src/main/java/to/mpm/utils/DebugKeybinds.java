@@ -5,8 +5,13 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import to.mpm.Main;
 import to.mpm.minigames.MinigameType;
+import to.mpm.network.NetworkManager;
 import to.mpm.screens.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * Atajos de teclado para depuración.
  * <p>
@@ -23,6 +28,8 @@ import to.mpm.screens.*;
  *   <li>F7: Pantalla de Marcador</li>
  *   <li>F8: Pantalla de Resultados</li>
  *   <li>F9: Pantalla de Selección de Minijuego</li>
+ *   <li>F10: Iniciar/detener captura de paquetes</li>
+ *   <li>F11: Mostrar/ocultar el perfil de frames</li>
  *   <li>ESC: Alternar superposición de configuración</li>
  * </ul>
  */
@@ -47,6 +54,10 @@ public class DebugKeybinds {
     private boolean f8Pressed = false;
     /** Estado de la tecla F9. */
     private boolean f9Pressed = false;
+    /** Estado de la tecla F10. */
+    private boolean f10Pressed = false;
+    /** Estado de la tecla F11. */
+    private boolean f11Pressed = false;
     /** Estado de la tecla ESC. */
     private boolean escPressed = false;
 
@@ -85,7 +96,7 @@ public class DebugKeybinds {
 
         f7Pressed = handleKey(f7Pressed, Input.Keys.F7, "Cambiando a Pantalla de Marcador",
                 () -> {
-                    java.util.Map<Integer, Integer> dummyScores = new java.util.HashMap<>();
+                    to.mpm.minigames.ScoreTable dummyScores = new to.mpm.minigames.ScoreTable();
                     dummyScores.put(0, 1000);
                     dummyScores.put(1, 800);
                     dummyScores.put(2, 600);
@@ -94,7 +105,7 @@ public class DebugKeybinds {
 
         f8Pressed = handleKey(f8Pressed, Input.Keys.F8, "Cambiando a Pantalla de Resultados",
                 () -> {
-                    java.util.Map<Integer, Integer> dummyScores = new java.util.HashMap<>();
+                    to.mpm.minigames.ScoreTable dummyScores = new to.mpm.minigames.ScoreTable();
                     dummyScores.put(0, 1500);
                     dummyScores.put(1, 1200);
                     dummyScores.put(2, 900);
@@ -104,6 +115,12 @@ public class DebugKeybinds {
         f9Pressed = handleKey(f9Pressed, Input.Keys.F9, "Cambiando a Pantalla de Selección de Minijuego",
                 () -> switchScreen(new MinigameSelectionScreen(game, true)));
 
+        f10Pressed = handleKey(f10Pressed, Input.Keys.F10, "Alternando captura de paquetes",
+                this::toggleCapture);
+
+        f11Pressed = handleKey(f11Pressed, Input.Keys.F11, "Alternando perfil de frames",
+                () -> FrameProfiler.getInstance().toggleOverlay());
+
         if (Gdx.input.isKeyPressed(Input.Keys.ESCAPE)) {
             if (!escPressed) {
                 escPressed = true;
@@ -148,6 +165,23 @@ public class DebugKeybinds {
         }
     }
 
+    /**
+     * Inicia o detiene la captura de paquetes en el directorio {@code captures}.
+     */
+    private void toggleCapture() {
+        NetworkManager networkManager = NetworkManager.getInstance();
+        if (networkManager.isCapturing()) {
+            networkManager.stopCapture();
+            return;
+        }
+        Path file = Paths.get("captures", "session-" + System.currentTimeMillis() + ".mpmcap");
+        try {
+            networkManager.startCapture(file);
+        } catch (IOException e) {
+            Gdx.app.error("DebugKeybinds", "No se pudo iniciar la captura", e);
+        }
+    }
+
     /**
      * Imprime la ayuda de atajos de teclado en la consola.
      */
@@ -162,6 +196,8 @@ public class DebugKeybinds {
         Gdx.app.log("DebugKeybinds", "F7: Pantalla de Marcador");
         Gdx.app.log("DebugKeybinds", "F8: Pantalla de Resultados");
         Gdx.app.log("DebugKeybinds", "F9: Pantalla de Selección de Minijuego");
+        Gdx.app.log("DebugKeybinds", "F10: Iniciar/detener captura de paquetes");
+        Gdx.app.log("DebugKeybinds", "F11: Mostrar/ocultar perfil de frames");
         Gdx.app.log("DebugKeybinds", "ESC: Alternar superposición de Ajustes");
         Gdx.app.log("DebugKeybinds", "============================");
     }
@@ -0,0 +1,426 @@
+package to.mpm.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.FloatArray;
+import to.mpm.ui.UIStyles;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Perfilador de frames de las pantallas de juego.
+ * <p>
+ * Las pantallas marcan cada fase del frame con {@link #begin}/{@link #end} y
+ * {@code Main.render} cierra el frame con {@link #endFrame}, que guarda los
+ * tiempos de CPU de cada fase junto con los contadores de {@link GLProfiler}
+ * (llamadas de dibujo, cambios de textura y de shader) y los vaciados del
+ * batch. También mide los bytes que asigna el hilo de renderizado en cada fase
+ * y en el frame completo, con el contador por hilo de
+ * {@link com.sun.management.ThreadMXBean}; donde la JVM no lo ofrece, esas
+ * métricas quedan en cero. Solo se registran los frames en los que alguna
+ * pantalla midió una fase distinta del drenado de paquetes.
+ * <p>
+ * La superposición (F11) muestra p50/p95/p99 de los últimos
+ * {@link #WINDOW_FRAMES} frames; con {@code -Dmpm.profile=true},
+ * {@link #dumpRound} escribe los mismos percentiles de toda la ronda en el
+ * directorio {@code profiles}. Fuera de esos dos casos no se mide nada y
+ * {@link GLProfiler} queda desactivado, porque intercepta cada llamada a
+ * OpenGL.
+ * <p>
+ * Todos los métodos deben llamarse desde el hilo de renderizado.
+ */
+public class FrameProfiler {
+    /** Fases medidas de un frame. */
+    public enum Phase {
+        /** Despacho de paquetes recibidos en el hilo de renderizado. */
+        DRAIN,
+        /** {@code handleInput} del minijuego. */
+        INPUT,
+        /** Pasos fijos de {@code update}. */
+        UPDATE,
+        /** {@code render} del minijuego. */
+        RENDER,
+        /** {@code act}/{@code draw} del stage de UI. */
+        UI,
+        /** Superposición de scanlines. */
+        OVERLAY
+    }
+
+    /** Frames de la ventana móvil de la superposición. */
+    public static final int WINDOW_FRAMES = 300;
+    /** Máximo de frames guardados por ronda (cinco minutos a 60 FPS). */
+    private static final int MAX_ROUND_FRAMES = 60 * 60 * 5;
+    /** Segundos entre refrescos del texto de la superposición. */
+    private static final float OVERLAY_REFRESH = 0.5f;
+    /** Indica si se miden y se escriben las rondas completas. */
+    private static final boolean PROFILING = Boolean.parseBoolean(System.getProperty("mpm.profile", "false"));
+
+    /** Fases, cacheadas para no copiar el arreglo de {@code values()}. */
+    private static final Phase[] PHASES = Phase.values();
+    /** Índice del tiempo total de CPU medido. */
+    private static final int TOTAL = PHASES.length;
+    /** Índice de la memoria asignada en la primera fase; le siguen las demás. */
+    private static final int PHASE_ALLOC = TOTAL + 1;
+    /** Índice de la memoria asignada en todo el frame. */
+    private static final int FRAME_ALLOC = PHASE_ALLOC + PHASES.length;
+    /** Índice de las llamadas de dibujo. */
+    private static final int DRAW_CALLS = FRAME_ALLOC + 1;
+    /** Índice de los cambios de textura. */
+    private static final int TEXTURE_BINDS = FRAME_ALLOC + 2;
+    /** Índice de los cambios de shader. */
+    private static final int SHADER_SWITCHES = FRAME_ALLOC + 3;
+    /** Índice de los vaciados del batch. */
+    private static final int BATCH_FLUSHES = FRAME_ALLOC + 4;
+    /** Cantidad de métricas por frame. */
+    private static final int METRICS = FRAME_ALLOC + 5;
+    /** Nombre de cada métrica; los tiempos van en milisegundos y la memoria en KiB. */
+    private static final String[] METRIC_NAMES = {
+            "drain ms", "input ms", "update ms", "render ms", "ui ms", "overlay ms", "total ms",
+            "drain KiB", "input KiB", "update KiB", "render KiB", "ui KiB", "overlay KiB", "frame KiB",
+            "draw calls", "tex binds", "shaders", "flushes"
+    };
+    /** Contador de asignaciones por hilo, o null si la JVM no lo ofrece. */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private static FrameProfiler instance;
+
+    /** Contadores de OpenGL. */
+    private final GLProfiler glProfiler;
+    /** Inicio de la fase en curso, por fase. */
+    private final long[] phaseStart = new long[PHASES.length];
+    /** Nanosegundos acumulados por fase en el frame en curso. */
+    private final long[] phaseNanos = new long[PHASES.length];
+    /** Bytes asignados al inicio de la fase en curso, por fase. */
+    private final long[] phaseAllocStart = new long[PHASES.length];
+    /** Bytes asignados por fase en el frame en curso. */
+    private final long[] phaseAllocBytes = new long[PHASES.length];
+    /** Bytes asignados por el hilo al cerrar el frame anterior. */
+    private long frameAllocStart;
+    /** Ventana móvil de cada métrica. */
+    private final float[][] window = new float[METRICS][WINDOW_FRAMES];
+    /** Muestras de cada métrica en la ronda en curso. */
+    private final FloatArray[] round = new FloatArray[METRICS];
+    /** Copia ordenable para calcular percentiles. */
+    private final float[] sorted = new float[MAX_ROUND_FRAMES];
+    /** Texto de la superposición. */
+    private final StringBuilder overlayText = new StringBuilder();
+    /** Proyección de pantalla para la superposición. */
+    private final Matrix4 overlayProjection = new Matrix4();
+    /** Proyección previa del batch, restaurada tras la superposición. */
+    private final Matrix4 savedProjection = new Matrix4();
+    /** Siguiente posición de la ventana móvil. */
+    private int windowIndex;
+    /** Frames válidos en la ventana móvil. */
+    private int windowCount;
+    /** Indica si el frame en curso midió alguna fase de pantalla. */
+    private boolean frameTimed;
+    /** Indica si la superposición está visible. */
+    private boolean overlayVisible;
+    /** Tiempo desde el último refresco del texto. */
+    private float overlayTimer = OVERLAY_REFRESH;
+    /** Fuente de la superposición, compartida por {@code FontCache}. */
+    private BitmapFont font;
+
+    private FrameProfiler() {
+        glProfiler = new GLProfiler(Gdx.graphics);
+        if (PROFILING) {
+            glProfiler.enable();
+        }
+        for (int i = 0; i < METRICS; i++) {
+            round[i] = new FloatArray(false, 1024);
+        }
+        frameAllocStart = allocatedBytes();
+    }
+
+    /**
+     * Obtiene la instancia única del perfilador.
+     *
+     * @return la instancia de FrameProfiler
+     */
+    public static FrameProfiler getInstance() {
+        if (instance == null) {
+            instance = new FrameProfiler();
+        }
+        return instance;
+    }
+
+    /**
+     * Marca el inicio de una fase.
+     *
+     * @param phase fase que empieza
+     */
+    public void begin(Phase phase) {
+        if (!isActive()) {
+            return;
+        }
+        phaseAllocStart[phase.ordinal()] = allocatedBytes();
+        phaseStart[phase.ordinal()] = System.nanoTime();
+        if (phase != Phase.DRAIN) {
+            frameTimed = true;
+        }
+    }
+
+    /**
+     * Marca el fin de una fase y suma su duración y sus asignaciones al
+     * frame en curso.
+     *
+     * @param phase fase que termina
+     */
+    public void end(Phase phase) {
+        if (!isActive()) {
+            return;
+        }
+        phaseNanos[phase.ordinal()] += System.nanoTime() - phaseStart[phase.ordinal()];
+        phaseAllocBytes[phase.ordinal()] += allocatedBytes() - phaseAllocStart[phase.ordinal()];
+    }
+
+    /**
+     * Cierra el frame: guarda sus métricas si alguna pantalla lo midió y
+     * reinicia los acumuladores y los contadores de OpenGL. No hace nada si
+     * no se está perfilando ni se muestra la superposición.
+     *
+     * @param batchFlushes vaciados del batch compartido en este frame
+     */
+    public void endFrame(int batchFlushes) {
+        if (!isActive()) {
+            return;
+        }
+        long allocated = allocatedBytes();
+        if (frameTimed) {
+            long total = 0;
+            for (int i = 0; i < PHASES.length; i++) {
+                record(i, phaseNanos[i] / 1_000_000f);
+                record(PHASE_ALLOC + i, phaseAllocBytes[i] / 1024f);
+                total += phaseNanos[i];
+            }
+            record(TOTAL, total / 1_000_000f);
+            record(FRAME_ALLOC, (allocated - frameAllocStart) / 1024f);
+            record(DRAW_CALLS, glProfiler.getDrawCalls());
+            record(TEXTURE_BINDS, glProfiler.getTextureBindings());
+            record(SHADER_SWITCHES, glProfiler.getShaderSwitches());
+            record(BATCH_FLUSHES, batchFlushes);
+            windowIndex = (windowIndex + 1) % WINDOW_FRAMES;
+            windowCount = Math.min(windowCount + 1, WINDOW_FRAMES);
+        }
+        Arrays.fill(phaseNanos, 0L);
+        Arrays.fill(phaseAllocBytes, 0L);
+        frameAllocStart = allocated;
+        frameTimed = false;
+        glProfiler.reset();
+    }
+
+    /**
+     * Muestra u oculta la superposición.
+     * <p>
+     * Al mostrarla sin perfilar se activan los contadores de OpenGL y la
+     * ventana empieza vacía; al ocultarla se vuelven a desactivar.
+     */
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+        overlayTimer = OVERLAY_REFRESH;
+        if (PROFILING) {
+            return;
+        }
+        if (overlayVisible) {
+            glProfiler.enable();
+            glProfiler.reset();
+            Arrays.fill(phaseNanos, 0L);
+            Arrays.fill(phaseAllocBytes, 0L);
+            frameAllocStart = allocatedBytes();
+            frameTimed = false;
+            windowIndex = 0;
+            windowCount = 0;
+        } else {
+            glProfiler.disable();
+        }
+    }
+
+    /**
+     * Dibuja la superposición si está visible.
+     * <p>
+     * Su propia llamada de dibujo cuenta en los contadores del frame.
+     *
+     * @param batch batch compartido, fuera de {@code begin()}/{@code end()}
+     */
+    public void renderOverlay(Batch batch) {
+        if (!overlayVisible) {
+            return;
+        }
+        overlayTimer += Gdx.graphics.getDeltaTime();
+        if (overlayTimer >= OVERLAY_REFRESH) {
+            overlayTimer = 0f;
+            buildOverlayText();
+        }
+        if (font == null) {
+            font = UIStyles.Fonts.loadSixtyfour(10, Color.WHITE);
+        }
+        savedProjection.set(batch.getProjectionMatrix());
+        overlayProjection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(overlayProjection);
+        batch.begin();
+        font.draw(batch, overlayText, 10, Gdx.graphics.getHeight() - 10);
+        batch.end();
+        batch.setProjectionMatrix(savedProjection);
+    }
+
+    /**
+     * Escribe los percentiles de la ronda en {@code profiles/<etiqueta>-<hora>.txt}
+     * y empieza una ronda nueva. No escribe nada si no se midió ningún frame,
+     * como ocurre siempre sin {@code -Dmpm.profile=true}.
+     *
+     * @param label identificador de la ronda, usado en el nombre del archivo
+     */
+    public void dumpRound(String label) {
+        int frames = round[TOTAL].size;
+        if (frames > 0) {
+            StringBuilder out = new StringBuilder();
+            out.append("# ").append(label).append(", ").append(frames).append(" frames\n");
+            out.append(String.format("%-12s %9s %9s %9s %9s%n", "metric", "p50", "p95", "p99", "max"));
+            for (int i = 0; i < METRICS; i++) {
+                FloatArray samples = round[i];
+                int n = copySorted(samples.items, 0, samples.size);
+                out.append(String.format("%-12s %9.3f %9.3f %9.3f %9.3f%n", METRIC_NAMES[i],
+                        percentile(n, 0.50f), percentile(n, 0.95f), percentile(n, 0.99f), sorted[n - 1]));
+            }
+            Path file = Paths.get("profiles", label + "-" + System.currentTimeMillis() + ".txt");
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, out, StandardCharsets.UTF_8);
+                Gdx.app.log("FrameProfiler", "Wrote " + frames + " frames to " + file);
+            } catch (IOException e) {
+                Gdx.app.error("FrameProfiler", "Could not write " + file, e);
+            }
+        }
+        for (FloatArray samples : round) {
+            samples.clear();
+        }
+    }
+
+    /**
+     * Obtiene los bytes asignados hasta ahora por el hilo actual.
+     * <p>
+     * La diferencia entre dos lecturas es la memoria que asignó el hilo entre
+     * ellas, útil para medir la basura de un bucle sin pasar por el perfilador.
+     *
+     * @return bytes asignados, o 0 si la JVM no ofrece el contador
+     */
+    public static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    /**
+     * Desactiva los contadores de OpenGL.
+     */
+    public void dispose() {
+        glProfiler.disable();
+        instance = null;
+    }
+
+    /**
+     * Obtiene y activa el contador de asignaciones por hilo de la JVM.
+     *
+     * @return el contador, o null si no está disponible
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Indica si hay que medir los frames.
+     *
+     * @return true si se está perfilando o la superposición está visible
+     */
+    private boolean isActive() {
+        return PROFILING || overlayVisible;
+    }
+
+    /**
+     * Guarda una muestra en la ventana móvil y, si se está perfilando, en la
+     * ronda.
+     *
+     * @param metric índice de la métrica
+     * @param value  valor del frame
+     */
+    private void record(int metric, float value) {
+        window[metric][windowIndex] = value;
+        if (PROFILING && round[metric].size < MAX_ROUND_FRAMES) {
+            round[metric].add(value);
+        }
+    }
+
+    /**
+     * Regenera el texto de la superposición con los percentiles de la ventana.
+     */
+    private void buildOverlayText() {
+        overlayText.setLength(0);
+        overlayText.append("frames ").append(windowCount).append('/').append(WINDOW_FRAMES)
+                .append("  p50 p95 p99\n");
+        if (windowCount == 0) {
+            return;
+        }
+        for (int i = 0; i < METRICS; i++) {
+            int n = copySorted(window[i], 0, windowCount);
+            overlayText.append(METRIC_NAMES[i]).append(' ');
+            appendValue(percentile(n, 0.50f));
+            appendValue(percentile(n, 0.95f));
+            appendValue(percentile(n, 0.99f));
+            overlayText.append('\n');
+        }
+    }
+
+    /**
+     * Agrega un valor con dos decimales al texto de la superposición.
+     *
+     * @param value valor a mostrar
+     */
+    private void appendValue(float value) {
+        int hundredths = Math.round(value * 100f);
+        overlayText.append(' ').append(hundredths / 100).append('.');
+        int fraction = hundredths % 100;
+        if (fraction < 10) {
+            overlayText.append('0');
+        }
+        overlayText.append(fraction);
+    }
+
+    /**
+     * Copia muestras al arreglo de trabajo y las ordena.
+     *
+     * @param values origen
+     * @param offset primera muestra
+     * @param count  cantidad de muestras
+     * @return cantidad de muestras copiadas
+     */
+    private int copySorted(float[] values, int offset, int count) {
+        System.arraycopy(values, offset, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        return count;
+    }
+
+    /**
+     * Obtiene un percentil por rango más cercano de las muestras ordenadas.
+     *
+     * @param count    cantidad de muestras ordenadas
+     * @param fraction percentil entre 0 y 1
+     * @return el valor del percentil
+     */
+    private float percentile(int count, float fraction) {
+        int rank = (int) Math.ceil(fraction * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)];
+    }
+}
@@ -0,0 +1,114 @@
+package to.mpm.minigames;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mide la memoria que asigna un paso de simulación en el hilo de la prueba.
+ * <p>
+ * Arranca una única aplicación headless de libGDX para que {@code Gdx.app},
+ * {@code Gdx.files} y {@code Gdx.input} existan sin ventana; {@code Gdx.gl} es
+ * un GL20 que no hace nada, así que las texturas se crean sin contexto.
+ * Las rondas de calentamiento dejan que el JIT compile el bucle antes de medir,
+ * así que solo cuenta la basura que sobrevive al compilador. Cada ronda empieza
+ * con un estado nuevo, porque una sola partida termina antes de que el bucle
+ * llegue a compilarse.
+ */
+public final class AllocationBudget {
+    /** Rondas ejecutadas antes de medir. */
+    public static final int WARMUP_ROUNDS = 10;
+    /** Pasos por ronda, menos que los de una partida de tres minutos. */
+    public static final int ROUND_TICKS = 5_000;
+    /** Duración de un paso fijo en segundos. */
+    public static final float TICK = 1f / 60f;
+
+    private AllocationBudget() {
+    }
+
+    /**
+     * Arranca la aplicación headless si todavía no existe.
+     */
+    public static synchronized void startHeadless() {
+        if (Gdx.app != null) {
+            return;
+        }
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new ApplicationAdapter() {
+        }, config);
+        Gdx.gl = Gdx.gl20 = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+                (proxy, method, args) -> defaultValue(method.getReturnType()));
+    }
+
+    /**
+     * Obtiene el valor por defecto de un tipo de retorno.
+     *
+     * @param type tipo de retorno
+     * @return cero del tipo primitivo, o null
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * Ejecuta un bucle de simulación y falla si asigna, de media, más bytes
+     * por paso que el presupuesto.
+     *
+     * @param name   nombre del bucle, usado en el mensaje de error
+     * @param budget bytes por paso permitidos
+     * @param round  crea el estado de una ronda y devuelve su paso
+     */
+    public static void assertWithinBudget(String name, long budget, Supplier<Runnable> round) {
+        double bytesPerTick = measure(round);
+        assertTrue(bytesPerTick <= budget,
+                name + " allocated " + bytesPerTick + " bytes/tick, budget is " + budget);
+    }
+
+    /**
+     * Mide los bytes asignados por paso en una ronda tras el calentamiento.
+     *
+     * @param round crea el estado de una ronda y devuelve su paso
+     * @return bytes por paso de la ronda medida
+     */
+    public static double measure(Supplier<Runnable> round) {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "JVM without per-thread allocation counters");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM without per-thread allocation counters");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int r = 0; r < WARMUP_ROUNDS; r++) {
+            Runnable tick = round.get();
+            for (int i = 0; i < ROUND_TICKS; i++) {
+                tick.run();
+            }
+        }
+        Runnable tick = round.get();
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROUND_TICKS; i++) {
+            tick.run();
+        }
+        long after = threads.getThreadAllocatedBytes(threadId);
+        return (after - before) / (double) ROUND_TICKS;
+    }
+}
@@ -0,0 +1,46 @@
+package to.mpm.minigames.catchThemAll.game;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import to.mpm.minigames.AllocationBudget;
+import to.mpm.minigames.catchThemAll.entities.Player;
+
+/**
+ * Per-tick allocation budget of the Catch Them All host loop.
+ */
+class GameLoopAllocationTest {
+    /**
+     * Bytes per tick allowed. Spawn, removal and score packets are still
+     * allocated once per event, which averages out to a few bytes per tick.
+     */
+    private static final long BUDGET = 16;
+
+    @BeforeAll
+    static void startHeadless() {
+        AllocationBudget.startHeadless();
+    }
+
+    @Test
+    void hostTickStaysWithinBudget() {
+        AllocationBudget.assertWithinBudget("GameLoop.updateHost", BUDGET, () -> {
+            GameState state = new GameState(0);
+            state.createLocalPlayer();
+            for (int id = 1; id < 4; id++) {
+                state.createRemotePlayer(id);
+            }
+            state.initializeDuckSpawner();
+
+            int[] tick = {0};
+            return () -> {
+                // Sweep the players across the screen so ducks land in baskets and on the ground
+                int step = tick[0]++;
+                for (int id = 0; id < 4; id++) {
+                    Player player = state.getPlayers().get(id);
+                    player.x = 40 + (step * 3 + id * 150) % 540;
+                    player.lastVelocityX = 3f;
+                }
+                GameLoop.updateHost(AllocationBudget.TICK, state);
+            };
+        });
+    }
+}
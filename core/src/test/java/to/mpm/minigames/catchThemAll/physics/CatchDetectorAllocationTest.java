@@ -0,0 +1,49 @@
+package to.mpm.minigames.catchThemAll.physics;
+
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import to.mpm.minigames.AllocationBudget;
+import to.mpm.minigames.catchThemAll.entities.Duck;
+import to.mpm.minigames.catchThemAll.entities.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-tick allocation budget of the Catch Them All catch detection.
+ */
+class CatchDetectorAllocationTest {
+    /** Bytes per tick allowed, less than the smallest object. */
+    private static final long BUDGET = 8;
+
+    @BeforeAll
+    static void startHeadless() {
+        AllocationBudget.startHeadless();
+    }
+
+    @Test
+    void detectCatchesStaysWithinBudget() {
+        IntMap<Player> players = new IntMap<>();
+        for (int id = 0; id < 6; id++) {
+            Player player = new Player(false, 40 + id * 100, Player.GROUND_Y, 1f, 1f, 1f);
+            players.put(id, player);
+        }
+        List<Duck> ducks = new ArrayList<>();
+        for (int id = 0; id < 32; id++) {
+            ducks.add(Duck.obtain(id, 20 * id, Player.GROUND_Y + Player.PLAYER_HEIGHT, Duck.DuckType.NEUTRAL));
+        }
+        CatchDetector detector = new CatchDetector();
+        IntIntMap pointsEarned = new IntIntMap();
+
+        AllocationBudget.assertWithinBudget("CatchDetector.detectCatches", BUDGET, () -> () -> {
+            // Release the ducks again so every call resolves catches instead of skipping them
+            for (int i = 0; i < ducks.size(); i++) {
+                ducks.get(i).reset();
+            }
+            detector.detectCatches(ducks, players, pointsEarned);
+        });
+        Duck.POOL.freeAll(ducks);
+    }
+}
@@ -0,0 +1,76 @@
+package to.mpm.minigames.eggThief;
+
+import com.badlogic.gdx.utils.IntMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import to.mpm.minigames.AllocationBudget;
+import to.mpm.minigames.ScoreTable;
+import to.mpm.minigames.eggThief.entities.Duck;
+import to.mpm.minigames.eggThief.entities.Egg;
+import to.mpm.minigames.eggThief.entities.Nest;
+import to.mpm.minigames.eggThief.physics.CollisionDetector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-tick allocation budget of Egg Thief.
+ */
+class EggThiefAllocationTest {
+    /** Bytes per tick allowed for the minigame loop, less than the smallest object. */
+    private static final long UPDATE_BUDGET = 8;
+    /** Bytes per tick allowed for the host collisions; pickups and deliveries still allocate per event. */
+    private static final long COLLISION_BUDGET = 16;
+
+    @BeforeAll
+    static void startHeadless() {
+        AllocationBudget.startHeadless();
+    }
+
+    @Test
+    void updateStaysWithinBudget() {
+        AllocationBudget.assertWithinBudget("EggThiefMinigame.update", UPDATE_BUDGET, () -> {
+            EggThiefMinigame minigame = new EggThiefMinigame(0);
+            minigame.initialize();
+            return () -> {
+                minigame.handleInput(AllocationBudget.TICK);
+                minigame.update(AllocationBudget.TICK);
+            };
+        });
+    }
+
+    @Test
+    void hostCollisionsStayWithinBudget() {
+        AllocationBudget.assertWithinBudget("CollisionDetector.handleCollisions", COLLISION_BUDGET, () -> {
+            IntMap<Duck> players = new IntMap<>();
+            List<Nest> nests = new ArrayList<>();
+            ScoreTable scores = new ScoreTable();
+            for (int id = 0; id < 4; id++) {
+                players.put(id, new Duck(false, id, 100, 100 + id * 80, 1f, 1f, 1f));
+                nests.add(new Nest(id, 640 - Nest.NEST_SIZE - 20, 480 - (id + 1) * (Nest.NEST_SIZE + 10),
+                        1f, 1f, 1f));
+                scores.put(id, 0);
+            }
+            List<Egg> eggs = new ArrayList<>();
+            for (int id = 0; id < 10; id++) {
+                eggs.add(new Egg(id, 60 + id * 50, 40 + (id % 5) * 90, id == 0));
+            }
+
+            CollisionDetector collisions = new CollisionDetector();
+            int[] tick = {0};
+            return () -> {
+                // Ducks circle the field so they pick up eggs, bump into each other and reach the nests
+                int step = tick[0]++;
+                for (IntMap.Entry<Duck> entry : players) {
+                    float angle = step * 0.02f + entry.key * 1.5f;
+                    entry.value.setPosition(304 + 260 * (float) Math.cos(angle),
+                            224 + 200 * (float) Math.sin(angle));
+                    entry.value.update(AllocationBudget.TICK);
+                }
+                collisions.handleCollisions(players, eggs, nests, scores,
+                        (thiefId, victimId, thiefEggs, victimEggs) -> {
+                        });
+            };
+        });
+    }
+}
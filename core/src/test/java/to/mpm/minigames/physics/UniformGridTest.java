@@ -0,0 +1,121 @@
+package to.mpm.minigames.physics;
+
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pair queries of the uniform grid against a brute-force reference.
+ */
+class UniformGridTest {
+    private static final float WIDTH = 640f;
+    private static final float HEIGHT = 480f;
+    private static final float CELL = 64f;
+
+    @Test
+    void pairSharingSeveralCellsIsReportedOnce() {
+        UniformGrid grid = new UniformGrid(WIDTH, HEIGHT, CELL);
+        // Both boxes cover the same 3x3 block of cells
+        grid.add(10, 10, 180, 180);
+        grid.add(20, 20, 170, 170);
+
+        IntArray pairs = new IntArray();
+        assertEquals(1, grid.queryPairs(pairs));
+        assertArrayEquals(new int[] {0, 1}, pairs.toArray());
+    }
+
+    @Test
+    void bodiesCrossingCellBoundariesArePaired() {
+        UniformGrid grid = new UniformGrid(WIDTH, HEIGHT, CELL);
+        float[][] boxes = {
+                {60, 60, 70, 70},       // corner of four cells
+                {66, 50, 130, 62},      // spans two columns, touches the first only from one cell
+                {120, 55, 200, 140},    // spans three columns and three rows
+                {127, 127, 129, 129},   // straddles a single corner
+                {300, 300, 310, 310},   // alone in its cell
+                {64, 64, 128, 128},     // exactly one cell, edges on the boundaries
+        };
+        for (float[] box : boxes) {
+            grid.add(box[0], box[1], box[2], box[3]);
+        }
+
+        assertMatchesBruteForce(grid, boxes);
+    }
+
+    @Test
+    void bodiesOutsideTheAreaStillPair() {
+        UniformGrid grid = new UniformGrid(WIDTH, HEIGHT, CELL);
+        float[][] boxes = {
+                {-50, -50, 10, 10},
+                {-20, -30, 5, 5},
+                {630, 470, 700, 520},
+                {660, 500, 720, 560},
+        };
+        for (float[] box : boxes) {
+            grid.add(box[0], box[1], box[2], box[3]);
+        }
+
+        assertMatchesBruteForce(grid, boxes);
+    }
+
+    @Test
+    void randomLayoutsMatchBruteForce() {
+        Random random = new Random(36);
+        UniformGrid grid = new UniformGrid(WIDTH, HEIGHT, CELL);
+        for (int layout = 0; layout < 50; layout++) {
+            int count = 1 + random.nextInt(200);
+            float[][] boxes = new float[count][];
+            grid.clear();
+            for (int i = 0; i < count; i++) {
+                // Mostly small bodies, some spanning several cells, some partly outside
+                float size = random.nextInt(8) == 0 ? 40 + random.nextFloat() * 160 : 4 + random.nextFloat() * 30;
+                float x = -40 + random.nextFloat() * (WIDTH + 80);
+                float y = -40 + random.nextFloat() * (HEIGHT + 80);
+                boxes[i] = new float[] {x, y, x + size, y + size * (0.5f + random.nextFloat())};
+                grid.add(boxes[i][0], boxes[i][1], boxes[i][2], boxes[i][3]);
+            }
+
+            assertMatchesBruteForce(grid, boxes);
+        }
+    }
+
+    /**
+     * Compares {@link UniformGrid#queryPairs} with every overlapping pair in
+     * lower-index-first, sorted order.
+     */
+    private static void assertMatchesBruteForce(UniformGrid grid, float[][] boxes) {
+        IntArray expected = new IntArray();
+        for (int a = 0; a < boxes.length; a++) {
+            for (int b = a + 1; b < boxes.length; b++) {
+                if (overlaps(boxes[a], boxes[b])) {
+                    expected.add(a, b);
+                }
+            }
+        }
+
+        IntArray actual = new IntArray();
+        int pairs = grid.queryPairs(actual);
+        assertEquals(actual.size / 2, pairs);
+        for (int i = 0; i < pairs; i++) {
+            int a = actual.get(i * 2);
+            int b = actual.get(i * 2 + 1);
+            assertTrue(a < b, "pair " + i + " is not lower-index-first: " + a + ", " + b);
+            if (i > 0) {
+                int previousA = actual.get(i * 2 - 2);
+                int previousB = actual.get(i * 2 - 1);
+                assertTrue(previousA < a || (previousA == a && previousB < b),
+                        "pair " + i + " is out of order or repeated: " + a + ", " + b);
+            }
+        }
+        assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+
+    private static boolean overlaps(float[] a, float[] b) {
+        return a[0] < b[2] && a[2] > b[0] && a[1] < b[3] && a[3] > b[1];
+    }
+}
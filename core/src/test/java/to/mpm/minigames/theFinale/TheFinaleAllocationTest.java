@@ -0,0 +1,30 @@
+package to.mpm.minigames.theFinale;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import to.mpm.minigames.AllocationBudget;
+
+/**
+ * Per-tick allocation budget of The Finale.
+ */
+class TheFinaleAllocationTest {
+    /** Bytes per tick allowed, less than the smallest object. */
+    private static final long BUDGET = 8;
+
+    @BeforeAll
+    static void startHeadless() {
+        AllocationBudget.startHeadless();
+    }
+
+    @Test
+    void updateStaysWithinBudget() {
+        AllocationBudget.assertWithinBudget("TheFinaleMinigame.update", BUDGET, () -> {
+            TheFinaleMinigame minigame = new TheFinaleMinigame(0);
+            minigame.initialize();
+            return () -> {
+                minigame.handleInput(AllocationBudget.TICK);
+                minigame.update(AllocationBudget.TICK);
+            };
+        });
+    }
+}
@@ -0,0 +1,226 @@
+package to.mpm.network.room;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import to.mpm.minigames.AllocationBudget;
+import to.mpm.minigames.manager.ManagerPackets;
+import to.mpm.network.Packets;
+import to.mpm.network.ServerTransport;
+import to.mpm.network.TransportConnection;
+import to.mpm.network.TransportListener;
+import to.mpm.network.Transports;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing and isolation of rooms sharing one transport.
+ */
+class RoomHubTest {
+    private static final long TIMEOUT_MS = 5_000;
+
+    private FakeTransport shared;
+    private RoomHub hub;
+
+    @BeforeAll
+    static void startHeadless() {
+        AllocationBudget.startHeadless();
+    }
+
+    @BeforeEach
+    void startHub() throws Exception {
+        shared = new FakeTransport();
+        hub = new RoomHub();
+        hub.start(shared, 0);
+    }
+
+    @AfterEach
+    void stopHub() {
+        hub.stop();
+    }
+
+    @Test
+    void roomsNumberTheirPlayersIndependently() {
+        FakeConnection a = join(1, "a", "alice");
+        FakeConnection b = join(2, "b", "bob");
+
+        assertEquals(0, awaitJoined(a).playerId);
+        assertEquals(0, awaitJoined(b).playerId);
+        assertEquals(2, hub.getRooms().size());
+    }
+
+    @Test
+    void broadcastsStayInTheirRoom() {
+        FakeConnection a = join(1, "a", "alice");
+        FakeConnection b = join(2, "b", "bob");
+        awaitJoined(a);
+        awaitJoined(b);
+
+        hub.getRoom("a").getServer().broadcast(new ManagerPackets.ReturnToLobby());
+
+        await(() -> a.received(ManagerPackets.ReturnToLobby.class) != null);
+        assertNull(b.received(ManagerPackets.ReturnToLobby.class));
+    }
+
+    @Test
+    void blankRoomNameJoinsTheDefaultRoom() {
+        FakeConnection first = join(1, null, "alice");
+        FakeConnection second = join(2, "  ", "bob");
+
+        assertEquals(0, awaitJoined(first).playerId);
+        assertEquals(1, awaitJoined(second).playerId);
+        assertEquals(2, hub.getRoom(RoomHub.DEFAULT_ROOM).getConnectionCount());
+    }
+
+    @Test
+    void roomClosesWhenItsLastPlayerLeaves() {
+        FakeConnection a = join(1, "a", "alice");
+        awaitJoined(a);
+
+        shared.listener.disconnected(a);
+
+        assertNull(hub.getRoom("a"));
+        assertTrue(hub.getRooms().isEmpty());
+    }
+
+    @Test
+    void packetsBeforeTheJoinRequestAreDropped() {
+        FakeConnection stray = new FakeConnection(1);
+        shared.listener.received(stray, new ManagerPackets.ReturnToLobby());
+
+        assertTrue(hub.getRooms().isEmpty());
+        assertFalse(stray.closed);
+    }
+
+    private FakeConnection join(int id, String room, String name) {
+        FakeConnection connection = new FakeConnection(id);
+        Packets.PlayerJoinRequest request = new Packets.PlayerJoinRequest();
+        request.playerName = name;
+        request.correlationId = name;
+        request.room = room;
+        shared.listener.received(connection, request);
+        assertNotNull(hub.getRoom(room), "connection " + id + " was not admitted");
+        return connection;
+    }
+
+    private static Packets.PlayerJoined awaitJoined(FakeConnection connection) {
+        await(() -> connection.received(Packets.PlayerJoined.class) != null);
+        return connection.received(Packets.PlayerJoined.class);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Listens on no port and hands every send to the target connection.
+     */
+    private static final class FakeTransport implements ServerTransport {
+        private volatile TransportListener listener;
+
+        @Override
+        public void setListener(TransportListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void register(Class<?>... classes) {
+        }
+
+        @Override
+        public void bind(int tcpPort, int udpPort) {
+        }
+
+        @Override
+        public int getTcpPort() {
+            return 0;
+        }
+
+        @Override
+        public int getUdpPort() {
+            return 0;
+        }
+
+        @Override
+        public TransportConnection[] getConnections() {
+            return new TransportConnection[0];
+        }
+
+        @Override
+        public void sendToAll(int exceptId, Object object, Transports transport) {
+        }
+
+        @Override
+        public void sendTo(TransportConnection[] targets, int count, Object object, Transports transport) {
+            for (int i = 0; i < count; i++) {
+                targets[i].send(object, transport);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Remote connection that records what it is sent.
+     */
+    private static final class FakeConnection implements TransportConnection {
+        private final int id;
+        private final List<Object> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+
+        FakeConnection(int id) {
+            this.id = id;
+        }
+
+        <T> T received(Class<T> type) {
+            for (Object object : sent) {
+                if (type.isInstance(object)) {
+                    return type.cast(object);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int getID() {
+            return id;
+        }
+
+        @Override
+        public int send(Object object, Transports transport) {
+            sent.add(object);
+            return 1;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package to.mpm.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import to.mpm.network.NetworkConfig;
+import to.mpm.network.room.RoomHub;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Lanzador del servidor de salas sin ventana.
+ * <p>
+ * Arranca una aplicación headless de libGDX, para que los minijuegos tengan
+ * {@code Gdx.app} y {@code Gdx.files}, y un {@link RoomHub} que aloja muchas
+ * partidas en un solo puerto. Los clientes eligen sala con
+ * {@code -Dmpm.room=<nombre>}.
+ */
+public class HeadlessLauncher {
+    /** Actualizaciones por segundo del bucle de la aplicación; las salas tienen su propio hilo. */
+    private static final int UPDATES_PER_SECOND = 10;
+
+    /**
+     * Método principal del servidor.
+     *
+     * @param args puerto opcional; por defecto {@link NetworkConfig#DEFAULT_PORT}
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : NetworkConfig.DEFAULT_PORT;
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.updatesPerSecond = UPDATES_PER_SECOND;
+        new HeadlessApplication(new RoomServer(port), configuration);
+    }
+
+    /**
+     * Aplicación que mantiene abierto el servidor de salas.
+     */
+    private static final class RoomServer extends ApplicationAdapter {
+        /** Puerto TCP y UDP del servidor. */
+        private final int port;
+        /** Servidor de salas. */
+        private final RoomHub hub = new RoomHub();
+
+        /**
+         * Crea la aplicación.
+         *
+         * @param port puerto TCP y UDP
+         */
+        RoomServer(int port) {
+            this.port = port;
+        }
+
+        /**
+         * Instala un GL20 que no hace nada, para que los minijuegos creen sus
+         * texturas sin contexto, y empieza a escuchar.
+         */
+        @Override
+        public void create() {
+            Gdx.gl = Gdx.gl20 = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(),
+                    new Class<?>[] {GL20.class}, (proxy, method, args) -> defaultValue(method.getReturnType()));
+            try {
+                hub.start(port);
+            } catch (IOException e) {
+                Gdx.app.error("HeadlessLauncher", "Failed to start room server", e);
+                Gdx.app.exit();
+            }
+        }
+
+        /**
+         * Cierra todas las salas.
+         */
+        @Override
+        public void dispose() {
+            hub.stop();
+        }
+
+        /**
+         * Obtiene el valor por defecto de un tipo de retorno.
+         *
+         * @param type tipo de retorno
+         * @return cero del tipo primitivo, o null
+         */
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            } else if (type == int.class) {
+                return 0;
+            } else if (type == float.class) {
+                return 0f;
+            } else if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}